@@ -0,0 +1,290 @@
+package de.philx.catan.Analysis;
+
+import de.philx.catan.Controllers.BuildMode;
+import de.philx.catan.Metrics.Counter;
+import de.philx.catan.Metrics.MetricsRegistry;
+import de.philx.catan.Players.Player;
+import de.philx.catan.Players.Player.ResourceType;
+
+/**
+ * Shortest sequence of bank trades that makes a cost affordable, or the answer that no
+ * sequence exists.
+ *
+ * Every bank trade yields exactly one card, so a plan always has as many trades as cards
+ * are missing. Among those plans the one giving away the fewest cards is chosen: each
+ * missing card is paid with the surplus resource that has the best ratio, so harbors are
+ * used first.
+ *
+ * A plan depends only on the resource amounts, the ratios and the cost. Amounts beyond
+ * what a plan could ever give away are capped, which leaves a small space of inputs, so
+ * plans are memoized in a fixed-size table indexed by the packed input: after warm-up a
+ * query is one array lookup without allocation. Plans are immutable and may be shared
+ * between threads.
+ */
+public final class BankTradePlan {
+
+    private static final Counter HITS = MetricsRegistry.getInstance().counter("trade.planner.hits");
+    private static final Counter MISSES = MetricsRegistry.getInstance().counter("trade.planner.misses");
+
+    private static final ResourceType[] RESOURCES = ResourceType.values();
+    private static final int RESOURCE_COUNT = RESOURCES.length;
+
+    private static final int[] ROAD_COST = {1, 1, 0, 0, 0};
+    private static final int[] SETTLEMENT_COST = {1, 1, 1, 1, 0};
+    private static final int[] CITY_COST = {0, 0, 2, 0, 3};
+    private static final int[] NO_COST = new int[RESOURCE_COUNT];
+
+    // Cache key: per resource 5 bits amount, 3 bits cost, 2 bits ratio - 1
+    private static final int MAX_CACHED_AMOUNT = 31;
+    private static final int MAX_CACHED_COST = 7;
+    private static final int MAX_CACHED_RATIO = 4;
+
+    // Direct-mapped: a key owns one slot and replaces whatever plan was stored there.
+    // Entries are immutable, so racing threads at worst recompute a plan.
+    private static final int CACHE_BITS = 13;
+    private static final CacheEntry[] CACHE = new CacheEntry[1 << CACHE_BITS];
+
+    // Amounts and ratios of the player being planned for, per thread
+    private static final ThreadLocal<int[][]> SCRATCH =
+        ThreadLocal.withInitial(() -> new int[][] {new int[RESOURCE_COUNT], new int[RESOURCE_COUNT]});
+
+    /** Plan for a cost that is already affordable */
+    public static final BankTradePlan AFFORDABLE = new BankTradePlan(true, new int[0], new int[0], new int[0]);
+    /** Answer for a cost that no sequence of bank trades reaches */
+    public static final BankTradePlan IMPOSSIBLE = new BankTradePlan(false, new int[0], new int[0], new int[0]);
+
+    private final boolean possible;
+    private final int[] giveResources;
+    private final int[] giveAmounts;
+    private final int[] wantResources;
+
+    private BankTradePlan(boolean possible, int[] giveResources, int[] giveAmounts, int[] wantResources) {
+        this.possible = possible;
+        this.giveResources = giveResources;
+        this.giveAmounts = giveAmounts;
+        this.wantResources = wantResources;
+    }
+
+    // === Planning ===
+
+    /**
+     * Plan the bank trades for a building of a player, using the player's harbor ratios
+     * @param player The player who wants to build
+     * @param buildMode ROAD, SETTLEMENT or CITY; other modes cost nothing
+     * @return The plan, {@link #IMPOSSIBLE} if the player cannot get there with the bank
+     */
+    public static BankTradePlan compute(Player player, BuildMode buildMode) {
+        int[][] scratch = SCRATCH.get();
+        int[] resources = scratch[0];
+        int[] ratios = scratch[1];
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            resources[i] = player.getResourceAmount(RESOURCES[i]);
+            ratios[i] = player.getBankTradeRatio(RESOURCES[i]);
+        }
+        return compute(resources, ratios, costOf(buildMode));
+    }
+
+    /**
+     * Plan the bank trades for a player of an analysis position
+     * @param position The position (not modified)
+     * @param playerId The player who wants to pay
+     * @param cost Amount per resource in {@link ResourceType} order
+     */
+    public static BankTradePlan compute(GamePosition position, int playerId, int[] cost) {
+        int[][] scratch = SCRATCH.get();
+        int[] resources = scratch[0];
+        int[] ratios = scratch[1];
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            resources[i] = position.getResourceAmount(playerId, RESOURCES[i]);
+            ratios[i] = position.getTradeRatio(playerId, RESOURCES[i]);
+        }
+        return compute(resources, ratios, cost);
+    }
+
+    /**
+     * Plan the bank trades that turn a resource vector into one covering a cost
+     * @param resources Amount per resource in {@link ResourceType} order (not kept)
+     * @param ratios Bank trade ratio per resource (not kept)
+     * @param cost Amount needed per resource (not kept)
+     * @return The plan, {@link #AFFORDABLE} if no trade is needed, {@link #IMPOSSIBLE} if none reaches the cost
+     */
+    public static BankTradePlan compute(int[] resources, int[] ratios, int[] cost) {
+        int missing = 0;
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            missing += Math.max(0, cost[i] - resources[i]);
+        }
+        if (missing == 0) {
+            return AFFORDABLE;
+        }
+
+        long key = 0;
+        boolean cacheable = true;
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            int capped = cap(resources, ratios, cost, missing, i);
+            cacheable &= capped <= MAX_CACHED_AMOUNT && cost[i] >= 0 && cost[i] <= MAX_CACHED_COST
+                && ratios[i] >= 1 && ratios[i] <= MAX_CACHED_RATIO;
+            key = key << 10 | (long) capped << 5 | (long) cost[i] << 2 | (ratios[i] - 1);
+        }
+        if (!cacheable) {
+            MISSES.increment();
+            return plan(capped(resources, ratios, cost, missing), ratios, cost, missing);
+        }
+
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - CACHE_BITS));
+        CacheEntry entry = CACHE[slot];
+        if (entry != null && entry.key == key) {
+            HITS.increment();
+            return entry.plan;
+        }
+        MISSES.increment();
+        BankTradePlan plan = plan(capped(resources, ratios, cost, missing), ratios, cost, missing);
+        CACHE[slot] = new CacheEntry(key, plan);
+        return plan;
+    }
+
+    /**
+     * Cap an amount: a plan never gives away more than ratio * missing cards of one resource
+     */
+    private static int cap(int[] resources, int[] ratios, int[] cost, int missing, int i) {
+        return Math.min(Math.max(resources[i], 0), cost[i] + ratios[i] * missing);
+    }
+
+    private static int[] capped(int[] resources, int[] ratios, int[] cost, int missing) {
+        int[] capped = new int[RESOURCE_COUNT];
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            capped[i] = cap(resources, ratios, cost, missing, i);
+        }
+        return capped;
+    }
+
+    /**
+     * Pay every missing card with the surplus resource of the best ratio, the larger
+     * surplus first on equal ratios
+     */
+    private static BankTradePlan plan(int[] resources, int[] ratios, int[] cost, int missing) {
+        int[] surplus = new int[RESOURCE_COUNT];
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            surplus[i] = Math.max(0, resources[i] - cost[i]);
+        }
+
+        int[] giveResources = new int[missing];
+        int[] giveAmounts = new int[missing];
+        int[] wantResources = new int[missing];
+        int trade = 0;
+        for (int want = 0; want < RESOURCE_COUNT; want++) {
+            for (int need = cost[want] - resources[want]; need > 0; need--) {
+                int give = -1;
+                for (int r = 0; r < RESOURCE_COUNT; r++) {
+                    if (surplus[r] >= ratios[r] && (give < 0 || ratios[r] < ratios[give]
+                            || ratios[r] == ratios[give] && surplus[r] > surplus[give])) {
+                        give = r;
+                    }
+                }
+                if (give < 0) {
+                    return IMPOSSIBLE;
+                }
+                surplus[give] -= ratios[give];
+                giveResources[trade] = give;
+                giveAmounts[trade] = ratios[give];
+                wantResources[trade] = want;
+                trade++;
+            }
+        }
+        return new BankTradePlan(true, giveResources, giveAmounts, wantResources);
+    }
+
+    /**
+     * Get the cost of a building in {@link ResourceType} order
+     * @param buildMode ROAD, SETTLEMENT or CITY; other modes cost nothing
+     * @return A new array
+     */
+    public static int[] getCost(BuildMode buildMode) {
+        return costOf(buildMode).clone();
+    }
+
+    private static int[] costOf(BuildMode buildMode) {
+        switch (buildMode) {
+            case ROAD: return ROAD_COST;
+            case SETTLEMENT: return SETTLEMENT_COST;
+            case CITY: return CITY_COST;
+            default: return NO_COST;
+        }
+    }
+
+    // === Execution ===
+
+    /**
+     * Execute the trades on an analysis position
+     * @return true if every trade was possible
+     */
+    public boolean applyTo(GamePosition position, int playerId) {
+        for (int i = 0; i < giveResources.length; i++) {
+            if (!position.bankTrade(playerId, RESOURCES[giveResources[i]], giveAmounts[i], RESOURCES[wantResources[i]])) {
+                return false;
+            }
+        }
+        return possible;
+    }
+
+    // === Getters ===
+
+    public boolean isPossible() {
+        return possible;
+    }
+
+    /**
+     * Get the number of bank trades, 0 if the cost is already affordable or impossible to reach
+     */
+    public int getTradeCount() {
+        return giveResources.length;
+    }
+
+    public ResourceType getGiveResource(int trade) {
+        return RESOURCES[giveResources[trade]];
+    }
+
+    public int getGiveAmount(int trade) {
+        return giveAmounts[trade];
+    }
+
+    public ResourceType getWantResource(int trade) {
+        return RESOURCES[wantResources[trade]];
+    }
+
+    /**
+     * Get the total number of cards given to the bank
+     */
+    public int getCardsGiven() {
+        int cards = 0;
+        for (int amount : giveAmounts) {
+            cards += amount;
+        }
+        return cards;
+    }
+
+    @Override
+    public String toString() {
+        if (!possible) {
+            return "BankTradePlan{impossible}";
+        }
+        StringBuilder sb = new StringBuilder("BankTradePlan{");
+        for (int i = 0; i < giveResources.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(giveAmounts[i]).append(' ').append(RESOURCES[giveResources[i]])
+              .append(" -> ").append(RESOURCES[wantResources[i]]);
+        }
+        return sb.append('}').toString();
+    }
+
+    private static final class CacheEntry {
+        final long key;
+        final BankTradePlan plan;
+
+        CacheEntry(long key, BankTradePlan plan) {
+            this.key = key;
+            this.plan = plan;
+        }
+    }
+}
@@ -0,0 +1,545 @@
+package de.philx.catan.Analysis;
+
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Controllers.GameSnapshot;
+import de.philx.catan.GameField.BoardTopology;
+import de.philx.catan.GameField.HarborType;
+import de.philx.catan.GameField.TerrainType;
+import de.philx.catan.Players.Player;
+import de.philx.catan.Players.Player.ResourceType;
+import java.util.Arrays;
+
+/**
+ * Forkable game position for what-if analysis.
+ *
+ * A position is a flat, array-based copy of the mutable game state on top of a shared,
+ * immutable {@link BoardTopology}. {@link #fork()} creates a child that shares all arrays
+ * with its parent; an array is only copied when either side writes to it for the first
+ * time after the fork (copy-on-write). Forking therefore costs one small allocation, and
+ * a branch that only moves resources never copies the board arrays.
+ *
+ * Positions never reference the live {@link GameController}, so nothing done to a
+ * position can leak into the running game. Positions are not thread-safe, but separate
+ * forks can be used by separate threads.
+ */
+public final class GamePosition {
+
+    /** Node building types (same values as {@link GameSnapshot}) */
+    public static final byte EMPTY = GameSnapshot.EMPTY;
+    public static final byte SETTLEMENT = GameSnapshot.SETTLEMENT;
+    public static final byte CITY = GameSnapshot.CITY;
+
+    public static final int RESOURCE_COUNT = ResourceType.values().length;
+
+    /** Build costs in {@link ResourceType} order: wood, clay, grain, wool, ore */
+    private static final int[] ROAD_COST = {1, 1, 0, 0, 0};
+    private static final int[] SETTLEMENT_COST = {1, 1, 1, 1, 0};
+    private static final int[] CITY_COST = {0, 0, 2, 0, 3};
+
+    /** Resource produced by each terrain type, indexed by terrain ordinal (-1 = none) */
+    private static final int[] TERRAIN_RESOURCES = new int[TerrainType.values().length];
+
+    static {
+        for (TerrainType terrain : TerrainType.values()) {
+            switch (terrain) {
+                case FOREST: TERRAIN_RESOURCES[terrain.ordinal()] = ResourceType.WOOD.ordinal(); break;
+                case HILLS: TERRAIN_RESOURCES[terrain.ordinal()] = ResourceType.CLAY.ordinal(); break;
+                case FIELDS: TERRAIN_RESOURCES[terrain.ordinal()] = ResourceType.GRAIN.ordinal(); break;
+                case PASTURE: TERRAIN_RESOURCES[terrain.ordinal()] = ResourceType.WOOL.ordinal(); break;
+                case MOUNTAINS: TERRAIN_RESOURCES[terrain.ordinal()] = ResourceType.ORE.ordinal(); break;
+                default: TERRAIN_RESOURCES[terrain.ordinal()] = -1; break;
+            }
+        }
+    }
+
+    // Per-player piece counters, stored in one array with this stride
+    private static final int PIECE_STRIDE = 4;
+    private static final int ROADS = 0;
+    private static final int SETTLEMENTS = 1;
+    private static final int CITIES = 2;
+    private static final int VICTORY_POINTS = 3;
+
+    // Ownership bits: set while this position is the only holder of the array
+    private static final int OWN_NODES = 1;
+    private static final int OWN_EDGES = 1 << 1;
+    private static final int OWN_RESOURCES = 1 << 2;
+    private static final int OWN_PIECES = 1 << 3;
+    private static final int OWN_RATIOS = 1 << 4;
+
+    private final BoardTopology topology;
+    private final int playerCount;
+
+    private byte[] nodeBuildings;
+    private byte[] nodeOwners;
+    private byte[] edgeOwners;
+    private int[] resources;
+    private int[] pieces;
+    private int[] tradeRatios;
+    private int owned;
+
+    private int robberPosition;
+    private int currentPlayerId;
+    private int lastDiceRoll;
+
+    private GamePosition(BoardTopology topology, int playerCount) {
+        this.topology = topology;
+        this.playerCount = playerCount;
+    }
+
+    private GamePosition(GamePosition parent) {
+        this.topology = parent.topology;
+        this.playerCount = parent.playerCount;
+        this.nodeBuildings = parent.nodeBuildings;
+        this.nodeOwners = parent.nodeOwners;
+        this.edgeOwners = parent.edgeOwners;
+        this.resources = parent.resources;
+        this.pieces = parent.pieces;
+        this.tradeRatios = parent.tradeRatios;
+        this.owned = 0;
+        this.robberPosition = parent.robberPosition;
+        this.currentPlayerId = parent.currentPlayerId;
+        this.lastDiceRoll = parent.lastDiceRoll;
+    }
+
+    /**
+     * Capture the current position of a live game. Must be called by the thread that owns the game.
+     * @param gameController The game to copy
+     * @return A position independent of the game
+     */
+    public static GamePosition of(GameController gameController) {
+        return of(GameSnapshot.capture(gameController, 0), gameController.getGameField().getTopology());
+    }
+
+    /**
+     * Build a position from a published snapshot. Safe to call from any thread.
+     * @param snapshot The game state
+     * @param topology The topology of the snapshot's board
+     * @return A position independent of the game
+     */
+    public static GamePosition of(GameSnapshot snapshot, BoardTopology topology) {
+        int playerCount = snapshot.getPlayerCount();
+        GamePosition position = new GamePosition(topology, playerCount);
+
+        position.nodeBuildings = new byte[snapshot.getNodeCount()];
+        position.nodeOwners = new byte[snapshot.getNodeCount()];
+        for (int i = 0; i < snapshot.getNodeCount(); i++) {
+            position.nodeBuildings[i] = snapshot.getBuildingType(i);
+            position.nodeOwners[i] = (byte) snapshot.getBuildingOwner(i);
+        }
+        position.edgeOwners = new byte[snapshot.getEdgeCount()];
+        for (int i = 0; i < snapshot.getEdgeCount(); i++) {
+            position.edgeOwners[i] = (byte) snapshot.getRoadOwner(i);
+        }
+
+        position.resources = new int[playerCount * RESOURCE_COUNT];
+        position.pieces = new int[playerCount * PIECE_STRIDE];
+        for (int p = 0; p < playerCount; p++) {
+            for (ResourceType type : ResourceType.values()) {
+                position.resources[p * RESOURCE_COUNT + type.ordinal()] = snapshot.getResourceAmount(p, type);
+            }
+            position.pieces[p * PIECE_STRIDE + ROADS] = snapshot.getAvailableRoads(p);
+            position.pieces[p * PIECE_STRIDE + SETTLEMENTS] = snapshot.getAvailableSettlements(p);
+            position.pieces[p * PIECE_STRIDE + CITIES] = snapshot.getAvailableCities(p);
+            position.pieces[p * PIECE_STRIDE + VICTORY_POINTS] = snapshot.getVictoryPoints(p);
+        }
+
+        position.tradeRatios = new int[playerCount * RESOURCE_COUNT];
+        Arrays.fill(position.tradeRatios, Player.STANDARD_BANK_RATIO);
+        for (int nodeId : topology.getHarborNodes()) {
+            int owner = position.nodeOwners[nodeId];
+            if (position.nodeBuildings[nodeId] != EMPTY && owner >= 0 && owner < playerCount) {
+                position.applyHarbor(owner, topology.getHarbor(nodeId));
+            }
+        }
+
+        position.owned = OWN_NODES | OWN_EDGES | OWN_RESOURCES | OWN_PIECES | OWN_RATIOS;
+        position.robberPosition = snapshot.getRobberPosition();
+        position.currentPlayerId = snapshot.getCurrentPlayerId();
+        position.lastDiceRoll = snapshot.getLastDiceRoll();
+        return position;
+    }
+
+    /**
+     * Create a child position sharing all unchanged data with this one
+     * @return The child position
+     */
+    public GamePosition fork() {
+        // From now on both sides share the arrays and must copy before writing
+        owned = 0;
+        return new GamePosition(this);
+    }
+
+    // === Rules ===
+
+    public boolean canPlaceSettlement(int nodeId) {
+        if (nodeBuildings[nodeId] != EMPTY) {
+            return false;
+        }
+        for (int neighbor : topology.getNodeNeighbors(nodeId)) {
+            if (nodeBuildings[neighbor] != EMPTY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean canPlaceRoad(int playerId, int edgeId) {
+        if (edgeOwners[edgeId] != -1) {
+            return false;
+        }
+        return touchesPlayer(playerId, topology.getEdgeNode1(edgeId), edgeId)
+            || touchesPlayer(playerId, topology.getEdgeNode2(edgeId), edgeId);
+    }
+
+    /**
+     * Check the road connection a settlement needs outside the setup phase; the
+     * settlement rules above only check the distance rule
+     * @return true if one of the player's roads ends at the node
+     */
+    public boolean isConnectedByRoad(int playerId, int nodeId) {
+        for (int edgeId : topology.getNodeEdges(nodeId)) {
+            if (edgeOwners[edgeId] == playerId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean canUpgradeToCity(int playerId, int nodeId) {
+        return nodeBuildings[nodeId] == SETTLEMENT && nodeOwners[nodeId] == playerId;
+    }
+
+    public boolean canBuildRoad(int playerId, int edgeId) {
+        return getPiece(playerId, ROADS) > 0 && canAfford(playerId, ROAD_COST) && canPlaceRoad(playerId, edgeId);
+    }
+
+    public boolean canBuildSettlement(int playerId, int nodeId) {
+        return getPiece(playerId, SETTLEMENTS) > 0 && canAfford(playerId, SETTLEMENT_COST) && canPlaceSettlement(nodeId);
+    }
+
+    public boolean canBuildCity(int playerId, int nodeId) {
+        return getPiece(playerId, CITIES) > 0 && canAfford(playerId, CITY_COST) && canUpgradeToCity(playerId, nodeId);
+    }
+
+    private boolean touchesPlayer(int playerId, int nodeId, int excludedEdgeId) {
+        if (nodeBuildings[nodeId] != EMPTY && nodeOwners[nodeId] == playerId) {
+            return true;
+        }
+        for (int edgeId : topology.getNodeEdges(nodeId)) {
+            if (edgeId != excludedEdgeId && edgeOwners[edgeId] == playerId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean canAfford(int playerId, int[] cost) {
+        int base = playerId * RESOURCE_COUNT;
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            if (resources[base + i] < cost[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // === Hypothetical actions ===
+
+    /**
+     * Build a road, paying its cost
+     * @return true if the road was legal and has been built
+     */
+    public boolean buildRoad(int playerId, int edgeId) {
+        if (!canBuildRoad(playerId, edgeId)) {
+            return false;
+        }
+        pay(playerId, ROAD_COST);
+        addPiece(playerId, ROADS, -1);
+        writableEdges()[edgeId] = (byte) playerId;
+        return true;
+    }
+
+    /**
+     * Build a settlement, paying its cost
+     * @return true if the settlement was legal and has been built
+     */
+    public boolean buildSettlement(int playerId, int nodeId) {
+        if (!canBuildSettlement(playerId, nodeId)) {
+            return false;
+        }
+        pay(playerId, SETTLEMENT_COST);
+        placeBuilding(playerId, nodeId, SETTLEMENT);
+        addPiece(playerId, SETTLEMENTS, -1);
+        addPiece(playerId, VICTORY_POINTS, 1);
+        HarborType harbor = topology.getHarbor(nodeId);
+        if (harbor != null) {
+            applyHarbor(playerId, harbor);
+        }
+        return true;
+    }
+
+    /**
+     * Upgrade a settlement to a city, paying its cost
+     * @return true if the upgrade was legal and has been built
+     */
+    public boolean buildCity(int playerId, int nodeId) {
+        if (!canBuildCity(playerId, nodeId)) {
+            return false;
+        }
+        pay(playerId, CITY_COST);
+        placeBuilding(playerId, nodeId, CITY);
+        addPiece(playerId, CITIES, -1);
+        addPiece(playerId, SETTLEMENTS, 1);
+        addPiece(playerId, VICTORY_POINTS, 1);
+        return true;
+    }
+
+    /**
+     * Trade with the bank at a fixed ratio
+     * @return true if the player had enough resources
+     */
+    public boolean bankTrade(int playerId, ResourceType give, int ratio, ResourceType want) {
+        if (getResourceAmount(playerId, give) < ratio) {
+            return false;
+        }
+        addResource(playerId, give, -ratio);
+        addResource(playerId, want, 1);
+        return true;
+    }
+
+    /**
+     * Change a player's resources
+     * @param amount Amount to add (negative to remove)
+     */
+    public void addResource(int playerId, ResourceType type, int amount) {
+        writableResources()[playerId * RESOURCE_COUNT + type.ordinal()] += amount;
+    }
+
+    /**
+     * Apply a dice result: produce resources on every matching hexagon without the robber
+     * @param diceRoll Dice result (2-12); a 7 produces nothing
+     */
+    public void rollDice(int diceRoll) {
+        lastDiceRoll = diceRoll;
+        for (int hexagonId : topology.getHexagonsWithDiceNumber(diceRoll)) {
+            if (hexagonId == robberPosition) continue;
+
+            int resource = TERRAIN_RESOURCES[topology.getTerrainType(hexagonId).ordinal()];
+            for (int nodeId : topology.getHexagonNodes(hexagonId)) {
+                byte building = nodeBuildings[nodeId];
+                if (building != EMPTY) {
+                    writableResources()[nodeOwners[nodeId] * RESOURCE_COUNT + resource] += building == CITY ? 2 : 1;
+                }
+            }
+        }
+    }
+
+    public void moveRobber(int hexagonId) {
+        robberPosition = hexagonId;
+    }
+
+    /**
+     * Pass the turn to the next player
+     */
+    public void endTurn() {
+        currentPlayerId = (currentPlayerId + 1) % playerCount;
+    }
+
+    // === Evaluation ===
+
+    /**
+     * Expected number of resource cards a player receives per dice roll
+     * @param playerId The player to evaluate
+     * @return Expected cards per roll
+     */
+    public double getExpectedProduction(int playerId) {
+        double expected = 0;
+        for (int resource = 0; resource < RESOURCE_COUNT; resource++) {
+            expected += getExpectedProduction(playerId, resource);
+        }
+        return expected;
+    }
+
+    /**
+     * Expected number of cards of one resource a player receives per dice roll
+     * @param playerId The player to evaluate
+     * @param resource Resource ordinal
+     * @return Expected cards per roll
+     */
+    public double getExpectedProduction(int playerId, int resource) {
+        double expected = 0;
+        for (int hexagonId = 0; hexagonId < topology.getHexagonCount(); hexagonId++) {
+            if (hexagonId == robberPosition) continue;
+            if (TERRAIN_RESOURCES[topology.getTerrainType(hexagonId).ordinal()] != resource) continue;
+
+            double probability = getDiceProbability(topology.getDiceNumber(hexagonId));
+            for (int nodeId : topology.getHexagonNodes(hexagonId)) {
+                if (nodeBuildings[nodeId] != EMPTY && nodeOwners[nodeId] == playerId) {
+                    expected += probability * (nodeBuildings[nodeId] == CITY ? 2 : 1);
+                }
+            }
+        }
+        return expected;
+    }
+
+    /**
+     * Probability of rolling a number with two dice
+     * @param number Dice sum
+     * @return Probability between 0 and 1/6
+     */
+    public static double getDiceProbability(int number) {
+        if (number < 2 || number > 12) {
+            return 0;
+        }
+        return (6 - Math.abs(7 - number)) / 36.0;
+    }
+
+    // === Getters ===
+
+    public BoardTopology getTopology() {
+        return topology;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public byte getBuildingType(int nodeId) {
+        return nodeBuildings[nodeId];
+    }
+
+    public int getBuildingOwner(int nodeId) {
+        return nodeBuildings[nodeId] == EMPTY ? -1 : nodeOwners[nodeId];
+    }
+
+    public int getRoadOwner(int edgeId) {
+        return edgeOwners[edgeId];
+    }
+
+    public int getResourceAmount(int playerId, ResourceType type) {
+        return resources[playerId * RESOURCE_COUNT + type.ordinal()];
+    }
+
+    /**
+     * Get a player's best bank trade ratio for a resource, lowered by the harbors the player settled on
+     */
+    public int getTradeRatio(int playerId, ResourceType type) {
+        return tradeRatios[playerId * RESOURCE_COUNT + type.ordinal()];
+    }
+
+    public int getTotalResourceCards(int playerId) {
+        int total = 0;
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            total += resources[playerId * RESOURCE_COUNT + i];
+        }
+        return total;
+    }
+
+    public int getVictoryPoints(int playerId) {
+        return getPiece(playerId, VICTORY_POINTS);
+    }
+
+    public int getAvailableRoads(int playerId) {
+        return getPiece(playerId, ROADS);
+    }
+
+    public int getAvailableSettlements(int playerId) {
+        return getPiece(playerId, SETTLEMENTS);
+    }
+
+    public int getAvailableCities(int playerId) {
+        return getPiece(playerId, CITIES);
+    }
+
+    public int getRobberPosition() {
+        return robberPosition;
+    }
+
+    public int getCurrentPlayerId() {
+        return currentPlayerId;
+    }
+
+    public int getLastDiceRoll() {
+        return lastDiceRoll;
+    }
+
+    /**
+     * Hash of the complete mutable state, e.g. to notice whether the game changed since
+     * an earlier capture. Equal positions have equal hashes.
+     * @return Hash over buildings, roads, resources, pieces and turn state
+     */
+    public long getStateHash() {
+        long hash = Arrays.hashCode(nodeBuildings);
+        hash = hash * 31 + Arrays.hashCode(nodeOwners);
+        hash = hash * 31 + Arrays.hashCode(edgeOwners);
+        hash = hash * 31 + Arrays.hashCode(resources);
+        hash = hash * 31 + Arrays.hashCode(pieces);
+        hash = hash * 31 + robberPosition;
+        hash = hash * 31 + currentPlayerId;
+        return hash * 31 + lastDiceRoll;
+    }
+
+    // === Copy-on-write helpers ===
+
+    private void pay(int playerId, int[] cost) {
+        int[] writable = writableResources();
+        int base = playerId * RESOURCE_COUNT;
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            writable[base + i] -= cost[i];
+        }
+    }
+
+    private void placeBuilding(int playerId, int nodeId, byte type) {
+        if ((owned & OWN_NODES) == 0) {
+            nodeBuildings = nodeBuildings.clone();
+            nodeOwners = nodeOwners.clone();
+            owned |= OWN_NODES;
+        }
+        nodeBuildings[nodeId] = type;
+        nodeOwners[nodeId] = (byte) playerId;
+    }
+
+    private void applyHarbor(int playerId, HarborType harbor) {
+        if ((owned & OWN_RATIOS) == 0) {
+            tradeRatios = tradeRatios.clone();
+            owned |= OWN_RATIOS;
+        }
+        int base = playerId * RESOURCE_COUNT;
+        if (harbor.isGeneric()) {
+            for (int i = 0; i < RESOURCE_COUNT; i++) {
+                tradeRatios[base + i] = Math.min(tradeRatios[base + i], harbor.getRatio());
+            }
+        } else {
+            int index = base + Player.toResourceType(harbor).ordinal();
+            tradeRatios[index] = Math.min(tradeRatios[index], harbor.getRatio());
+        }
+    }
+
+    private int getPiece(int playerId, int slot) {
+        return pieces[playerId * PIECE_STRIDE + slot];
+    }
+
+    private void addPiece(int playerId, int slot, int amount) {
+        if ((owned & OWN_PIECES) == 0) {
+            pieces = pieces.clone();
+            owned |= OWN_PIECES;
+        }
+        pieces[playerId * PIECE_STRIDE + slot] += amount;
+    }
+
+    private byte[] writableEdges() {
+        if ((owned & OWN_EDGES) == 0) {
+            edgeOwners = edgeOwners.clone();
+            owned |= OWN_EDGES;
+        }
+        return edgeOwners;
+    }
+
+    private int[] writableResources() {
+        if ((owned & OWN_RESOURCES) == 0) {
+            resources = resources.clone();
+            owned |= OWN_RESOURCES;
+        }
+        return resources;
+    }
+}
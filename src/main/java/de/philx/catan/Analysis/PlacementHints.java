@@ -0,0 +1,125 @@
+package de.philx.catan.Analysis;
+
+import de.philx.catan.Controllers.BuildMode;
+import de.philx.catan.GameField.BoardTopology;
+import de.philx.catan.GameField.TerrainType;
+import de.philx.catan.Utils.BackgroundComputeService;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Valid building positions for one player and build mode, best first.
+ *
+ * Settlement and city spots are ranked by the expected number of cards per dice roll
+ * they add; a road is worth the best free settlement spot at either of its ends. The
+ * scan visits every node or edge once, so on large maps it belongs on a background
+ * thread (see {@link BackgroundComputeService}).
+ */
+public final class PlacementHints {
+
+    // How many positions are checked between two cancellation checks
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private final BuildMode buildMode;
+    private final int[] positions;
+    private final double[] values;
+
+    private PlacementHints(BuildMode buildMode, int[] positions, double[] values) {
+        this.buildMode = buildMode;
+        this.positions = positions;
+        this.values = values;
+    }
+
+    /**
+     * Find and rank the valid positions
+     * @param position The game position to inspect (not modified)
+     * @param playerId The player who wants to build
+     * @param buildMode ROAD, SETTLEMENT or CITY; other modes yield no hints
+     * @param token Cancellation token of the background request
+     * @return The ranked positions: edge ids for roads, node ids otherwise
+     */
+    public static PlacementHints compute(GamePosition position, int playerId, BuildMode buildMode,
+                                         BackgroundComputeService.Token token) {
+        BoardTopology topology = position.getTopology();
+        List<double[]> candidates = new ArrayList<>();
+
+        if (buildMode == BuildMode.ROAD) {
+            for (int edgeId = 0; edgeId < topology.getEdgeCount(); edgeId++) {
+                if (edgeId % CANCEL_CHECK_INTERVAL == 0) token.throwIfCancelled();
+                if (position.canPlaceRoad(playerId, edgeId)) {
+                    double value = Math.max(getFreeSpotValue(position, topology.getEdgeNode1(edgeId)),
+                                            getFreeSpotValue(position, topology.getEdgeNode2(edgeId)));
+                    candidates.add(new double[]{edgeId, value});
+                }
+            }
+        } else if (buildMode == BuildMode.SETTLEMENT || buildMode == BuildMode.CITY) {
+            for (int nodeId = 0; nodeId < topology.getNodeCount(); nodeId++) {
+                if (nodeId % CANCEL_CHECK_INTERVAL == 0) token.throwIfCancelled();
+                boolean valid = buildMode == BuildMode.SETTLEMENT
+                    ? position.canPlaceSettlement(nodeId)
+                    : position.canUpgradeToCity(playerId, nodeId);
+                if (valid) {
+                    candidates.add(new double[]{nodeId, getSpotValue(position, nodeId)});
+                }
+            }
+        }
+
+        candidates.sort(Comparator.comparingDouble((double[] c) -> -c[1]).thenComparingDouble(c -> c[0]));
+        int[] positions = new int[candidates.size()];
+        double[] values = new double[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            positions[i] = (int) candidates.get(i)[0];
+            values[i] = candidates.get(i)[1];
+        }
+        return new PlacementHints(buildMode, positions, values);
+    }
+
+    /**
+     * Expected cards per dice roll of one building on a node, ignoring the robbed hexagon
+     */
+    public static double getSpotValue(GamePosition position, int nodeId) {
+        BoardTopology topology = position.getTopology();
+        double value = 0;
+        for (int hexagonId : topology.getNodeHexagons(nodeId)) {
+            if (hexagonId != position.getRobberPosition() && topology.getTerrainType(hexagonId) != TerrainType.DESERT) {
+                value += GamePosition.getDiceProbability(topology.getDiceNumber(hexagonId));
+            }
+        }
+        return value;
+    }
+
+    private static double getFreeSpotValue(GamePosition position, int nodeId) {
+        return position.canPlaceSettlement(nodeId) ? getSpotValue(position, nodeId) : 0;
+    }
+
+    public BuildMode getBuildMode() {
+        return buildMode;
+    }
+
+    public int getCount() {
+        return positions.length;
+    }
+
+    /**
+     * Get the best position
+     * @return Edge or node id, or -1 if there is no valid position
+     */
+    public int getBestPosition() {
+        return positions.length > 0 ? positions[0] : -1;
+    }
+
+    /**
+     * Get the expected cards per dice roll of the best position
+     */
+    public double getBestValue() {
+        return values.length > 0 ? values[0] : 0;
+    }
+
+    /**
+     * Get all valid positions, best first
+     */
+    public int[] getPositions() {
+        return positions.clone();
+    }
+}
@@ -0,0 +1,356 @@
+package de.philx.catan.Analysis;
+
+import de.philx.catan.GameField.BoardTopology;
+import de.philx.catan.Players.Player.ResourceType;
+import de.philx.catan.Utils.BackgroundComputeService;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Estimates every player's chance to win by playing the game to the end many times.
+ *
+ * Each playout forks the given {@link GamePosition} and plays turns with random dice and
+ * a simple greedy policy: trade 4:1 towards the next building, build a city if possible,
+ * otherwise a settlement on the best free spot its roads reach, otherwise a road towards
+ * the best free spot. The player who first reaches
+ * {@link #WINNING_POINTS} wins the playout. Playouts run on a fixed number of worker
+ * threads, and refined estimates with 95% confidence intervals are published while
+ * they run, so a UI can show a number long before all playouts are done.
+ *
+ * The policy knows nothing about trading between players, development cards or the
+ * longest road; the estimate measures the board position and the resources in hand.
+ */
+public final class WinProbabilityEstimator {
+
+    /** Victory points needed to win a playout */
+    public static final int WINNING_POINTS = 10;
+
+    // A playout without a winner after this many turns counts as undecided
+    private static final int MAX_TURNS = 400;
+    private static final Duration PUBLISH_INTERVAL = Duration.ofMillis(150);
+    private static final double Z_95 = 1.96;
+
+    private static final ResourceType[] RESOURCES = ResourceType.values();
+    private static final int[] ROAD_COST = {1, 1, 0, 0, 0};
+    private static final int[] SETTLEMENT_COST = {1, 1, 1, 1, 0};
+    private static final int[] CITY_COST = {0, 0, 2, 0, 3};
+
+    private final int parallelism;
+    private final int maxPlayouts;
+
+    /**
+     * @param parallelism Number of worker threads, i.e. the CPU cores the estimator may use
+     * @param maxPlayouts Playouts after which the estimate is final
+     */
+    public WinProbabilityEstimator(int parallelism, int maxPlayouts) {
+        this.parallelism = Math.max(1, parallelism);
+        this.maxPlayouts = maxPlayouts;
+    }
+
+    /**
+     * Create an estimator that uses at most half of the available cores
+     */
+    public static WinProbabilityEstimator withDefaultLimits() {
+        return new WinProbabilityEstimator(Runtime.getRuntime().availableProcessors() / 2, 20_000);
+    }
+
+    /**
+     * Run the playouts
+     * @param position The position to evaluate. Its state is not changed, but it is
+     *                 forked, so its next own write copies the arrays it shares
+     *                 (see {@link GamePosition#fork()}); pass a position no other thread uses
+     * @param token Stops the workers when cancelled
+     * @param progress Receives intermediate estimates, at most every 150 ms
+     * @return The final estimate
+     * @throws CancellationException if the token was cancelled
+     */
+    public Estimate estimate(GamePosition position, BackgroundComputeService.Token token, Consumer<Estimate> progress) {
+        int playerCount = position.getPlayerCount();
+        AtomicLongArray wins = new AtomicLongArray(playerCount);
+        AtomicLong finished = new AtomicLong();
+        AtomicLong claimed = new AtomicLong();
+
+        Thread[] workers = new Thread[parallelism];
+        SplittableRandom seedRandom = new SplittableRandom();
+        for (int i = 0; i < parallelism; i++) {
+            // Every worker forks its own copy, so no position is forked by two threads
+            GamePosition workerRoot = position.fork();
+            SplittableRandom random = seedRandom.split();
+            workers[i] = Thread.ofVirtual().name("catan-playout-" + i).start(() -> {
+                while (!token.isCancelled() && claimed.getAndIncrement() < maxPlayouts) {
+                    int winner = playout(workerRoot, random);
+                    if (winner >= 0) {
+                        wins.incrementAndGet(winner);
+                    }
+                    finished.incrementAndGet();
+                }
+            });
+        }
+
+        try {
+            for (Thread worker : workers) {
+                while (!worker.join(PUBLISH_INTERVAL)) {
+                    token.throwIfCancelled();
+                    progress.accept(snapshot(wins, finished.get(), false));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+        token.throwIfCancelled();
+        return snapshot(wins, finished.get(), true);
+    }
+
+    private static Estimate snapshot(AtomicLongArray wins, long playouts, boolean complete) {
+        long[] counts = new long[wins.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = wins.get(i);
+        }
+        return new Estimate(counts, Math.max(playouts, sum(counts)), complete);
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    // === Playout ===
+
+    /**
+     * Play one game to the end
+     * @return The winner, or -1 if nobody won within the turn limit
+     */
+    static int playout(GamePosition start, SplittableRandom random) {
+        GamePosition position = start.fork();
+        for (int p = 0; p < position.getPlayerCount(); p++) {
+            if (position.getVictoryPoints(p) >= WINNING_POINTS) {
+                return p;
+            }
+        }
+
+        BoardTopology topology = position.getTopology();
+        for (int turn = 0; turn < MAX_TURNS; turn++) {
+            int player = position.getCurrentPlayerId();
+            int roll = random.nextInt(1, 7) + random.nextInt(1, 7);
+            if (roll == 7) {
+                for (int p = 0; p < position.getPlayerCount(); p++) {
+                    discardHalf(position, p);
+                }
+                position.moveRobber(random.nextInt(topology.getHexagonCount()));
+            }
+            position.rollDice(roll);
+
+            playTurn(position, player);
+            if (position.getVictoryPoints(player) >= WINNING_POINTS) {
+                return player;
+            }
+            position.endTurn();
+        }
+        return -1;
+    }
+
+    private static void playTurn(GamePosition position, int player) {
+        while (true) {
+            int city = position.getAvailableCities(player) > 0 ? bestCitySpot(position, player) : -1;
+            if (city >= 0) {
+                tradeTowards(position, player, CITY_COST);
+                if (position.buildCity(player, city)) {
+                    continue;
+                }
+            }
+            int settlement = position.getAvailableSettlements(player) > 0 ? bestSettlementSpot(position, player) : -1;
+            if (settlement >= 0) {
+                tradeTowards(position, player, SETTLEMENT_COST);
+                if (position.buildSettlement(player, settlement)) {
+                    continue;
+                }
+                return;
+            }
+            // No free spot at the end of a road: build towards one
+            int road = position.getAvailableSettlements(player) > 0 && position.getAvailableRoads(player) > 0
+                ? bestRoad(position, player) : -1;
+            if (road >= 0) {
+                tradeTowards(position, player, ROAD_COST);
+                if (position.buildRoad(player, road)) {
+                    continue;
+                }
+            }
+            return;
+        }
+    }
+
+    private static int bestCitySpot(GamePosition position, int player) {
+        int best = -1;
+        double bestValue = -1;
+        for (int nodeId = 0; nodeId < position.getTopology().getNodeCount(); nodeId++) {
+            if (position.canUpgradeToCity(player, nodeId)) {
+                double value = PlacementHints.getSpotValue(position, nodeId);
+                if (value > bestValue) {
+                    best = nodeId;
+                    bestValue = value;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Best free spot at the end of one of the player's roads
+     */
+    private static int bestSettlementSpot(GamePosition position, int player) {
+        int best = -1;
+        double bestValue = -1;
+        for (int nodeId = 0; nodeId < position.getTopology().getNodeCount(); nodeId++) {
+            if (position.canPlaceSettlement(nodeId) && position.isConnectedByRoad(player, nodeId)) {
+                double value = PlacementHints.getSpotValue(position, nodeId);
+                if (value > bestValue) {
+                    best = nodeId;
+                    bestValue = value;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Road leading to the most valuable free spot; a spot one more road away counts half.
+     * Returns -1 rather than a road that leads to no free spot.
+     */
+    private static int bestRoad(GamePosition position, int player) {
+        BoardTopology topology = position.getTopology();
+        int best = -1;
+        double bestValue = 0;
+        for (int edgeId = 0; edgeId < topology.getEdgeCount(); edgeId++) {
+            if (position.canPlaceRoad(player, edgeId)) {
+                double value = Math.max(getRoadEndValue(position, topology.getEdgeNode1(edgeId)),
+                                        getRoadEndValue(position, topology.getEdgeNode2(edgeId)));
+                if (value > bestValue) {
+                    best = edgeId;
+                    bestValue = value;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static double getRoadEndValue(GamePosition position, int nodeId) {
+        if (position.canPlaceSettlement(nodeId)) {
+            return PlacementHints.getSpotValue(position, nodeId);
+        }
+        double value = 0;
+        for (int neighbor : position.getTopology().getNodeNeighbors(nodeId)) {
+            if (position.canPlaceSettlement(neighbor)) {
+                value = Math.max(value, PlacementHints.getSpotValue(position, neighbor) / 2);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Trade with the bank at the player's ratios until the cost is covered; trades
+     * nothing if the bank cannot cover it
+     */
+    private static void tradeTowards(GamePosition position, int player, int[] cost) {
+        BankTradePlan plan = BankTradePlan.compute(position, player, cost);
+        if (plan.isPossible()) {
+            plan.applyTo(position, player);
+        }
+    }
+
+    /**
+     * A player with more than 7 cards loses half of them, most plentiful first
+     */
+    private static void discardHalf(GamePosition position, int player) {
+        int total = position.getTotalResourceCards(player);
+        if (total <= 7) {
+            return;
+        }
+        for (int discard = total / 2; discard > 0; discard--) {
+            ResourceType most = RESOURCES[0];
+            for (ResourceType type : RESOURCES) {
+                if (position.getResourceAmount(player, type) > position.getResourceAmount(player, most)) {
+                    most = type;
+                }
+            }
+            position.addResource(player, most, -1);
+        }
+    }
+
+    /**
+     * Win chances after a number of playouts
+     */
+    public static final class Estimate {
+        private final long[] wins;
+        private final long playouts;
+        private final boolean complete;
+
+        private Estimate(long[] wins, long playouts, boolean complete) {
+            this.wins = wins;
+            this.playouts = playouts;
+            this.complete = complete;
+        }
+
+        public int getPlayerCount() {
+            return wins.length;
+        }
+
+        public long getPlayouts() {
+            return playouts;
+        }
+
+        public long getWins(int playerId) {
+            return wins[playerId];
+        }
+
+        /**
+         * Get whether all planned playouts are done
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        /**
+         * Get the share of playouts a player won
+         * @return Probability between 0 and 1 (0 before the first playout)
+         */
+        public double getWinProbability(int playerId) {
+            return playouts == 0 ? 0 : (double) wins[playerId] / playouts;
+        }
+
+        /**
+         * Get the lower end of the 95% Wilson score interval
+         */
+        public double getLowerBound(int playerId) {
+            return wilsonCenter(playerId) - wilsonHalfWidth(playerId);
+        }
+
+        /**
+         * Get the upper end of the 95% Wilson score interval
+         */
+        public double getUpperBound(int playerId) {
+            return wilsonCenter(playerId) + wilsonHalfWidth(playerId);
+        }
+
+        private double wilsonCenter(int playerId) {
+            if (playouts == 0) return 0.5;
+            double n = playouts;
+            double p = getWinProbability(playerId);
+            return (p + Z_95 * Z_95 / (2 * n)) / (1 + Z_95 * Z_95 / n);
+        }
+
+        private double wilsonHalfWidth(int playerId) {
+            if (playouts == 0) return 0.5;
+            double n = playouts;
+            double p = getWinProbability(playerId);
+            return Z_95 * Math.sqrt(p * (1 - p) / n + Z_95 * Z_95 / (4 * n * n)) / (1 + Z_95 * Z_95 / n);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package de.philx.catan.Components;
+
+import de.philx.catan.GameField.BoardDirtyTracker;
+import de.philx.catan.GameField.Edge;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Hexagon;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.GameField.TerrainType;
+import java.util.Arrays;
+import java.util.List;
+import javafx.geometry.Rectangle2D;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Canvas-based board renderer as an alternative to {@link GameField#toGroup}.
+ *
+ * The board is drawn on three stacked canvases instead of one shape node per piece:
+ * <ul>
+ *   <li>terrain layer: hexagons, dice numbers and empty node/edge markers, drawn once per layout</li>
+ *   <li>piece layer: roads, settlements, cities and the robber, repainted only in the
+ *       regions reported by a {@link BoardDirtyTracker}</li>
+ *   <li>highlight layer: placement options of the current building mode</li>
+ * </ul>
+ * Canvas coordinates are board coordinates, so click positions can be passed to the
+ * pick index unchanged.
+ */
+public class BoardCanvas extends Pane {
+
+    private static final double MARGIN = 20;
+    private static final Font DICE_FONT = Font.font("Arial", FontWeight.BOLD, 16);
+    private static final Font ROBBER_FONT = Font.font("Arial", FontWeight.BOLD, 20);
+
+    private final GameField gameField;
+    private final BoardDirtyTracker dirtyTracker;
+    private final List<Node> nodes;
+    private final List<Edge> edges;
+
+    private final Canvas terrainLayer;
+    private final Canvas pieceLayer;
+    private final Canvas highlightLayer;
+
+    private int[] drawnTerrain;
+    private boolean highlightNodes;
+    private boolean highlightEdges;
+    private long repaintedRegions;
+
+    public BoardCanvas(GameField gameField) {
+        this.gameField = gameField;
+        this.dirtyTracker = new BoardDirtyTracker(gameField);
+        this.nodes = gameField.getNodes();
+        this.edges = gameField.getEdges();
+
+        Rectangle2D bounds = dirtyTracker.getBoardBounds();
+        double width = bounds.getMaxX() + MARGIN;
+        double height = bounds.getMaxY() + MARGIN;
+        this.terrainLayer = new Canvas(width, height);
+        this.pieceLayer = new Canvas(width, height);
+        this.highlightLayer = new Canvas(width, height);
+        this.highlightLayer.setMouseTransparent(true);
+
+        getChildren().addAll(terrainLayer, pieceLayer, highlightLayer);
+        setPrefSize(width, height);
+    }
+
+    /**
+     * Bring the canvases up to date with the game field
+     * @param showPlacementOptions Whether to highlight free positions
+     * @param buildingType "road", "settlement", "city" or null
+     */
+    public void refresh(boolean showPlacementOptions, String buildingType) {
+        if (terrainChanged()) {
+            drawTerrainLayer();
+            dirtyTracker.invalidate();
+        }
+
+        List<Rectangle2D> dirtyRegions = dirtyTracker.collectDirtyRegions();
+        for (Rectangle2D region : dirtyRegions) {
+            repaintPieces(region);
+        }
+        repaintedRegions += dirtyRegions.size();
+
+        boolean showNodes = showPlacementOptions && ("settlement".equals(buildingType) || "city".equals(buildingType));
+        boolean showEdges = showPlacementOptions && "road".equals(buildingType);
+        if (showNodes != highlightNodes || showEdges != highlightEdges || (!dirtyRegions.isEmpty() && (showNodes || showEdges))) {
+            drawHighlightLayer(showNodes, showEdges);
+        }
+    }
+
+    /**
+     * Get the number of regions repainted since the canvas was created
+     * @return Repainted region count
+     */
+    public long getRepaintedRegionCount() {
+        return repaintedRegions;
+    }
+
+    // === Terrain layer ===
+
+    private boolean terrainChanged() {
+        Hexagon[] hexagons = gameField.getHexagons();
+        int[] terrain = new int[hexagons.length];
+        for (int i = 0; i < hexagons.length; i++) {
+            terrain[i] = hexagons[i].getTerrainType().ordinal() << 8 | hexagons[i].getDiceNumber();
+        }
+        if (Arrays.equals(terrain, drawnTerrain)) {
+            return false;
+        }
+        drawnTerrain = terrain;
+        return true;
+    }
+
+    private void drawTerrainLayer() {
+        GraphicsContext gc = terrainLayer.getGraphicsContext2D();
+        gc.clearRect(0, 0, terrainLayer.getWidth(), terrainLayer.getHeight());
+
+        double[] xPoints = new double[6];
+        double[] yPoints = new double[6];
+        gc.setFont(DICE_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.BASELINE);
+        for (Hexagon hex : gameField.getHexagons()) {
+            for (int i = 0; i < 6; i++) {
+                double angle = Math.toRadians(60 * i - 30);
+                xPoints[i] = hex.getCenterX() + hex.getRadius() * Math.cos(angle);
+                yPoints[i] = hex.getCenterY() + hex.getRadius() * Math.sin(angle);
+            }
+            gc.setFill(hex.getTerrainType().getColor());
+            gc.fillPolygon(xPoints, yPoints, 6);
+            gc.setStroke(Color.BLACK);
+            gc.setLineWidth(2);
+            gc.strokePolygon(xPoints, yPoints, 6);
+
+            if (hex.getTerrainType() != TerrainType.DESERT) {
+                gc.setFill(Color.BLACK);
+                gc.fillText(String.valueOf(hex.getDiceNumber()), hex.getCenterX(), hex.getCenterY() + 5);
+            }
+        }
+
+        // Empty edges and nodes, covered by the piece layer once something is built
+        gc.setGlobalAlpha(0.3);
+        gc.setStroke(Color.LIGHTGRAY);
+        gc.setLineWidth(1);
+        for (Edge edge : edges) {
+            gc.strokeLine(edge.getNode1().getX(), edge.getNode1().getY(), edge.getNode2().getX(), edge.getNode2().getY());
+        }
+        gc.setGlobalAlpha(0.5);
+        gc.setFill(Color.LIGHTGRAY);
+        gc.setStroke(Color.GRAY);
+        for (Node node : nodes) {
+            drawCircle(gc, node.getX(), node.getY(), 5);
+        }
+        gc.setGlobalAlpha(1.0);
+    }
+
+    // === Piece layer ===
+
+    /**
+     * Clear one region of the piece layer and redraw every piece that overlaps it
+     */
+    private void repaintPieces(Rectangle2D region) {
+        GraphicsContext gc = pieceLayer.getGraphicsContext2D();
+        gc.save();
+        gc.beginPath();
+        gc.rect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+        gc.clip();
+        gc.clearRect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+
+        gc.setLineWidth(4);
+        for (Edge edge : edges) {
+            if (edge.hasRoad() && region.intersects(BoardDirtyTracker.edgeRegion(edge))) {
+                gc.setStroke(getPlayerColor(edge.getRoad().getPlayerId()));
+                gc.strokeLine(edge.getNode1().getX(), edge.getNode1().getY(), edge.getNode2().getX(), edge.getNode2().getY());
+            }
+        }
+
+        gc.setStroke(Color.BLACK);
+        for (Node node : nodes) {
+            if (node.hasBuilding() && region.intersects(BoardDirtyTracker.nodeRegion(node))) {
+                gc.setFill(getPlayerColor(node.getBuilding().getPlayerId()));
+                gc.setLineWidth(node.hasCity() ? 3 : 2);
+                drawCircle(gc, node.getX(), node.getY(), node.hasCity() ? 7 : 5);
+            }
+        }
+
+        Hexagon robberHex = gameField.getHexagon(gameField.getRobberPosition());
+        if (robberHex != null && region.intersects(BoardDirtyTracker.robberRegion(robberHex))) {
+            gc.setFont(ROBBER_FONT);
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.setTextBaseline(VPos.BASELINE);
+            gc.setFill(Color.RED);
+            gc.fillText("R", robberHex.getCenterX(), robberHex.getCenterY() - 10);
+        }
+        gc.restore();
+    }
+
+    // === Highlight layer ===
+
+    private void drawHighlightLayer(boolean showNodes, boolean showEdges) {
+        GraphicsContext gc = highlightLayer.getGraphicsContext2D();
+        gc.clearRect(0, 0, highlightLayer.getWidth(), highlightLayer.getHeight());
+        highlightNodes = showNodes;
+        highlightEdges = showEdges;
+
+        gc.setGlobalAlpha(0.7);
+        if (showEdges) {
+            gc.setStroke(Color.LIGHTGREEN);
+            gc.setLineWidth(6);
+            for (Edge edge : edges) {
+                if (!edge.hasRoad()) {
+                    gc.strokeLine(edge.getNode1().getX(), edge.getNode1().getY(), edge.getNode2().getX(), edge.getNode2().getY());
+                }
+            }
+        }
+        if (showNodes) {
+            gc.setFill(Color.LIGHTGREEN);
+            gc.setStroke(Color.DARKGREEN);
+            gc.setLineWidth(2);
+            for (Node node : nodes) {
+                if (!node.hasBuilding()) {
+                    drawCircle(gc, node.getX(), node.getY(), 8);
+                }
+            }
+        }
+        gc.setGlobalAlpha(1.0);
+    }
+
+    private static void drawCircle(GraphicsContext gc, double x, double y, double radius) {
+        gc.fillOval(x - radius, y - radius, 2 * radius, 2 * radius);
+        gc.strokeOval(x - radius, y - radius, 2 * radius, 2 * radius);
+    }
+
+    /**
+     * Convert player ID to JavaFX Color
+     */
+    private static Color getPlayerColor(int playerId) {
+        switch (playerId) {
+            case 0: return Color.RED;
+            case 1: return Color.BLUE;
+            case 2: return Color.WHITE;
+            case 3: return Color.ORANGE;
+            default: return Color.GRAY;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package de.philx.catan.Components;
 
+import de.philx.catan.Analysis.BankTradePlan;
 import de.philx.catan.Controllers.BuildMode;
 import de.philx.catan.Controllers.GameController;
 import de.philx.catan.Players.Player;
@@ -64,9 +65,8 @@ public class BuildingInterface extends VBox {
         setupEventHandlers();
         updateDisplay();
         
-        // Register for theme changes
-        ThemeManager.getInstance().addThemeChangeListener(this::applyTheme);
-        applyTheme();
+        // Card colors follow the theme stylesheet
+        this.getStyleClass().add("card");
     }
     
     private void initializeComponents() {
@@ -180,12 +180,14 @@ public class BuildingInterface extends VBox {
         
         boolean canAfford = false;
         boolean hasBuildings = false;
+        BuildMode buildMode = null;
         String message = "";
         
         switch (buildingType) {
             case "road":
                 canAfford = currentPlayer.canBuildRoad();
                 hasBuildings = currentPlayer.getAvailableRoads() > 0;
+                buildMode = BuildMode.ROAD;
                 message = hasBuildings ? 
                     (canAfford ? "✅ Verfügbar" : "❌ Nicht genügend Ressourcen") :
                     "❌ Keine Straßen mehr verfügbar";
@@ -194,6 +196,7 @@ public class BuildingInterface extends VBox {
             case "settlement":
                 canAfford = currentPlayer.canBuildSettlement();
                 hasBuildings = currentPlayer.getAvailableSettlements() > 0;
+                buildMode = BuildMode.SETTLEMENT;
                 message = hasBuildings ? 
                     (canAfford ? "✅ Verfügbar" : "❌ Nicht genügend Ressourcen") :
                     "❌ Keine Siedlungen mehr verfügbar";
@@ -202,17 +205,30 @@ public class BuildingInterface extends VBox {
             case "city":
                 canAfford = currentPlayer.canBuildCity();
                 hasBuildings = currentPlayer.getAvailableCities() > 0;
+                buildMode = BuildMode.CITY;
                 message = hasBuildings ? 
                     (canAfford ? "✅ Verfügbar" : "❌ Nicht genügend Ressourcen") :
                     "❌ Keine Städte mehr verfügbar";
                 break;
         }
         
+        // Show whether bank trades would cover the missing resources
+        BankTradePlan plan = null;
+        if (!canAfford && hasBuildings && buildMode != null) {
+            plan = BankTradePlan.compute(currentPlayer, buildMode);
+            if (plan.isPossible()) {
+                message = "🔄 Mit " + plan.getTradeCount() + "x Bank-Handel verfügbar";
+            }
+        }
+        
         Label label = new Label(message);
         label.setFont(Font.font("Arial", FontWeight.BOLD, 11));
         
         if (canAfford && hasBuildings) {
             label.setStyle("-fx-text-fill: green;");
+        } else if (plan != null && plan.isPossible()) {
+            label.setStyle("-fx-text-fill: darkorange;");
+            label.setTooltip(new Tooltip(formatPlan(plan)));
         } else {
             label.setStyle("-fx-text-fill: red;");
         }
@@ -220,6 +236,16 @@ public class BuildingInterface extends VBox {
         return label;
     }
     
+    private String formatPlan(BankTradePlan plan) {
+        StringBuilder sb = new StringBuilder("Bank-Handel:");
+        for (int i = 0; i < plan.getTradeCount(); i++) {
+            sb.append("\n").append(plan.getGiveAmount(i)).append("x ")
+              .append(getResourceName(plan.getGiveResource(i))).append(" → 1x ")
+              .append(getResourceName(plan.getWantResource(i)));
+        }
+        return sb.toString();
+    }
+    
     private void setupEventHandlers() {
         cancelButton.setOnAction(e -> {
             gameController.stopBuildingMode();
@@ -341,18 +367,6 @@ public class BuildingInterface extends VBox {
         alert.showAndWait();
     }
     
-    private void applyTheme() {
-        ThemeManager themeManager = ThemeManager.getInstance();
-        
-        // Apply theme to main container
-        this.setStyle(themeManager.getCardStyle());
-        
-        // Apply theme to status label
-        if (statusLabel != null) {
-            statusLabel.setStyle("-fx-text-fill: " + themeManager.getTextColor() + ";");
-        }
-    }
-    
     /**
      * Refresh the display to show current game state
      */
@@ -0,0 +1,205 @@
+package de.philx.catan.Components;
+
+import de.philx.catan.GameField.BoardPickIndex;
+import de.philx.catan.GameField.Edge;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Hexagon;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.GameField.RoadChains;
+import de.philx.catan.Metrics.BoardRenderEvent;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+
+/**
+ * Scene graph board renderer that only creates visuals for the visible part of the board.
+ *
+ * The view always has the size of the whole board, so scrolling and zooming work as
+ * before, but its children cover only the viewport plus a margin. Panning inside the
+ * margin changes nothing; the visuals are rebuilt once the viewport leaves it. The
+ * number of shapes therefore depends on the window size, not on the board size.
+ *
+ * Below {@link #SIMPLIFIED_ZOOM} the board is drawn with less detail: no dice numbers,
+ * no markers for free nodes and edges, and connected roads merged into one polyline.
+ */
+public class CulledBoardView extends Pane {
+
+    /** Zoom below which the simplified drawing is used */
+    public static final double SIMPLIFIED_ZOOM = 0.6;
+
+    // Extra area around the viewport, as a share of the viewport size
+    private static final double MARGIN_FACTOR = 0.5;
+    private static final double BOARD_PADDING = 20;
+    private static final Rectangle2D INITIAL_VIEWPORT = new Rectangle2D(0, 0, 1200, 900);
+
+    private final GameField gameField;
+    private final BoardPickIndex index;
+    private final double boardWidth;
+    private final double boardHeight;
+
+    private Rectangle2D viewport = INITIAL_VIEWPORT;
+    private Rectangle2D materializedRegion = Rectangle2D.EMPTY;
+    private boolean simplified;
+    private boolean showPlacementOptions;
+    private String buildingType;
+    private long materializeCount;
+
+    /**
+     * @param gameField The board to show
+     * @param index Spatial index of the board, used to find the visible pieces
+     */
+    public CulledBoardView(GameField gameField, BoardPickIndex index) {
+        this.gameField = gameField;
+        this.index = index;
+
+        double maxX = 0;
+        double maxY = 0;
+        for (Hexagon hex : gameField.getHexagons()) {
+            maxX = Math.max(maxX, hex.getCenterX() + hex.getRadius());
+            maxY = Math.max(maxY, hex.getCenterY() + hex.getRadius());
+        }
+        this.boardWidth = maxX + BOARD_PADDING;
+        this.boardHeight = maxY + BOARD_PADDING;
+        setMinSize(boardWidth, boardHeight);
+        setPrefSize(boardWidth, boardHeight);
+        setMaxSize(boardWidth, boardHeight);
+    }
+
+    /**
+     * Rebuild the visible visuals after the game state changed
+     * @param showPlacementOptions Whether to highlight free positions
+     * @param buildingType "road", "settlement", "city" or null
+     */
+    public void refresh(boolean showPlacementOptions, String buildingType) {
+        this.showPlacementOptions = showPlacementOptions;
+        this.buildingType = buildingType;
+        materialize();
+    }
+
+    /**
+     * Tell the view which part of the board is visible. Visuals are only rebuilt if the
+     * region leaves the materialized area or the level of detail changes.
+     * @param visibleRegion Visible rectangle in board coordinates
+     * @param zoom Current scale factor of the view
+     */
+    public void setViewport(Rectangle2D visibleRegion, double zoom) {
+        this.viewport = visibleRegion;
+        boolean simplifiedNow = zoom < SIMPLIFIED_ZOOM;
+        if (simplifiedNow != simplified || !contains(materializedRegion, clipToBoard(visibleRegion))) {
+            simplified = simplifiedNow;
+            materialize();
+        }
+    }
+
+    /**
+     * Get how often the visuals were rebuilt since the view was created
+     */
+    public long getMaterializeCount() {
+        return materializeCount;
+    }
+
+    public boolean isSimplified() {
+        return simplified;
+    }
+
+    // === Building the visuals ===
+
+    private void materialize() {
+        BoardRenderEvent event = new BoardRenderEvent();
+        event.begin();
+
+        double marginX = viewport.getWidth() * MARGIN_FACTOR;
+        double marginY = viewport.getHeight() * MARGIN_FACTOR;
+        materializedRegion = clipToBoard(new Rectangle2D(
+            viewport.getMinX() - marginX, viewport.getMinY() - marginY,
+            viewport.getWidth() + 2 * marginX, viewport.getHeight() + 2 * marginY));
+
+        double minX = materializedRegion.getMinX();
+        double minY = materializedRegion.getMinY();
+        double maxX = materializedRegion.getMaxX();
+        double maxY = materializedRegion.getMaxY();
+        boolean showNodes = showPlacementOptions && ("settlement".equals(buildingType) || "city".equals(buildingType));
+        boolean showEdges = showPlacementOptions && "road".equals(buildingType);
+
+        List<javafx.scene.Node> visuals = new ArrayList<>();
+        index.forEachHexagonIn(minX, minY, maxX, maxY,
+            id -> visuals.add(gameField.getHexagon(id).createVisualGroup(!simplified)));
+
+        List<Edge> edges = new ArrayList<>();
+        index.forEachEdgeIn(minX, minY, maxX, maxY, id -> edges.add(gameField.getEdge(id)));
+        if (simplified) {
+            for (Edge edge : edges) {
+                if (showEdges && !edge.hasRoad()) {
+                    visuals.add(edge.createVisualGroup(true));
+                }
+            }
+            for (RoadChains.Chain chain : RoadChains.of(edges)) {
+                visuals.add(createRoadLine(chain));
+            }
+        } else {
+            for (Edge edge : edges) {
+                visuals.add(edge.createVisualGroup(showEdges));
+            }
+        }
+
+        index.forEachNodeIn(minX, minY, maxX, maxY, id -> {
+            Node node = gameField.getNode(id);
+            if (!simplified || node.hasBuilding() || showNodes) {
+                visuals.add(node.createVisualGroup(showNodes));
+            }
+        });
+
+        getChildren().setAll(visuals);
+        materializeCount++;
+        event.finish(visuals.size(), showPlacementOptions, buildingType);
+    }
+
+    private static Polyline createRoadLine(RoadChains.Chain chain) {
+        Polyline line = new Polyline();
+        for (Node node : chain.getNodes()) {
+            line.getPoints().addAll(node.getX(), node.getY());
+        }
+        line.setStroke(getPlayerColor(chain.getPlayerId()));
+        line.setStrokeWidth(4);
+        line.setStrokeLineJoin(StrokeLineJoin.ROUND);
+        line.setStrokeLineCap(StrokeLineCap.ROUND);
+        return line;
+    }
+
+    private Rectangle2D clipToBoard(Rectangle2D region) {
+        double minX = Math.max(0, region.getMinX());
+        double minY = Math.max(0, region.getMinY());
+        double maxX = Math.min(boardWidth, region.getMaxX());
+        double maxY = Math.min(boardHeight, region.getMaxY());
+        if (maxX <= minX || maxY <= minY) {
+            return Rectangle2D.EMPTY;
+        }
+        return new Rectangle2D(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    private static boolean contains(Rectangle2D outer, Rectangle2D inner) {
+        if (inner.getWidth() == 0 || inner.getHeight() == 0) {
+            return true;
+        }
+        return outer.getMinX() <= inner.getMinX() && outer.getMinY() <= inner.getMinY()
+            && outer.getMaxX() >= inner.getMaxX() && outer.getMaxY() >= inner.getMaxY();
+    }
+
+    /**
+     * Convert player ID to JavaFX Color
+     */
+    private static Color getPlayerColor(int playerId) {
+        switch (playerId) {
+            case 0: return Color.RED;
+            case 1: return Color.BLUE;
+            case 2: return Color.WHITE;
+            case 3: return Color.ORANGE;
+            default: return Color.GRAY;
+        }
+    }
+}
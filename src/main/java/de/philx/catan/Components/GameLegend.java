@@ -29,61 +29,12 @@ public class GameLegend extends VBox {
         this.setAlignment(Pos.TOP_LEFT);
         this.setPrefWidth(250);
         
-        // Apply current theme when component is created
-        this.sceneProperty().addListener((obs, oldScene, newScene) -> {
-            if (newScene != null) {
-                applyCurrentTheme();
-            }
-        });
-        
-        // Register for theme change notifications
-        ThemeManager.getInstance().addThemeChangeListener(this::applyCurrentTheme);
+        // Card colors and text follow the theme stylesheet
+        this.getStyleClass().add("card");
         
         initializeLegend();
     }
     
-    /**
-     * Apply the current theme to the GameLegend component
-     */
-    public void applyCurrentTheme() {
-        ThemeManager themeManager = ThemeManager.getInstance();
-        
-        // Apply modern card styling
-        this.setStyle(themeManager.getCardStyle());
-        
-        // Update text colors for all labels
-        updateTextColors();
-    }
-    
-    /**
-     * Update text colors for all labels in the legend
-     */
-    private void updateTextColors() {
-        ThemeManager themeManager = ThemeManager.getInstance();
-        String textColor = themeManager.isDarkMode() ? "#ffffff" : "#000000";
-        
-        // Recursively update all Label nodes
-        updateLabelsInNode(this, textColor);
-    }
-    
-    /**
-     * Recursively update all Label nodes in a container
-     */
-    private void updateLabelsInNode(javafx.scene.Parent parent, String textColor) {
-        parent.getChildrenUnmodifiable().forEach(node -> {
-            if (node instanceof Label) {
-                Label label = (Label) node;
-                // Don't override special colored labels (like dice numbers)
-                if (!label.getStyle().contains("-fx-text-fill: rgb(") && 
-                    !label.getStyle().contains("-fx-text-fill: #")) {
-                    label.setStyle(label.getStyle() + "-fx-text-fill: " + textColor + ";");
-                }
-            } else if (node instanceof javafx.scene.Parent) {
-                updateLabelsInNode((javafx.scene.Parent) node, textColor);
-            }
-        });
-    }
-    
     private void initializeLegend() {
         // Main title with enhanced styling
         Label titleLabel = new Label("CATAN Legende");
@@ -160,7 +111,7 @@ public class GameLegend extends VBox {
             // Color indicator with enhanced styling
             Circle colorIndicator = new Circle(10);
             colorIndicator.setFill(getPlayerColor(color));
-            colorIndicator.setStroke(Color.web(ThemeManager.getInstance().getBorderColor()));
+            colorIndicator.getStyleClass().add("theme-outlined-shape");
             colorIndicator.setStrokeWidth(1.5);
             
             Label colorLabel = new Label(color.getDisplayName());
@@ -182,19 +133,19 @@ public class GameLegend extends VBox {
         Label explanationLabel = new Label("Zahlen zeigen benötigte Würfelergebnisse für Ressourcenproduktion");
         explanationLabel.setFont(Font.font("Segoe UI", 10));
         explanationLabel.setWrapText(true);
-        explanationLabel.setTextFill(Color.web(ThemeManager.getInstance().getSecondaryTextColor()));
+        explanationLabel.getStyleClass().add("secondary-text");
         
         Label probabilityLabel = new Label("• Mehr Punkte (●) = Höhere Wahrscheinlichkeit");
         probabilityLabel.setFont(Font.font("Segoe UI", 10));
-        probabilityLabel.setTextFill(Color.web(ThemeManager.getInstance().getSecondaryTextColor()));
+        probabilityLabel.getStyleClass().add("secondary-text");
         
         Label frequentLabel = new Label("• Häufigste: 6, 8 (je 5 Punkte)");
         frequentLabel.setFont(Font.font("Segoe UI", 10));
-        frequentLabel.setTextFill(Color.web(ThemeManager.getInstance().getSecondaryTextColor()));
+        frequentLabel.getStyleClass().add("secondary-text");
         
         Label rareLabel = new Label("• Seltenste: 2, 12 (je 1 Punkt)");
         rareLabel.setFont(Font.font("Segoe UI", 10));
-        rareLabel.setTextFill(Color.web(ThemeManager.getInstance().getSecondaryTextColor()));
+        rareLabel.getStyleClass().add("secondary-text");
         
         Label robberLabel = new Label("• Würfel 7: Räuber bewegen (keine Produktion)");
         robberLabel.setFont(Font.font("Segoe UI", 10));
@@ -313,8 +264,7 @@ public class GameLegend extends VBox {
     
     private Rectangle createStyledSeparator() {
         Rectangle separator = new Rectangle(220, 1);
-        ThemeManager themeManager = ThemeManager.getInstance();
-        separator.setFill(Color.web(themeManager.getBorderColor()));
+        separator.getStyleClass().add("theme-border-shape");
         separator.setOpacity(0.5);
         return separator;
     }
@@ -1,7 +1,8 @@
 package de.philx.catan.Components;
 
 import de.philx.catan.Controllers.GameController;
-import de.philx.catan.Utils.ThemeManager;
+import de.philx.catan.Utils.Disposable;
+import de.philx.catan.Utils.Disposer;
 import javafx.animation.FadeTransition;
 import javafx.animation.ScaleTransition;
 import javafx.geometry.Insets;
@@ -16,10 +17,11 @@ import javafx.util.Duration;
  * Horizontal action panel that appears at the bottom of the screen
  * Contains collapsible cards for trading and building interfaces
  */
-public class HorizontalActionPanel extends VBox {
+public class HorizontalActionPanel extends VBox implements Disposable {
     
     private final GameController gameController;
     private final Runnable onActionCompleted;
+    private final Disposer disposer = new Disposer();
     
     // Main components
     private HBox mainPanel;
@@ -41,10 +43,9 @@ public class HorizontalActionPanel extends VBox {
         initializeComponents();
         setupLayout();
         setupAnimations();
-        applyTheme();
         
-        // Register for theme changes
-        ThemeManager.getInstance().addThemeChangeListener(this::applyTheme);
+        // Card colors and the blue frame come from the theme stylesheet
+        this.getStyleClass().addAll("card", "action-panel");
     }
     
     private void initializeComponents() {
@@ -75,6 +76,8 @@ public class HorizontalActionPanel extends VBox {
         scaleTransition = new ScaleTransition(Duration.millis(200), this);
         scaleTransition.setFromY(0.8);
         scaleTransition.setToY(1.0);
+        disposer.onDispose(fadeTransition::stop);
+        disposer.onDispose(scaleTransition::stop);
     }
     
     /**
@@ -205,24 +208,11 @@ public class HorizontalActionPanel extends VBox {
         }
     }
     
-    private void applyTheme() {
-        ThemeManager themeManager = ThemeManager.getInstance();
-        
-        // Apply theme to main panel
-        this.setStyle(themeManager.getCardStyle() + 
-                     "-fx-border-color: #007ACC;" +
-                     "-fx-border-width: 2px;" +
-                     "-fx-border-radius: 10px;" +
-                     "-fx-background-radius: 10px;");
-        
-        // Apply theme to title
-        if (titleLabel != null) {
-            titleLabel.setStyle("-fx-text-fill: " + themeManager.getTextColor() + ";");
-        }
-        
-        // Apply theme to main panel
-        if (mainPanel != null) {
-            mainPanel.setStyle("-fx-background-color: transparent;");
-        }
+    /**
+     * Stop the animations; call when the game screen is closed
+     */
+    @Override
+    public void dispose() {
+        disposer.dispose();
     }
 }
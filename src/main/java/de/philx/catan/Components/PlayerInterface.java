@@ -1,24 +1,34 @@
 package de.philx.catan.Components;
 
+import de.philx.catan.Analysis.GamePosition;
+import de.philx.catan.Analysis.WinProbabilityEstimator;
 import de.philx.catan.Controllers.GameController;
 import de.philx.catan.Players.Player;
 import de.philx.catan.Utils.ActionPanelHandler;
+import de.philx.catan.Utils.BackgroundComputeService;
+import de.philx.catan.Utils.Disposable;
+import de.philx.catan.Utils.Disposer;
 import de.philx.catan.Utils.StyledButton;
-import de.philx.catan.Utils.ThemeManager;
+import javafx.animation.Animation;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import java.util.List;
 
-public class PlayerInterface extends VBox {
+public class PlayerInterface extends VBox implements Disposable {
+
+    private static final String WIN_ESTIMATE_KEY = "winProbability";
 
     private final GameController gameController;
     private final Runnable onReturnToMenu;
     private final ActionPanelHandler actionPanelHandler; // Handler for action panel
+    private final Disposer disposer = new Disposer();
     private final Label currentPlayerLabel;
     private final Label diceResultLabel;
     private final Label gameMessageLabel;
@@ -31,6 +41,12 @@ public class PlayerInterface extends VBox {
     private VBox playerInfoCard;
     private VBox gameStatusCard;
     private VBox controlsCard;
+    private VBox winChanceSection;
+    private VBox winChanceRows;
+    private javafx.animation.Timeline updateTimeline;
+    private final WinProbabilityEstimator winEstimator = WinProbabilityEstimator.withDefaultLimits();
+    // History version the running estimate belongs to, -1 while none runs
+    private long estimatedVersion = -1;
     
     public PlayerInterface(GameController gameController, Runnable onReturnToMenu, 
                           Runnable onGameStateChanged, ActionPanelHandler actionPanelHandler) {
@@ -86,15 +102,8 @@ public class PlayerInterface extends VBox {
         this.getChildren().add(scrollPane);
         VBox.setVgrow(scrollPane, Priority.ALWAYS);
         
-        // Apply current theme when interface is created
-        this.sceneProperty().addListener((obs, oldScene, newScene) -> {
-            if (newScene != null) {
-                applyCurrentTheme();
-            }
-        });
-        
-        // Register for theme change notifications
-        ThemeManager.getInstance().addThemeChangeListener(this::applyCurrentTheme);
+        // Colors follow the theme through the style classes of the cards and labels
+        applyStyleClasses();
         
         // Start updating displays
         startPeriodicUpdates();
@@ -105,23 +114,27 @@ public class PlayerInterface extends VBox {
         
         // Card header
         Label cardTitle = new Label("👤 Spieler Information");
+        cardTitle.getStyleClass().add("card-title");
         cardTitle.setFont(Font.font("Segoe UI", FontWeight.BOLD, 16));
         
         // Current player section
         VBox currentPlayerSection = new VBox(6);
         Label currentPlayerTitle = new Label("Aktueller Spieler:");
+        currentPlayerTitle.getStyleClass().add("section-title");
         currentPlayerTitle.setFont(Font.font("Segoe UI", FontWeight.SEMI_BOLD, 12));
         currentPlayerSection.getChildren().addAll(currentPlayerTitle, currentPlayerLabel);
         
         // Resources section
         VBox resourcesSection = new VBox(6);
         Label resourcesTitle = new Label("📦 Ressourcen:");
+        resourcesTitle.getStyleClass().add("section-title");
         resourcesTitle.setFont(Font.font("Segoe UI", FontWeight.SEMI_BOLD, 12));
         resourcesSection.getChildren().addAll(resourcesTitle, resourcesLabel);
         
         // Buildings section
         VBox buildingsSection = new VBox(6);
         Label buildingsTitle = new Label("🏠 Gebäude:");
+        buildingsTitle.getStyleClass().add("section-title");
         buildingsTitle.setFont(Font.font("Segoe UI", FontWeight.SEMI_BOLD, 12));
         buildingsSection.getChildren().addAll(buildingsTitle, buildingsLabel);
         
@@ -135,21 +148,34 @@ public class PlayerInterface extends VBox {
         
         // Card header
         Label cardTitle = new Label("🎮 Spielstatus");
+        cardTitle.getStyleClass().add("card-title");
         cardTitle.setFont(Font.font("Segoe UI", FontWeight.BOLD, 16));
         
         // Dice result section
         VBox diceSection = new VBox(6);
         Label diceTitle = new Label("🎲 Letzter Würfelwurf:");
+        diceTitle.getStyleClass().add("section-title");
         diceTitle.setFont(Font.font("Segoe UI", FontWeight.SEMI_BOLD, 12));
         diceSection.getChildren().addAll(diceTitle, diceResultLabel);
         
         // Game messages section
         VBox messagesSection = new VBox(6);
         Label messagesTitle = new Label("📢 Nachrichten:");
+        messagesTitle.getStyleClass().add("section-title");
         messagesTitle.setFont(Font.font("Segoe UI", FontWeight.SEMI_BOLD, 12));
         messagesSection.getChildren().addAll(messagesTitle, gameMessageLabel);
         
-        gameStatusCard.getChildren().addAll(cardTitle, diceSection, messagesSection);
+        // Win chance section, filled by the background estimate
+        winChanceSection = new VBox(6);
+        Label winChanceTitle = new Label("📈 Gewinnchancen:");
+        winChanceTitle.getStyleClass().add("section-title");
+        winChanceTitle.setFont(Font.font("Segoe UI", FontWeight.SEMI_BOLD, 12));
+        winChanceRows = new VBox(6);
+        winChanceSection.getChildren().addAll(winChanceTitle, winChanceRows);
+        winChanceSection.setVisible(false);
+        winChanceSection.setManaged(false);
+        
+        gameStatusCard.getChildren().addAll(cardTitle, diceSection, messagesSection, winChanceSection);
     }
     
     private void createControlsCard() {
@@ -157,16 +183,17 @@ public class PlayerInterface extends VBox {
         
         // Card header
         Label cardTitle = new Label("Spielsteuerung");
+        cardTitle.getStyleClass().add("card-title");
         cardTitle.setFont(Font.font("Segoe UI", FontWeight.BOLD, 16));
         
         // Primary actions
         VBox primaryActions = new VBox(10);
         
-        diceButton = new StyledButton("🎲 Würfeln", StyledButton.ButtonType.PRIMARY);
+        diceButton = disposer.add(new StyledButton("🎲 Würfeln", StyledButton.ButtonType.PRIMARY));
         diceButton.setPrefWidth(250);
         diceButton.setOnAction(e -> handleDiceRoll());
         
-        endTurnButton = new StyledButton("⏭ Zug beenden", StyledButton.ButtonType.SUCCESS);
+        endTurnButton = disposer.add(new StyledButton("⏭ Zug beenden", StyledButton.ButtonType.SUCCESS));
         endTurnButton.setPrefWidth(250);
         endTurnButton.setOnAction(e -> handleEndTurn());
         
@@ -175,11 +202,11 @@ public class PlayerInterface extends VBox {
         // Secondary actions
         VBox secondaryActions = new VBox(8);
         
-        tradeButton = new StyledButton("💰 Handeln", StyledButton.ButtonType.SECONDARY);
+        tradeButton = disposer.add(new StyledButton("💰 Handeln", StyledButton.ButtonType.SECONDARY));
         tradeButton.setPrefWidth(250);
         tradeButton.setOnAction(e -> handleTrade());
         
-        buildButton = new StyledButton("Bauen", StyledButton.ButtonType.SECONDARY);
+        buildButton = disposer.add(new StyledButton("Bauen", StyledButton.ButtonType.SECONDARY));
         buildButton.setPrefWidth(250);
         buildButton.setOnAction(e -> handleBuild());
         
@@ -188,7 +215,7 @@ public class PlayerInterface extends VBox {
         // Navigation
         VBox navigationActions = new VBox(8);
         
-        StyledButton quitButton = new StyledButton("🏠 Hauptmenü", StyledButton.ButtonType.DANGER);
+        StyledButton quitButton = disposer.add(new StyledButton("🏠 Hauptmenü", StyledButton.ButtonType.DANGER));
         quitButton.setPrefWidth(250);
         quitButton.setOnAction(e -> handleQuit());
         
@@ -257,11 +284,19 @@ public class PlayerInterface extends VBox {
     
     private void startPeriodicUpdates() {
         // Create a simple timer to update displays periodically
-        javafx.animation.Timeline timeline = new javafx.animation.Timeline(
+        updateTimeline = new javafx.animation.Timeline(
             new javafx.animation.KeyFrame(javafx.util.Duration.seconds(1), e -> updateDisplays())
         );
-        timeline.setCycleCount(javafx.animation.Timeline.INDEFINITE);
-        timeline.play();
+        updateTimeline.setCycleCount(javafx.animation.Timeline.INDEFINITE);
+        updateTimeline.play();
+        disposer.onDispose(updateTimeline::stop);
+    }
+    
+    /**
+     * Get the status of the periodic display updates; STOPPED once disposed
+     */
+    public Animation.Status getUpdateStatus() {
+        return updateTimeline.getStatus();
     }
     
     private void updateDisplays() {
@@ -276,64 +311,68 @@ public class PlayerInterface extends VBox {
         endTurnButton.setDisable(!gameStarted);
         tradeButton.setDisable(!gameStarted || !hasCurrentPlayer);
         buildButton.setDisable(!gameStarted || !hasCurrentPlayer);
+        
+        requestWinEstimate(gameStarted && !gameController.isInSetupPhase());
     }
     
     /**
-     * Apply the current theme to all components in the PlayerInterface
+     * Restart the win estimate when the game changed, i.e. the history version moved.
+     * The estimate keeps running in the background and streams refined numbers; an
+     * unchanged game costs nothing, not even a copy of the position.
+     * @param active Whether the game is in a state worth estimating
      */
-    public void applyCurrentTheme() {
-        ThemeManager themeManager = ThemeManager.getInstance();
-        
-        // Apply card styling to each card
-        if (playerInfoCard != null) {
-            playerInfoCard.setStyle(themeManager.getCardStyle());
-        }
-        if (gameStatusCard != null) {
-            gameStatusCard.setStyle(themeManager.getCardStyle());
-        }
-        if (controlsCard != null) {
-            controlsCard.setStyle(themeManager.getCardStyle());
+    private void requestWinEstimate(boolean active) {
+        BackgroundComputeService computeService = BackgroundComputeService.getInstance();
+        if (!active) {
+            computeService.cancel(WIN_ESTIMATE_KEY);
+            estimatedVersion = -1;
+            winChanceSection.setVisible(false);
+            winChanceSection.setManaged(false);
+            return;
         }
         
-        // Update text colors for dynamic labels
-        String textColor = themeManager.getTextColor();
-        String secondaryTextColor = themeManager.getSecondaryTextColor();
-        
-        currentPlayerLabel.setStyle("-fx-text-fill: " + textColor + ";");
-        diceResultLabel.setStyle("-fx-text-fill: " + textColor + ";");
-        gameMessageLabel.setStyle("-fx-text-fill: " + secondaryTextColor + ";");
-        resourcesLabel.setStyle("-fx-text-fill: " + textColor + ";");
-        buildingsLabel.setStyle("-fx-text-fill: " + textColor + ";");
+        long version = gameController.getHistory().getVersion();
+        if (version == estimatedVersion) {
+            return;
+        }
+        estimatedVersion = version;
         
-        // Recursively update all labels in the cards
-        updateLabelsInCard(playerInfoCard, textColor, secondaryTextColor);
-        updateLabelsInCard(gameStatusCard, textColor, secondaryTextColor);
-        updateLabelsInCard(controlsCard, textColor, secondaryTextColor);
+        // The position is copied here on the UI thread; the workers only read the copy
+        GamePosition position = GamePosition.of(gameController);
+        computeService.submitStreaming(WIN_ESTIMATE_KEY,
+            (token, publish) -> publish.accept(winEstimator.estimate(position, token, publish)),
+            this::showWinEstimate);
+    }
+    
+    /**
+     * Show the win chance of every player with its 95% confidence interval
+     * @param estimate The latest estimate
+     */
+    private void showWinEstimate(WinProbabilityEstimator.Estimate estimate) {
+        List<Player> players = gameController.getPlayerManager().getAllPlayers();
+        winChanceRows.getChildren().clear();
+        for (int i = 0; i < estimate.getPlayerCount() && i < players.size(); i++) {
+            Player player = players.get(i);
+            Label label = new Label(String.format("%s (%s): %.0f %% (%.0f–%.0f %%)",
+                player.getName(), player.getColorDisplayName(),
+                estimate.getWinProbability(i) * 100, estimate.getLowerBound(i) * 100, estimate.getUpperBound(i) * 100));
+            label.setFont(Font.font("Segoe UI", FontWeight.NORMAL, 11));
+            ProgressBar bar = new ProgressBar(estimate.getWinProbability(i));
+            bar.setMaxWidth(280);
+            winChanceRows.getChildren().add(new VBox(2, label, bar));
+        }
+        winChanceSection.setVisible(true);
+        winChanceSection.setManaged(true);
     }
     
-    private void updateLabelsInCard(VBox card, String textColor, String secondaryTextColor) {
-        if (card == null) return;
-        
-        card.getChildren().forEach(node -> {
-            if (node instanceof Label) {
-                Label label = (Label) node;
-                String labelText = label.getText();
-                
-                // Apply different colors based on label type
-                if (labelText.contains("👤") || labelText.contains("🎮") || labelText.contains("⚙️")) {
-                    // Card titles - use accent color
-                    label.setStyle("-fx-text-fill: " + ThemeManager.ACCENT_COLOR + ";");
-                } else if (labelText.endsWith(":")) {
-                    // Section titles - use secondary color
-                    label.setStyle("-fx-text-fill: " + secondaryTextColor + ";");
-                } else {
-                    // Regular text - use primary text color
-                    label.setStyle("-fx-text-fill: " + textColor + ";");
-                }
-            } else if (node instanceof VBox) {
-                updateLabelsInCard((VBox) node, textColor, secondaryTextColor);
-            }
-        });
+    /**
+     * Give the cards and labels their theme style classes
+     */
+    private void applyStyleClasses() {
+        playerInfoCard.getStyleClass().add("card");
+        gameStatusCard.getStyleClass().add("card");
+        controlsCard.getStyleClass().add("card");
+        gameMessageLabel.getStyleClass().add("secondary-text");
     }
     
     /**
@@ -347,4 +386,17 @@ public class PlayerInterface extends VBox {
         alert.setContentText(message);
         alert.showAndWait();
     }
+    
+    /**
+     * Stop the periodic updates and the win estimate and release the theme listeners;
+     * call when the game screen is closed
+     */
+    @Override
+    public void dispose() {
+        disposer.dispose();
+        BackgroundComputeService.getInstance().cancel(WIN_ESTIMATE_KEY);
+        currentPlayerLabel.textProperty().unbind();
+        diceResultLabel.textProperty().unbind();
+        gameMessageLabel.textProperty().unbind();
+    }
 }
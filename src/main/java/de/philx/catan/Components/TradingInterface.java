@@ -1,5 +1,7 @@
 package de.philx.catan.Components;
 
+import de.philx.catan.Analysis.BankTradePlan;
+import de.philx.catan.Controllers.BuildMode;
 import de.philx.catan.Controllers.TradeController;
 import de.philx.catan.Players.Player;
 import de.philx.catan.Players.Player.ResourceType;
@@ -51,6 +53,7 @@ public class TradingInterface extends VBox {
     // Display components
     private Label tradeStatusLabel;
     private Label currentOfferLabel;
+    private Label bankPlanLabel;
     
     public TradingInterface(TradeController tradeController, PlayerManager playerManager, 
                            int currentPlayerId, Runnable onTradeCompleted) {
@@ -64,9 +67,8 @@ public class TradingInterface extends VBox {
         setupEventHandlers();
         updateDisplay();
         
-        // Register for theme changes
-        ThemeManager.getInstance().addThemeChangeListener(this::applyTheme);
-        applyTheme();
+        // Card colors follow the theme stylesheet
+        this.getStyleClass().add("card");
     }
     
     private void initializeComponents() {
@@ -218,12 +220,17 @@ public class TradingInterface extends VBox {
         Label ratioLabel = new Label("Tauschverhältnis: 4:1");
         ratioLabel.setFont(Font.font(12));
         
+        // Suggested trades towards the next building
+        bankPlanLabel = new Label();
+        bankPlanLabel.setWrapText(true);
+        bankPlanLabel.setFont(Font.font(12));
+        
         // Execute button
         HBox buttonBox = new HBox();
         buttonBox.setAlignment(Pos.CENTER);
         buttonBox.getChildren().add(executeBankTradeButton);
         
-        content.getChildren().addAll(instructionLabel, giveBox, wantBox, ratioLabel, buttonBox);
+        content.getChildren().addAll(instructionLabel, giveBox, wantBox, ratioLabel, bankPlanLabel, buttonBox);
         return content;
     }
     
@@ -384,12 +391,13 @@ public class TradingInterface extends VBox {
         }
         
         updateBankTradeDisplay();
+        updateBankPlanDisplay();
     }
     
     private void updateBankTradeDisplay() {
         ResourceType selectedResource = bankGiveCombo.getSelectionModel().getSelectedItem();
         if (selectedResource != null) {
-            int ratio = tradeController.getBankTradeRatio(selectedResource);
+            int ratio = tradeController.getBankTradeRatio(currentPlayerId, selectedResource);
             bankGiveSpinner.getValueFactory().setValue(ratio);
             
             // Find and update ratio label
@@ -403,6 +411,34 @@ public class TradingInterface extends VBox {
         }
     }
     
+    /**
+     * Show the bank trades that make the most valuable building affordable
+     */
+    private void updateBankPlanDisplay() {
+        Player player = playerManager.getPlayerById(currentPlayerId);
+        if (bankPlanLabel == null || player == null) {
+            return;
+        }
+        BuildMode[] modes = {BuildMode.CITY, BuildMode.SETTLEMENT, BuildMode.ROAD};
+        String[] names = {"eine Stadt", "eine Siedlung", "eine Straße"};
+        for (int m = 0; m < modes.length; m++) {
+            BankTradePlan plan = BankTradePlan.compute(player, modes[m]);
+            if (plan.isPossible() && plan.getTradeCount() > 0) {
+                StringBuilder sb = new StringBuilder("💡 Für ").append(names[m]).append(": ");
+                for (int i = 0; i < plan.getTradeCount(); i++) {
+                    if (i > 0) {
+                        sb.append(", ");
+                    }
+                    sb.append(plan.getGiveAmount(i)).append("x ").append(getResourceName(plan.getGiveResource(i)))
+                      .append(" → ").append(getResourceName(plan.getWantResource(i)));
+                }
+                bankPlanLabel.setText(sb.toString());
+                return;
+            }
+        }
+        bankPlanLabel.setText("");
+    }
+    
     private String formatResources(Map<ResourceType, Integer> resources) {
         if (resources.isEmpty()) {
             return "nichts";
@@ -437,17 +473,6 @@ public class TradingInterface extends VBox {
         alert.showAndWait();
     }
     
-    private void applyTheme() {
-        ThemeManager themeManager = ThemeManager.getInstance();
-        
-        // Apply theme to main container
-        this.setStyle(themeManager.getCardStyle());
-        
-        // Apply theme to labels
-        tradeStatusLabel.setStyle("-fx-text-fill: " + themeManager.getTextColor() + ";");
-        currentOfferLabel.setStyle("-fx-text-fill: " + themeManager.getTextColor() + ";");
-    }
-    
     /**
      * Show trading interface in a new window
      */
@@ -0,0 +1,74 @@
+package de.philx.catan.Controllers;
+
+/**
+ * German texts for the {@link ActionResult} codes.
+ *
+ * This is the only place where rejected actions get a message; validation itself only
+ * returns codes. All texts are constants, so looking one up allocates nothing.
+ */
+public final class ActionMessages {
+
+    private ActionMessages() {}
+
+    /**
+     * Get the message for a rejected build
+     * @param result The code returned by the validation
+     * @param buildMode What was built; SETUP_ROAD counts as a road
+     */
+    public static String forBuild(int result, BuildMode buildMode) {
+        switch (result) {
+            case ActionResult.INSUFFICIENT_RESOURCES:
+                switch (buildMode) {
+                    case SETTLEMENT: return "Nicht genügend Ressourcen für eine Siedlung!";
+                    case CITY: return "Nicht genügend Ressourcen für eine Stadt!";
+                    default: return "Nicht genügend Ressourcen für eine Straße!";
+                }
+            case ActionResult.NO_PIECES_LEFT:
+                switch (buildMode) {
+                    case SETTLEMENT: return "Keine Siedlungen mehr übrig!";
+                    case CITY: return "Keine Städte mehr übrig!";
+                    default: return "Keine Straßen mehr übrig!";
+                }
+            case ActionResult.INVALID_LOCATION:
+                return buildMode == BuildMode.ROAD || buildMode == BuildMode.SETUP_ROAD
+                    ? "Ungültige Kante!" : "Ungültiger Knoten!";
+            case ActionResult.OCCUPIED:
+                switch (buildMode) {
+                    case SETTLEMENT: return "Siedlung kann hier nicht gebaut werden: Der Platz ist belegt!";
+                    case CITY: return "Stadt kann hier nicht gebaut werden!";
+                    default: return "Straße kann hier nicht gebaut werden: Hier liegt schon eine Straße!";
+                }
+            default:
+                return get(result);
+        }
+    }
+
+    /**
+     * Get the message for a rejected action
+     */
+    public static String get(int result) {
+        switch (result) {
+            case ActionResult.OK: return "";
+            case ActionResult.NO_ACTIVE_PLAYER: return "Kein aktiver Spieler!";
+            case ActionResult.NOT_YOUR_TURN: return "Du bist nicht am Zug!";
+            case ActionResult.ROBBER_PENDING: return "Bitte platziere zuerst den Räuber!";
+            case ActionResult.INVALID_LOCATION: return "Ungültiges Feld ausgewählt!";
+            case ActionResult.OCCUPIED: return "Dieser Platz ist bereits belegt!";
+            case ActionResult.DISTANCE_RULE: return "Siedlung kann hier nicht gebaut werden: Zu nah an einem anderen Gebäude!";
+            case ActionResult.NOT_CONNECTED: return "Straße kann hier nicht gebaut werden: Sie muss an eigene Straßen oder Gebäude anschließen!";
+            case ActionResult.NOT_OWN_SETTLEMENT: return "Stadt kann hier nicht gebaut werden: Nur eigene Siedlungen können ausgebaut werden!";
+            case ActionResult.ROBBER_NOT_PENDING: return "Der Räuber kann nur nach einer 7 bewegt werden!";
+            case ActionResult.ROBBER_ALREADY_THERE: return "Der Räuber ist bereits auf diesem Feld!";
+            case ActionResult.INSUFFICIENT_RESOURCES: return "Nicht genügend Ressourcen für diesen Handel!";
+            case ActionResult.NO_PIECES_LEFT: return "Keine Spielfiguren mehr übrig!";
+            case ActionResult.INVALID_PLAYER: return "Ungültige Spieler für Handel!";
+            case ActionResult.INVALID_TRADE_AMOUNT: return "Bank-Handel erfordert ein Vielfaches des Tauschverhältnisses!";
+            case ActionResult.PARTNER_INSUFFICIENT_RESOURCES: return "Der Handelspartner hat nicht genügend der angeforderten Ressourcen!";
+            case ActionResult.NO_TRADE_OFFER: return "Kein Handelsangebot vorhanden!";
+            case ActionResult.NOT_TRADE_TARGET: return "Nur der Ziel-Spieler kann auf diesen Handel antworten!";
+            case ActionResult.ALREADY_ROLLED: return "Du hast bereits gewürfelt! Beende deinen Zug.";
+            case ActionResult.SETUP_PHASE: return "Erst die Aufbauphase beenden!";
+            default: return "Aktion nicht möglich!";
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package de.philx.catan.Controllers;
+
+/**
+ * Reason codes returned by the validation methods of {@link GameController} and
+ * {@link TradeController}.
+ *
+ * A code is a plain {@code int}, so validating an action allocates nothing, and UI,
+ * bots and batch runs can react to a rejection without parsing text. The displayed
+ * text for a code comes from {@link ActionMessages}.
+ */
+public final class ActionResult {
+
+    /** The action is allowed */
+    public static final int OK = 0;
+
+    // === Turn ===
+
+    /** No player is active, e.g. before the game has started */
+    public static final int NO_ACTIVE_PLAYER = 1;
+    /** Another player is active */
+    public static final int NOT_YOUR_TURN = 2;
+    /** A 7 was rolled and the robber has to be moved first */
+    public static final int ROBBER_PENDING = 3;
+    /** The player already rolled the dice this turn */
+    public static final int ALREADY_ROLLED = 18;
+    /** The action is not possible during the setup phase */
+    public static final int SETUP_PHASE = 19;
+
+    // === Board ===
+
+    /** The node, edge or hexagon id does not exist */
+    public static final int INVALID_LOCATION = 4;
+    /** There already is a building or road */
+    public static final int OCCUPIED = 5;
+    /** A neighbouring node has a building */
+    public static final int DISTANCE_RULE = 6;
+    /** The road touches none of the player's roads or buildings */
+    public static final int NOT_CONNECTED = 7;
+    /** A city needs one of the player's own settlements */
+    public static final int NOT_OWN_SETTLEMENT = 8;
+    /** The robber can only be moved after a 7 */
+    public static final int ROBBER_NOT_PENDING = 9;
+    /** The robber already stands on the hexagon */
+    public static final int ROBBER_ALREADY_THERE = 10;
+
+    // === Player ===
+
+    /** The player does not have the resources */
+    public static final int INSUFFICIENT_RESOURCES = 11;
+    /** The player has no piece of this kind left */
+    public static final int NO_PIECES_LEFT = 12;
+
+    // === Trade ===
+
+    /** A player id in the trade does not exist */
+    public static final int INVALID_PLAYER = 13;
+    /** The bank trade amount is not a positive multiple of the player's ratio */
+    public static final int INVALID_TRADE_AMOUNT = 14;
+    /** The trade partner does not have the requested resources */
+    public static final int PARTNER_INSUFFICIENT_RESOURCES = 15;
+    /** There is no open trade offer */
+    public static final int NO_TRADE_OFFER = 16;
+    /** Only the addressed player may answer the offer */
+    public static final int NOT_TRADE_TARGET = 17;
+
+    private static final String[] NAMES = {
+        "OK", "NO_ACTIVE_PLAYER", "NOT_YOUR_TURN", "ROBBER_PENDING",
+        "INVALID_LOCATION", "OCCUPIED", "DISTANCE_RULE", "NOT_CONNECTED", "NOT_OWN_SETTLEMENT",
+        "ROBBER_NOT_PENDING", "ROBBER_ALREADY_THERE",
+        "INSUFFICIENT_RESOURCES", "NO_PIECES_LEFT",
+        "INVALID_PLAYER", "INVALID_TRADE_AMOUNT", "PARTNER_INSUFFICIENT_RESOURCES",
+        "NO_TRADE_OFFER", "NOT_TRADE_TARGET",
+        "ALREADY_ROLLED", "SETUP_PHASE"
+    };
+
+    private ActionResult() {}
+
+    public static boolean isOk(int result) {
+        return result == OK;
+    }
+
+    /**
+     * Get the constant name of a code, e.g. for logs
+     */
+    public static String name(int result) {
+        return result >= 0 && result < NAMES.length ? NAMES[result] : "UNKNOWN";
+    }
+}
@@ -0,0 +1,252 @@
+package de.philx.catan.Controllers;
+
+import de.philx.catan.Logging.GameLogger;
+import de.philx.catan.Logging.LogLevel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Single-writer command pipeline for a {@link GameController}.
+ *
+ * In pipeline mode every mutation is enqueued and applied in submission order by one
+ * dedicated writer thread, which is the only thread that touches the controller, the
+ * players and the board. After each batch of commands the writer publishes an immutable
+ * {@link GameSnapshot} through a volatile reference, so any number of readers (UI,
+ * background analysis, spectators) see consistent state without ever blocking the game.
+ *
+ * A command's future completes only after the snapshot containing its effect has been
+ * published.
+ */
+public class GameCommandPipeline implements AutoCloseable {
+
+    /** Upper bound of commands applied before a snapshot is published */
+    private static final GameLogger LOG = GameLogger.getInstance();
+
+    private static final int MAX_BATCH = 64;
+
+    private final GameController gameController;
+    private final BlockingQueue<Command<?>> queue;
+    private final Thread writerThread;
+    private final List<Consumer<GameSnapshot>> snapshotListeners;
+    // Guards running and enqueueing, so nothing is queued behind the poison command
+    private final Object submitLock;
+    private volatile GameSnapshot snapshot;
+    private volatile boolean running;
+    private long version;
+
+    /**
+     * Create and start a pipeline. From now on the controller must only be accessed
+     * through {@link #submit} and {@link #execute}.
+     * @param gameController The game to own
+     */
+    public GameCommandPipeline(GameController gameController) {
+        this.gameController = gameController;
+        this.queue = new LinkedBlockingQueue<>();
+        this.snapshot = GameSnapshot.capture(gameController, 0);
+        this.snapshotListeners = new CopyOnWriteArrayList<>();
+        this.submitLock = new Object();
+        this.running = true;
+        gameController.getTradeController().setOwner(this);
+
+        this.writerThread = new Thread(this::runWriterLoop, "catan-game-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Enqueue a command
+     * @param command Function applied to the controller on the writer thread
+     * @return Future completed with the command's result once its snapshot is published
+     */
+    public <T> CompletableFuture<T> submit(Function<GameController, T> command) {
+        Command<T> entry = new Command<>(command);
+        synchronized (submitLock) {
+            if (!running) {
+                throw new RejectedExecutionException("Command pipeline is closed");
+            }
+            queue.add(entry);
+        }
+        return entry.future;
+    }
+
+    /**
+     * Enqueue a command without a result
+     * @param command Action applied to the controller on the writer thread
+     * @return Future completed once the command's snapshot is published
+     */
+    public CompletableFuture<Void> execute(Consumer<GameController> command) {
+        return submit(controller -> {
+            command.accept(controller);
+            return null;
+        });
+    }
+
+    /**
+     * Run a command and wait for its result. When called from the writer thread itself
+     * the command is applied immediately to avoid a self-deadlock.
+     * @param command Function applied to the controller
+     * @return The command's result
+     */
+    public <T> T call(Function<GameController, T> command) {
+        if (isWriterThread()) {
+            return command.apply(gameController);
+        }
+
+        try {
+            return submit(command).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Get the most recently published state. Never blocks.
+     * @return The latest immutable snapshot
+     */
+    public GameSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Register a listener that receives every published snapshot (e.g. a replay recorder
+     * or spectator feed). Listeners run on the writer thread and must return quickly.
+     * @param listener Callback for new snapshots
+     */
+    public void addSnapshotListener(Consumer<GameSnapshot> listener) {
+        snapshotListeners.add(listener);
+    }
+
+    public void removeSnapshotListener(Consumer<GameSnapshot> listener) {
+        snapshotListeners.remove(listener);
+    }
+
+    /**
+     * Check whether the calling thread is the pipeline's writer
+     * @return true if called from the writer thread
+     */
+    public boolean isWriterThread() {
+        return Thread.currentThread() == writerThread;
+    }
+
+    /**
+     * Get the number of commands waiting to be applied
+     * @return Queue length
+     */
+    public int getPendingCommandCount() {
+        return queue.size();
+    }
+
+    /**
+     * Stop accepting commands, apply the ones already queued and stop the writer thread
+     */
+    @Override
+    public void close() {
+        synchronized (submitLock) {
+            if (!running) return;
+
+            running = false;
+            queue.add(Command.POISON);
+        }
+        if (!isWriterThread()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        gameController.getTradeController().setOwner(null);
+    }
+
+    private void runWriterLoop() {
+        List<Command<?>> batch = new ArrayList<>(MAX_BATCH);
+        boolean stop = false;
+
+        while (!stop) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            for (Command<?> command : batch) {
+                if (command == Command.POISON) {
+                    stop = true;
+                } else if (stop) {
+                    command.reject();
+                } else {
+                    command.apply(gameController);
+                }
+            }
+
+            // Publish before completing futures so callers observe their own writes
+            snapshot = GameSnapshot.capture(gameController, ++version);
+            for (Consumer<GameSnapshot> listener : snapshotListeners) {
+                try {
+                    listener.accept(snapshot);
+                } catch (RuntimeException e) {
+                    LOG.log(LogLevel.WARN, "GAME", "Snapshot-Listener fehlgeschlagen: {}", e.getMessage());
+                }
+            }
+
+            for (Command<?> command : batch) {
+                command.complete();
+            }
+            batch.clear();
+        }
+
+        // submit() cannot queue behind the poison command; reject anything left just in case
+        for (Command<?> command : queue) {
+            command.future.completeExceptionally(new RejectedExecutionException("Command pipeline is closed"));
+        }
+        queue.clear();
+    }
+
+    /**
+     * A queued command and its pending outcome
+     */
+    private static final class Command<T> {
+        private static final Command<Void> POISON = new Command<>(controller -> null);
+
+        private final Function<GameController, T> action;
+        private final CompletableFuture<T> future;
+        private T result;
+        private Throwable failure;
+
+        private Command(Function<GameController, T> action) {
+            this.action = action;
+            this.future = new CompletableFuture<>();
+        }
+
+        private void apply(GameController controller) {
+            try {
+                result = action.apply(controller);
+            } catch (Throwable t) {
+                failure = t;
+            }
+        }
+
+        private void reject() {
+            failure = new RejectedExecutionException("Command pipeline is closed");
+        }
+
+        private void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+}
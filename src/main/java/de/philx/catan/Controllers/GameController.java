@@ -1,16 +1,32 @@
 package de.philx.catan.Controllers;
 
+import de.philx.catan.GameField.BoardLayout;
+import de.philx.catan.GameField.BoardPool;
+import de.philx.catan.GameField.BoardTopology;
 import de.philx.catan.GameField.Edge;
 import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.HarborType;
 import de.philx.catan.GameField.Hexagon;
 import de.philx.catan.GameField.Node;
 import de.philx.catan.GamePieces.City;
 import de.philx.catan.GamePieces.Settlement;
 import de.philx.catan.GamePieces.Street;
+import de.philx.catan.Logging.GameLogger;
+import de.philx.catan.Logging.LogLevel;
+import de.philx.catan.Metrics.BuildEvent;
+import de.philx.catan.Metrics.Counter;
+import de.philx.catan.Metrics.DiceRollEvent;
+import de.philx.catan.Metrics.LatencyHistogram;
+import de.philx.catan.Metrics.MetricsRegistry;
+import de.philx.catan.Metrics.ResourceProductionEvent;
+import de.philx.catan.Metrics.TurnEvent;
 import de.philx.catan.Players.Player;
 import de.philx.catan.Players.PlayerManager;
+import de.philx.catan.Players.ScoreLedger;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
@@ -20,9 +36,22 @@ import javafx.beans.property.StringProperty;
  */
 public class GameController {
     
+    private static final LatencyHistogram ROLL_DICE_LATENCY = MetricsRegistry.getInstance().histogram("game.rollDice");
+    private static final LatencyHistogram RESOURCE_PRODUCTION_LATENCY = MetricsRegistry.getInstance().histogram("game.resourceProduction");
+    private static final LatencyHistogram BUILD_ROAD_LATENCY = MetricsRegistry.getInstance().histogram("game.buildRoad");
+    private static final LatencyHistogram BUILD_SETTLEMENT_LATENCY = MetricsRegistry.getInstance().histogram("game.buildSettlement");
+    private static final LatencyHistogram BUILD_CITY_LATENCY = MetricsRegistry.getInstance().histogram("game.buildCity");
+    private static final Counter DICE_ROLLS = MetricsRegistry.getInstance().counter("game.dice.rolls");
+    private static final Counter RESOURCES_PRODUCED = MetricsRegistry.getInstance().counter("game.resources.produced");
+    private static final GameLogger LOG = GameLogger.getInstance();
+    
     private final GameField gameField;
     private final PlayerManager playerManager;
     private final TradeController tradeController;
+    // Held while resources change, shared with the trades of other threads
+    private final ReentrantLock resourceLock;
+    private final GameHistory history;
+    private final GameStatistics statistics;
     private final Random diceRandom;
     
     // Observable properties for UI binding
@@ -30,6 +59,9 @@ public class GameController {
     private final StringProperty diceResultProperty;
     private final StringProperty gameMessageProperty;
     
+    // Runs property updates; replaced by Platform::runLater when a writer thread owns the game
+    private Executor propertyUpdater;
+    
     // Game state
     private boolean waitingForRobberPlacement;
     private int lastDiceRoll;
@@ -38,23 +70,63 @@ public class GameController {
     
     // Track last settlement for road validation in setup phase
     private int lastPlacedSettlementNodeId;
+    
+    // Reason code of the last build or robber move, see ActionResult
+    private int lastActionResult;
 
+    /**
+     * Create a game on a standard board taken from the board pool
+     */
     public GameController() {
-        this.gameField = new GameField(50.0);
+        this(BoardPool.getInstance().take());
+    }
+
+    /**
+     * Create a game on a board of any shape, e.g. a large map for stress tests
+     * @param layout Position of every hexagon
+     */
+    public GameController(BoardLayout layout) {
+        this(new GameField(50.0, layout));
+    }
+
+    /**
+     * Create a game on an already generated board
+     * @param gameField The board; must not be shared with another game
+     */
+    public GameController(GameField gameField) {
+        this.gameField = gameField;
         this.playerManager = new PlayerManager();
         this.tradeController = new TradeController(playerManager);
+        this.resourceLock = tradeController.getTradeLock();
+        this.history = new GameHistory();
+        this.tradeController.setHistory(history);
+        this.statistics = new GameStatistics(playerManager.getMaxPlayers(), gameField.getHexagons().length);
+        this.tradeController.setStatistics(statistics);
+        this.playerManager.getScoreLedger().addWinListener(new ScoreLedger.WinListener() {
+            @Override
+            public void onWin(Player winner, int victoryPoints) {
+                LOG.log(LogLevel.INFO, "GAME", "{} gewinnt mit {} Siegpunkten", winner.getName(), victoryPoints);
+            }
+
+            @Override
+            public void onWinRevoked(Player formerWinner) {
+                LOG.log(LogLevel.INFO, "GAME", "Sieg von {} zurückgenommen", formerWinner.getName());
+            }
+        });
         this.diceRandom = new Random();
         
         // Initialize observable properties
         this.currentPlayerProperty = new SimpleStringProperty("Spiel nicht gestartet");
         this.diceResultProperty = new SimpleStringProperty("");
         this.gameMessageProperty = new SimpleStringProperty("Willkommen bei Catan!");
+        this.propertyUpdater = Runnable::run;
         
         this.waitingForRobberPlacement = false;
         this.lastDiceRoll = 0;
         this.currentBuildingMode = null;
         this.buildingModeActive = false;
         this.lastPlacedSettlementNodeId = -1;
+        this.lastActionResult = ActionResult.OK;
     }
     
     /**
@@ -62,7 +134,7 @@ public class GameController {
      * This method is intended for development and testing purposes
      */
     public void startTestGame() {
-        System.out.println("[DEBUG] Testspiel gestartet.");
+        LOG.log(LogLevel.DEBUG, "GAME", "Testspiel gestartet.");
         initializeTestPlayers();
     }
     
@@ -114,6 +186,8 @@ public class GameController {
         Settlement settlement = new Settlement(currentPlayer.getPlayerId(), currentPlayer.getColorDisplayName().charAt(0));
         node.setBuilding(settlement);
         currentPlayer.buildSettlementSetup(); // Use setup method that doesn't charge resources
+        applyHarbor(currentPlayer, nodeId);
+        statistics.recordBuild(GameHistory.SETTLEMENT, currentPlayer.getPlayerId(), nodeId);
         
         // Track the settlement node for road validation
         lastPlacedSettlementNodeId = nodeId;
@@ -128,6 +202,18 @@ public class GameController {
      * Handle road placement during setup phase
      */
     public boolean placeSetupRoad(int edgeId) {
+        resourceLock.lock();
+        try {
+            return performPlaceSetupRoad(edgeId);
+        } finally {
+            resourceLock.unlock();
+        }
+    }
+    
+    /**
+     * Implementation of {@link #placeSetupRoad(int)}; the second round hands out resources
+     */
+    private boolean performPlaceSetupRoad(int edgeId) {
         if (!playerManager.isSetupPhase()) {
             setGameMessage("Nicht in der Aufbauphase!");
             return false;
@@ -153,6 +239,7 @@ public class GameController {
         Street road = new Street(currentPlayer.getPlayerId(), currentPlayer.getColorDisplayName().charAt(0));
         edge.setRoad(road);
         currentPlayer.buildRoadSetup(); // Use setup method that doesn't charge resources
+        statistics.recordBuild(GameHistory.ROAD, currentPlayer.getPlayerId(), edgeId);
         
         // Give resources for second settlement
         if (playerManager.getSetupRound() == 2) {
@@ -220,6 +307,7 @@ public class GameController {
      */
     private void finishSetupPhase() {
         // PlayerManager already handles setup phase transition
+        statistics.startTurn();
         updateCurrentPlayerDisplay();
         Player currentPlayer = getCurrentPlayer();
         if (currentPlayer != null) {
@@ -231,6 +319,175 @@ public class GameController {
         }
     }
     
+    // === Validation ===
+    
+    /**
+     * Check whether a player may build a road now, without changing anything
+     * @param playerId The player who wants to build
+     * @param edgeId The edge to build on
+     * @return {@link ActionResult#OK} or the reason the road cannot be built
+     */
+    public int validateRoad(int playerId, int edgeId) {
+        int result = validateTurn(playerId);
+        if (result != ActionResult.OK) {
+            return result;
+        }
+        Edge edge = gameField.getEdge(edgeId);
+        if (edge == null) {
+            return ActionResult.INVALID_LOCATION;
+        }
+        if (edge.hasRoad()) {
+            return ActionResult.OCCUPIED;
+        }
+        if (!isConnectedToPlayer(edgeId, playerId)) {
+            return ActionResult.NOT_CONNECTED;
+        }
+        Player player = playerManager.getPlayerById(playerId);
+        if (player.getAvailableRoads() <= 0) {
+            return ActionResult.NO_PIECES_LEFT;
+        }
+        if (!playerManager.isSetupPhase() && !player.canBuildRoad()) {
+            return ActionResult.INSUFFICIENT_RESOURCES;
+        }
+        return ActionResult.OK;
+    }
+    
+    /**
+     * Check whether a player may build a settlement now, without changing anything
+     * @param playerId The player who wants to build
+     * @param nodeId The node to build on
+     * @return {@link ActionResult#OK} or the reason the settlement cannot be built
+     */
+    public int validateSettlement(int playerId, int nodeId) {
+        int result = validateTurn(playerId);
+        if (result != ActionResult.OK) {
+            return result;
+        }
+        Node node = gameField.getNode(nodeId);
+        if (node == null) {
+            return ActionResult.INVALID_LOCATION;
+        }
+        if (node.hasBuilding()) {
+            return ActionResult.OCCUPIED;
+        }
+        for (int neighborId : gameField.getTopology().getNodeNeighbors(nodeId)) {
+            if (gameField.getNode(neighborId).hasBuilding()) {
+                return ActionResult.DISTANCE_RULE;
+            }
+        }
+        Player player = playerManager.getPlayerById(playerId);
+        if (player.getAvailableSettlements() <= 0) {
+            return ActionResult.NO_PIECES_LEFT;
+        }
+        if (!playerManager.isSetupPhase() && !player.canBuildSettlement()) {
+            return ActionResult.INSUFFICIENT_RESOURCES;
+        }
+        return ActionResult.OK;
+    }
+    
+    /**
+     * Check whether a player may upgrade a settlement to a city now, without changing anything
+     * @param playerId The player who wants to build
+     * @param nodeId The node of the settlement
+     * @return {@link ActionResult#OK} or the reason the city cannot be built
+     */
+    public int validateCity(int playerId, int nodeId) {
+        int result = validateTurn(playerId);
+        if (result != ActionResult.OK) {
+            return result;
+        }
+        Node node = gameField.getNode(nodeId);
+        if (node == null) {
+            return ActionResult.INVALID_LOCATION;
+        }
+        if (!node.isValidForCityUpgrade(playerId)) {
+            return ActionResult.NOT_OWN_SETTLEMENT;
+        }
+        Player player = playerManager.getPlayerById(playerId);
+        if (player.getAvailableCities() <= 0) {
+            return ActionResult.NO_PIECES_LEFT;
+        }
+        if (!player.canBuildCity()) {
+            return ActionResult.INSUFFICIENT_RESOURCES;
+        }
+        return ActionResult.OK;
+    }
+    
+    /**
+     * Check whether the robber may be moved to a hexagon now
+     * @param hexagonId The target hexagon
+     * @return {@link ActionResult#OK} or the reason the robber cannot be moved there
+     */
+    public int validateMoveRobber(int hexagonId) {
+        if (!waitingForRobberPlacement) {
+            return ActionResult.ROBBER_NOT_PENDING;
+        }
+        if (gameField.getHexagon(hexagonId) == null) {
+            return ActionResult.INVALID_LOCATION;
+        }
+        if (gameField.getRobberPosition() == hexagonId) {
+            return ActionResult.ROBBER_ALREADY_THERE;
+        }
+        return ActionResult.OK;
+    }
+    
+    /**
+     * Get the reason code of the last build, dice roll or robber move, {@link ActionResult#OK} if it succeeded
+     */
+    public int getLastActionResult() {
+        return lastActionResult;
+    }
+    
+    private int validateTurn(int playerId) {
+        Player currentPlayer = getCurrentPlayer();
+        if (currentPlayer == null) {
+            return ActionResult.NO_ACTIVE_PLAYER;
+        }
+        if (currentPlayer.getPlayerId() != playerId) {
+            return ActionResult.NOT_YOUR_TURN;
+        }
+        if (waitingForRobberPlacement && !playerManager.isSetupPhase()) {
+            return ActionResult.ROBBER_PENDING;
+        }
+        return ActionResult.OK;
+    }
+    
+    /**
+     * Check whether an edge touches a building or another road of the player
+     */
+    private boolean isConnectedToPlayer(int edgeId, int playerId) {
+        BoardTopology topology = gameField.getTopology();
+        return isConnectedAt(topology, topology.getEdgeNode1(edgeId), edgeId, playerId)
+            || isConnectedAt(topology, topology.getEdgeNode2(edgeId), edgeId, playerId);
+    }
+    
+    private boolean isConnectedAt(BoardTopology topology, int nodeId, int edgeId, int playerId) {
+        Node node = gameField.getNode(nodeId);
+        if (node.hasBuilding() && node.getBuilding().getPlayerId() == playerId) {
+            return true;
+        }
+        for (int otherEdgeId : topology.getNodeEdges(nodeId)) {
+            Edge other = gameField.getEdge(otherEdgeId);
+            if (otherEdgeId != edgeId && other.hasRoad() && other.getRoad().getPlayerId() == playerId) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Remember a validation result and show the message if the build was rejected
+     * @return true if the build may go ahead
+     */
+    private boolean accept(int result, BuildMode buildMode) {
+        lastActionResult = result;
+        if (result != ActionResult.OK) {
+            setGameMessage(ActionMessages.forBuild(result, buildMode));
+            return false;
+        }
+        return true;
+    }
+    
     // === Building Methods ===
     
     /**
@@ -239,24 +496,35 @@ public class GameController {
      * @return true if the road was built successfully
      */
     public boolean buildRoad(int edgeId) {
-        Player currentPlayer = getCurrentPlayer();
-        if (currentPlayer == null) {
-            setGameMessage("Kein aktiver Spieler!");
-            return false;
+        long start = MetricsRegistry.startTimer();
+        BuildEvent event = new BuildEvent();
+        event.begin();
+        int playerId = getCurrentPlayerId();
+        try {
+            boolean success;
+            resourceLock.lock();
+            try {
+                success = performBuildRoad(edgeId);
+            } finally {
+                resourceLock.unlock();
+            }
+            event.finish("ROAD", playerId, edgeId, success);
+            return success;
+        } finally {
+            BUILD_ROAD_LATENCY.recordSince(start);
         }
-        
-        // Check if placement is valid
-        if (!gameField.canPlaceRoad(edgeId, currentPlayer.getPlayerId())) {
-            setGameMessage("Straße kann hier nicht gebaut werden!");
+    }
+    
+    /**
+     * Implementation of {@link #buildRoad(int)}, timed by the public method
+     */
+    private boolean performBuildRoad(int edgeId) {
+        Player currentPlayer = getCurrentPlayer();
+        if (!accept(validateRoad(getCurrentPlayerId(), edgeId), BuildMode.ROAD)) {
             return false;
         }
         
         Edge edge = gameField.getEdge(edgeId);
-        if (edge == null) {
-            setGameMessage("Ungültige Kante!");
-            return false;
-        }
-        
         boolean success;
         if (playerManager.isSetupPhase()) {
             success = handleRoadPlacementInSetup(currentPlayer, edge);
@@ -288,6 +556,7 @@ public class GameController {
         if (success) {
             Street road = new Street(player.getPlayerId(), player.getColorDisplayName().charAt(0));
             edge.setRoad(road);
+            statistics.recordBuild(GameHistory.ROAD, player.getPlayerId(), edge.getEdgeId());
             setGameMessage("Straße in der Startphase platziert!");
             
             // Advance setup phase
@@ -305,20 +574,17 @@ public class GameController {
      * @return true if the road was placed successfully
      */
     private boolean handleRoadPlacementInGame(Player player, Edge edge) {
-        // Check if player can afford a road
-        if (!player.canBuildRoad()) {
-            setGameMessage("Nicht genügend Ressourcen für eine Straße!");
-            return false;
-        }
-        
         // Pay resources and place road
         boolean success = player.buildRoad();
         if (success) {
             Street road = new Street(player.getPlayerId(), player.getColorDisplayName().charAt(0));
             edge.setRoad(road);
             
-            // Update longest road calculations
+            // Update longest road calculations; kept on this thread because the award changes
+            // victory points, which history, bots and the win check must see with the road
             boolean longestRoadChanged = playerManager.updateLongestRoad(gameField.getEdges());
+            recordStep(GameHistory.ROAD, player.getPlayerId(), edge.getEdgeId(), 0);
+            statistics.recordBuild(GameHistory.ROAD, player.getPlayerId(), edge.getEdgeId());
             
             setGameMessage("Straße gebaut!" + 
                 (longestRoadChanged ? " Längste Handelsstraße hat sich geändert!" : ""));
@@ -332,24 +598,35 @@ public class GameController {
      * @return true if the settlement was built successfully
      */
     public boolean buildSettlement(int nodeId) {
-        Player currentPlayer = getCurrentPlayer();
-        if (currentPlayer == null) {
-            setGameMessage("Kein aktiver Spieler!");
-            return false;
+        long start = MetricsRegistry.startTimer();
+        BuildEvent event = new BuildEvent();
+        event.begin();
+        int playerId = getCurrentPlayerId();
+        try {
+            boolean success;
+            resourceLock.lock();
+            try {
+                success = performBuildSettlement(nodeId);
+            } finally {
+                resourceLock.unlock();
+            }
+            event.finish("SETTLEMENT", playerId, nodeId, success);
+            return success;
+        } finally {
+            BUILD_SETTLEMENT_LATENCY.recordSince(start);
         }
-        
-        // Check if placement is valid
-        if (!gameField.canPlaceSettlement(nodeId, currentPlayer.getPlayerId())) {
-            setGameMessage("Siedlung kann hier nicht gebaut werden!");
+    }
+    
+    /**
+     * Implementation of {@link #buildSettlement(int)}, timed by the public method
+     */
+    private boolean performBuildSettlement(int nodeId) {
+        Player currentPlayer = getCurrentPlayer();
+        if (!accept(validateSettlement(getCurrentPlayerId(), nodeId), BuildMode.SETTLEMENT)) {
             return false;
         }
         
         Node node = gameField.getNode(nodeId);
-        if (node == null) {
-            setGameMessage("Ungültiger Knoten!");
-            return false;
-        }
-        
         boolean success;
         if (playerManager.isSetupPhase()) {
             success = handleSettlementPlacementInSetup(currentPlayer, node);
@@ -381,6 +658,8 @@ public class GameController {
         if (success) {
             Settlement settlement = new Settlement(player.getPlayerId(), player.getColorDisplayName().charAt(0));
             node.setBuilding(settlement);
+            applyHarbor(player, node.getNodeId());
+            statistics.recordBuild(GameHistory.SETTLEMENT, player.getPlayerId(), node.getNodeId());
             setGameMessage("Siedlung in der Startphase platziert!");
             
             // Advance setup phase
@@ -398,17 +677,14 @@ public class GameController {
      * @return true if the settlement was placed successfully
      */
     private boolean handleSettlementPlacementInGame(Player player, Node node) {
-        // Check if player can afford a settlement
-        if (!player.canBuildSettlement()) {
-            setGameMessage("Nicht genügend Ressourcen für eine Siedlung!");
-            return false;
-        }
-        
         // Pay resources and place settlement
         boolean success = player.buildSettlement();
         if (success) {
             Settlement settlement = new Settlement(player.getPlayerId(), player.getColorDisplayName().charAt(0));
             node.setBuilding(settlement);
+            applyHarbor(player, node.getNodeId());
+            recordStep(GameHistory.SETTLEMENT, player.getPlayerId(), node.getNodeId(), 0);
+            statistics.recordBuild(GameHistory.SETTLEMENT, player.getPlayerId(), node.getNodeId());
             setGameMessage("Siedlung gebaut!");
         }
         return success;
@@ -420,35 +696,41 @@ public class GameController {
      * @return true if the city was built successfully
      */
     public boolean buildCity(int nodeId) {
-        Player currentPlayer = getCurrentPlayer();
-        if (currentPlayer == null) {
-            setGameMessage("Kein aktiver Spieler!");
-            return false;
-        }
-        
-        // Check if player can afford a city
-        if (!currentPlayer.canBuildCity()) {
-            setGameMessage("Nicht genügend Ressourcen für eine Stadt!");
-            return false;
-        }
-        
-        // Check if upgrade is valid
-        if (!gameField.canUpgradeToCity(nodeId, currentPlayer.getPlayerId())) {
-            setGameMessage("Stadt kann hier nicht gebaut werden!");
-            return false;
+        long start = MetricsRegistry.startTimer();
+        BuildEvent event = new BuildEvent();
+        event.begin();
+        int playerId = getCurrentPlayerId();
+        try {
+            boolean success;
+            resourceLock.lock();
+            try {
+                success = performBuildCity(nodeId);
+            } finally {
+                resourceLock.unlock();
+            }
+            event.finish("CITY", playerId, nodeId, success);
+            return success;
+        } finally {
+            BUILD_CITY_LATENCY.recordSince(start);
         }
-        
-        // Build the city
-        Node node = gameField.getNode(nodeId);
-        if (node == null) {
-            setGameMessage("Ungültiger Knoten!");
+    }
+    
+    /**
+     * Implementation of {@link #buildCity(int)}, timed by the public method
+     */
+    private boolean performBuildCity(int nodeId) {
+        Player currentPlayer = getCurrentPlayer();
+        if (!accept(validateCity(getCurrentPlayerId(), nodeId), BuildMode.CITY)) {
             return false;
         }
         
         // Pay resources and place city
+        Node node = gameField.getNode(nodeId);
         if (currentPlayer.buildCity()) {
             City city = new City(currentPlayer.getPlayerId(), currentPlayer.getColorDisplayName().charAt(0));
             node.setBuilding(city);
+            recordStep(GameHistory.CITY, currentPlayer.getPlayerId(), nodeId, 0);
+            statistics.recordBuild(GameHistory.CITY, currentPlayer.getPlayerId(), nodeId);
             
             setGameMessage("Stadt gebaut!");
             
@@ -488,6 +770,15 @@ public class GameController {
         return playerManager;
     }
     
+    /**
+     * Get the id of the active player for diagnostics
+     * @return Player id, or -1 if no player is active
+     */
+    private int getCurrentPlayerId() {
+        Player currentPlayer = getCurrentPlayer();
+        return currentPlayer != null ? currentPlayer.getPlayerId() : -1;
+    }
+    
     public Player getCurrentPlayer() {
         return playerManager.getCurrentPlayer();
     }
@@ -644,10 +935,14 @@ public class GameController {
      * @param diceRoll The dice roll result
      */
     private void handleResourceProduction(int diceRoll) {
+        ResourceProductionEvent event = new ResourceProductionEvent();
+        event.begin();
         List<Integer> producingHexagons = gameField.produceResources(diceRoll);
+        recordBlockedProduction(diceRoll, false);
         
         if (producingHexagons.isEmpty()) {
             setGameMessage("Keine Rohstoffproduktion für Würfel " + diceRoll);
+            event.finish(diceRoll, 0, 0);
             return;
         }
         
@@ -671,6 +966,7 @@ public class GameController {
                     if (player != null) {
                         int resourceAmount = node.hasCity() ? 2 : 1; // Cities produce 2, settlements produce 1
                         player.addResource(resourceType, resourceAmount);
+                        statistics.recordIncome(playerId, resourceType, hexId, resourceAmount);
                         totalResourcesProduced += resourceAmount;
                         
                         if (productionMessage.length() > 0) productionMessage.append(", ");
@@ -681,6 +977,8 @@ public class GameController {
             }
         }
         
+        RESOURCES_PRODUCED.add(totalResourcesProduced);
+        event.finish(diceRoll, producingHexagons.size(), totalResourcesProduced);
         if (totalResourcesProduced > 0) {
             setGameMessage("Würfel " + diceRoll + ": " + productionMessage.toString());
         } else {
@@ -688,6 +986,24 @@ public class GameController {
         }
     }
     
+    /**
+     * Count the cards the robber keeps the players around its hexagon from receiving
+     * @param revert true to take the count of an undone roll back
+     */
+    private void recordBlockedProduction(int diceRoll, boolean revert) {
+        Hexagon hex = gameField.getHexagon(gameField.getRobberPosition());
+        if (hex == null || hex.getDiceNumber() != diceRoll
+                || getResourceTypeFromTerrain(hex.getTerrainType()) == null) {
+            return;
+        }
+        for (Node node : hex.getAdjacentNodes()) {
+            if (node.hasBuilding()) {
+                int amount = node.hasCity() ? 2 : 1;
+                statistics.recordBlocked(node.getBuilding().getPlayerId(), revert ? -amount : amount);
+            }
+        }
+    }
+    
     /**
      * Get display name for resource type
      */
@@ -707,49 +1023,87 @@ public class GameController {
      * @return The dice roll result (2-12)
      */
     public int rollDice() {
+        long start = MetricsRegistry.startTimer();
+        DiceRollEvent event = new DiceRollEvent();
+        event.begin();
+        int playerId = getCurrentPlayerId();
+        try {
+            int diceRoll;
+            resourceLock.lock();
+            try {
+                diceRoll = performDiceRoll();
+            } finally {
+                resourceLock.unlock();
+            }
+            // Rejected rolls return the previous result; only actual rolls are events
+            if (lastActionResult == ActionResult.OK) {
+                event.finish(playerId, diceRoll);
+            }
+            return diceRoll;
+        } finally {
+            ROLL_DICE_LATENCY.recordSince(start);
+        }
+    }
+    
+    /**
+     * Implementation of {@link #rollDice()}, timed by the public method
+     */
+    private int performDiceRoll() {
         if (playerManager.isSetupPhase()) {
+            lastActionResult = ActionResult.SETUP_PHASE;
             setGameMessage("Erst die Aufbauphase beenden!");
             return 0;
         }
         
         if (!playerManager.isGameStarted()) {
+            lastActionResult = ActionResult.NO_ACTIVE_PLAYER;
             setGameMessage("Spiel ist noch nicht gestartet!");
             return 0;
         }
         
         if (waitingForRobberPlacement) {
+            lastActionResult = ActionResult.ROBBER_PENDING;
             setGameMessage("Bitte platziere zuerst den Räuber!");
             return lastDiceRoll;
         }
         
         Player currentPlayer = getCurrentPlayer();
         if (currentPlayer == null) {
+            lastActionResult = ActionResult.NO_ACTIVE_PLAYER;
             setGameMessage("Kein aktiver Spieler!");
             return 0;
         }
         
         // Check if player has already rolled dice this turn
         if (currentPlayer.hasRolledDice()) {
+            lastActionResult = ActionResult.ALREADY_ROLLED;
             setGameMessage("(" + currentPlayer.getColorDisplayName() + ") hat bereits gewürfelt! Beende deinen Zug.");
             return lastDiceRoll;
         }
+        lastActionResult = ActionResult.OK;
         
         // Roll two dice
         int dice1 = diceRandom.nextInt(6) + 1;
         int dice2 = diceRandom.nextInt(6) + 1;
+        int previousDiceRoll = lastDiceRoll;
         lastDiceRoll = dice1 + dice2;
+        recordStep(GameHistory.DICE, currentPlayer.getPlayerId(), lastDiceRoll, previousDiceRoll);
+        DICE_ROLLS.increment();
+        statistics.recordDiceRoll(lastDiceRoll);
         
         // Mark that player has rolled dice this turn
         currentPlayer.setHasRolledDice(true);
         
         // Update dice display
-        diceResultProperty.set(String.format("Würfel: %d + %d = %d", dice1, dice2, lastDiceRoll));
+        setProperty(diceResultProperty, String.format("Würfel: %d + %d = %d", dice1, dice2, lastDiceRoll));
         
         // Handle dice result
         if (lastDiceRoll == 7) {
             handleRobberActivation();
         } else {
+            long productionStart = MetricsRegistry.startTimer();
             handleResourceProduction(lastDiceRoll);
+            RESOURCE_PRODUCTION_LATENCY.recordSince(productionStart);
         }
         
         return lastDiceRoll;
@@ -774,25 +1128,19 @@ public class GameController {
      * @return true if the robber was moved successfully
      */
     public boolean moveRobber(int hexagonId) {
-        if (!waitingForRobberPlacement) {
-            setGameMessage("Der Räuber kann nur nach einer 7 bewegt werden!");
-            return false;
-        }
-        
-        Hexagon targetHex = gameField.getHexagon(hexagonId);
-        if (targetHex == null) {
-            setGameMessage("Ungültiges Feld ausgewählt!");
-            return false;
-        }
-        
-        if (gameField.getRobberPosition() == hexagonId) {
-            setGameMessage("Der Räuber ist bereits auf diesem Feld!");
+        lastActionResult = validateMoveRobber(hexagonId);
+        if (lastActionResult != ActionResult.OK) {
+            setGameMessage(ActionMessages.get(lastActionResult));
             return false;
         }
         
         // Move the robber
+        Hexagon targetHex = gameField.getHexagon(hexagonId);
+        int previousPosition = gameField.getRobberPosition();
         gameField.moveRobber(hexagonId);
         waitingForRobberPlacement = false;
+        recordStep(GameHistory.ROBBER, getCurrentPlayer().getPlayerId(), hexagonId, previousPosition);
+        statistics.recordRobberMove();
         
         setGameMessage("Räuber wurde auf " + targetHex.getTerrainType().toString().toLowerCase() + " bewegt.");
         
@@ -803,6 +1151,8 @@ public class GameController {
      * End the current player's turn and move to the next player
      */
     public void endTurn() {
+        TurnEvent event = new TurnEvent();
+        event.begin();
         if (!playerManager.isGameStarted()) {
             setGameMessage("Spiel ist noch nicht gestartet!");
             return;
@@ -813,12 +1163,21 @@ public class GameController {
             return;
         }
         
+        int endingPlayerIndex = playerManager.getCurrentPlayerIndex();
+        int endingPlayerId = getCurrentPlayerId();
+        boolean endingPlayerRolled = getCurrentPlayer().hasRolledDice();
+        
         Player nextPlayer = playerManager.nextTurn();
+        recordStep(GameHistory.END_TURN, endingPlayerIndex, endingPlayerRolled ? 1 : 0, 0);
+        statistics.recordTurnEnd(endingPlayerId);
+        // Open offers expire with the turn
+        tradeController.getOrderBook().clear();
+        event.finish(endingPlayerId, nextPlayer.getPlayerId());
         updateCurrentPlayerDisplay();
         setGameMessage("(" + nextPlayer.getColorDisplayName() + ") ist jetzt am Zug.");
         
         // Clear dice result for new turn
-        diceResultProperty.set("");
+        setProperty(diceResultProperty, "");
         
         // Check for winner
         Player winner = playerManager.getWinner();
@@ -834,13 +1193,13 @@ public class GameController {
         if (playerManager.isSetupPhase()) {
             Player setupPlayer = getCurrentSetupPlayer();
             String phase = playerManager.getSetupRound() == 1 ? "Aufbauphase 1/2" : "Aufbauphase 2/2";
-            currentPlayerProperty.set("🏗️ " + phase + " - (" + setupPlayer.getColorDisplayName() + ") ist dran");
+            setProperty(currentPlayerProperty, "🏗️ " + phase + " - (" + setupPlayer.getColorDisplayName() + ") ist dran");
         } else {
             Player currentPlayer = getCurrentPlayer();
             if (currentPlayer != null) {
-                currentPlayerProperty.set("🎮 (" + currentPlayer.getColorDisplayName() + ") ist am Zug");
+                setProperty(currentPlayerProperty, "🎮 (" + currentPlayer.getColorDisplayName() + ") ist am Zug");
             } else {
-                currentPlayerProperty.set("Kein Spieler");
+                setProperty(currentPlayerProperty, "Kein Spieler");
             }
         }
     }
@@ -850,8 +1209,26 @@ public class GameController {
      * @param message The message to display
      */
     private void setGameMessage(String message) {
-        gameMessageProperty.set(message);
-        System.out.println("[GAME] " + message); // Also log to console
+        setProperty(gameMessageProperty, message);
+        LOG.log(LogLevel.INFO, "GAME", message); // Also log, formatted off the FX thread
+    }
+    
+    /**
+     * Update an observable property through the configured property updater
+     */
+    private void setProperty(StringProperty property, String value) {
+        propertyUpdater.execute(() -> property.set(value));
+    }
+    
+    /**
+     * Set how observable property updates are dispatched. When the game is owned by a
+     * {@link GameCommandPipeline} writer thread and the UI is bound to this controller,
+     * pass {@code Platform::runLater} so bound labels are only touched on the FX thread.
+     * @param propertyUpdater Executor running property updates (direct by default)
+     */
+    public void setPropertyUpdater(Executor propertyUpdater) {
+        this.propertyUpdater = propertyUpdater;
+        tradeController.setPropertyUpdater(propertyUpdater);
     }
     
     /**
@@ -881,7 +1258,7 @@ public class GameController {
             int edgeId = Integer.parseInt(elementId.substring(5));
             success = buildRoad(edgeId);
         } else {
-            System.err.println("[WARN] Ungültiger elementId: " + elementId);
+            LOG.log(LogLevel.WARN, "BAU", "Ungültiger elementId: {}", elementId);
         }
         
         if (success) {
@@ -906,6 +1283,351 @@ public class GameController {
         return false;
     }
     
+    // === Undo / Redo ===
+    
+    /**
+     * Record a step of normal gameplay in the undo history. Setup phase placements are not
+     * recorded; the setup order is driven by the PlayerManager and cannot be rewound.
+     */
+    private void recordStep(int kind, int player, int id, long aux) {
+        if (!playerManager.isSetupPhase()) {
+            history.record(GameHistory.pack(kind, player, id, aux));
+        }
+    }
+    
+    /**
+     * Check if there is a step that can be undone
+     * @return true if undo is possible
+     */
+    public boolean canUndo() {
+        return !playerManager.isSetupPhase() && history.canUndo();
+    }
+    
+    /**
+     * Check if there is an undone step that can be re-applied
+     * @return true if redo is possible
+     */
+    public boolean canRedo() {
+        return !playerManager.isSetupPhase() && history.canRedo();
+    }
+    
+    /**
+     * Undo the most recent step. Only the pieces touched by that step are changed.
+     * @return true if a step was undone
+     */
+    public boolean undo() {
+        if (!canUndo()) {
+            setGameMessage("Nichts zum Rückgängigmachen!");
+            return false;
+        }
+        
+        resourceLock.lock();
+        try {
+            revertStep(history.undo());
+        } finally {
+            resourceLock.unlock();
+        }
+        return true;
+    }
+    
+    /**
+     * Re-apply the most recently undone step
+     * @return true if a step was redone
+     */
+    public boolean redo() {
+        if (!canRedo()) {
+            setGameMessage("Nichts zum Wiederherstellen!");
+            return false;
+        }
+        
+        resourceLock.lock();
+        try {
+            applyStep(history.redo());
+        } finally {
+            resourceLock.unlock();
+        }
+        return true;
+    }
+    
+    /**
+     * Get the undo history of this game
+     * @return The game history
+     */
+    public GameHistory getHistory() {
+        return history;
+    }
+    
+    /**
+     * Get the statistics of this game; read them through {@link GameStatistics#snapshot()}
+     * from other threads
+     * @return The live statistics
+     */
+    public GameStatistics getStatistics() {
+        return statistics;
+    }
+    
+    // === Harbors ===
+    
+    /**
+     * Lower the trade ratios of a player who settled on a node, if the node is on a harbor
+     */
+    private void applyHarbor(Player player, int nodeId) {
+        HarborType harbor = gameField.getTopology().getHarbor(nodeId);
+        if (harbor != null) {
+            player.applyHarbor(harbor);
+        }
+    }
+    
+    /**
+     * Recompute the trade ratios of a player from the harbor nodes the player occupies,
+     * e.g. after a settlement was taken back
+     */
+    private void updateTradeRatios(Player player) {
+        BoardTopology topology = gameField.getTopology();
+        player.resetBankTradeRatios();
+        for (int nodeId : topology.getHarborNodes()) {
+            Node node = gameField.getNode(nodeId);
+            if (node.hasBuilding() && node.getBuilding().getPlayerId() == player.getPlayerId()) {
+                player.applyHarbor(topology.getHarbor(nodeId));
+            }
+        }
+    }
+    
+    /**
+     * Recompute the trade ratios of all players, e.g. after buildings were overwritten
+     * while mirroring a replay
+     */
+    public void updateTradeRatios() {
+        for (Player player : playerManager.getAllPlayers()) {
+            updateTradeRatios(player);
+        }
+    }
+    
+    /**
+     * Revert a recorded step
+     * @param step The packed step
+     */
+    private void revertStep(long step) {
+        int id = GameHistory.id(step);
+        long aux = GameHistory.aux(step);
+        Player player = playerManager.getPlayerById(GameHistory.player(step));
+        
+        switch (GameHistory.kind(step)) {
+            case GameHistory.ROAD:
+                gameField.getEdge(id).setRoad(null);
+                player.unbuildRoad();
+                playerManager.updateLongestRoad(gameField.getEdges());
+                statistics.revertBuild();
+                setGameMessage("↩️ Straße zurückgenommen.");
+                break;
+            case GameHistory.SETTLEMENT:
+                gameField.getNode(id).setBuilding(null);
+                player.unbuildSettlement();
+                updateTradeRatios(player);
+                statistics.revertBuild();
+                setGameMessage("↩️ Siedlung zurückgenommen.");
+                break;
+            case GameHistory.CITY:
+                gameField.getNode(id).setBuilding(new Settlement(player.getPlayerId(), player.getColorDisplayName().charAt(0)));
+                player.unbuildCity();
+                statistics.revertBuild();
+                setGameMessage("↩️ Stadt zurückgenommen.");
+                break;
+            case GameHistory.ROBBER:
+                gameField.moveRobber((int) aux);
+                waitingForRobberPlacement = true;
+                statistics.revertRobberMove();
+                setGameMessage("↩️ Räuber zurückgesetzt. Bitte platziere den Räuber erneut!");
+                break;
+            case GameHistory.DICE:
+                if (id == 7) {
+                    waitingForRobberPlacement = false;
+                } else {
+                    revokeResourceProduction(id);
+                }
+                statistics.revertDiceRoll(id);
+                player.setHasRolledDice(false);
+                lastDiceRoll = (int) aux;
+                setProperty(diceResultProperty, "");
+                setGameMessage("↩️ Würfelwurf zurückgenommen.");
+                break;
+            case GameHistory.END_TURN:
+                getCurrentPlayer().endTurn();
+                playerManager.setCurrentPlayerIndex(GameHistory.player(step));
+                Player previousPlayer = getCurrentPlayer();
+                previousPlayer.startTurn();
+                previousPlayer.setHasRolledDice(id == 1);
+                statistics.revertTurnEnd(previousPlayer.getPlayerId());
+                setProperty(diceResultProperty, id == 1 ? "Würfel: " + lastDiceRoll : "");
+                updateCurrentPlayerDisplay();
+                setGameMessage("↩️ (" + previousPlayer.getColorDisplayName() + ") ist wieder am Zug.");
+                break;
+            case GameHistory.BANK_TRADE:
+                player.revokeResource(Player.ResourceType.values()[(int) ((aux >>> 4) & 0xF)], (int) (aux >>> 8));
+                player.restoreResource(Player.ResourceType.values()[(int) (aux & 0xF)], id);
+                statistics.revertBankTrade(player.getPlayerId(), id, (int) (aux >>> 8));
+                setGameMessage("↩️ Bank-Handel zurückgenommen.");
+                break;
+            case GameHistory.PLAYER_TRADE:
+                transferTradeResources(player, playerManager.getPlayerById(id), aux, true);
+                setGameMessage("↩️ Handel zurückgenommen.");
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * Re-apply a recorded step exactly as it happened the first time
+     * @param step The packed step
+     */
+    private void applyStep(long step) {
+        int id = GameHistory.id(step);
+        long aux = GameHistory.aux(step);
+        Player player = playerManager.getPlayerById(GameHistory.player(step));
+        
+        switch (GameHistory.kind(step)) {
+            case GameHistory.ROAD:
+                player.buildRoad();
+                gameField.getEdge(id).setRoad(new Street(player.getPlayerId(), player.getColorDisplayName().charAt(0)));
+                playerManager.updateLongestRoad(gameField.getEdges());
+                statistics.recordBuild(GameHistory.ROAD, player.getPlayerId(), id);
+                setGameMessage("↪️ Straße wiederhergestellt.");
+                break;
+            case GameHistory.SETTLEMENT:
+                player.buildSettlement();
+                gameField.getNode(id).setBuilding(new Settlement(player.getPlayerId(), player.getColorDisplayName().charAt(0)));
+                applyHarbor(player, id);
+                statistics.recordBuild(GameHistory.SETTLEMENT, player.getPlayerId(), id);
+                setGameMessage("↪️ Siedlung wiederhergestellt.");
+                break;
+            case GameHistory.CITY:
+                player.buildCity();
+                gameField.getNode(id).setBuilding(new City(player.getPlayerId(), player.getColorDisplayName().charAt(0)));
+                statistics.recordBuild(GameHistory.CITY, player.getPlayerId(), id);
+                setGameMessage("↪️ Stadt wiederhergestellt.");
+                break;
+            case GameHistory.ROBBER:
+                gameField.moveRobber(id);
+                waitingForRobberPlacement = false;
+                statistics.recordRobberMove();
+                setGameMessage("↪️ Räuber wieder bewegt.");
+                break;
+            case GameHistory.DICE:
+                lastDiceRoll = id;
+                player.setHasRolledDice(true);
+                statistics.recordDiceRoll(id);
+                setProperty(diceResultProperty, "Würfel: " + lastDiceRoll);
+                if (id == 7) {
+                    handleRobberActivation();
+                } else {
+                    handleResourceProduction(id);
+                }
+                break;
+            case GameHistory.END_TURN:
+                int endingPlayerId = getCurrentPlayerId();
+                Player nextPlayer = playerManager.nextTurn();
+                statistics.recordTurnEnd(endingPlayerId);
+                setProperty(diceResultProperty, "");
+                updateCurrentPlayerDisplay();
+                setGameMessage("↪️ (" + nextPlayer.getColorDisplayName() + ") ist jetzt am Zug.");
+                break;
+            case GameHistory.BANK_TRADE:
+                player.removeResource(Player.ResourceType.values()[(int) (aux & 0xF)], id);
+                player.addResource(Player.ResourceType.values()[(int) ((aux >>> 4) & 0xF)], (int) (aux >>> 8));
+                statistics.recordBankTrade(player.getPlayerId(), id, (int) (aux >>> 8));
+                setGameMessage("↪️ Bank-Handel wiederhergestellt.");
+                break;
+            case GameHistory.PLAYER_TRADE:
+                transferTradeResources(player, playerManager.getPlayerById(id), aux, false);
+                setGameMessage("↪️ Handel wiederhergestellt.");
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * Move the resources of a recorded player trade in either direction and count or
+     * take back the trade in the statistics
+     * @param offerer The player who made the offer
+     * @param target The player who accepted it
+     * @param amounts Packed offered/requested amounts (see {@link GameHistory#PLAYER_TRADE})
+     * @param revert true to undo the trade, false to execute it again
+     */
+    private void transferTradeResources(Player offerer, Player target, long amounts, boolean revert) {
+        Player.ResourceType[] types = Player.ResourceType.values();
+        int offeredCards = 0;
+        int requestedCards = 0;
+        for (int i = 0; i < types.length; i++) {
+            int offered = (int) ((amounts >>> (i * 4)) & 0xF);
+            int requested = (int) ((amounts >>> (20 + i * 4)) & 0xF);
+            offeredCards += offered;
+            requestedCards += requested;
+            if (revert) {
+                target.revokeResource(types[i], offered);
+                offerer.restoreResource(types[i], offered);
+                offerer.revokeResource(types[i], requested);
+                target.restoreResource(types[i], requested);
+            } else {
+                if (offered > 0) {
+                    offerer.removeResource(types[i], offered);
+                    target.addResource(types[i], offered);
+                }
+                if (requested > 0) {
+                    target.removeResource(types[i], requested);
+                    offerer.addResource(types[i], requested);
+                }
+            }
+        }
+        if (revert) {
+            statistics.revertPlayerTrade(offerer.getPlayerId(), target.getPlayerId(), offeredCards, requestedCards);
+        } else {
+            statistics.recordPlayerTrade(offerer.getPlayerId(), target.getPlayerId(), offeredCards, requestedCards);
+        }
+    }
+    
+    /**
+     * Take back the resources a dice roll produced, together with its income and blocked
+     * cards in the statistics. The board is in the same state as right after the roll,
+     * because every later step has been undone before.
+     * @param diceRoll The dice result whose production is reverted
+     */
+    private void revokeResourceProduction(int diceRoll) {
+        recordBlockedProduction(diceRoll, true);
+        for (int hexId : gameField.produceResources(diceRoll)) {
+            Hexagon hex = gameField.getHexagon(hexId);
+            if (hex == null || hex.hasRobber()) continue;
+            
+            Player.ResourceType resourceType = getResourceTypeFromTerrain(hex.getTerrainType());
+            if (resourceType == null) continue;
+            
+            for (Node node : hex.getAdjacentNodes()) {
+                if (node.hasBuilding()) {
+                    Player player = playerManager.getPlayerById(node.getBuilding().getPlayerId());
+                    if (player != null) {
+                        int amount = node.hasCity() ? 2 : 1;
+                        player.revokeResource(resourceType, amount);
+                        statistics.recordIncome(player.getPlayerId(), resourceType, hexId, -amount);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Overwrite the controller's own turn state, e.g. when mirroring a replay.
+     * Player and board state are restored through the PlayerManager and GameField.
+     * @param lastDiceRoll The last dice result
+     * @param waitingForRobberPlacement Whether a 7 is waiting for the robber to be moved
+     */
+    public void restoreTurnState(int lastDiceRoll, boolean waitingForRobberPlacement) {
+        this.lastDiceRoll = lastDiceRoll;
+        this.waitingForRobberPlacement = waitingForRobberPlacement;
+        setProperty(diceResultProperty, lastDiceRoll > 0 ? "Würfel: " + lastDiceRoll : "");
+        updateCurrentPlayerDisplay();
+    }
+    
     // Getter for setup phase status
     public boolean isInSetupPhase() {
         return playerManager.isSetupPhase();
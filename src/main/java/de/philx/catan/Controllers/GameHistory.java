@@ -0,0 +1,168 @@
+package de.philx.catan.Controllers;
+
+import java.util.Arrays;
+
+/**
+ * Undo/redo history of a game, stored as compact reversible deltas.
+ *
+ * Every step is packed into a single {@code long}; the history is one growable
+ * {@code long[]} with a cursor, so a step costs 8 bytes and a whole game fits in a few
+ * kilobytes. Steps before the cursor can be undone, steps after it can be redone.
+ * Recording a new step discards the redo tail.
+ *
+ * Layout of a step:
+ * bits 0-3 kind, bits 4-7 player, bits 8-23 id, bits 24-63 auxiliary data.
+ * The meaning of id and aux depends on the kind (see the constants).
+ */
+public class GameHistory {
+
+    // === Step kinds ===
+
+    /** id = edge id */
+    public static final int ROAD = 1;
+    /** id = node id */
+    public static final int SETTLEMENT = 2;
+    /** id = node id */
+    public static final int CITY = 3;
+    /** id = new robber hexagon, aux = previous robber hexagon */
+    public static final int ROBBER = 4;
+    /** player = roller, id = dice result, aux = previous dice result */
+    public static final int DICE = 5;
+    /** player = index of the player whose turn ended, id = 1 if they had rolled */
+    public static final int END_TURN = 6;
+    /** id = amount given, aux = given resource | wanted resource << 4 | amount received << 8 */
+    public static final int BANK_TRADE = 7;
+    /** player = offerer, id = target, aux = 5 x 4 bit offered amounts | 5 x 4 bit requested amounts << 20 */
+    public static final int PLAYER_TRADE = 8;
+
+    /** Largest amount of one resource a player trade step can hold */
+    public static final int MAX_TRADE_AMOUNT = 15;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] steps;
+    private int size;
+    private int cursor;
+    private long version;
+
+    public GameHistory() {
+        this.steps = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Pack a step
+     * @param kind One of the step kind constants
+     * @param player Player id or index (0-15)
+     * @param id Primary id of the step (0-65535)
+     * @param aux Kind specific data (40 bits)
+     * @return The packed step
+     */
+    public static long pack(int kind, int player, int id, long aux) {
+        return (kind & 0xFL)
+             | ((player & 0xFL) << 4)
+             | ((id & 0xFFFFL) << 8)
+             | ((aux & 0xFF_FFFF_FFFFL) << 24);
+    }
+
+    public static int kind(long step) {
+        return (int) (step & 0xF);
+    }
+
+    public static int player(long step) {
+        return (int) ((step >>> 4) & 0xF);
+    }
+
+    public static int id(long step) {
+        return (int) ((step >>> 8) & 0xFFFF);
+    }
+
+    public static long aux(long step) {
+        return step >>> 24;
+    }
+
+    /**
+     * Record a step that was just applied. Discards all redoable steps.
+     * @param step The packed step
+     */
+    public void record(long step) {
+        if (cursor == steps.length) {
+            steps = Arrays.copyOf(steps, steps.length * 2);
+        }
+        steps[cursor++] = step;
+        size = cursor;
+        version++;
+    }
+
+    /**
+     * Move the cursor back by one step
+     * @return The step to revert
+     */
+    public long undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        version++;
+        return steps[--cursor];
+    }
+
+    /**
+     * Move the cursor forward by one step
+     * @return The step to re-apply
+     */
+    public long redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("Nothing to redo");
+        }
+        version++;
+        return steps[cursor++];
+    }
+
+    /**
+     * Look at the step that would be undone next
+     * @return The packed step, or 0 if there is none
+     */
+    public long peekUndo() {
+        return canUndo() ? steps[cursor - 1] : 0L;
+    }
+
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+
+    public boolean canRedo() {
+        return cursor < size;
+    }
+
+    /**
+     * Forget all steps, e.g. after a change that cannot be reverted
+     */
+    public void clear() {
+        size = 0;
+        cursor = 0;
+        version++;
+    }
+
+    /**
+     * Get a counter that changes whenever a step is recorded, undone or redone, or the
+     * history is cleared; e.g. to skip work while the game has not changed
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getUndoCount() {
+        return cursor;
+    }
+
+    public int getRedoCount() {
+        return size - cursor;
+    }
+
+    /**
+     * Get the memory used by the recorded steps
+     * @return Bytes used by step data
+     */
+    public int getStepBytes() {
+        return size * Long.BYTES;
+    }
+}
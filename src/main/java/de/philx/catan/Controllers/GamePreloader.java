@@ -0,0 +1,120 @@
+package de.philx.catan.Controllers;
+
+import de.philx.catan.Logging.GameLogger;
+import de.philx.catan.Logging.LogLevel;
+import de.philx.catan.Metrics.Counter;
+import de.philx.catan.Metrics.LatencyHistogram;
+import de.philx.catan.Metrics.MetricsRegistry;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Builds the next game in the background while the start menu is shown.
+ *
+ * Creating a game means generating the board and its topology and setting up the
+ * players, which used to run on the JavaFX application thread when "Neues Spiel" was
+ * clicked. The preloader starts that work as soon as the menu is visible; {@link #take()}
+ * then hands over the finished game, or waits for the one being built. A game is handed
+ * out only once, so every new game gets a fresh board.
+ */
+public class GamePreloader {
+
+    private static final GameLogger LOG = GameLogger.getInstance();
+
+    private static final LatencyHistogram BUILD_LATENCY = MetricsRegistry.getInstance().histogram("startup.gameBuild");
+    private static final Counter HITS = MetricsRegistry.getInstance().counter("startup.preload.hits");
+    private static final Counter MISSES = MetricsRegistry.getInstance().counter("startup.preload.misses");
+
+    private final Supplier<GameController> factory;
+    private final ExecutorService executor;
+    private Future<GameController> pending;
+
+    /**
+     * Create a preloader
+     * @param factory Builds a ready-to-play game; called on the executor's thread
+     * @param executor Runs the background builds
+     */
+    public GamePreloader(Supplier<GameController> factory, ExecutorService executor) {
+        this.factory = factory;
+        this.executor = executor;
+    }
+
+    /**
+     * Create a preloader for the test game shown by the game screen, building on a
+     * virtual thread
+     */
+    public static GamePreloader forTestGame() {
+        return new GamePreloader(GamePreloader::newTestGame,
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("catan-preload-", 0).factory()));
+    }
+
+    /**
+     * Build a standard board with the test players
+     */
+    public static GameController newTestGame() {
+        GameController gameController = new GameController();
+        gameController.startTestGame();
+        return gameController;
+    }
+
+    /**
+     * Start building the next game unless one is already built or being built
+     */
+    public synchronized void preload() {
+        if (pending == null && !executor.isShutdown()) {
+            pending = executor.submit(this::build);
+        }
+    }
+
+    /**
+     * Get whether a preloaded game is ready to be taken without waiting
+     */
+    public synchronized boolean isReady() {
+        return pending != null && pending.isDone();
+    }
+
+    /**
+     * Get the next game: the preloaded one if there is one, otherwise a game built right
+     * now on the calling thread. A failed preload falls back to building right now.
+     * @return A game that has not been handed out before
+     */
+    public synchronized GameController take() {
+        Future<GameController> preloaded = pending;
+        pending = null;
+        if (preloaded != null) {
+            try {
+                GameController gameController = preloaded.get();
+                HITS.increment();
+                return gameController;
+            } catch (ExecutionException | CancellationException e) {
+                LOG.log(LogLevel.WARN, "GAME", "Vorladen des Spiels fehlgeschlagen: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        MISSES.increment();
+        return build();
+    }
+
+    /**
+     * Stop a running build and the background thread
+     */
+    public synchronized void shutdown() {
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+        executor.shutdownNow();
+    }
+
+    private GameController build() {
+        long start = MetricsRegistry.startTimer();
+        GameController gameController = factory.get();
+        BUILD_LATENCY.recordSince(start);
+        return gameController;
+    }
+}
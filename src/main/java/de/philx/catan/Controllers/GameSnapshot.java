@@ -0,0 +1,250 @@
+package de.philx.catan.Controllers;
+
+import de.philx.catan.GameField.Edge;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.Players.Player;
+import de.philx.catan.Players.PlayerManager;
+import java.util.List;
+
+/**
+ * Immutable, self-contained copy of the mutable game state at one point in time.
+ *
+ * Snapshots are captured by the thread that owns the game (see {@link GameCommandPipeline})
+ * and can then be read from any thread without locking. Board pieces are stored as compact
+ * per-node and per-edge arrays indexed by node/edge id; player data is indexed by player id.
+ */
+public final class GameSnapshot {
+
+    /** Node building types */
+    public static final byte EMPTY = 0;
+    public static final byte SETTLEMENT = 1;
+    public static final byte CITY = 2;
+
+    private static final int RESOURCE_COUNT = Player.ResourceType.values().length;
+
+    private final long version;
+
+    // Board state
+    private final byte[] nodeBuildings;
+    private final byte[] nodeOwners;
+    private final byte[] edgeOwners;
+    private final int robberPosition;
+
+    // Turn state
+    private final boolean gameStarted;
+    private final boolean setupPhase;
+    private final int setupRound;
+    private final int currentPlayerId;
+    private final int lastDiceRoll;
+    private final boolean waitingForRobberPlacement;
+    private final int longestRoadPlayerId;
+
+    // Player state, indexed by player id
+    private final int playerCount;
+    private final int[] resources;
+    private final int[] victoryPoints;
+    private final int[] availableRoads;
+    private final int[] availableSettlements;
+    private final int[] availableCities;
+    private final int[] longestRoadLengths;
+    private final boolean[] hasRolledDice;
+    private final byte[] playerColors;
+
+    private GameSnapshot(long version, GameController gameController) {
+        this.version = version;
+
+        GameField gameField = gameController.getGameField();
+        List<Node> nodes = gameField.getNodes();
+        List<Edge> edges = gameField.getEdges();
+
+        this.nodeBuildings = new byte[nodes.size()];
+        this.nodeOwners = new byte[nodes.size()];
+        for (Node node : nodes) {
+            int id = node.getNodeId();
+            if (node.hasBuilding()) {
+                nodeBuildings[id] = node.hasCity() ? CITY : SETTLEMENT;
+                nodeOwners[id] = (byte) node.getBuilding().getPlayerId();
+            } else {
+                nodeOwners[id] = -1;
+            }
+        }
+
+        this.edgeOwners = new byte[edges.size()];
+        for (Edge edge : edges) {
+            edgeOwners[edge.getEdgeId()] = edge.hasRoad() ? (byte) edge.getRoad().getPlayerId() : -1;
+        }
+        this.robberPosition = gameField.getRobberPosition();
+
+        PlayerManager playerManager = gameController.getPlayerManager();
+        Player currentPlayer = playerManager.getCurrentPlayer();
+        Player longestRoadPlayer = playerManager.getLongestRoadPlayer();
+
+        this.gameStarted = playerManager.isGameStarted();
+        this.setupPhase = playerManager.isSetupPhase();
+        this.setupRound = playerManager.getSetupRound();
+        this.currentPlayerId = currentPlayer != null ? currentPlayer.getPlayerId() : -1;
+        this.lastDiceRoll = gameController.getLastDiceRoll();
+        this.waitingForRobberPlacement = gameController.isWaitingForRobberPlacement();
+        this.longestRoadPlayerId = longestRoadPlayer != null ? longestRoadPlayer.getPlayerId() : -1;
+
+        List<Player> players = playerManager.getAllPlayers();
+        this.playerCount = players.size();
+        this.resources = new int[playerCount * RESOURCE_COUNT];
+        this.victoryPoints = new int[playerCount];
+        this.availableRoads = new int[playerCount];
+        this.availableSettlements = new int[playerCount];
+        this.availableCities = new int[playerCount];
+        this.longestRoadLengths = new int[playerCount];
+        this.hasRolledDice = new boolean[playerCount];
+        this.playerColors = new byte[playerCount];
+
+        for (Player player : players) {
+            int id = player.getPlayerId();
+            for (Player.ResourceType type : Player.ResourceType.values()) {
+                resources[id * RESOURCE_COUNT + type.ordinal()] = player.getResourceAmount(type);
+            }
+            victoryPoints[id] = player.getVictoryPoints();
+            availableRoads[id] = player.getAvailableRoads();
+            availableSettlements[id] = player.getAvailableSettlements();
+            availableCities[id] = player.getAvailableCities();
+            longestRoadLengths[id] = player.getLongestRoadLength();
+            hasRolledDice[id] = player.hasRolledDice();
+            playerColors[id] = (byte) player.getColor().ordinal();
+        }
+    }
+
+    /**
+     * Capture the current state of a game. Must be called by the thread that owns the game.
+     * @param gameController The game to copy
+     * @param version Monotonic version number of this snapshot
+     * @return A new immutable snapshot
+     */
+    public static GameSnapshot capture(GameController gameController, long version) {
+        return new GameSnapshot(version, gameController);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // === Board ===
+
+    public int getNodeCount() {
+        return nodeBuildings.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeOwners.length;
+    }
+
+    /**
+     * @param nodeId The node to inspect
+     * @return EMPTY, SETTLEMENT or CITY
+     */
+    public byte getBuildingType(int nodeId) {
+        return nodeBuildings[nodeId];
+    }
+
+    /**
+     * @param nodeId The node to inspect
+     * @return The owning player id, or -1 if the node is empty
+     */
+    public int getBuildingOwner(int nodeId) {
+        return nodeOwners[nodeId];
+    }
+
+    /**
+     * @param edgeId The edge to inspect
+     * @return The owning player id, or -1 if there is no road
+     */
+    public int getRoadOwner(int edgeId) {
+        return edgeOwners[edgeId];
+    }
+
+    public int getRobberPosition() {
+        return robberPosition;
+    }
+
+    // === Turn ===
+
+    public boolean isGameStarted() {
+        return gameStarted;
+    }
+
+    public boolean isSetupPhase() {
+        return setupPhase;
+    }
+
+    public int getSetupRound() {
+        return setupRound;
+    }
+
+    public int getCurrentPlayerId() {
+        return currentPlayerId;
+    }
+
+    public int getLastDiceRoll() {
+        return lastDiceRoll;
+    }
+
+    public boolean isWaitingForRobberPlacement() {
+        return waitingForRobberPlacement;
+    }
+
+    public int getLongestRoadPlayerId() {
+        return longestRoadPlayerId;
+    }
+
+    // === Players ===
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getResourceAmount(int playerId, Player.ResourceType type) {
+        return resources[playerId * RESOURCE_COUNT + type.ordinal()];
+    }
+
+    public int getTotalResourceCards(int playerId) {
+        int total = 0;
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            total += resources[playerId * RESOURCE_COUNT + i];
+        }
+        return total;
+    }
+
+    public int getVictoryPoints(int playerId) {
+        return victoryPoints[playerId];
+    }
+
+    public int getAvailableRoads(int playerId) {
+        return availableRoads[playerId];
+    }
+
+    public int getAvailableSettlements(int playerId) {
+        return availableSettlements[playerId];
+    }
+
+    public int getAvailableCities(int playerId) {
+        return availableCities[playerId];
+    }
+
+    public int getLongestRoadLength(int playerId) {
+        return longestRoadLengths[playerId];
+    }
+
+    public boolean hasRolledDice(int playerId) {
+        return hasRolledDice[playerId];
+    }
+
+    public Player.PlayerColor getPlayerColor(int playerId) {
+        return Player.PlayerColor.values()[playerColors[playerId]];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameSnapshot[v%d, current=%d, dice=%d, robber=%d, setup=%s]",
+                             version, currentPlayerId, lastDiceRoll, robberPosition, setupPhase);
+    }
+}
@@ -0,0 +1,434 @@
+package de.philx.catan.Controllers;
+
+import de.philx.catan.Players.Player.ResourceType;
+import java.util.Arrays;
+
+/**
+ * Streaming statistics of a game: dice histogram, income per player by resource and by
+ * source hexagon, production blocked by the robber, trade volume, a build timeline and
+ * turn durations.
+ *
+ * All counters are primitive arrays indexed by player id, resource ordinal and hexagon id,
+ * so recording an event on the game thread is a few array increments without allocation
+ * (only the build timeline grows, like {@link GameHistory}). The statistics follow the
+ * game through undo and redo: an undone step is taken back with the matching revert
+ * method and a redone step is recorded again. Resources handed out for the second setup
+ * settlement are not income; income is dice production only.
+ *
+ * An instance has a single writer, the thread that owns the game. Other threads read
+ * through {@link #snapshot()}, taken on that thread. Snapshots are independent copies and
+ * can be combined with {@link #merge(GameStatistics)}, so a batch simulation can run one
+ * game per thread and add up the snapshots afterwards.
+ */
+public class GameStatistics {
+
+    private static final int RESOURCE_COUNT = ResourceType.values().length;
+    private static final int INITIAL_BUILD_CAPACITY = 32;
+
+    private final int playerCount;
+    private final int hexagonCount;
+
+    private final long[] diceCounts;
+    private final long[] income;
+    private final long[] incomeByHexagon;
+    private final long[] blockedByRobber;
+    private long robberMoves;
+
+    private final long[] bankCardsGiven;
+    private final long[] bankCardsReceived;
+    private final long[] playerTradeCardsGiven;
+    private final long[] playerTradeCardsReceived;
+    private long bankTrades;
+    private long playerTrades;
+
+    // Build timeline, see GameHistory#pack with aux = turn number
+    private long[] builds;
+    private int buildCount;
+
+    private final long[] turnCounts;
+    private final long[] turnNanos;
+    private final long[] maxTurnNanos;
+    // Duration of every completed turn, so an undone turn end can be taken back
+    private long[] turnDurations;
+    private int turn;
+    private long turnStart;
+    private int gameCount;
+
+    /**
+     * Create empty statistics for one game
+     * @param playerCount Highest player id + 1
+     * @param hexagonCount Number of hexagons on the board
+     */
+    public GameStatistics(int playerCount, int hexagonCount) {
+        this.playerCount = playerCount;
+        this.hexagonCount = hexagonCount;
+        this.diceCounts = new long[13];
+        this.income = new long[playerCount * RESOURCE_COUNT];
+        this.incomeByHexagon = new long[playerCount * hexagonCount];
+        this.blockedByRobber = new long[playerCount];
+        this.bankCardsGiven = new long[playerCount];
+        this.bankCardsReceived = new long[playerCount];
+        this.playerTradeCardsGiven = new long[playerCount];
+        this.playerTradeCardsReceived = new long[playerCount];
+        this.builds = new long[INITIAL_BUILD_CAPACITY];
+        this.turnCounts = new long[playerCount];
+        this.turnNanos = new long[playerCount];
+        this.maxTurnNanos = new long[playerCount];
+        this.turnDurations = new long[INITIAL_BUILD_CAPACITY];
+        this.turnStart = System.nanoTime();
+        this.gameCount = 1;
+    }
+
+    private GameStatistics(GameStatistics other) {
+        this.playerCount = other.playerCount;
+        this.hexagonCount = other.hexagonCount;
+        this.diceCounts = other.diceCounts.clone();
+        this.income = other.income.clone();
+        this.incomeByHexagon = other.incomeByHexagon.clone();
+        this.blockedByRobber = other.blockedByRobber.clone();
+        this.robberMoves = other.robberMoves;
+        this.bankCardsGiven = other.bankCardsGiven.clone();
+        this.bankCardsReceived = other.bankCardsReceived.clone();
+        this.playerTradeCardsGiven = other.playerTradeCardsGiven.clone();
+        this.playerTradeCardsReceived = other.playerTradeCardsReceived.clone();
+        this.bankTrades = other.bankTrades;
+        this.playerTrades = other.playerTrades;
+        this.builds = Arrays.copyOf(other.builds, Math.max(other.buildCount, INITIAL_BUILD_CAPACITY));
+        this.buildCount = other.buildCount;
+        this.turnCounts = other.turnCounts.clone();
+        this.turnNanos = other.turnNanos.clone();
+        this.maxTurnNanos = other.maxTurnNanos.clone();
+        this.turnDurations = Arrays.copyOf(other.turnDurations, Math.max(other.turn, INITIAL_BUILD_CAPACITY));
+        this.turn = other.turn;
+        this.turnStart = other.turnStart;
+        this.gameCount = other.gameCount;
+    }
+
+    // === Recording ===
+
+    public void recordDiceRoll(int roll) {
+        diceCounts[roll]++;
+    }
+
+    /**
+     * Record cards a player received from a producing hexagon
+     * @param amount Cards received, negative to take back the production of an undone roll
+     */
+    public void recordIncome(int playerId, ResourceType resource, int hexagonId, int amount) {
+        income[playerId * RESOURCE_COUNT + resource.ordinal()] += amount;
+        incomeByHexagon[playerId * hexagonCount + hexagonId] += amount;
+    }
+
+    /**
+     * Record cards a player would have received if the robber did not stand on the hexagon
+     * @param amount Cards blocked, negative to take back an undone roll
+     */
+    public void recordBlocked(int playerId, int amount) {
+        blockedByRobber[playerId] += amount;
+    }
+
+    public void recordRobberMove() {
+        robberMoves++;
+    }
+
+    public void recordBankTrade(int playerId, int given, int received) {
+        bankTrades++;
+        bankCardsGiven[playerId] += given;
+        bankCardsReceived[playerId] += received;
+    }
+
+    /**
+     * Record a trade between two players
+     * @param offered Cards the offerer gave to the target
+     * @param requested Cards the target gave to the offerer
+     */
+    public void recordPlayerTrade(int offererId, int targetId, int offered, int requested) {
+        playerTrades++;
+        playerTradeCardsGiven[offererId] += offered;
+        playerTradeCardsReceived[offererId] += requested;
+        playerTradeCardsGiven[targetId] += requested;
+        playerTradeCardsReceived[targetId] += offered;
+    }
+
+    /**
+     * Record a building in the timeline of the current turn; setup placements are turn 0
+     * @param kind {@link GameHistory#ROAD}, {@link GameHistory#SETTLEMENT} or {@link GameHistory#CITY}
+     * @param id Edge id for roads, node id otherwise
+     */
+    public void recordBuild(int kind, int playerId, int id) {
+        if (buildCount == builds.length) {
+            builds = Arrays.copyOf(builds, builds.length * 2);
+        }
+        builds[buildCount++] = GameHistory.pack(kind, playerId, id, turn);
+    }
+
+    /**
+     * Start measuring the first turn, e.g. when the setup phase ends
+     */
+    public void startTurn() {
+        turnStart = System.nanoTime();
+    }
+
+    /**
+     * Record the end of a turn and start measuring the next one
+     */
+    public void recordTurnEnd(int playerId) {
+        long now = System.nanoTime();
+        long duration = now - turnStart;
+        turnStart = now;
+        if (turn == turnDurations.length) {
+            turnDurations = Arrays.copyOf(turnDurations, turnDurations.length * 2);
+        }
+        turnDurations[turn++] = duration;
+        turnCounts[playerId]++;
+        turnNanos[playerId] += duration;
+        if (duration > maxTurnNanos[playerId]) {
+            maxTurnNanos[playerId] = duration;
+        }
+    }
+
+    // === Undo ===
+
+    public void revertDiceRoll(int roll) {
+        diceCounts[roll]--;
+    }
+
+    public void revertRobberMove() {
+        robberMoves--;
+    }
+
+    public void revertBankTrade(int playerId, int given, int received) {
+        bankTrades--;
+        bankCardsGiven[playerId] -= given;
+        bankCardsReceived[playerId] -= received;
+    }
+
+    /**
+     * Take back a trade between two players, see {@link #recordPlayerTrade}
+     */
+    public void revertPlayerTrade(int offererId, int targetId, int offered, int requested) {
+        playerTrades--;
+        playerTradeCardsGiven[offererId] -= offered;
+        playerTradeCardsReceived[offererId] -= requested;
+        playerTradeCardsGiven[targetId] -= requested;
+        playerTradeCardsReceived[targetId] -= offered;
+    }
+
+    /**
+     * Remove the latest building from the timeline; steps are undone in reverse order
+     */
+    public void revertBuild() {
+        if (buildCount > 0) {
+            buildCount--;
+        }
+    }
+
+    /**
+     * Take back the latest turn end. The player's turn continues where it stopped, so the
+     * time until it ends again is added to its duration. The longest turn of the player
+     * keeps its value, because the previous maximum is not stored.
+     */
+    public void revertTurnEnd(int playerId) {
+        if (turn == 0) {
+            return;
+        }
+        long duration = turnDurations[--turn];
+        turnCounts[playerId]--;
+        turnNanos[playerId] -= duration;
+        turnStart -= duration;
+    }
+
+    // === Snapshots ===
+
+    /**
+     * Copy the statistics; must be called on the thread that records them
+     * @return An independent copy
+     */
+    public GameStatistics snapshot() {
+        return new GameStatistics(this);
+    }
+
+    /**
+     * Add the statistics of other games to this one. Counters are summed, maximum turn
+     * durations take the larger value and the build timeline of the other games is
+     * appended.
+     * @param other Statistics of a board with the same number of players and hexagons
+     * @return This instance
+     */
+    public GameStatistics merge(GameStatistics other) {
+        if (other.playerCount != playerCount || other.hexagonCount != hexagonCount) {
+            throw new IllegalArgumentException("Statistics of different boards cannot be merged ("
+                + playerCount + "x" + hexagonCount + " vs. " + other.playerCount + "x" + other.hexagonCount + ")");
+        }
+        add(diceCounts, other.diceCounts);
+        add(income, other.income);
+        add(incomeByHexagon, other.incomeByHexagon);
+        add(blockedByRobber, other.blockedByRobber);
+        robberMoves += other.robberMoves;
+        add(bankCardsGiven, other.bankCardsGiven);
+        add(bankCardsReceived, other.bankCardsReceived);
+        add(playerTradeCardsGiven, other.playerTradeCardsGiven);
+        add(playerTradeCardsReceived, other.playerTradeCardsReceived);
+        bankTrades += other.bankTrades;
+        playerTrades += other.playerTrades;
+
+        if (buildCount + other.buildCount > builds.length) {
+            builds = Arrays.copyOf(builds, Math.max(builds.length * 2, buildCount + other.buildCount));
+        }
+        System.arraycopy(other.builds, 0, builds, buildCount, other.buildCount);
+        buildCount += other.buildCount;
+
+        add(turnCounts, other.turnCounts);
+        add(turnNanos, other.turnNanos);
+        for (int p = 0; p < playerCount; p++) {
+            maxTurnNanos[p] = Math.max(maxTurnNanos[p], other.maxTurnNanos[p]);
+        }
+        if (turn + other.turn > turnDurations.length) {
+            turnDurations = Arrays.copyOf(turnDurations, Math.max(turnDurations.length * 2, turn + other.turn));
+        }
+        System.arraycopy(other.turnDurations, 0, turnDurations, turn, other.turn);
+        turn += other.turn;
+        gameCount += other.gameCount;
+        return this;
+    }
+
+    private static void add(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += source[i];
+        }
+    }
+
+    // === Getters ===
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getHexagonCount() {
+        return hexagonCount;
+    }
+
+    /**
+     * Get the number of games these statistics cover
+     */
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Get how often a dice result was rolled
+     * @param roll 2 to 12
+     */
+    public long getDiceCount(int roll) {
+        return roll >= 0 && roll < diceCounts.length ? diceCounts[roll] : 0;
+    }
+
+    public long getTotalRolls() {
+        long total = 0;
+        for (long count : diceCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long getIncome(int playerId, ResourceType resource) {
+        return income[playerId * RESOURCE_COUNT + resource.ordinal()];
+    }
+
+    public long getTotalIncome(int playerId) {
+        long total = 0;
+        for (int r = 0; r < RESOURCE_COUNT; r++) {
+            total += income[playerId * RESOURCE_COUNT + r];
+        }
+        return total;
+    }
+
+    public long getIncomeFromHexagon(int playerId, int hexagonId) {
+        return incomeByHexagon[playerId * hexagonCount + hexagonId];
+    }
+
+    public long getBlockedByRobber(int playerId) {
+        return blockedByRobber[playerId];
+    }
+
+    public long getRobberMoves() {
+        return robberMoves;
+    }
+
+    public long getBankTrades() {
+        return bankTrades;
+    }
+
+    public long getBankCardsGiven(int playerId) {
+        return bankCardsGiven[playerId];
+    }
+
+    public long getBankCardsReceived(int playerId) {
+        return bankCardsReceived[playerId];
+    }
+
+    public long getPlayerTrades() {
+        return playerTrades;
+    }
+
+    public long getPlayerTradeCardsGiven(int playerId) {
+        return playerTradeCardsGiven[playerId];
+    }
+
+    public long getPlayerTradeCardsReceived(int playerId) {
+        return playerTradeCardsReceived[playerId];
+    }
+
+    public int getBuildCount() {
+        return buildCount;
+    }
+
+    /**
+     * Get the kind of a building in the timeline
+     * @return {@link GameHistory#ROAD}, {@link GameHistory#SETTLEMENT} or {@link GameHistory#CITY}
+     */
+    public int getBuildKind(int index) {
+        return GameHistory.kind(builds[index]);
+    }
+
+    public int getBuildPlayer(int index) {
+        return GameHistory.player(builds[index]);
+    }
+
+    public int getBuildId(int index) {
+        return GameHistory.id(builds[index]);
+    }
+
+    /**
+     * Get the turn a building was placed in, 0 for the setup phase
+     */
+    public int getBuildTurn(int index) {
+        return (int) GameHistory.aux(builds[index]);
+    }
+
+    /**
+     * Get the number of completed turns
+     */
+    public int getTurnCount() {
+        return turn;
+    }
+
+    public long getTurnCount(int playerId) {
+        return turnCounts[playerId];
+    }
+
+    public long getTotalTurnNanos(int playerId) {
+        return turnNanos[playerId];
+    }
+
+    public long getMaxTurnNanos(int playerId) {
+        return maxTurnNanos[playerId];
+    }
+
+    /**
+     * Get the average duration of a player's turns in milliseconds, 0 without turns
+     */
+    public double getAverageTurnMillis(int playerId) {
+        return turnCounts[playerId] == 0 ? 0 : turnNanos[playerId] / 1e6 / turnCounts[playerId];
+    }
+}
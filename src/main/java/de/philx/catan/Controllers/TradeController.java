@@ -1,5 +1,8 @@
 package de.philx.catan.Controllers;
 
+import de.philx.catan.Metrics.LatencyHistogram;
+import de.philx.catan.Metrics.MetricsRegistry;
+import de.philx.catan.Metrics.TradeEvent;
 import de.philx.catan.Players.Player;
 import de.philx.catan.Players.Player.ResourceType;
 import de.philx.catan.Players.PlayerManager;
@@ -10,6 +13,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Controller für das Handelssystem in Catan
@@ -17,28 +22,36 @@ import java.util.Map;
  */
 public class TradeController {
     
+    private static final LatencyHistogram BANK_TRADE_LATENCY = MetricsRegistry.getInstance().histogram("trade.bank");
+    private static final LatencyHistogram PLAYER_TRADE_LATENCY = MetricsRegistry.getInstance().histogram("trade.player");
+    
     private final PlayerManager playerManager;
     private final StringProperty tradeMessageProperty;
+    private Executor propertyUpdater;
+    private GameHistory history;
+    private GameStatistics statistics;
     
     // Active trade proposal
     private TradeOffer currentOffer;
     
-    // Bank trade ratios (4:1 standard, can be improved with harbors)
-    private static final int STANDARD_BANK_RATIO = 4;
-    private final Map<ResourceType, Integer> bankTradeRatios;
+    // Simultaneous offers of the negotiation, used by bots and broadcast offers
+    private final TradeOrderBook orderBook;
+    
+    // Held while any trade changes resources, history or statistics; shared with the order book
+    private final ReentrantLock tradeLock;
+    
+    // Writer thread that owns the game, null while no pipeline is attached
+    private volatile GameCommandPipeline owner;
+    
+    // Reason code of the last trade action, see ActionResult
+    private volatile int lastActionResult;
     
     public TradeController(PlayerManager playerManager) {
         this.playerManager = playerManager;
         this.tradeMessageProperty = new SimpleStringProperty("Bereit zum Handeln");
-        this.bankTradeRatios = new HashMap<>();
-        initializeBankRatios();
-    }
-    
-    private void initializeBankRatios() {
-        // Standard 4:1 ratios for all resources
-        for (ResourceType resource : ResourceType.values()) {
-            bankTradeRatios.put(resource, STANDARD_BANK_RATIO);
-        }
+        this.propertyUpdater = Runnable::run;
+        this.tradeLock = new ReentrantLock();
+        this.orderBook = new TradeOrderBook(tradeLock);
     }
     
     /**
@@ -52,33 +65,30 @@ public class TradeController {
     public boolean createTradeOffer(int offererPlayerId, int targetPlayerId, 
                                    Map<ResourceType, Integer> offeredResources,
                                    Map<ResourceType, Integer> requestedResources) {
+        return offerTrade(offererPlayerId, targetPlayerId, offeredResources, requestedResources) == ActionResult.OK;
+    }
+    
+    /**
+     * Variant of {@link #createTradeOffer} that returns the reason code of this call,
+     * for callers that cannot rely on {@link #getLastActionResult()}
+     * @return {@link ActionResult#OK} or the reason the offer could not be made
+     */
+    public int offerTrade(int offererPlayerId, int targetPlayerId,
+                          Map<ResourceType, Integer> offeredResources,
+                          Map<ResourceType, Integer> requestedResources) {
+        int result = validateTradeOffer(offererPlayerId, targetPlayerId, offeredResources, requestedResources);
+        if (!accept(result)) {
+            return result;
+        }
         
         Player offerer = playerManager.getPlayerById(offererPlayerId);
         Player target = playerManager.getPlayerById(targetPlayerId);
-        
-        if (offerer == null || target == null) {
-            setTradeMessage("Ungültige Spieler für Handel!");
-            return false;
-        }
-        
-        // Check if offerer has the resources they want to trade
-        if (!offerer.canAfford(offeredResources)) {
-            setTradeMessage(offerer.getName() + " hat nicht genügend Ressourcen für diesen Handel!");
-            return false;
-        }
-        
-        // Check if target has the requested resources
-        if (!target.canAfford(requestedResources)) {
-            setTradeMessage(target.getName() + " hat nicht genügend der angeforderten Ressourcen!");
-            return false;
-        }
-        
         currentOffer = new TradeOffer(offererPlayerId, targetPlayerId, offeredResources, requestedResources);
         setTradeMessage(String.format("%s bietet %s einen Handel an: %s für %s", 
             offerer.getName(), target.getName(), 
             formatResources(offeredResources), formatResources(requestedResources)));
         
-        return true;
+        return ActionResult.OK;
     }
     
     /**
@@ -87,17 +97,25 @@ public class TradeController {
      * @return true if trade was executed successfully
      */
     public boolean acceptTrade(int acceptingPlayerId) {
-        if (currentOffer == null) {
-            setTradeMessage("Kein Handelsangebot vorhanden!");
-            return false;
+        return acceptCurrentOffer(acceptingPlayerId) == ActionResult.OK;
+    }
+    
+    /**
+     * Variant of {@link #acceptTrade} that returns the reason code of this call
+     * @return {@link ActionResult#OK} or the reason the trade was not executed
+     */
+    public int acceptCurrentOffer(int acceptingPlayerId) {
+        int result = validateAnswer(acceptingPlayerId);
+        if (!accept(result)) {
+            return result;
         }
         
-        if (acceptingPlayerId != currentOffer.getTargetPlayerId()) {
-            setTradeMessage("Nur der Ziel-Spieler kann diesen Handel akzeptieren!");
-            return false;
+        result = executeTrade(currentOffer);
+        if (!accept(result)) {
+            return result;
         }
-        
-        return executeTrade(currentOffer);
+        currentOffer = null;
+        return ActionResult.OK;
     }
     
     /**
@@ -106,20 +124,193 @@ public class TradeController {
      * @return true if decline was processed
      */
     public boolean declineTrade(int decliningPlayerId) {
-        if (currentOffer == null) {
-            setTradeMessage("Kein Handelsangebot vorhanden!");
-            return false;
-        }
-        
-        if (decliningPlayerId != currentOffer.getTargetPlayerId()) {
-            setTradeMessage("Nur der Ziel-Spieler kann diesen Handel ablehnen!");
-            return false;
+        return declineCurrentOffer(decliningPlayerId) == ActionResult.OK;
+    }
+    
+    /**
+     * Variant of {@link #declineTrade} that returns the reason code of this call
+     * @return {@link ActionResult#OK} or the reason the player cannot decline
+     */
+    public int declineCurrentOffer(int decliningPlayerId) {
+        int result = validateAnswer(decliningPlayerId);
+        if (!accept(result)) {
+            return result;
         }
         
         Player decliner = playerManager.getPlayerById(decliningPlayerId);
         setTradeMessage(decliner.getName() + " hat den Handel abgelehnt.");
         currentOffer = null;
-        return true;
+        return ActionResult.OK;
+    }
+    
+    // === Order Book ===
+    
+    /**
+     * Post an offer to the order book, open next to any other offers
+     * @param offererPlayerId The player making the offer
+     * @param targetPlayerId The player who may accept, or {@link TradeOrderBook#ALL_PLAYERS}
+     * @return The id of the new offer (always positive), or the negated {@link ActionResult}
+     *         reason it was rejected
+     */
+    public int postOffer(int offererPlayerId, int targetPlayerId,
+                         Map<ResourceType, Integer> offeredResources,
+                         Map<ResourceType, Integer> requestedResources) {
+        int result = validateOfferPost(offererPlayerId, targetPlayerId, offeredResources, requestedResources);
+        if (!accept(result)) {
+            return -result;
+        }
+        
+        TradeOrderBook.Offer offer = orderBook.post(offererPlayerId, targetPlayerId, offeredResources, requestedResources);
+        Player offerer = playerManager.getPlayerById(offererPlayerId);
+        String target = offer.isBroadcast() ? "allen" : playerManager.getPlayerById(targetPlayerId).getName();
+        setTradeMessage(String.format("%s bietet %s einen Handel an: %s für %s", 
+            offerer.getName(), target, formatResources(offeredResources), formatResources(requestedResources)));
+        return offer.getOfferId();
+    }
+    
+    /**
+     * Answer an open offer with a counter-offer to its author
+     * @param offerId The offer to answer
+     * @param playerId The answering player; must be allowed to accept the original offer
+     * @return The id of the counter-offer (always positive), or the negated {@link ActionResult}
+     *         reason it was rejected
+     */
+    public int counterOffer(int offerId, int playerId,
+                            Map<ResourceType, Integer> offeredResources,
+                            Map<ResourceType, Integer> requestedResources) {
+        TradeOrderBook.Offer original = orderBook.getOffer(offerId);
+        int result;
+        if (original == null) {
+            result = ActionResult.NO_TRADE_OFFER;
+        } else if (!original.isFor(playerId)) {
+            result = ActionResult.NOT_TRADE_TARGET;
+        } else {
+            result = validateOfferPost(playerId, original.getOffererPlayerId(), offeredResources, requestedResources);
+        }
+        if (!accept(result)) {
+            return -result;
+        }
+        
+        TradeOrderBook.Offer offer = orderBook.counter(offerId, playerId, offeredResources, requestedResources);
+        if (offer == null) {
+            accept(ActionResult.NO_TRADE_OFFER);
+            return -ActionResult.NO_TRADE_OFFER;
+        }
+        setTradeMessage(String.format("%s macht ein Gegenangebot: %s für %s", 
+            playerManager.getPlayerById(playerId).getName(),
+            formatResources(offeredResources), formatResources(requestedResources)));
+        return offer.getOfferId();
+    }
+    
+    /**
+     * Accept an offer of the order book. The trade is re-validated against the current
+     * resources; of several players accepting the same offer only one succeeds.
+     * The code is returned rather than read from {@link #getLastActionResult()}, which
+     * another thread may overwrite in the meantime.
+     *
+     * May be called from any thread. If a {@link GameCommandPipeline} owns the game the
+     * trade runs on its writer thread. Otherwise it runs on the calling thread under the
+     * trade lock, which the game controller also holds for dice production, building and
+     * undo, so it never interleaves with another change of resources.
+     * @return {@link ActionResult#OK} if the resources were exchanged, else the reason
+     */
+    public int acceptOffer(int offerId, int acceptingPlayerId) {
+        GameCommandPipeline pipeline = owner;
+        if (pipeline != null && !pipeline.isWriterThread()) {
+            return pipeline.call(controller -> controller.getTradeController().acceptOffer(offerId, acceptingPlayerId));
+        }
+        int result = orderBook.accept(offerId, acceptingPlayerId, this::executeOffer);
+        accept(result);
+        return result;
+    }
+    
+    /**
+     * Take back an own offer
+     * @return {@link ActionResult#OK} or {@link ActionResult#NO_TRADE_OFFER}
+     */
+    public int withdrawOffer(int offerId, int playerId) {
+        int result = orderBook.withdraw(offerId, playerId) ? ActionResult.OK : ActionResult.NO_TRADE_OFFER;
+        accept(result);
+        return result;
+    }
+    
+    /**
+     * Decline an offer aimed at this player
+     * @return {@link ActionResult#OK} or {@link ActionResult#NO_TRADE_OFFER}
+     */
+    public int declineOffer(int offerId, int playerId) {
+        int result = orderBook.decline(offerId, playerId) ? ActionResult.OK : ActionResult.NO_TRADE_OFFER;
+        accept(result);
+        return result;
+    }
+    
+    /**
+     * Check whether an offer may be posted; the partner's resources are checked on accept
+     * @return {@link ActionResult#OK} or the reason the offer is not possible
+     */
+    public int validateOfferPost(int offererPlayerId, int targetPlayerId,
+                                 Map<ResourceType, Integer> offeredResources,
+                                 Map<ResourceType, Integer> requestedResources) {
+        Player offerer = playerManager.getPlayerById(offererPlayerId);
+        if (offerer == null) {
+            return ActionResult.INVALID_PLAYER;
+        }
+        if (targetPlayerId != TradeOrderBook.ALL_PLAYERS
+                && (targetPlayerId == offererPlayerId || playerManager.getPlayerById(targetPlayerId) == null)) {
+            return ActionResult.INVALID_PLAYER;
+        }
+        int offeredCards = countCards(offeredResources);
+        int requestedCards = countCards(requestedResources);
+        if (offeredCards < 0 || requestedCards < 0 || offeredCards + requestedCards == 0) {
+            return ActionResult.INVALID_TRADE_AMOUNT;
+        }
+        if (!offerer.canAfford(offeredResources)) {
+            return ActionResult.INSUFFICIENT_RESOURCES;
+        }
+        return ActionResult.OK;
+    }
+    
+    /**
+     * @return The number of cards, or -1 if an amount is negative
+     */
+    private static int countCards(Map<ResourceType, Integer> resources) {
+        int cards = 0;
+        for (int amount : resources.values()) {
+            if (amount < 0) {
+                return -1;
+            }
+            cards += amount;
+        }
+        return cards;
+    }
+    
+    /**
+     * Exchange the resources of a claimed offer; runs under the order book's trade lock
+     */
+    private int executeOffer(TradeOrderBook.Offer offer, int acceptingPlayerId) {
+        TradeOffer trade = new TradeOffer(offer.getOffererPlayerId(), acceptingPlayerId,
+            offer.getOfferedResources(), offer.getRequestedResources());
+        return executeTrade(trade);
+    }
+    
+    public TradeOrderBook getOrderBook() {
+        return orderBook;
+    }
+    
+    /**
+     * Get the lock held while a trade changes resources; the game controller takes it for
+     * every other change of resources
+     */
+    ReentrantLock getTradeLock() {
+        return tradeLock;
+    }
+    
+    /**
+     * Set the pipeline whose writer thread owns the game
+     * @param owner The pipeline, or null when it is closed
+     */
+    void setOwner(GameCommandPipeline owner) {
+        this.owner = owner;
     }
     
     /**
@@ -131,52 +322,176 @@ public class TradeController {
      * @return true if trade was successful
      */
     public boolean executeBankTrade(int playerId, ResourceType giveResource, int giveAmount, ResourceType wantResource) {
-        Player player = playerManager.getPlayerById(playerId);
-        if (player == null) {
-            setTradeMessage("Ungültiger Spieler!");
-            return false;
+        return bankTrade(playerId, giveResource, giveAmount, wantResource) == ActionResult.OK;
+    }
+    
+    /**
+     * Variant of {@link #executeBankTrade} that returns the reason code of this call
+     * @return {@link ActionResult#OK} or the reason the trade is not possible
+     */
+    public int bankTrade(int playerId, ResourceType giveResource, int giveAmount, ResourceType wantResource) {
+        long start = MetricsRegistry.startTimer();
+        TradeEvent event = new TradeEvent();
+        event.begin();
+        try {
+            int result;
+            tradeLock.lock();
+            try {
+                result = performBankTrade(playerId, giveResource, giveAmount, wantResource);
+            } finally {
+                tradeLock.unlock();
+            }
+            event.finish("BANK", playerId, -1, result == ActionResult.OK);
+            return result;
+        } finally {
+            BANK_TRADE_LATENCY.recordSince(start);
         }
-        
-        int requiredRatio = bankTradeRatios.get(giveResource);
-        
-        // Check if amount is correct for the ratio
-        if (giveAmount % requiredRatio != 0) {
-            setTradeMessage(String.format("Bank-Handel erfordert Vielfache von %d für %s!", 
-                requiredRatio, getResourceName(giveResource)));
-            return false;
+    }
+    
+    /**
+     * Implementation of {@link #bankTrade}, timed by the public method
+     */
+    private int performBankTrade(int playerId, ResourceType giveResource, int giveAmount, ResourceType wantResource) {
+        int result = validateBankTrade(playerId, giveResource, giveAmount);
+        if (!accept(result)) {
+            return result;
         }
         
-        int receiveAmount = giveAmount / requiredRatio;
-        
-        // Check if player has enough resources
-        if (player.getResourceAmount(giveResource) < giveAmount) {
-            setTradeMessage("Nicht genügend " + getResourceName(giveResource) + " für Bank-Handel!");
-            return false;
-        }
+        Player player = playerManager.getPlayerById(playerId);
+        int receiveAmount = giveAmount / player.getBankTradeRatio(giveResource);
         
         // Execute the trade
         player.removeResource(giveResource, giveAmount);
         player.addResource(wantResource, receiveAmount);
+        if (history != null) {
+            history.record(GameHistory.pack(GameHistory.BANK_TRADE, playerId, giveAmount,
+                giveResource.ordinal() | wantResource.ordinal() << 4 | (long) receiveAmount << 8));
+        }
+        if (statistics != null) {
+            statistics.recordBankTrade(playerId, giveAmount, receiveAmount);
+        }
         
         setTradeMessage(String.format("%s hat %d %s gegen %d %s mit der Bank getauscht!", 
             player.getName(), giveAmount, getResourceName(giveResource), 
             receiveAmount, getResourceName(wantResource)));
         
+        return ActionResult.OK;
+    }
+    
+    // === Validation ===
+    
+    /**
+     * Check whether a trade offer can be made, without changing anything
+     * @return {@link ActionResult#OK} or the reason the offer is not possible
+     */
+    public int validateTradeOffer(int offererPlayerId, int targetPlayerId,
+                                  Map<ResourceType, Integer> offeredResources,
+                                  Map<ResourceType, Integer> requestedResources) {
+        Player offerer = playerManager.getPlayerById(offererPlayerId);
+        Player target = playerManager.getPlayerById(targetPlayerId);
+        if (offerer == null || target == null) {
+            return ActionResult.INVALID_PLAYER;
+        }
+        return validateResources(offerer, target, offeredResources, requestedResources);
+    }
+    
+    /**
+     * Check whether a player may accept or decline the current offer
+     * @return {@link ActionResult#OK} or the reason the player cannot answer
+     */
+    public int validateAnswer(int playerId) {
+        if (currentOffer == null) {
+            return ActionResult.NO_TRADE_OFFER;
+        }
+        if (playerId != currentOffer.getTargetPlayerId()) {
+            return ActionResult.NOT_TRADE_TARGET;
+        }
+        return ActionResult.OK;
+    }
+    
+    /**
+     * Check whether a bank trade is possible, without changing anything
+     * @param giveAmount Must be a positive multiple of the ratio for the given resource
+     * @return {@link ActionResult#OK} or the reason the trade is not possible
+     */
+    public int validateBankTrade(int playerId, ResourceType giveResource, int giveAmount) {
+        Player player = playerManager.getPlayerById(playerId);
+        if (player == null) {
+            return ActionResult.INVALID_PLAYER;
+        }
+        if (giveAmount <= 0 || giveAmount % player.getBankTradeRatio(giveResource) != 0) {
+            return ActionResult.INVALID_TRADE_AMOUNT;
+        }
+        if (player.getResourceAmount(giveResource) < giveAmount) {
+            return ActionResult.INSUFFICIENT_RESOURCES;
+        }
+        return ActionResult.OK;
+    }
+    
+    /**
+     * Get the reason code of the last trade action, {@link ActionResult#OK} if it succeeded.
+     * Meant for the single-threaded UI; concurrent callers use the returned codes instead.
+     */
+    public int getLastActionResult() {
+        return lastActionResult;
+    }
+    
+    private static int validateResources(Player offerer, Player target,
+                                         Map<ResourceType, Integer> offeredResources,
+                                         Map<ResourceType, Integer> requestedResources) {
+        if (!offerer.canAfford(offeredResources)) {
+            return ActionResult.INSUFFICIENT_RESOURCES;
+        }
+        if (!target.canAfford(requestedResources)) {
+            return ActionResult.PARTNER_INSUFFICIENT_RESOURCES;
+        }
+        return ActionResult.OK;
+    }
+    
+    /**
+     * Remember a validation result and show the message if the action was rejected
+     * @return true if the action may go ahead
+     */
+    private boolean accept(int result) {
+        lastActionResult = result;
+        if (result != ActionResult.OK) {
+            setTradeMessage(ActionMessages.get(result));
+            return false;
+        }
         return true;
     }
     
     /**
      * Execute the trade between players
+     * @return {@link ActionResult#OK} or the reason the trade failed
      */
-    private boolean executeTrade(TradeOffer offer) {
+    private int executeTrade(TradeOffer offer) {
+        long start = MetricsRegistry.startTimer();
+        TradeEvent event = new TradeEvent();
+        event.begin();
+        try {
+            int result;
+            tradeLock.lock();
+            try {
+                result = performTrade(offer);
+            } finally {
+                tradeLock.unlock();
+            }
+            event.finish("PLAYER", offer.getOffererPlayerId(), offer.getTargetPlayerId(), result == ActionResult.OK);
+            return result;
+        } finally {
+            PLAYER_TRADE_LATENCY.recordSince(start);
+        }
+    }
+    
+    private int performTrade(TradeOffer offer) {
         Player offerer = playerManager.getPlayerById(offer.getOffererPlayerId());
         Player target = playerManager.getPlayerById(offer.getTargetPlayerId());
         
         // Double-check that both players still have the resources
-        if (!offerer.canAfford(offer.getOfferedResources()) || 
-            !target.canAfford(offer.getRequestedResources())) {
-            setTradeMessage("Handel kann nicht ausgeführt werden - unzureichende Ressourcen!");
-            return false;
+        int result = validateResources(offerer, target, offer.getOfferedResources(), offer.getRequestedResources());
+        if (result != ActionResult.OK) {
+            return result;
         }
         
         // Execute the resource transfer
@@ -191,12 +506,39 @@ public class TradeController {
             target.removeResource(entry.getKey(), entry.getValue());
             offerer.addResource(entry.getKey(), entry.getValue());
         }
+        recordTrade(offer);
+        if (statistics != null) {
+            statistics.recordPlayerTrade(offer.getOffererPlayerId(), offer.getTargetPlayerId(),
+                countCards(offer.getOfferedResources()), countCards(offer.getRequestedResources()));
+        }
         
         setTradeMessage(String.format("Handel erfolgreich! %s und %s haben Ressourcen getauscht.", 
             offerer.getName(), target.getName()));
         
-        currentOffer = null;
-        return true;
+        return ActionResult.OK;
+    }
+    
+    /**
+     * Record an executed player trade in the undo history. Trades with more than
+     * {@link GameHistory#MAX_TRADE_AMOUNT} of one resource do not fit into a step and
+     * make the earlier history unrecoverable, so it is cleared instead.
+     */
+    private void recordTrade(TradeOffer offer) {
+        if (history == null) return;
+        
+        long amounts = 0;
+        for (ResourceType type : ResourceType.values()) {
+            int offered = offer.getOfferedResources().getOrDefault(type, 0);
+            int requested = offer.getRequestedResources().getOrDefault(type, 0);
+            if (offered > GameHistory.MAX_TRADE_AMOUNT || requested > GameHistory.MAX_TRADE_AMOUNT) {
+                history.clear();
+                return;
+            }
+            amounts |= (long) offered << (type.ordinal() * 4);
+            amounts |= (long) requested << (20 + type.ordinal() * 4);
+        }
+        history.record(GameHistory.pack(GameHistory.PLAYER_TRADE, offer.getOffererPlayerId(),
+            offer.getTargetPlayerId(), amounts));
     }
     
     /**
@@ -247,21 +589,15 @@ public class TradeController {
     }
     
     /**
-     * Improve bank trade ratio for a specific resource (harbor effect)
-     * @param resource The resource to improve
-     * @param newRatio The new trade ratio (typically 3:1 or 2:1)
-     */
-    public void improveBankTradeRatio(ResourceType resource, int newRatio) {
-        bankTradeRatios.put(resource, newRatio);
-    }
-    
-    /**
-     * Get the current bank trade ratio for a resource
-     * @param resource The resource to check
+     * Get the current bank trade ratio of a player for a resource (4:1 standard,
+     * improved by the harbors the player has settled on)
+     * @param playerId The trading player
+     * @param resource The resource to give
      * @return The current trade ratio
      */
-    public int getBankTradeRatio(ResourceType resource) {
-        return bankTradeRatios.getOrDefault(resource, STANDARD_BANK_RATIO);
+    public int getBankTradeRatio(int playerId, ResourceType resource) {
+        Player player = playerManager.getPlayerById(playerId);
+        return player != null ? player.getBankTradeRatio(resource) : Player.STANDARD_BANK_RATIO;
     }
     
     // Property getters
@@ -274,7 +610,31 @@ public class TradeController {
     }
     
     private void setTradeMessage(String message) {
-        tradeMessageProperty.set(message);
+        propertyUpdater.execute(() -> tradeMessageProperty.set(message));
+    }
+    
+    /**
+     * Set how the trade message property is updated (see {@link GameController#setPropertyUpdater})
+     * @param propertyUpdater Executor running property updates
+     */
+    void setPropertyUpdater(Executor propertyUpdater) {
+        this.propertyUpdater = propertyUpdater;
+    }
+    
+    /**
+     * Set the history executed trades are recorded in
+     * @param history The game's undo history
+     */
+    void setHistory(GameHistory history) {
+        this.history = history;
+    }
+    
+    /**
+     * Set the statistics executed trades are counted in
+     * @param statistics The game's statistics
+     */
+    void setStatistics(GameStatistics statistics) {
+        this.statistics = statistics;
     }
     
     public TradeOffer getCurrentOffer() {
@@ -0,0 +1,415 @@
+package de.philx.catan.Controllers;
+
+import de.philx.catan.Players.Player.ResourceType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Any number of open player-to-player trade offers at the same time.
+ *
+ * An offer is aimed at one player or, with {@link #ALL_PLAYERS}, at every other player.
+ * A counter-offer answers an open offer and goes back to its author; accepting either
+ * one closes both. Open offers are indexed by every resource they give and want, so
+ * {@link #findMatches} only looks at offers that give something the searched offer wants.
+ *
+ * The book is safe for concurrent use by bot threads and the UI. Posting and matching
+ * never block. Accepting is atomic: the offer is claimed, the trade re-validated against
+ * the current resources and executed under one lock, so an offer is traded at most once
+ * and two trades never interleave. Withdrawing, declining and clearing take the same
+ * lock, so they wait for a running trade instead of missing an offer that is only
+ * claimed for the moment.
+ *
+ * Counter-offers are attached under the same lock, so an offer closed at the same moment
+ * never keeps an open counter-offer.
+ *
+ * The lock is shared with the {@link TradeController}, which takes it for every trade
+ * that changes resources, the undo history or the statistics, and with the
+ * {@link GameController}, which takes it for dice production, building and undo. Resources
+ * therefore never change under a running trade, whichever thread the UI and the bots
+ * act on. When a {@link GameCommandPipeline} owns the game, accepted offers run on its
+ * writer thread as well.
+ */
+public class TradeOrderBook {
+
+    /** Target of an offer open to every other player */
+    public static final int ALL_PLAYERS = -1;
+
+    // Offer states; only OPEN offers are in the book
+    private static final int OPEN = 0;
+    private static final int CLAIMED = 1;
+    private static final int CLOSED = 2;
+
+    private static final ResourceType[] RESOURCES = ResourceType.values();
+
+    /**
+     * Executes an accepted offer; called while the book holds its trade lock
+     */
+    @FunctionalInterface
+    public interface TradeExecutor {
+        /**
+         * Re-validate and execute the trade
+         * @param offer The claimed offer
+         * @param acceptingPlayerId The player who accepted it
+         * @return {@link ActionResult#OK} if the resources were exchanged, else the reason
+         */
+        int execute(Offer offer, int acceptingPlayerId);
+    }
+
+    private final Map<Integer, Offer> offers;
+    private final List<Set<Offer>> offersByGiven;
+    private final List<Set<Offer>> offersByWanted;
+    private final AtomicInteger nextOfferId;
+    private final ReentrantLock tradeLock;
+
+    /**
+     * Create a book with a lock of its own
+     */
+    public TradeOrderBook() {
+        this(new ReentrantLock());
+    }
+
+    /**
+     * Create a book whose trades are serialized with other trades by a shared lock
+     * @param tradeLock Held while an accepted offer is executed
+     */
+    public TradeOrderBook(ReentrantLock tradeLock) {
+        this.offers = new ConcurrentHashMap<>();
+        this.offersByGiven = new ArrayList<>(RESOURCES.length);
+        this.offersByWanted = new ArrayList<>(RESOURCES.length);
+        for (int i = 0; i < RESOURCES.length; i++) {
+            offersByGiven.add(ConcurrentHashMap.newKeySet());
+            offersByWanted.add(ConcurrentHashMap.newKeySet());
+        }
+        this.nextOfferId = new AtomicInteger(1);
+        this.tradeLock = tradeLock;
+    }
+
+    // === Offers ===
+
+    /**
+     * Put a new offer into the book; amounts are not checked here
+     * @param offererPlayerId Author of the offer
+     * @param targetPlayerId The only player who may accept, or {@link #ALL_PLAYERS}
+     * @param offeredResources Resources the author gives
+     * @param requestedResources Resources the author wants
+     * @return The open offer
+     */
+    public Offer post(int offererPlayerId, int targetPlayerId,
+                      Map<ResourceType, Integer> offeredResources,
+                      Map<ResourceType, Integer> requestedResources) {
+        return add(new Offer(nextOfferId.getAndIncrement(), offererPlayerId, targetPlayerId, -1,
+            offeredResources, requestedResources));
+    }
+
+    /**
+     * Answer an open offer with a counter-offer aimed at its author
+     * @param offerId The offer to answer
+     * @param playerId The player answering; must be allowed to accept the original offer
+     * @return The open counter-offer, or null if the original is gone or not meant for this player
+     */
+    public Offer counter(int offerId, int playerId,
+                         Map<ResourceType, Integer> offeredResources,
+                         Map<ResourceType, Integer> requestedResources) {
+        Offer original = offers.get(offerId);
+        if (original == null || !original.isFor(playerId)) {
+            return null;
+        }
+        // Offers are closed under the lock, so the original cannot be traded or withdrawn
+        // between the check and the attach and leave an orphaned counter-offer open
+        tradeLock.lock();
+        try {
+            if (!original.isOpen()) {
+                return null;
+            }
+            return add(new Offer(nextOfferId.getAndIncrement(), playerId, original.getOffererPlayerId(), offerId,
+                offeredResources, requestedResources));
+        } finally {
+            tradeLock.unlock();
+        }
+    }
+
+    private Offer add(Offer offer) {
+        // Index first: an offer can only be closed once it is found by its id
+        for (int i = 0; i < RESOURCES.length; i++) {
+            if (offer.offered[i] > 0) {
+                offersByGiven.get(i).add(offer);
+            }
+            if (offer.requested[i] > 0) {
+                offersByWanted.get(i).add(offer);
+            }
+        }
+        offers.put(offer.getOfferId(), offer);
+        return offer;
+    }
+
+    /**
+     * Take back an own offer
+     * @return true if the offer was open and belonged to the player
+     */
+    public boolean withdraw(int offerId, int playerId) {
+        Offer offer = offers.get(offerId);
+        return offer != null && offer.getOffererPlayerId() == playerId && closeLocked(offer);
+    }
+
+    /**
+     * Decline an offer aimed at exactly this player; broadcast offers cannot be declined
+     * @return true if the offer was open and aimed at the player
+     */
+    public boolean decline(int offerId, int playerId) {
+        Offer offer = offers.get(offerId);
+        return offer != null && offer.getTargetPlayerId() == playerId && closeLocked(offer);
+    }
+
+    /**
+     * Accept an offer: claim it, then let the executor re-validate and exchange the
+     * resources. If the executor rejects the trade the offer stays open.
+     * @return {@link ActionResult#OK}, or the reason the offer could not be accepted
+     */
+    public int accept(int offerId, int acceptingPlayerId, TradeExecutor executor) {
+        Offer offer = offers.get(offerId);
+        if (offer == null) {
+            return ActionResult.NO_TRADE_OFFER;
+        }
+        if (!offer.isFor(acceptingPlayerId)) {
+            return ActionResult.NOT_TRADE_TARGET;
+        }
+
+        tradeLock.lock();
+        try {
+            if (!offer.state.compareAndSet(OPEN, CLAIMED)) {
+                return ActionResult.NO_TRADE_OFFER;
+            }
+            int result = executor.execute(offer, acceptingPlayerId);
+            if (result != ActionResult.OK) {
+                offer.state.set(OPEN);
+                return result;
+            }
+            offer.state.set(CLOSED);
+            remove(offer);
+            // The other side of a negotiation is settled as well
+            if (offer.getCounteredOfferId() >= 0) {
+                Offer original = offers.get(offer.getCounteredOfferId());
+                if (original != null) {
+                    close(original);
+                }
+            }
+            for (Offer counterOffer : offers.values()) {
+                if (counterOffer.getCounteredOfferId() == offerId) {
+                    close(counterOffer);
+                }
+            }
+            return ActionResult.OK;
+        } finally {
+            tradeLock.unlock();
+        }
+    }
+
+    /**
+     * Remove every offer, e.g. at the end of a turn
+     */
+    public void clear() {
+        tradeLock.lock();
+        try {
+            for (Offer offer : offers.values()) {
+                close(offer);
+            }
+        } finally {
+            tradeLock.unlock();
+        }
+    }
+
+    /**
+     * Close an offer once no trade is running, so a claimed offer is never reopened after
+     * it was closed
+     */
+    private boolean closeLocked(Offer offer) {
+        tradeLock.lock();
+        try {
+            return close(offer);
+        } finally {
+            tradeLock.unlock();
+        }
+    }
+
+    private boolean close(Offer offer) {
+        if (!offer.state.compareAndSet(OPEN, CLOSED)) {
+            return false;
+        }
+        remove(offer);
+        return true;
+    }
+
+    private void remove(Offer offer) {
+        offers.remove(offer.getOfferId(), offer);
+        for (int i = 0; i < RESOURCES.length; i++) {
+            offersByGiven.get(i).remove(offer);
+            offersByWanted.get(i).remove(offer);
+        }
+    }
+
+    // === Queries ===
+
+    public Offer getOffer(int offerId) {
+        return offers.get(offerId);
+    }
+
+    /**
+     * Get the open offers a player may accept, oldest first
+     */
+    public List<Offer> getOffersFor(int playerId) {
+        List<Offer> result = new ArrayList<>();
+        for (Offer offer : offers.values()) {
+            if (offer.isOpen() && offer.isFor(playerId)) {
+                result.add(offer);
+            }
+        }
+        result.sort((a, b) -> Integer.compare(a.getOfferId(), b.getOfferId()));
+        return result;
+    }
+
+    public int size() {
+        return offers.size();
+    }
+
+    /**
+     * Get the open offers that give a resource, oldest first
+     */
+    public List<Offer> getOffersGiving(ResourceType type) {
+        return sortedOpen(offersByGiven.get(type.ordinal()));
+    }
+
+    /**
+     * Get the open offers that want a resource, oldest first
+     */
+    public List<Offer> getOffersWanting(ResourceType type) {
+        return sortedOpen(offersByWanted.get(type.ordinal()));
+    }
+
+    private static List<Offer> sortedOpen(Set<Offer> index) {
+        List<Offer> result = new ArrayList<>(index.size());
+        for (Offer offer : index) {
+            if (offer.isOpen()) {
+                result.add(offer);
+            }
+        }
+        result.sort((a, b) -> Integer.compare(a.getOfferId(), b.getOfferId()));
+        return result;
+    }
+
+    /**
+     * Find the open offers that complement an offer: they give at least what it wants,
+     * want no more than it gives, and both authors may accept each other's offer
+     * @param offerId The offer to match
+     * @return Matching offers, oldest first; empty if the offer is gone
+     */
+    public List<Offer> findMatches(int offerId) {
+        Offer offer = offers.get(offerId);
+        if (offer == null) {
+            return Collections.emptyList();
+        }
+
+        // Only offers giving the scarcest wanted resource can match
+        Set<Offer> candidates = null;
+        for (int i = 0; i < RESOURCES.length; i++) {
+            if (offer.requested[i] > 0 && (candidates == null || offersByGiven.get(i).size() < candidates.size())) {
+                candidates = offersByGiven.get(i);
+            }
+        }
+        List<Offer> matches = new ArrayList<>();
+        for (Offer candidate : candidates != null ? candidates : offers.values()) {
+            if (candidate.isOpen() && offer.complements(candidate)) {
+                matches.add(candidate);
+            }
+        }
+        matches.sort((a, b) -> Integer.compare(a.getOfferId(), b.getOfferId()));
+        return matches;
+    }
+
+    /**
+     * An offer in the book. Amounts are fixed; only its state changes.
+     */
+    public static final class Offer {
+        private final int offerId;
+        private final int offererPlayerId;
+        private final int targetPlayerId;
+        private final int counteredOfferId;
+        private final int[] offered;
+        private final int[] requested;
+        private final AtomicInteger state;
+
+        private Offer(int offerId, int offererPlayerId, int targetPlayerId, int counteredOfferId,
+                      Map<ResourceType, Integer> offeredResources,
+                      Map<ResourceType, Integer> requestedResources) {
+            this.offerId = offerId;
+            this.offererPlayerId = offererPlayerId;
+            this.targetPlayerId = targetPlayerId;
+            this.counteredOfferId = counteredOfferId;
+            this.offered = toAmounts(offeredResources);
+            this.requested = toAmounts(requestedResources);
+            this.state = new AtomicInteger(OPEN);
+        }
+
+        private static int[] toAmounts(Map<ResourceType, Integer> resources) {
+            int[] amounts = new int[RESOURCES.length];
+            for (Map.Entry<ResourceType, Integer> entry : resources.entrySet()) {
+                amounts[entry.getKey().ordinal()] = Math.max(0, entry.getValue());
+            }
+            return amounts;
+        }
+
+        private static Map<ResourceType, Integer> toMap(int[] amounts) {
+            Map<ResourceType, Integer> resources = new EnumMap<>(ResourceType.class);
+            for (int i = 0; i < amounts.length; i++) {
+                if (amounts[i] > 0) {
+                    resources.put(RESOURCES[i], amounts[i]);
+                }
+            }
+            return resources;
+        }
+
+        /**
+         * Check whether a player may accept this offer
+         */
+        public boolean isFor(int playerId) {
+            return playerId != offererPlayerId && (targetPlayerId == ALL_PLAYERS || targetPlayerId == playerId);
+        }
+
+        private boolean complements(Offer other) {
+            if (other == this || !isFor(other.offererPlayerId) || !other.isFor(offererPlayerId)) {
+                return false;
+            }
+            for (int i = 0; i < RESOURCES.length; i++) {
+                if (other.offered[i] < requested[i] || other.requested[i] > offered[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public int getOfferId() { return offerId; }
+        public int getOffererPlayerId() { return offererPlayerId; }
+        public int getTargetPlayerId() { return targetPlayerId; }
+        public boolean isBroadcast() { return targetPlayerId == ALL_PLAYERS; }
+        /** Id of the offer this one answers, -1 if it is not a counter-offer */
+        public int getCounteredOfferId() { return counteredOfferId; }
+        public boolean isOpen() { return state.get() == OPEN; }
+        public int getOffered(ResourceType type) { return offered[type.ordinal()]; }
+        public int getRequested(ResourceType type) { return requested[type.ordinal()]; }
+        public Map<ResourceType, Integer> getOfferedResources() { return toMap(offered); }
+        public Map<ResourceType, Integer> getRequestedResources() { return toMap(requested); }
+
+        @Override
+        public String toString() {
+            return "Offer{" + offerId + ": " + offererPlayerId + " -> "
+                + (isBroadcast() ? "alle" : String.valueOf(targetPlayerId)) + ", "
+                + getOfferedResources() + " für " + getRequestedResources() + '}';
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package de.philx.catan.GameField;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Remembers which pieces a renderer has drawn and reports the board regions
+ * that changed since the last call.
+ *
+ * Regions are given in board coordinates and cover the drawn extent of a road,
+ * building or robber, so a renderer can clear and repaint just these rectangles.
+ */
+public class BoardDirtyTracker {
+
+    /** Half size of the region around a node (largest city circle plus stroke) */
+    public static final double NODE_EXTENT = 12;
+    /** Margin around a road line (half the road width plus the line cap) */
+    public static final double EDGE_EXTENT = 4;
+    /** Half width of the robber marker, which is drawn above the hexagon center */
+    public static final double ROBBER_EXTENT = 15;
+
+    private final GameField gameField;
+    private final List<Node> nodes;
+    private final List<Edge> edges;
+    private final int[] nodeStates;
+    private final int[] edgeStates;
+    private int robberPosition;
+    private boolean fullRepaint;
+
+    public BoardDirtyTracker(GameField gameField) {
+        this.gameField = gameField;
+        this.nodes = gameField.getNodes();
+        this.edges = gameField.getEdges();
+        this.nodeStates = new int[nodes.size()];
+        this.edgeStates = new int[edges.size()];
+        this.fullRepaint = true;
+    }
+
+    /**
+     * Compare the board with the last reported state
+     * @return Regions to repaint; the whole board after construction or {@link #invalidate()}
+     */
+    public List<Rectangle2D> collectDirtyRegions() {
+        List<Rectangle2D> regions = new ArrayList<>();
+        if (fullRepaint) {
+            regions.add(getBoardBounds());
+        }
+
+        for (Node node : nodes) {
+            int state = nodeState(node);
+            if (state != nodeStates[node.getNodeId()]) {
+                nodeStates[node.getNodeId()] = state;
+                if (!fullRepaint) regions.add(nodeRegion(node));
+            }
+        }
+
+        for (Edge edge : edges) {
+            int state = edge.hasRoad() ? edge.getRoad().getPlayerId() + 1 : 0;
+            if (state != edgeStates[edge.getEdgeId()]) {
+                edgeStates[edge.getEdgeId()] = state;
+                if (!fullRepaint) regions.add(edgeRegion(edge));
+            }
+        }
+
+        int robber = gameField.getRobberPosition();
+        if (robber != robberPosition) {
+            if (!fullRepaint) {
+                addRobberRegion(regions, robberPosition);
+                addRobberRegion(regions, robber);
+            }
+            robberPosition = robber;
+        }
+
+        fullRepaint = false;
+        return regions;
+    }
+
+    /**
+     * Report the whole board on the next call, e.g. after the layout changed
+     */
+    public void invalidate() {
+        fullRepaint = true;
+    }
+
+    /**
+     * Get the area covered by all hexagons plus the node margin
+     * @return Board bounds in board coordinates
+     */
+    public Rectangle2D getBoardBounds() {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (Hexagon hex : gameField.getHexagons()) {
+            minX = Math.min(minX, hex.getCenterX() - hex.getRadius());
+            minY = Math.min(minY, hex.getCenterY() - hex.getRadius());
+            maxX = Math.max(maxX, hex.getCenterX() + hex.getRadius());
+            maxY = Math.max(maxY, hex.getCenterY() + hex.getRadius());
+        }
+        return new Rectangle2D(minX - NODE_EXTENT, minY - NODE_EXTENT,
+                               maxX - minX + 2 * NODE_EXTENT, maxY - minY + 2 * NODE_EXTENT);
+    }
+
+    public static Rectangle2D nodeRegion(Node node) {
+        return new Rectangle2D(node.getX() - NODE_EXTENT, node.getY() - NODE_EXTENT, 2 * NODE_EXTENT, 2 * NODE_EXTENT);
+    }
+
+    public static Rectangle2D edgeRegion(Edge edge) {
+        double minX = Math.min(edge.getNode1().getX(), edge.getNode2().getX());
+        double minY = Math.min(edge.getNode1().getY(), edge.getNode2().getY());
+        double maxX = Math.max(edge.getNode1().getX(), edge.getNode2().getX());
+        double maxY = Math.max(edge.getNode1().getY(), edge.getNode2().getY());
+        return new Rectangle2D(minX - EDGE_EXTENT, minY - EDGE_EXTENT,
+                               maxX - minX + 2 * EDGE_EXTENT, maxY - minY + 2 * EDGE_EXTENT);
+    }
+
+    public static Rectangle2D robberRegion(Hexagon hex) {
+        return new Rectangle2D(hex.getCenterX() - ROBBER_EXTENT, hex.getCenterY() - 2 * ROBBER_EXTENT,
+                               2 * ROBBER_EXTENT, 2 * ROBBER_EXTENT);
+    }
+
+    private void addRobberRegion(List<Rectangle2D> regions, int hexagonId) {
+        Hexagon hex = gameField.getHexagon(hexagonId);
+        if (hex != null) {
+            regions.add(robberRegion(hex));
+        }
+    }
+
+    /**
+     * Pack building type and owner of a node (0 = empty)
+     */
+    private static int nodeState(Node node) {
+        if (!node.hasBuilding()) return 0;
+        int type = node.hasCity() ? 2 : 1;
+        return type << 4 | (node.getBuilding().getPlayerId() + 1);
+    }
+}
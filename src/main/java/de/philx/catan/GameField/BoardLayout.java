@@ -0,0 +1,141 @@
+package de.philx.catan.GameField;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shape of a board as a list of axial hex coordinates (q, r).
+ *
+ * Hexagons are ordered row by row (ascending r, then ascending q), which is the order
+ * of the hexagon ids of a {@link GameField} built from the layout. Terrain and dice
+ * numbers are not part of the layout; the game field scales the standard distributions
+ * to the number of hexagons.
+ */
+public final class BoardLayout {
+
+    private static final BoardLayout STANDARD = hexagonal(2);
+
+    private final int[] axialQ;
+    private final int[] axialR;
+
+    private BoardLayout(List<int[]> coordinates) {
+        coordinates.sort((a, b) -> a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(a[0], b[0]));
+        this.axialQ = new int[coordinates.size()];
+        this.axialR = new int[coordinates.size()];
+        for (int i = 0; i < coordinates.size(); i++) {
+            axialQ[i] = coordinates.get(i)[0];
+            axialR[i] = coordinates.get(i)[1];
+        }
+    }
+
+    /**
+     * Get the standard board with 19 hexagons in rows of 3, 4, 5, 4 and 3
+     */
+    public static BoardLayout standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Create a hexagon-shaped board
+     * @param radius Number of rings around the center hexagon (2 for the standard board)
+     * @return Layout with 3 * radius * (radius + 1) + 1 hexagons
+     * @throws IllegalArgumentException if the radius is negative
+     */
+    public static BoardLayout hexagonal(int radius) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius must not be negative: " + radius);
+        }
+        List<int[]> coordinates = new ArrayList<>();
+        for (int r = -radius; r <= radius; r++) {
+            for (int q = Math.max(-radius, -radius - r); q <= Math.min(radius, radius - r); q++) {
+                coordinates.add(new int[]{q, r});
+            }
+        }
+        return new BoardLayout(coordinates);
+    }
+
+    /**
+     * Create a board from a text drawing. Every line is one row of hexagons; any
+     * character other than space or '.' is a hexagon. Like on the drawn board, every
+     * row is shifted by half a hexagon against its neighbours, so hexagons stand on
+     * every second column:
+     * <pre>
+     *   X X X
+     *  X X X X
+     * X X X X X
+     *  X X X X
+     *   X X X
+     * </pre>
+     * @param description The drawing
+     * @return Layout with one hexagon per marked character
+     * @throws IllegalArgumentException if the drawing has no hexagons or a hexagon stands
+     *                                  between two columns
+     */
+    public static BoardLayout parse(String description) {
+        List<int[]> coordinates = new ArrayList<>();
+        String[] lines = description.split("\\R");
+        for (int row = 0; row < lines.length; row++) {
+            String line = lines[row];
+            for (int column = 0; column < line.length(); column++) {
+                char c = line.charAt(column);
+                if (c == ' ' || c == '.') {
+                    continue;
+                }
+                // Doubled-width coordinates: column = 2q + r
+                if ((column - row) % 2 != 0) {
+                    throw new IllegalArgumentException("Hexagon between two columns in line " + (row + 1) + ", column " + (column + 1));
+                }
+                coordinates.add(new int[]{(column - row) / 2, row});
+            }
+        }
+        return of(coordinates);
+    }
+
+    /**
+     * Create a board from arbitrary axial coordinates
+     * @param coordinates Pairs {q, r}; order does not matter
+     * @return Layout containing every coordinate once
+     * @throws IllegalArgumentException if the list is empty or contains a coordinate twice
+     */
+    public static BoardLayout of(List<int[]> coordinates) {
+        if (coordinates.isEmpty()) {
+            throw new IllegalArgumentException("Board layout has no hexagons");
+        }
+        Set<Long> seen = new HashSet<>();
+        List<int[]> copy = new ArrayList<>(coordinates.size());
+        for (int[] coordinate : coordinates) {
+            if (!seen.add(key(coordinate[0], coordinate[1]))) {
+                throw new IllegalArgumentException("Duplicate hexagon at " + Arrays.toString(coordinate));
+            }
+            copy.add(new int[]{coordinate[0], coordinate[1]});
+        }
+        return new BoardLayout(copy);
+    }
+
+    public int getHexagonCount() {
+        return axialQ.length;
+    }
+
+    public int getAxialQ(int index) {
+        return axialQ[index];
+    }
+
+    public int getAxialR(int index) {
+        return axialR[index];
+    }
+
+    /**
+     * Pack an axial coordinate into one long, e.g. as a hash key
+     */
+    static long key(int q, int r) {
+        return (long) q << 32 | (r & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public String toString() {
+        return "BoardLayout{hexagons=" + axialQ.length + "}";
+    }
+}
@@ -0,0 +1,344 @@
+package de.philx.catan.GameField;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Spatial index that resolves a click position to the nearest hexagon, node or edge.
+ *
+ * The board is covered by a uniform grid whose cells are about one hexagon radius wide.
+ * Every piece is registered in all cells touched by its bounding box grown by the pick
+ * tolerance, so a lookup only tests the few candidates stored in the clicked cell. The
+ * number of candidates per cell does not depend on the board size, which keeps picking
+ * constant time on boards of any radius. The same grid answers region queries, e.g.
+ * which pieces intersect the visible part of the board.
+ *
+ * The index is built once per board layout; node positions never change during a game.
+ */
+public final class BoardPickIndex {
+
+    private final double originX;
+    private final double originY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+
+    private final double nodeTolerance;
+    private final double edgeTolerance;
+
+    private final double[] nodeX;
+    private final double[] nodeY;
+    private final int[] edgeNode1;
+    private final int[] edgeNode2;
+    private final double[] hexCenterX;
+    private final double[] hexCenterY;
+    private final double[] hexRadius;
+
+    // Candidates per cell in compressed form: ids of cell c are ids[start[c] .. start[c + 1])
+    private final int[] nodeCellStart;
+    private final int[] nodeCellIds;
+    private final int[] edgeCellStart;
+    private final int[] edgeCellIds;
+    private final int[] hexCellStart;
+    private final int[] hexCellIds;
+
+    // First cell every id was registered in, so region queries report each id once
+    private final int[] nodeFirstCell;
+    private final int[] edgeFirstCell;
+    private final int[] hexFirstCell;
+
+    private BoardPickIndex(GameField gameField, double nodeTolerance, double edgeTolerance) {
+        this.nodeTolerance = nodeTolerance;
+        this.edgeTolerance = edgeTolerance;
+
+        List<Node> nodes = gameField.getNodes();
+        List<Edge> edges = gameField.getEdges();
+        Hexagon[] hexagons = gameField.getHexagons();
+
+        this.nodeX = new double[nodes.size()];
+        this.nodeY = new double[nodes.size()];
+        for (Node node : nodes) {
+            nodeX[node.getNodeId()] = node.getX();
+            nodeY[node.getNodeId()] = node.getY();
+        }
+
+        this.edgeNode1 = new int[edges.size()];
+        this.edgeNode2 = new int[edges.size()];
+        for (Edge edge : edges) {
+            edgeNode1[edge.getEdgeId()] = edge.getNode1().getNodeId();
+            edgeNode2[edge.getEdgeId()] = edge.getNode2().getNodeId();
+        }
+
+        this.hexCenterX = new double[hexagons.length];
+        this.hexCenterY = new double[hexagons.length];
+        this.hexRadius = new double[hexagons.length];
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        double radiusSum = 0;
+        for (Hexagon hex : hexagons) {
+            int id = hex.getHexagonId();
+            hexCenterX[id] = hex.getCenterX();
+            hexCenterY[id] = hex.getCenterY();
+            hexRadius[id] = hex.getRadius();
+            radiusSum += hex.getRadius();
+            minX = Math.min(minX, hex.getCenterX() - hex.getRadius());
+            minY = Math.min(minY, hex.getCenterY() - hex.getRadius());
+            maxX = Math.max(maxX, hex.getCenterX() + hex.getRadius());
+            maxY = Math.max(maxY, hex.getCenterY() + hex.getRadius());
+        }
+
+        double margin = Math.max(nodeTolerance, edgeTolerance);
+        this.originX = minX - margin;
+        this.originY = minY - margin;
+        this.cellSize = hexagons.length > 0 ? radiusSum / hexagons.length : 1;
+        this.columns = Math.max(1, (int) Math.ceil((maxX + margin - originX) / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil((maxY + margin - originY) / cellSize));
+
+        int nodeCount = nodeX.length;
+        double[][] nodeBounds = new double[nodeCount][];
+        for (int i = 0; i < nodeCount; i++) {
+            nodeBounds[i] = new double[] {
+                nodeX[i] - nodeTolerance, nodeY[i] - nodeTolerance,
+                nodeX[i] + nodeTolerance, nodeY[i] + nodeTolerance };
+        }
+        this.nodeCellStart = new int[columns * rows + 1];
+        this.nodeFirstCell = new int[nodeCount];
+        this.nodeCellIds = fillCells(nodeBounds, nodeCellStart, nodeFirstCell);
+
+        double[][] edgeBounds = new double[edgeNode1.length][];
+        for (int i = 0; i < edgeNode1.length; i++) {
+            int a = edgeNode1[i];
+            int b = edgeNode2[i];
+            edgeBounds[i] = new double[] {
+                Math.min(nodeX[a], nodeX[b]) - edgeTolerance, Math.min(nodeY[a], nodeY[b]) - edgeTolerance,
+                Math.max(nodeX[a], nodeX[b]) + edgeTolerance, Math.max(nodeY[a], nodeY[b]) + edgeTolerance };
+        }
+        this.edgeCellStart = new int[columns * rows + 1];
+        this.edgeFirstCell = new int[edgeNode1.length];
+        this.edgeCellIds = fillCells(edgeBounds, edgeCellStart, edgeFirstCell);
+
+        double[][] hexBounds = new double[hexagons.length][];
+        for (int i = 0; i < hexagons.length; i++) {
+            hexBounds[i] = new double[] {
+                hexCenterX[i] - hexRadius[i], hexCenterY[i] - hexRadius[i],
+                hexCenterX[i] + hexRadius[i], hexCenterY[i] + hexRadius[i] };
+        }
+        this.hexCellStart = new int[columns * rows + 1];
+        this.hexFirstCell = new int[hexagons.length];
+        this.hexCellIds = fillCells(hexBounds, hexCellStart, hexFirstCell);
+    }
+
+    /**
+     * Build the index for a game field
+     * @param gameField The board
+     * @param nodeTolerance Maximum distance of a click from a node
+     * @param edgeTolerance Maximum distance of a click from a road line
+     * @return The pick index
+     */
+    public static BoardPickIndex of(GameField gameField, double nodeTolerance, double edgeTolerance) {
+        return new BoardPickIndex(gameField, nodeTolerance, edgeTolerance);
+    }
+
+    // === Picking ===
+
+    /**
+     * Find the node nearest to a point
+     * @return Node id, or -1 if no node is within the node tolerance
+     */
+    public int pickNode(double x, double y) {
+        int cell = cellAt(x, y);
+        if (cell < 0) return -1;
+
+        int best = -1;
+        double bestDistance = nodeTolerance * nodeTolerance;
+        for (int i = nodeCellStart[cell]; i < nodeCellStart[cell + 1]; i++) {
+            int id = nodeCellIds[i];
+            double dx = x - nodeX[id];
+            double dy = y - nodeY[id];
+            double distance = dx * dx + dy * dy;
+            if (distance < bestDistance) {
+                best = id;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Find the edge whose road line is nearest to a point
+     * @return Edge id, or -1 if no edge is within the edge tolerance
+     */
+    public int pickEdge(double x, double y) {
+        int cell = cellAt(x, y);
+        if (cell < 0) return -1;
+
+        int best = -1;
+        double bestDistance = edgeTolerance * edgeTolerance;
+        for (int i = edgeCellStart[cell]; i < edgeCellStart[cell + 1]; i++) {
+            int id = edgeCellIds[i];
+            double distance = squaredDistanceToSegment(x, y,
+                nodeX[edgeNode1[id]], nodeY[edgeNode1[id]], nodeX[edgeNode2[id]], nodeY[edgeNode2[id]]);
+            if (distance < bestDistance) {
+                best = id;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Find the hexagon whose center is nearest to a point
+     * @return Hexagon id, or -1 if the point lies outside every hexagon's radius
+     */
+    public int pickHexagon(double x, double y) {
+        int cell = cellAt(x, y);
+        if (cell < 0) return -1;
+
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int i = hexCellStart[cell]; i < hexCellStart[cell + 1]; i++) {
+            int id = hexCellIds[i];
+            double dx = x - hexCenterX[id];
+            double dy = y - hexCenterY[id];
+            double distance = dx * dx + dy * dy;
+            if (distance <= hexRadius[id] * hexRadius[id] && distance < bestDistance) {
+                best = id;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    // === Region queries ===
+
+    /**
+     * Report every node whose pick area may intersect a rectangle. Each id is reported once.
+     * @param action Receives the node ids
+     */
+    public void forEachNodeIn(double minX, double minY, double maxX, double maxY, IntConsumer action) {
+        forEachIn(minX, minY, maxX, maxY, nodeCellStart, nodeCellIds, nodeFirstCell, action);
+    }
+
+    /**
+     * Report every edge whose pick area may intersect a rectangle. Each id is reported once.
+     * @param action Receives the edge ids
+     */
+    public void forEachEdgeIn(double minX, double minY, double maxX, double maxY, IntConsumer action) {
+        forEachIn(minX, minY, maxX, maxY, edgeCellStart, edgeCellIds, edgeFirstCell, action);
+    }
+
+    /**
+     * Report every hexagon whose bounding box may intersect a rectangle. Each id is reported once.
+     * @param action Receives the hexagon ids
+     */
+    public void forEachHexagonIn(double minX, double minY, double maxX, double maxY, IntConsumer action) {
+        forEachIn(minX, minY, maxX, maxY, hexCellStart, hexCellIds, hexFirstCell, action);
+    }
+
+    /**
+     * Get the largest number of candidates any cell holds
+     * @return Maximum of node, edge and hexagon candidates per cell
+     */
+    public int getMaxCandidatesPerCell() {
+        int max = 0;
+        for (int cell = 0; cell < columns * rows; cell++) {
+            max = Math.max(max, nodeCellStart[cell + 1] - nodeCellStart[cell]);
+            max = Math.max(max, edgeCellStart[cell + 1] - edgeCellStart[cell]);
+            max = Math.max(max, hexCellStart[cell + 1] - hexCellStart[cell]);
+        }
+        return max;
+    }
+
+    // === Grid ===
+
+    private int cellAt(double x, double y) {
+        int column = (int) Math.floor((x - originX) / cellSize);
+        int row = (int) Math.floor((y - originY) / cellSize);
+        if (column < 0 || row < 0 || column >= columns || row >= rows) {
+            return -1;
+        }
+        return row * columns + column;
+    }
+
+    /**
+     * Visit the candidates of all cells covering a rectangle. An id stored in several of
+     * these cells is only reported from the top-left one of them.
+     */
+    private void forEachIn(double minX, double minY, double maxX, double maxY,
+                           int[] cellStart, int[] cellIds, int[] firstCell, IntConsumer action) {
+        int firstColumn = clamp((int) Math.floor((minX - originX) / cellSize), columns);
+        int firstRow = clamp((int) Math.floor((minY - originY) / cellSize), rows);
+        int lastColumn = clamp((int) Math.floor((maxX - originX) / cellSize), columns);
+        int lastRow = clamp((int) Math.floor((maxY - originY) / cellSize), rows);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int id = cellIds[i];
+                    int idColumn = firstCell[id] % columns;
+                    int idRow = firstCell[id] / columns;
+                    if (column == Math.max(idColumn, firstColumn) && row == Math.max(idRow, firstRow)) {
+                        action.accept(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Register every box in all cells it overlaps
+     * @param bounds Per id: {minX, minY, maxX, maxY}
+     * @param cellStart Receives the start offset of every cell (length cells + 1)
+     * @param firstCell Receives the top-left cell of every id
+     * @return The ids of all cells, concatenated in cell order
+     */
+    private int[] fillCells(double[][] bounds, int[] cellStart, int[] firstCell) {
+        int[] counts = new int[columns * rows];
+        for (double[] box : bounds) {
+            forEachCell(box, (cell, unused) -> counts[cell]++, 0);
+        }
+
+        for (int cell = 0; cell < counts.length; cell++) {
+            cellStart[cell + 1] = cellStart[cell] + counts[cell];
+        }
+
+        int[] ids = new int[cellStart[counts.length]];
+        int[] fill = new int[counts.length];
+        for (int id = 0; id < bounds.length; id++) {
+            firstCell[id] = clamp((int) Math.floor((bounds[id][1] - originY) / cellSize), rows) * columns
+                          + clamp((int) Math.floor((bounds[id][0] - originX) / cellSize), columns);
+            forEachCell(bounds[id], (cell, value) -> ids[cellStart[cell] + fill[cell]++] = value, id);
+        }
+        return ids;
+    }
+
+    private void forEachCell(double[] box, CellVisitor visitor, int value) {
+        int firstColumn = clamp((int) Math.floor((box[0] - originX) / cellSize), columns);
+        int firstRow = clamp((int) Math.floor((box[1] - originY) / cellSize), rows);
+        int lastColumn = clamp((int) Math.floor((box[2] - originX) / cellSize), columns);
+        int lastRow = clamp((int) Math.floor((box[3] - originY) / cellSize), rows);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                visitor.visit(row * columns + column, value);
+            }
+        }
+    }
+
+    private static int clamp(int index, int size) {
+        return Math.max(0, Math.min(size - 1, index));
+    }
+
+    private static double squaredDistanceToSegment(double px, double py, double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, ((px - x1) * dx + (py - y1) * dy) / lengthSquared));
+        double ex = px - (x1 + t * dx);
+        double ey = py - (y1 + t * dy);
+        return ex * ex + ey * ey;
+    }
+
+    private interface CellVisitor {
+        void visit(int cell, int value);
+    }
+}
@@ -0,0 +1,231 @@
+package de.philx.catan.GameField;
+
+import de.philx.catan.Metrics.Counter;
+import de.philx.catan.Metrics.MetricsRegistry;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Bounded supply of ready-made boards, kept filled by a background producer.
+ *
+ * New games take a board with {@link #take()} in constant time instead of generating
+ * one. Every pooled board has passed {@link #isValid(GameField)} and the optional
+ * fairness filter; boards that fail are thrown away and generated again. Only when
+ * the pool is empty (or was never started) is a board generated on the calling thread.
+ *
+ * The application-wide pool holds standard boards. Its size and refill rate come from
+ * the system properties {@code catan.boardPool.size} (default 4) and
+ * {@code catan.boardPool.refillMillis} (pause between two boards, default 0);
+ * {@code -Dcatan.boardPool.fair=true} enables the {@link #NO_ADJACENT_RED_NUMBERS} filter.
+ *
+ * Each pool counts its hits, misses and rejected boards whether or not metrics are
+ * enabled; the counts are also reported to the {@link MetricsRegistry}.
+ */
+public class BoardPool {
+
+    /** Fairness filter: no two hexagons with a 6 or an 8 touch each other */
+    public static final Predicate<GameField> NO_ADJACENT_RED_NUMBERS = BoardPool::hasNoAdjacentRedNumbers;
+
+    private static final Counter HITS = MetricsRegistry.getInstance().counter("board.pool.hits");
+    private static final Counter MISSES = MetricsRegistry.getInstance().counter("board.pool.misses");
+    private static final Counter REJECTED = MetricsRegistry.getInstance().counter("board.pool.rejected");
+
+    // A filter that rejects almost every board must not stall a synchronous take forever
+    private static final int MAX_ATTEMPTS = 200;
+
+    private static BoardPool instance;
+
+    private final BoardLayout layout;
+    private final double hexagonRadius;
+    private final Duration refillInterval;
+    private final Predicate<GameField> fairness;
+    private final BlockingQueue<GameField> boards;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private Thread producer;
+
+    /**
+     * Create a pool; it stays empty until {@link #start()} is called
+     * @param layout Shape of the boards
+     * @param hexagonRadius Radius of one hexagon in board units
+     * @param capacity Maximum number of boards kept ready
+     * @param refillInterval Pause after each produced board, to limit background CPU use
+     * @param fairness Boards must pass this filter; use {@code board -> true} to accept all valid boards
+     */
+    public BoardPool(BoardLayout layout, double hexagonRadius, int capacity, Duration refillInterval,
+                     Predicate<GameField> fairness) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Poolgröße muss mindestens 1 sein: " + capacity);
+        }
+        this.layout = layout;
+        this.hexagonRadius = hexagonRadius;
+        this.refillInterval = refillInterval;
+        this.fairness = fairness;
+        this.boards = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Get the application-wide pool of standard boards, configured by system properties
+     */
+    public static synchronized BoardPool getInstance() {
+        if (instance == null) {
+            int capacity = Integer.getInteger("catan.boardPool.size", 4);
+            Duration refill = Duration.ofMillis(Long.getLong("catan.boardPool.refillMillis", 0));
+            Predicate<GameField> fairness = Boolean.getBoolean("catan.boardPool.fair") ? NO_ADJACENT_RED_NUMBERS : board -> true;
+            instance = new BoardPool(BoardLayout.standard(), 50.0, capacity, refill, fairness);
+        }
+        return instance;
+    }
+
+    /**
+     * Start the background producer; does nothing if it is already running
+     */
+    public synchronized void start() {
+        if (producer == null) {
+            producer = Thread.ofVirtual().name("catan-board-pool").start(this::produce);
+        }
+    }
+
+    /**
+     * Stop the background producer and drop the pooled boards
+     */
+    public synchronized void shutdown() {
+        if (producer != null) {
+            producer.interrupt();
+            producer = null;
+        }
+        boards.clear();
+    }
+
+    /**
+     * Get a fresh board: a pooled one if available, otherwise one generated now
+     * @return A board no one else has received
+     */
+    public GameField take() {
+        GameField board = boards.poll();
+        if (board != null) {
+            hits.increment();
+            HITS.increment();
+            return board;
+        }
+        misses.increment();
+        MISSES.increment();
+        return generate();
+    }
+
+    /**
+     * Get the number of boards ready to be taken
+     */
+    public int size() {
+        return boards.size();
+    }
+
+    /**
+     * Get the number of takes answered from the pool
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of takes that had to generate a board on the calling thread
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the number of generated boards thrown away as invalid or unfair
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    // === Production ===
+
+    private void produce() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                boards.put(generate());
+                if (!refillInterval.isZero()) {
+                    Thread.sleep(refillInterval);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Pool shut down
+        }
+    }
+
+    /**
+     * Generate boards until one is valid and fair, accepting the last valid one after
+     * {@link #MAX_ATTEMPTS} tries
+     */
+    private GameField generate() {
+        GameField fallback = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            GameField board = new GameField(hexagonRadius, layout);
+            if (!isValid(board)) {
+                reject();
+                continue;
+            }
+            if (fairness.test(board)) {
+                return board;
+            }
+            reject();
+            fallback = board;
+        }
+        if (fallback == null) {
+            throw new IllegalStateException("Kein gültiges Spielfeld erzeugt für " + layout.getHexagonCount() + " Felder");
+        }
+        return fallback;
+    }
+
+    private void reject() {
+        rejected.increment();
+        REJECTED.increment();
+    }
+
+    /**
+     * Check that a board is playable: every producing hexagon has a dice number, the
+     * robber stands on a desert if there is one, and every hexagon has six nodes
+     */
+    public static boolean isValid(GameField board) {
+        BoardTopology topology = board.getTopology();
+        boolean hasDesert = false;
+        for (int hexagonId = 0; hexagonId < topology.getHexagonCount(); hexagonId++) {
+            boolean desert = topology.getTerrainType(hexagonId) == TerrainType.DESERT;
+            hasDesert |= desert;
+            int diceNumber = topology.getDiceNumber(hexagonId);
+            if (desert ? diceNumber != 0 : diceNumber < 2 || diceNumber > 12 || diceNumber == 7) {
+                return false;
+            }
+            if (topology.getHexagonNodes(hexagonId).length != 6) {
+                return false;
+            }
+        }
+        int robber = board.getRobberPosition();
+        return hasDesert ? robber >= 0 && topology.getTerrainType(robber) == TerrainType.DESERT : true;
+    }
+
+    private static boolean hasNoAdjacentRedNumbers(GameField board) {
+        BoardTopology topology = board.getTopology();
+        for (int nodeId = 0; nodeId < topology.getNodeCount(); nodeId++) {
+            int redHexagons = 0;
+            for (int hexagonId : topology.getNodeHexagons(nodeId)) {
+                int diceNumber = topology.getDiceNumber(hexagonId);
+                if (diceNumber == 6 || diceNumber == 8) {
+                    redHexagons++;
+                }
+            }
+            // Two hexagons touch exactly when they share a corner
+            if (redHexagons > 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
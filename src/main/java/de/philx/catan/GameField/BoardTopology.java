@@ -0,0 +1,169 @@
+package de.philx.catan.GameField;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable, index-based description of a board: which nodes, edges and hexagons
+ * touch each other, plus the terrain and dice number of every hexagon and the harbors.
+ *
+ * The topology never changes during a game, so it is computed once per {@link GameField}
+ * and shared by every analysis position derived from that board. All ids are the
+ * node, edge and hexagon ids of the game field.
+ */
+public final class BoardTopology {
+
+    private final int nodeCount;
+    private final int edgeCount;
+    private final int hexagonCount;
+
+    private final int[] edgeNode1;
+    private final int[] edgeNode2;
+    private final int[][] nodeEdges;
+    private final int[][] nodeNeighbors;
+    private final int[][] nodeHexagons;
+    private final int[][] hexagonNodes;
+    private final TerrainType[] terrainTypes;
+    private final int[] diceNumbers;
+    private final int[][] hexagonsByDiceNumber;
+    private final HarborType[] nodeHarbors;
+    private final int[] harborNodes;
+
+    private BoardTopology(GameField gameField) {
+        List<Node> nodes = gameField.getNodes();
+        List<Edge> edges = gameField.getEdges();
+        Hexagon[] hexagons = gameField.getHexagons();
+
+        this.nodeCount = nodes.size();
+        this.edgeCount = edges.size();
+        this.hexagonCount = hexagons.length;
+
+        this.edgeNode1 = new int[edgeCount];
+        this.edgeNode2 = new int[edgeCount];
+        for (Edge edge : edges) {
+            edgeNode1[edge.getEdgeId()] = edge.getNode1().getNodeId();
+            edgeNode2[edge.getEdgeId()] = edge.getNode2().getNodeId();
+        }
+
+        this.nodeEdges = new int[nodeCount][];
+        this.nodeNeighbors = new int[nodeCount][];
+        this.nodeHexagons = new int[nodeCount][];
+        this.nodeHarbors = new HarborType[nodeCount];
+        List<Integer> harborNodeList = new ArrayList<>();
+        for (Node node : nodes) {
+            int id = node.getNodeId();
+            nodeEdges[id] = node.getAdjacentEdges().stream().mapToInt(Edge::getEdgeId).toArray();
+            nodeNeighbors[id] = node.getAdjacentNodes().stream().mapToInt(Node::getNodeId).toArray();
+            nodeHexagons[id] = node.getAdjacentHexagons().stream().mapToInt(Hexagon::getHexagonId).toArray();
+            nodeHarbors[id] = node.getHarbor();
+            if (node.hasHarbor()) {
+                harborNodeList.add(id);
+            }
+        }
+        this.harborNodes = harborNodeList.stream().mapToInt(Integer::intValue).toArray();
+
+        this.hexagonNodes = new int[hexagonCount][];
+        this.terrainTypes = new TerrainType[hexagonCount];
+        this.diceNumbers = new int[hexagonCount];
+        List<List<Integer>> byDice = new ArrayList<>();
+        for (int i = 0; i <= 12; i++) {
+            byDice.add(new ArrayList<>());
+        }
+        for (Hexagon hex : hexagons) {
+            int id = hex.getHexagonId();
+            hexagonNodes[id] = hex.getAdjacentNodes().stream().mapToInt(Node::getNodeId).toArray();
+            terrainTypes[id] = hex.getTerrainType();
+            diceNumbers[id] = hex.getDiceNumber();
+            if (hex.getTerrainType() != TerrainType.DESERT && hex.getDiceNumber() >= 2 && hex.getDiceNumber() <= 12) {
+                byDice.get(hex.getDiceNumber()).add(id);
+            }
+        }
+
+        this.hexagonsByDiceNumber = new int[13][];
+        for (int i = 0; i <= 12; i++) {
+            hexagonsByDiceNumber[i] = byDice.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Compute the topology of a game field
+     * @param gameField The board to describe
+     * @return A new immutable topology
+     */
+    public static BoardTopology of(GameField gameField) {
+        return new BoardTopology(gameField);
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public int getHexagonCount() {
+        return hexagonCount;
+    }
+
+    public int getEdgeNode1(int edgeId) {
+        return edgeNode1[edgeId];
+    }
+
+    public int getEdgeNode2(int edgeId) {
+        return edgeNode2[edgeId];
+    }
+
+    // The arrays below are shared, callers must not modify them
+
+    public int[] getNodeEdges(int nodeId) {
+        return nodeEdges[nodeId];
+    }
+
+    public int[] getNodeNeighbors(int nodeId) {
+        return nodeNeighbors[nodeId];
+    }
+
+    public int[] getNodeHexagons(int nodeId) {
+        return nodeHexagons[nodeId];
+    }
+
+    public int[] getHexagonNodes(int hexagonId) {
+        return hexagonNodes[hexagonId];
+    }
+
+    /**
+     * Get the producing hexagons for a dice result
+     * @param diceNumber Dice result (2-12)
+     * @return Ids of the non-desert hexagons with that number
+     */
+    public int[] getHexagonsWithDiceNumber(int diceNumber) {
+        if (diceNumber < 0 || diceNumber > 12) {
+            return new int[0];
+        }
+        return hexagonsByDiceNumber[diceNumber];
+    }
+
+    /**
+     * Get the harbor at a node
+     * @return The harbor type, or null if the node is not on a harbor
+     */
+    public HarborType getHarbor(int nodeId) {
+        return nodeHarbors[nodeId];
+    }
+
+    /**
+     * Get the ids of all nodes that lie on a harbor (shared array, do not modify)
+     */
+    public int[] getHarborNodes() {
+        return harborNodes;
+    }
+
+    public TerrainType getTerrainType(int hexagonId) {
+        return terrainTypes[hexagonId];
+    }
+
+    public int getDiceNumber(int hexagonId) {
+        return diceNumbers[hexagonId];
+    }
+}
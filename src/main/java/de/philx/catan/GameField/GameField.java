@@ -1,383 +1,288 @@
 package de.philx.catan.GameField;
 
-import static java.lang.Math.sqrt;
+import de.philx.catan.Metrics.BoardRenderEvent;
+import de.philx.catan.Metrics.LatencyHistogram;
+import de.philx.catan.Metrics.MetricsRegistry;
 import java.util.*;
 import javafx.scene.Group;
-import javafx.scene.paint.Color;
 
 /**
  * Complete implementation of the CATAN game board system
  * Includes hexagons, nodes, edges, terrain types, dice numbers, and adjacency relationships
+ *
+ * The shape of the board is given by a {@link BoardLayout}; the standard 19-hexagon board
+ * is the default, but hexagonal boards of any radius and custom shapes work the same way.
+ *
+ * All positions are in board units, scaled by the hexagon radius given to the constructor.
+ * How large the board appears on screen is a transform of the view, so zooming never
+ * rebuilds the model.
  */
 public class GameField {
 
+    private static final LatencyHistogram CREATE_LATENCY = MetricsRegistry.getInstance().histogram("field.create");
+
     private final Hexagon[] hexagons;
     private final List<Node> nodes;
     private final List<Edge> edges;
     private final double hexagonRadius;
+    private final BoardLayout layout;
     private int robberPosition;
+    private BoardTopology topology;
+    private final List<Harbor> harbors;
     
     // Standard dice number distribution (excluding 7)
     private static final int[] DICE_NUMBERS = {2, 3, 3, 4, 4, 5, 5, 6, 6, 8, 8, 9, 9, 10, 10, 11, 11, 12};
 
+    // Empty space around the outermost hexagons, in hexagon radii
+    private static final double BOARD_MARGIN = 0.25;
+
+    // The standard board has 9 harbors on 30 coastal edges
+    private static final int STANDARD_COASTAL_EDGES = 30;
+
+    // Corner k of a hexagon lies at angle 60 * k - 30 degrees (pointy top, y pointing down).
+    // Every corner is the top (N) or bottom (S) corner of exactly one hexagon position, which
+    // gives it a unique integer key: corner k of (q, r) is corner SIDE[k] of (q + DQ[k], r + DR[k]).
+    private static final int CORNER_N = 0;
+    private static final int CORNER_S = 1;
+    private static final int[] CORNER_DQ = {1, 0, 0, -1, 0, 0};
+    private static final int[] CORNER_DR = {-1, 1, 0, 1, -1, 0};
+    private static final int[] CORNER_SIDE = {CORNER_S, CORNER_N, CORNER_S, CORNER_N, CORNER_S, CORNER_N};
+
+    /**
+     * Create the standard board with 19 hexagons
+     * @param hexagonRadius Radius of one hexagon in board units
+     */
     public GameField(double hexagonRadius) {
+        this(hexagonRadius, BoardLayout.standard());
+    }
+
+    /**
+     * Create a board of any shape. Terrain types and dice numbers follow the standard
+     * distribution, scaled to the number of hexagons.
+     * @param hexagonRadius Radius of one hexagon in board units
+     * @param layout Position of every hexagon
+     */
+    public GameField(double hexagonRadius, BoardLayout layout) {
+        long start = MetricsRegistry.startTimer();
         this.hexagonRadius = hexagonRadius;
-        this.hexagons = new Hexagon[19];
+        this.layout = layout;
+        this.hexagons = new Hexagon[layout.getHexagonCount()];
         this.nodes = new ArrayList<>();
         this.edges = new ArrayList<>();
+        this.harbors = new ArrayList<>();
         this.robberPosition = -1;
         
         generateBoard();
-        createNodes();
-        createEdges();
-        establishAdjacencies();
+        createTopology();
+        placeHarbors();
+        CREATE_LATENCY.recordSince(start);
     }
 
     /**
-     * Generates the hexagonal board with terrain types and dice numbers
+     * Generates the hexagons of the layout with terrain types and dice numbers
      */
     private void generateBoard() {
         double r = hexagonRadius;
-        double dx = 1.9 * r; // horizontal distance between centers
-        double dy = sqrt(3) * r; // vertical distance between rows
+        double dx = Math.sqrt(3) * r; // horizontal distance between centers
+        double dy = 1.5 * r; // vertical distance between rows
 
-        int[] rowCounts = {3, 4, 5, 4, 3};
+        // Shift the board so the outermost corners keep a small margin to (0, 0)
+        double minX = Double.MAX_VALUE;
+        int minR = Integer.MAX_VALUE;
+        for (int i = 0; i < hexagons.length; i++) {
+            minX = Math.min(minX, dx * (layout.getAxialQ(i) + layout.getAxialR(i) / 2.0));
+            minR = Math.min(minR, layout.getAxialR(i));
+        }
+        double offsetX = dx / 2 + BOARD_MARGIN * r - minX;
+        double offsetY = r + BOARD_MARGIN * r;
         
         // Get randomized terrain distribution
-        TerrainType[] terrainTypes = getShuffledTerrainTypes();
-        int[] diceNumbers = getShuffledDiceNumbers();
+        TerrainType[] terrainTypes = getShuffledTerrainTypes(hexagons.length);
+        int desertCount = 0;
+        for (TerrainType terrain : terrainTypes) {
+            if (terrain == TerrainType.DESERT) {
+                desertCount++;
+            }
+        }
+        int[] diceNumbers = getShuffledDiceNumbers(hexagons.length - desertCount);
         
-        int hexIndex = 0;
         int diceIndex = 0;
-        
-        for (int i = 0; i < rowCounts.length; i++) {
-            int count = rowCounts[i];
-            double y = i * dy + 10;
-            double offsetX = (5 - count) * dx / 2; // center the row
-
-            for (int j = 0; j < count; j++) {
-                double x = j * dx + offsetX;
-                
-                TerrainType terrain = terrainTypes[hexIndex];
-                int diceNumber = 0;
-                
-                // Assign dice number only to non-desert hexagons
-                if (terrain != TerrainType.DESERT) {
-                    diceNumber = diceNumbers[diceIndex++];
+        int column = 0;
+        for (int hexIndex = 0; hexIndex < hexagons.length; hexIndex++) {
+            int q = layout.getAxialQ(hexIndex);
+            int axialR = layout.getAxialR(hexIndex);
+            int row = axialR - minR;
+            column = hexIndex > 0 && layout.getAxialR(hexIndex - 1) == axialR ? column + 1 : 0;
+
+            double x = dx * (q + axialR / 2.0) + offsetX;
+            double y = dy * row + offsetY;
+            
+            TerrainType terrain = terrainTypes[hexIndex];
+            int diceNumber = 0;
+            
+            // Assign dice number only to non-desert hexagons
+            if (terrain != TerrainType.DESERT) {
+                diceNumber = diceNumbers[diceIndex++];
+            }
+            
+            hexagons[hexIndex] = new Hexagon(hexIndex, x, y, r, terrain, diceNumber, new int[]{row, column}, q, axialR);
+            
+            // Place robber on the first desert initially
+            if (terrain == TerrainType.DESERT) {
+                if (robberPosition < 0) {
+                    robberPosition = hexIndex;
                 } else {
-                    robberPosition = hexIndex; // Place robber on desert initially
+                    hexagons[hexIndex].setRobber(false);
                 }
-                
-                Hexagon hex = new Hexagon(hexIndex, x, y, r, terrain, diceNumber, new int[]{i, j});
-                hex.setStroke(Color.BLACK);
-                hex.setStrokeWidth(2.0);
-                hexagons[hexIndex] = hex;
-                hexIndex++;
             }
         }
     }
 
     /**
-     * Creates all nodes on the board
-     * Uses distance-based deduplication with position averaging to center shared nodes
+     * Creates all nodes and edges and links them with the hexagons.
+     * Shared corners are found by their integer key instead of by distance, so the
+     * work is linear in the number of hexagons.
      */
-    private void createNodes() {
-        int nodeId = 0;
-        double r = hexagonRadius;
-        double dx = 1.9 * r; // Current hexagon spacing (not ideal, but we work with it)
-        double dy = sqrt(3) * r;
-        int[] rowCounts = {3, 4, 5, 4, 3};
-        
-        // Collect all potential node positions first
-        List<double[]> allPositions = new ArrayList<>();
-        
-        for (int i = 0; i < rowCounts.length; i++) {
-            int count = rowCounts[i];
-            double y = i * dy + 10;
-            double offsetX = (5 - count) * dx / 2;
-
-            for (int j = 0; j < count; j++) {
-                double centerX = j * dx + offsetX;
-                double centerY = y;
-                
-                // Create 6 corner nodes for each hexagon
-                for (int corner = 0; corner < 6; corner++) {
-                    double angle = Math.toRadians(60 * corner - 30);
-                    double nodeX = centerX + r * Math.cos(angle);
-                    double nodeY = centerY + r * Math.sin(angle);
-                    
-                    allPositions.add(new double[]{nodeX, nodeY});
-                }
-            }
-        }
-        
-        // Group positions that should be merged and calculate their average positions
-        double tolerance = r * 0.3; // 30% of radius to handle the spacing issue
-        List<List<double[]>> nodeGroups = new ArrayList<>();
+    private void createTopology() {
+        Map<Long, Node> nodesByCorner = new HashMap<>(hexagons.length * 4);
+        Map<Long, Edge> edgesByNodes = new HashMap<>(hexagons.length * 4);
+        Node[] corners = new Node[6];
         
-        for (double[] candidate : allPositions) {
-            boolean foundGroup = false;
+        for (Hexagon hex : hexagons) {
+            int q = hex.getAxialQ();
+            int r = hex.getAxialR();
             
-            // Check if this position belongs to an existing group
-            for (List<double[]> group : nodeGroups) {
-                for (double[] existing : group) {
-                    double distance = Math.sqrt(
-                        Math.pow(candidate[0] - existing[0], 2) + 
-                        Math.pow(candidate[1] - existing[1], 2)
-                    );
-                    
-                    if (distance < tolerance) {
-                        group.add(candidate);
-                        foundGroup = true;
-                        break;
-                    }
+            // Find or create the 6 corner nodes of this hexagon
+            for (int k = 0; k < 6; k++) {
+                long key = BoardLayout.key(q + CORNER_DQ[k], r + CORNER_DR[k]) << 1 | CORNER_SIDE[k];
+                Node node = nodesByCorner.get(key);
+                if (node == null) {
+                    double angle = Math.toRadians(60 * k - 30);
+                    node = new Node(nodes.size(),
+                                    hex.getCenterX() + hexagonRadius * Math.cos(angle),
+                                    hex.getCenterY() + hexagonRadius * Math.sin(angle));
+                    nodes.add(node);
+                    nodesByCorner.put(key, node);
                 }
-                if (foundGroup) break;
+                corners[k] = node;
+                hex.addAdjacentNode(node);
+                node.addAdjacentHexagon(hex);
             }
             
-            // If not found in any group, create a new group
-            if (!foundGroup) {
-                List<double[]> newGroup = new ArrayList<>();
-                newGroup.add(candidate);
-                nodeGroups.add(newGroup);
-            }
-        }
-        
-        // Create nodes from averaged positions of each group
-        for (List<double[]> group : nodeGroups) {
-            double avgX = group.stream().mapToDouble(pos -> pos[0]).average().orElse(0);
-            double avgY = group.stream().mapToDouble(pos -> pos[1]).average().orElse(0);
-            
-            nodes.add(new Node(nodeId++, avgX, avgY));
-        }
-        
-        // Debug output can be removed in production
-        // System.out.println("Created " + nodes.size() + " centered nodes for the game board");
-    }
-    
-    /**
-     * Creates all edges between adjacent nodes
-     * Each hexagon has 6 edges connecting its 6 corner nodes in sequence
-     */
-    private void createEdges() {
-        int edgeId = 0;
-        double r = hexagonRadius;
-        double dx = 1.9 * r;
-        double dy = sqrt(3) * r;
-        int[] rowCounts = {3, 4, 5, 4, 3};
-        
-        // For each hexagon, create edges between its corner nodes
-        for (int i = 0; i < rowCounts.length; i++) {
-            int count = rowCounts[i];
-            double y = i * dy + 10;
-            double offsetX = (5 - count) * dx / 2;
-
-            for (int j = 0; j < count; j++) {
-                double centerX = j * dx + offsetX;
-                double centerY = y;
-                
-                // Find the 6 corner nodes for this hexagon
-                List<Node> hexCorners = new ArrayList<>();
-                for (int corner = 0; corner < 6; corner++) {
-                    double angle = Math.toRadians(60 * corner - 30);
-                    double nodeX = centerX + r * Math.cos(angle);
-                    double nodeY = centerY + r * Math.sin(angle);
-                    
-                    // Find the closest existing node to this corner position
-                    Node closestNode = findClosestNode(nodeX, nodeY);
-                    if (closestNode != null && !hexCorners.contains(closestNode)) {
-                        hexCorners.add(closestNode);
-                    }
-                }
-                
-                // Create edges between consecutive corner nodes
-                for (int k = 0; k < hexCorners.size(); k++) {
-                    Node node1 = hexCorners.get(k);
-                    Node node2 = hexCorners.get((k + 1) % hexCorners.size());
+            // Create edges between consecutive corner nodes, shared with the neighbour hexagon
+            for (int k = 0; k < 6; k++) {
+                Node node1 = corners[k];
+                Node node2 = corners[(k + 1) % 6];
+                long key = (long) Math.min(node1.getNodeId(), node2.getNodeId()) << 32
+                         | Math.max(node1.getNodeId(), node2.getNodeId());
+                Edge edge = edgesByNodes.get(key);
+                if (edge == null) {
+                    edge = new Edge(edges.size(), node1, node2);
+                    edges.add(edge);
+                    edgesByNodes.put(key, edge);
                     
-                    // Check if edge already exists
-                    if (!edgeExists(node1, node2)) {
-                        Edge edge = new Edge(edgeId++, node1, node2);
-                        edges.add(edge);
-                        
-                        // Update node adjacency
-                        node1.addAdjacentNode(node2);
-                        node2.addAdjacentNode(node1);
-                        node1.addAdjacentEdge(edge);
-                        node2.addAdjacentEdge(edge);
-                    }
+                    // Update node adjacency
+                    node1.addAdjacentNode(node2);
+                    node2.addAdjacentNode(node1);
+                    node1.addAdjacentEdge(edge);
+                    node2.addAdjacentEdge(edge);
                 }
+                hex.addAdjacentEdge(edge);
             }
         }
-        
-        // Also create connections between hexagons (internal edges)
-        createInternalConnections();
     }
-    
+
     /**
-     * Find the closest node to a given position
+     * Places the harbors on evenly spaced coastal edges.
+     * Unlike terrain and dice numbers the harbors are not shuffled, so a board with the
+     * same layout always has the same harbors (replays only mirror terrain and numbers).
      */
-    private Node findClosestNode(double x, double y) {
-        Node closestNode = null;
-        double minDistance = Double.MAX_VALUE;
-        double tolerance = hexagonRadius * 0.5; // Tolerance for finding nodes
-        
-        for (Node node : nodes) {
-            double distance = Math.sqrt(
-                Math.pow(node.getX() - x, 2) + 
-                Math.pow(node.getY() - y, 2)
-            );
-            
-            if (distance < minDistance && distance <= tolerance) {
-                minDistance = distance;
-                closestNode = node;
+    private void placeHarbors() {
+        // A coastal edge belongs to exactly one hexagon
+        int[] hexagonsPerEdge = new int[edges.size()];
+        double centerX = 0;
+        double centerY = 0;
+        for (Hexagon hex : hexagons) {
+            for (Edge edge : hex.getAdjacentEdges()) {
+                hexagonsPerEdge[edge.getEdgeId()]++;
             }
+            centerX += hex.getCenterX() / hexagons.length;
+            centerY += hex.getCenterY() / hexagons.length;
         }
-        
-        return closestNode;
-    }
-    
-    /**
-     * Check if an edge already exists between two nodes
-     */
-    private boolean edgeExists(Node node1, Node node2) {
+        List<Edge> coast = new ArrayList<>();
         for (Edge edge : edges) {
-            if ((edge.getNode1().equals(node1) && edge.getNode2().equals(node2)) ||
-                (edge.getNode1().equals(node2) && edge.getNode2().equals(node1))) {
-                return true;
-            }
-        }
-        return false;
-    }
-    
-    /**
-     * Create additional connections between nodes that should be connected
-     * but aren't part of individual hexagon edges (shared edges between hexagons)
-     */
-    private void createInternalConnections() {
-        int edgeId = edges.size();
-        double connectionThreshold = hexagonRadius * 1.05; // Slightly larger than hexagon side length
-        
-        // Connect nodes that are close enough and should be connected
-        for (int i = 0; i < nodes.size(); i++) {
-            Node node1 = nodes.get(i);
-            for (int j = i + 1; j < nodes.size(); j++) {
-                Node node2 = nodes.get(j);
-                
-                double distance = Math.sqrt(
-                    Math.pow(node1.getX() - node2.getX(), 2) + 
-                    Math.pow(node1.getY() - node2.getY(), 2)
-                );
-                
-                // Only connect if they're the right distance apart and don't already have an edge
-                if (distance <= connectionThreshold && !edgeExists(node1, node2)) {
-                    // Additional check: they should share at least one hexagon
-                    if (shareAdjacentHexagon(node1, node2)) {
-                        Edge edge = new Edge(edgeId++, node1, node2);
-                        edges.add(edge);
-                        
-                        // Update node adjacency
-                        node1.addAdjacentNode(node2);
-                        node2.addAdjacentNode(node1);
-                        node1.addAdjacentEdge(edge);
-                        node2.addAdjacentEdge(edge);
-                    }
-                }
-            }
-        }
-    }
-    
-    /**
-     * Check if two nodes share an adjacent hexagon
-     */
-    private boolean shareAdjacentHexagon(Node node1, Node node2) {
-        // First establish which hexagons are adjacent to each node
-        double nodeProximityThreshold = hexagonRadius * 1.1;
-        
-        List<Hexagon> node1Hexagons = new ArrayList<>();
-        List<Hexagon> node2Hexagons = new ArrayList<>();
-        
-        for (Hexagon hex : hexagons) {
-            double distance1 = Math.sqrt(
-                Math.pow(hex.getCenterX() - node1.getX(), 2) + 
-                Math.pow(hex.getCenterY() - node1.getY(), 2)
-            );
-            double distance2 = Math.sqrt(
-                Math.pow(hex.getCenterX() - node2.getX(), 2) + 
-                Math.pow(hex.getCenterY() - node2.getY(), 2)
-            );
-            
-            if (distance1 <= nodeProximityThreshold) {
-                node1Hexagons.add(hex);
-            }
-            if (distance2 <= nodeProximityThreshold) {
-                node2Hexagons.add(hex);
+            if (hexagonsPerEdge[edge.getEdgeId()] == 1) {
+                coast.add(edge);
             }
         }
-        
-        // Check if they share any hexagons
-        for (Hexagon hex : node1Hexagons) {
-            if (node2Hexagons.contains(hex)) {
-                return true;
-            }
+        if (coast.isEmpty()) {
+            return;
         }
-        
-        return false;
-    }
 
-    /**
-     * Establishes adjacency relationships between hexagons, nodes, and edges
-     */
-    private void establishAdjacencies() {
-        double nodeProximityThreshold = hexagonRadius * 1.1;
-        
-        // For each hexagon, find its adjacent nodes and edges
-        for (Hexagon hex : hexagons) {
-            // Find nodes adjacent to this hexagon
-            for (Node node : nodes) {
-                double distance = Math.sqrt(
-                    Math.pow(hex.getCenterX() - node.getX(), 2) + 
-                    Math.pow(hex.getCenterY() - node.getY(), 2)
-                );
-                
-                if (distance <= nodeProximityThreshold) {
-                    hex.addAdjacentNode(node);
-                    node.addAdjacentHexagon(hex);
-                }
-            }
-            
-            // Find edges adjacent to this hexagon
-            for (Edge edge : edges) {
-                if (hex.getAdjacentNodes().contains(edge.getNode1()) && 
-                    hex.getAdjacentNodes().contains(edge.getNode2())) {
-                    hex.addAdjacentEdge(edge);
-                }
-            }
+        // Walk around the coast by angle from the board center
+        final double cx = centerX;
+        final double cy = centerY;
+        coast.sort(Comparator.comparingDouble(edge -> Math.atan2(
+            (edge.getNode1().getY() + edge.getNode2().getY()) / 2 - cy,
+            (edge.getNode1().getX() + edge.getNode2().getX()) / 2 - cx)));
+
+        HarborType[] standard = HarborType.getStandardDistribution();
+        int count = Math.max(1, Math.round((float) coast.size() * standard.length / STANDARD_COASTAL_EDGES));
+        for (int i = 0; i < count; i++) {
+            Edge edge = coast.get(i * coast.size() / count);
+            HarborType type = standard[scaledIndex(i, count, standard.length)];
+            harbors.add(new Harbor(type, edge.getNode1().getNodeId(), edge.getNode2().getNodeId()));
+            edge.getNode1().setHarbor(type);
+            edge.getNode2().setHarbor(type);
         }
     }
 
     /**
      * Returns a shuffled array of terrain types according to CATAN distribution
+     * @param count Number of hexagons; the 19 standard types are repeated and spread evenly to fill it
      */
-    private TerrainType[] getShuffledTerrainTypes() {
-        TerrainType[] types = TerrainType.getStandardDistribution();
-        List<TerrainType> typeList = Arrays.asList(types);
+    private TerrainType[] getShuffledTerrainTypes(int count) {
+        TerrainType[] standard = TerrainType.getStandardDistribution();
+        List<TerrainType> typeList = new ArrayList<>(count);
+        // Without a whole copy the evenly spaced picks never reach the desert at the end
+        // of the standard distribution, so boards below 19 hexagons reserve it explicitly
+        int scaled = count > 0 && count < standard.length ? count - 1 : count;
+        for (int i = 0; i < scaled; i++) {
+            typeList.add(standard[scaledIndex(i, scaled, standard.length)]);
+        }
+        if (scaled < count) {
+            typeList.add(TerrainType.DESERT);
+        }
         Collections.shuffle(typeList);
         return typeList.toArray(new TerrainType[0]);
     }
 
     /**
      * Returns a shuffled array of dice numbers
+     * @param count Number of producing hexagons; the 18 standard numbers are repeated and spread evenly to fill it
      */
-    private int[] getShuffledDiceNumbers() {
-        List<Integer> numbers = new ArrayList<>();
-        for (int num : DICE_NUMBERS) {
-            numbers.add(num);
+    private int[] getShuffledDiceNumbers(int count) {
+        List<Integer> numbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            numbers.add(DICE_NUMBERS[scaledIndex(i, count, DICE_NUMBERS.length)]);
         }
         Collections.shuffle(numbers);
         return numbers.stream().mapToInt(i -> i).toArray();
     }
 
+    /**
+     * Map position i of a scaled distribution to an entry of the standard distribution.
+     * Whole copies of the standard come first; the rest picks evenly spaced entries, so
+     * every type keeps roughly its standard share.
+     */
+    private static int scaledIndex(int i, int count, int standardLength) {
+        int wholeCopies = count / standardLength * standardLength;
+        if (i < wholeCopies) {
+            return i % standardLength;
+        }
+        int remainder = count - wholeCopies;
+        return (int) ((long) (i - wholeCopies) * standardLength / remainder);
+    }
     /**
      * Produces resources for all players based on dice roll
      * @param diceRoll The result of the dice roll (2-12)
@@ -444,6 +349,8 @@ public class GameField {
      * @return Group containing all visual elements
      */
     public Group toGroup(boolean showPlacementOptions, String buildingType) {
+        BoardRenderEvent event = new BoardRenderEvent();
+        event.begin();
         Group group = new Group();
         
         // Add all hexagons with their visual elements
@@ -461,10 +368,18 @@ public class GameField {
             group.getChildren().add(node.createVisualGroup(showPlacementOptions && ("settlement".equals(buildingType) || "city".equals(buildingType))));
         }
         
+        event.finish(group.getChildren().size(), showPlacementOptions, buildingType);
         return group;
     }
 
     // Getters
+    /**
+     * Get the hexagon radius in board units
+     */
+    public double getHexagonRadius() {
+        return hexagonRadius;
+    }
+
     public Hexagon[] getHexagons() {
         return hexagons;
     }
@@ -484,12 +399,66 @@ public class GameField {
         return null;
     }
 
+    /**
+     * Get the board shape this field was built from
+     */
+    public BoardLayout getLayout() {
+        return layout;
+    }
+
     public Node getNode(int id) {
-        return nodes.stream().filter(n -> n.getNodeId() == id).findFirst().orElse(null);
+        if (id >= 0 && id < nodes.size()) {
+            return nodes.get(id);
+        }
+        return null;
+    }
+
+    /**
+     * Get all harbors of this board
+     */
+    public List<Harbor> getHarbors() {
+        return Collections.unmodifiableList(harbors);
+    }
+
+    /**
+     * Get the harbor at a node
+     * @param nodeId The node ID
+     * @return The harbor type, or null if the node is not on a harbor
+     */
+    public HarborType getHarbor(int nodeId) {
+        Node node = getNode(nodeId);
+        return node != null ? node.getHarbor() : null;
     }
 
     public Edge getEdge(int id) {
-        return edges.stream().filter(e -> e.getEdgeId() == id).findFirst().orElse(null);
+        if (id >= 0 && id < edges.size()) {
+            return edges.get(id);
+        }
+        return null;
+    }
+
+    /**
+     * Overwrite terrain types and dice numbers of all hexagons, e.g. to mirror another board
+     * @param terrainTypes Terrain per hexagon id
+     * @param diceNumbers Dice number per hexagon id (0 for the desert)
+     */
+    public void applyBoardLayout(TerrainType[] terrainTypes, int[] diceNumbers) {
+        for (int i = 0; i < hexagons.length; i++) {
+            hexagons[i].setTerrainType(terrainTypes[i]);
+            hexagons[i].setDiceNumber(diceNumbers[i]);
+        }
+        topology = null;
+    }
+
+    /**
+     * Get the immutable index-based topology of this board, computed on first use
+     * @return The shared board topology
+     */
+    public BoardTopology getTopology() {
+        if (topology == null) {
+            topology = BoardTopology.of(this);
+        }
+        return topology;
     }
 
     /**
@@ -531,6 +500,7 @@ public class GameField {
         sb.append("  Hexagons: ").append(hexagons.length).append("\n");
         sb.append("  Nodes: ").append(nodes.size()).append("\n");
         sb.append("  Edges: ").append(edges.size()).append("\n");
+        sb.append("  Harbors: ").append(harbors.size()).append("\n");
         sb.append("  Robber at: ").append(robberPosition).append("\n");
         sb.append("}");
         return sb.toString();
@@ -0,0 +1,33 @@
+package de.philx.catan.GameField;
+
+/**
+ * A harbor on one coastal edge; settling on either of its two nodes grants its trade ratio
+ */
+public final class Harbor {
+    private final HarborType type;
+    private final int node1;
+    private final int node2;
+
+    public Harbor(HarborType type, int node1, int node2) {
+        this.type = type;
+        this.node1 = node1;
+        this.node2 = node2;
+    }
+
+    public HarborType getType() {
+        return type;
+    }
+
+    public int getNode1() {
+        return node1;
+    }
+
+    public int getNode2() {
+        return node2;
+    }
+
+    @Override
+    public String toString() {
+        return "Harbor{" + type + ", nodes=" + node1 + "/" + node2 + '}';
+    }
+}
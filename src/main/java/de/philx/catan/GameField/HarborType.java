@@ -0,0 +1,52 @@
+package de.philx.catan.GameField;
+
+/**
+ * Enum representing the harbor types on the coast of the board
+ */
+public enum HarborType {
+    GENERIC(3, "3:1"),
+    WOOD(2, "Holz"),
+    CLAY(2, "Lehm"),
+    GRAIN(2, "Getreide"),
+    WOOL(2, "Wolle"),
+    ORE(2, "Erz");
+
+    private final int ratio;
+    private final String resource;
+
+    HarborType(int ratio, String resource) {
+        this.ratio = ratio;
+        this.resource = resource;
+    }
+
+    /**
+     * Get the number of resources given for one resource from the bank
+     */
+    public int getRatio() {
+        return ratio;
+    }
+
+    /**
+     * Get the German name of the traded resource, or "3:1" for the generic harbor
+     */
+    public String getResource() {
+        return resource;
+    }
+
+    /**
+     * Check whether this harbor lowers the ratio of every resource
+     */
+    public boolean isGeneric() {
+        return this == GENERIC;
+    }
+
+    /**
+     * Returns the standard harbors in the order they appear around the coast
+     * Total: 9 harbors (4 generic 3:1, one 2:1 harbor per resource)
+     */
+    public static HarborType[] getStandardDistribution() {
+        return new HarborType[]{
+            GENERIC, GRAIN, ORE, GENERIC, WOOL, GENERIC, GENERIC, CLAY, WOOD
+        };
+    }
+}
@@ -9,10 +9,21 @@ import javafx.scene.Group;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Hexagon extends Polygon {
+/**
+ * Model of one terrain hexagon.
+ *
+ * The hexagon is identified by its axial coordinates (q, r) on the hex grid; center and
+ * radius are given in board units. Drawing is left to {@link #createVisualGroup()} or the
+ * canvas renderer, so the model is independent of how large the board is shown.
+ */
+public class Hexagon {
+
+    private static final double OUTLINE_WIDTH = 2.0;
 
     private final int id;
     private final int[] pos;
+    private final int axialQ;
+    private final int axialR;
     private final double centerX;
     private final double centerY;
     private final double radius;
@@ -22,9 +33,12 @@ public class Hexagon extends Polygon {
     private final List<Node> adjacentNodes;
     private final List<Edge> adjacentEdges;
 
-    public Hexagon(int id, double centerX, double centerY, double radius, TerrainType terrainType, int diceNumber, int[] pos) {
+    public Hexagon(int id, double centerX, double centerY, double radius, TerrainType terrainType, int diceNumber,
+                   int[] pos, int axialQ, int axialR) {
         this.id = id;
         this.pos = pos;
+        this.axialQ = axialQ;
+        this.axialR = axialR;
         this.centerX = centerX;
         this.centerY = centerY;
         this.radius = radius;
@@ -33,21 +47,6 @@ public class Hexagon extends Polygon {
         this.hasRobber = (terrainType == TerrainType.DESERT);
         this.adjacentNodes = new ArrayList<>();
         this.adjacentEdges = new ArrayList<>();
-        
-        // Create hexagon shape
-        for (int i = 0; i < 6; i++) {
-            double angle = Math.toRadians(60 * i - 30);
-            double x = centerX + radius * Math.cos(angle);
-            double y = centerY + radius * Math.sin(angle);
-            this.getPoints().addAll(x, y);
-        }
-        this.setFill(terrainType.getColor());
-    }
-
-    // Legacy constructor for compatibility
-    public Hexagon(double centerX, double centerY, double radius, Color color, int[] pos) {
-        this(0, centerX, centerY, radius, TerrainType.DESERT, 0, pos);
-        this.setFill(color);
     }
 
     public int getHexagonId() {
@@ -58,6 +57,20 @@ public class Hexagon extends Polygon {
         return pos;
     }
 
+    /**
+     * Get the axial column of the hexagon (0 for the center hexagon)
+     */
+    public int getAxialQ() {
+        return axialQ;
+    }
+
+    /**
+     * Get the axial row of the hexagon (0 for the center row)
+     */
+    public int getAxialR() {
+        return axialR;
+    }
+
     public double getCenterX() {
         return centerX;
     }
@@ -76,7 +89,6 @@ public class Hexagon extends Polygon {
 
     public void setTerrainType(TerrainType terrainType) {
         this.terrainType = terrainType;
-        this.setFill(terrainType.getColor());
     }
 
     public int getDiceNumber() {
@@ -128,11 +140,29 @@ public class Hexagon extends Polygon {
      * @return Group containing the hexagon visualization
      */
     public Group createVisualGroup() {
+        return createVisualGroup(true);
+    }
+
+    /**
+     * Creates a visual group for the hexagon
+     * @param detailed false for the simplified zoomed-out view without dice number
+     * @return Group containing the hexagon visualization
+     */
+    public Group createVisualGroup(boolean detailed) {
         Group group = new Group();
-        group.getChildren().add(this);
+        
+        Polygon shape = new Polygon();
+        for (int i = 0; i < 6; i++) {
+            double angle = Math.toRadians(60 * i - 30);
+            shape.getPoints().addAll(centerX + radius * Math.cos(angle), centerY + radius * Math.sin(angle));
+        }
+        shape.setFill(terrainType.getColor());
+        shape.setStroke(Color.BLACK);
+        shape.setStrokeWidth(OUTLINE_WIDTH);
+        group.getChildren().add(shape);
         
         // Add dice number text if not desert
-        if (terrainType != TerrainType.DESERT) {
+        if (detailed && terrainType != TerrainType.DESERT) {
             Text diceText = new Text(centerX, centerY + 5, String.valueOf(diceNumber));
             diceText.setFont(Font.font("Arial", FontWeight.BOLD, 16));
             diceText.setFill(Color.BLACK);
@@ -156,6 +186,8 @@ public class Hexagon extends Polygon {
     public String toString() {
         return "Hexagon{" +
                 "id=" + id +
+                ", q=" + axialQ +
+                ", r=" + axialR +
                 ", terrainType=" + terrainType +
                 ", diceNumber=" + diceNumber +
                 ", hasRobber=" + hasRobber +
@@ -17,6 +17,7 @@ public class Node {
     private final double x;
     private final double y;
     private GamePiece building; // Settlement or City
+    private HarborType harbor; // null if the node is not on a harbor
     private final List<Hexagon> adjacentHexagons;
     private final List<Edge> adjacentEdges;
     private final List<Node> adjacentNodes;
@@ -51,6 +52,18 @@ public class Node {
         this.building = building;
     }
 
+    public HarborType getHarbor() {
+        return harbor;
+    }
+
+    public void setHarbor(HarborType harbor) {
+        this.harbor = harbor;
+    }
+
+    public boolean hasHarbor() {
+        return harbor != null;
+    }
+
     public boolean hasBuilding() {
         return building != null;
     }
@@ -159,6 +172,13 @@ public class Node {
             nodeCircle.setStrokeWidth(1);
             nodeCircle.setOpacity(0.5);
         }
+
+        if (hasHarbor() && !hasBuilding()) {
+            // Mark harbor nodes with a blue ring
+            nodeCircle.setStroke(javafx.scene.paint.Color.STEELBLUE);
+            nodeCircle.setStrokeWidth(2);
+            nodeCircle.setOpacity(Math.max(nodeCircle.getOpacity(), 0.8));
+        }
         
         group.getChildren().add(nodeCircle);
         return group;
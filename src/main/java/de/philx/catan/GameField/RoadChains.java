@@ -0,0 +1,103 @@
+package de.philx.catan.GameField;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Joins roads into chains of connected edges of the same player, so a zoomed-out
+ * board can draw one polyline per chain instead of one line per road.
+ *
+ * Every road belongs to exactly one chain. Where the road network branches, the
+ * chain follows one of the roads and the others start chains of their own.
+ */
+public final class RoadChains {
+
+    private RoadChains() {
+    }
+
+    /**
+     * Split roads into chains
+     * @param edges Edges to consider; edges without a road are ignored
+     * @return The chains in order of their first edge
+     */
+    public static List<Chain> of(Collection<Edge> edges) {
+        Set<Edge> remaining = new LinkedHashSet<>();
+        for (Edge edge : edges) {
+            if (edge.hasRoad()) {
+                remaining.add(edge);
+            }
+        }
+
+        List<Chain> chains = new ArrayList<>();
+        while (!remaining.isEmpty()) {
+            Iterator<Edge> iterator = remaining.iterator();
+            Edge first = iterator.next();
+            iterator.remove();
+
+            int playerId = first.getRoad().getPlayerId();
+            Deque<Node> nodes = new ArrayDeque<>();
+            nodes.add(first.getNode1());
+            nodes.add(first.getNode2());
+
+            // Extend at the end, then at the start, as long as the chain does not branch
+            for (Node next = continueFrom(nodes.getLast(), playerId, remaining); next != null;
+                 next = continueFrom(nodes.getLast(), playerId, remaining)) {
+                nodes.addLast(next);
+            }
+            for (Node next = continueFrom(nodes.getFirst(), playerId, remaining); next != null;
+                 next = continueFrom(nodes.getFirst(), playerId, remaining)) {
+                nodes.addFirst(next);
+            }
+            chains.add(new Chain(playerId, new ArrayList<>(nodes)));
+        }
+        return chains;
+    }
+
+    /**
+     * Take the next unused road of the player at a node
+     * @return The node at the other end, or null if the chain ends here
+     */
+    private static Node continueFrom(Node node, int playerId, Set<Edge> remaining) {
+        for (Edge edge : node.getAdjacentEdges()) {
+            if (remaining.contains(edge) && edge.getRoad().getPlayerId() == playerId) {
+                remaining.remove(edge);
+                return edge.getOtherNode(node);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Connected roads of one player, as the sequence of nodes they pass
+     */
+    public static final class Chain {
+        private final int playerId;
+        private final List<Node> nodes;
+
+        private Chain(int playerId, List<Node> nodes) {
+            this.playerId = playerId;
+            this.nodes = nodes;
+        }
+
+        public int getPlayerId() {
+            return playerId;
+        }
+
+        public List<Node> getNodes() {
+            return nodes;
+        }
+
+        /**
+         * Get the number of roads in the chain
+         */
+        public int getRoadCount() {
+            return nodes.size() - 1;
+        }
+    }
+}
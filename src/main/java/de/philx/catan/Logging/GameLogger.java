@@ -0,0 +1,265 @@
+package de.philx.catan.Logging;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous structured logger for game events.
+ *
+ * A call records the level, a category such as {@code "GAME"}, a message template with
+ * {@code {}} placeholders and up to three arguments into a {@link LogRingBuffer}. A
+ * background thread drains the buffer, formats the lines and writes them to the sink,
+ * so the JavaFX thread never formats log text or waits for console or disk I/O:
+ * <pre>
+ * LOG.log(LogLevel.INFO, "BAU", "Siedlung von {} auf Knoten {}", player, nodeId);
+ * </pre>
+ * Below the threshold a call returns after one comparison and allocates nothing. Boxing
+ * of primitive arguments happens at the call site, so hot paths that pass numbers at a
+ * disabled level should check {@link #isEnabled(LogLevel)} first. If the buffer is full
+ * the record is dropped and counted rather than blocking the caller. The drain thread
+ * sleeps while the buffer is empty and is woken by the next record.
+ *
+ * The application-wide logger is configured by system properties: {@code catan.log.level}
+ * (default INFO), {@code catan.log.file} (rotating local file; the console if not set),
+ * {@code catan.log.maxBytes} (default 1 MB) and {@code catan.log.files} (rotated files
+ * kept, default 3).
+ */
+public class GameLogger {
+
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS", Locale.ROOT).withZone(ZoneId.systemDefault());
+
+    private static GameLogger instance;
+
+    private final LogRingBuffer buffer;
+    private final LogSink sink;
+    private final LongAdder dropped;
+    private final StringBuilder line;
+    private volatile int threshold;
+    private volatile boolean closed;
+    // Calls of log() between the closed check and the end of their offer
+    private final AtomicInteger activeWriters;
+    private volatile boolean drainerParked;
+    private final Thread drainer;
+
+    /**
+     * Create a logger and start its drain thread
+     * @param level Lowest level that is recorded
+     * @param sink Receives the formatted lines
+     * @param capacity Records buffered before new ones are dropped
+     */
+    public GameLogger(LogLevel level, LogSink sink, int capacity) {
+        this.buffer = new LogRingBuffer(capacity);
+        this.sink = sink;
+        this.dropped = new LongAdder();
+        this.activeWriters = new AtomicInteger();
+        this.line = new StringBuilder(128);
+        this.threshold = level.ordinal();
+        this.drainer = Thread.ofVirtual().name("catan-log").start(this::drainLoop);
+    }
+
+    /**
+     * Get the application-wide logger, configured by system properties
+     */
+    public static synchronized GameLogger getInstance() {
+        if (instance == null) {
+            LogLevel level = parseLevel(System.getProperty("catan.log.level", "INFO"));
+            instance = new GameLogger(level, createSink(), 4096);
+        }
+        return instance;
+    }
+
+    private static LogLevel parseLevel(String name) {
+        try {
+            return LogLevel.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("[WARN] Unbekannte Log-Stufe: " + name);
+            return LogLevel.INFO;
+        }
+    }
+
+    private static LogSink createSink() {
+        String file = System.getProperty("catan.log.file");
+        if (file != null) {
+            try {
+                return new RotatingFileSink(Path.of(file),
+                    Long.getLong("catan.log.maxBytes", 1 << 20), Integer.getInteger("catan.log.files", 3));
+            } catch (IOException e) {
+                System.err.println("[WARN] Log-Datei kann nicht geöffnet werden: " + e.getMessage());
+            }
+        }
+        return LogSink.of(System.out);
+    }
+
+    // === Recording ===
+
+    public boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    public void setLevel(LogLevel level) {
+        this.threshold = level.ordinal();
+    }
+
+    public void log(LogLevel level, String category, String message) {
+        log(level, category, message, null, null, null);
+    }
+
+    public void log(LogLevel level, String category, String template, Object arg1) {
+        log(level, category, template, arg1, null, null);
+    }
+
+    public void log(LogLevel level, String category, String template, Object arg1, Object arg2) {
+        log(level, category, template, arg1, arg2, null);
+    }
+
+    /**
+     * Record a message; the arguments are formatted later on the drain thread, so they
+     * must not be changed after the call. Messages logged once {@link #close()} has
+     * started are ignored.
+     * @param level Severity
+     * @param category Short constant naming the source, e.g. "GAME"
+     * @param template Message text; each {@code {}} is replaced by the next argument
+     */
+    public void log(LogLevel level, String category, String template, Object arg1, Object arg2, Object arg3) {
+        if (level.ordinal() < threshold) {
+            return;
+        }
+        activeWriters.incrementAndGet();
+        try {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(System.currentTimeMillis(), level, category, template, arg1, arg2, arg3)) {
+                dropped.increment();
+                return;
+            }
+            if (drainerParked) {
+                LockSupport.unpark(drainer);
+            }
+        } finally {
+            activeWriters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Get the number of records dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // === Draining ===
+
+    /**
+     * Write all records published so far and flush the sink
+     */
+    public void flush() {
+        drain();
+    }
+
+    /**
+     * Stop the drain thread after writing the remaining records, and close the sink.
+     * Records offered concurrently are either written or ignored, never left behind.
+     */
+    public void close() {
+        closed = true;
+        // Let calls that passed the closed check finish their offer before the final drain
+        while (activeWriters.get() > 0) {
+            Thread.onSpinWait();
+        }
+        drainer.interrupt();
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        try {
+            sink.close();
+        } catch (IOException e) {
+            System.err.println("[WARN] Log konnte nicht geschlossen werden: " + e.getMessage());
+        }
+    }
+
+    private void drainLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            if (drain() == 0) {
+                // Announce the sleep before the last check, so a record published after
+                // the check sees the flag and wakes this thread
+                drainerParked = true;
+                if (isEmpty()) {
+                    LockSupport.park(this);
+                }
+                drainerParked = false;
+            }
+        }
+    }
+
+    private synchronized boolean isEmpty() {
+        return buffer.peek() == null;
+    }
+
+    /**
+     * Write the published records; synchronized because the buffer has a single consumer
+     * @return Number of records written
+     */
+    private synchronized int drain() {
+        int written = 0;
+        try {
+            LogRingBuffer.Slot slot;
+            while ((slot = buffer.peek()) != null) {
+                try {
+                    format(slot);
+                } catch (RuntimeException e) {
+                    // A failing toString() of an argument must not block the buffer
+                    line.append(" [Formatierung fehlgeschlagen: ").append(e).append(']');
+                }
+                buffer.release(slot);
+                sink.write(line.toString());
+                written++;
+            }
+            if (written > 0) {
+                sink.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[WARN] Log-Eintrag konnte nicht geschrieben werden: " + e.getMessage());
+        }
+        return written;
+    }
+
+    private void format(LogRingBuffer.Slot slot) {
+        line.setLength(0);
+        TIME_FORMAT.formatTo(Instant.ofEpochMilli(slot.timestamp), line);
+        line.append(' ');
+        appendPadded(slot.level.name(), 5);
+        line.append(' ');
+        appendPadded(slot.category, 5);
+        line.append(' ');
+
+        String template = slot.template;
+        Object[] args = {slot.arg1, slot.arg2, slot.arg3};
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while (argIndex < args.length && (placeholder = template.indexOf("{}", start)) >= 0) {
+            line.append(template, start, placeholder).append(args[argIndex++]);
+            start = placeholder + 2;
+        }
+        line.append(template, start, template.length());
+    }
+
+    private void appendPadded(String text, int width) {
+        line.append(text);
+        for (int i = text.length(); i < width; i++) {
+            line.append(' ');
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package de.philx.catan.Logging;
+
+/**
+ * Severity of a log record, lowest first
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    /** Threshold only: nothing is logged */
+    OFF
+}
@@ -0,0 +1,108 @@
+package de.philx.catan.Logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free queue of preallocated log records.
+ *
+ * Any number of threads publish; one thread at a time consumes. Each slot carries a
+ * sequence number that tells producers and the consumer whose turn it is (the scheme of
+ * Vyukov's bounded queue), so publishing is one compare-and-set and a few field writes,
+ * and no record objects are allocated after construction. A full buffer rejects the
+ * record instead of blocking the game.
+ */
+final class LogRingBuffer {
+
+    /**
+     * One reusable record; the fields are only valid between publish and consume
+     */
+    static final class Slot {
+        volatile long sequence;
+        long timestamp;
+        LogLevel level;
+        String category;
+        String template;
+        Object arg1;
+        Object arg2;
+        Object arg3;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong tail;
+    private long head;
+
+    /**
+     * @param capacity Number of records, rounded up to a power of two
+     */
+    LogRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            slots[i].sequence = i;
+        }
+        this.mask = size - 1;
+        this.tail = new AtomicLong();
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Publish a record
+     * @return false if the buffer is full and the record was dropped
+     */
+    boolean offer(long timestamp, LogLevel level, String category, String template,
+                  Object arg1, Object arg2, Object arg3) {
+        long position = tail.get();
+        while (true) {
+            Slot slot = slots[(int) position & mask];
+            long difference = slot.sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slot.timestamp = timestamp;
+                    slot.level = level;
+                    slot.category = category;
+                    slot.template = template;
+                    slot.arg1 = arg1;
+                    slot.arg2 = arg2;
+                    slot.arg3 = arg3;
+                    // Volatile write publishes the fields to the consumer
+                    slot.sequence = position + 1;
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Get the next published record; the caller must pass it to {@link #release} when done.
+     * Only one thread may consume at a time.
+     * @return The record, or null if none is published yet
+     */
+    Slot peek() {
+        Slot slot = slots[(int) head & mask];
+        return slot.sequence == head + 1 ? slot : null;
+    }
+
+    /**
+     * Hand the slot returned by {@link #peek()} back to the producers
+     */
+    void release(Slot slot) {
+        // Drop the references so logged objects can be collected
+        slot.category = null;
+        slot.template = null;
+        slot.arg1 = null;
+        slot.arg2 = null;
+        slot.arg3 = null;
+        slot.sequence = head + slots.length;
+        head++;
+    }
+}
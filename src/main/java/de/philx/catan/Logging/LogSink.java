@@ -0,0 +1,41 @@
+package de.philx.catan.Logging;
+
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * Destination of formatted log lines. Only the logger's drain thread writes to a sink.
+ */
+public interface LogSink {
+
+    /**
+     * Write one line; the line separator is added by the sink
+     */
+    void write(String line) throws IOException;
+
+    void flush() throws IOException;
+
+    void close() throws IOException;
+
+    /**
+     * Create a sink that prints to a stream, e.g. {@code System.out}
+     */
+    static LogSink of(PrintStream out) {
+        return new LogSink() {
+            @Override
+            public void write(String line) {
+                out.println(line);
+            }
+
+            @Override
+            public void flush() {
+                out.flush();
+            }
+
+            @Override
+            public void close() {
+                out.flush();
+            }
+        };
+    }
+}
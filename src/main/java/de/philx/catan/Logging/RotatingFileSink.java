@@ -0,0 +1,93 @@
+package de.philx.catan.Logging;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes log lines to a local file and rotates it when it grows too large.
+ *
+ * When {@code catan.log} would exceed the size limit it is renamed to {@code catan.log.1},
+ * the previous {@code catan.log.1} to {@code catan.log.2} and so on; the oldest file
+ * beyond the kept count is deleted.
+ */
+public class RotatingFileSink implements LogSink {
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final Path file;
+    private final long maxBytes;
+    private final int keptFiles;
+    private OutputStream out;
+    private long size;
+
+    /**
+     * Open the file for appending
+     * @param file The current log file
+     * @param maxBytes Size after which the file is rotated
+     * @param keptFiles Number of rotated files to keep besides the current one
+     * @throws IOException if the file cannot be opened
+     */
+    public RotatingFileSink(Path file, long maxBytes, int keptFiles) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.keptFiles = keptFiles;
+        open();
+    }
+
+    @Override
+    public void write(String line) throws IOException {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        if (size > 0 && size + bytes.length + LINE_SEPARATOR.length > maxBytes) {
+            rotate();
+        }
+        out.write(bytes);
+        out.write(LINE_SEPARATOR);
+        size += bytes.length + LINE_SEPARATOR.length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        out = new BufferedOutputStream(Files.newOutputStream(file,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        size = Files.size(file);
+    }
+
+    private void rotate() throws IOException {
+        out.close();
+        Files.deleteIfExists(rotated(keptFiles));
+        for (int i = keptFiles - 1; i >= 1; i--) {
+            if (Files.exists(rotated(i))) {
+                Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (keptFiles > 0) {
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+        open();
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
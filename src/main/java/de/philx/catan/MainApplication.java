@@ -1,21 +1,40 @@
 package de.philx.catan;
 
+import de.philx.catan.Controllers.GamePreloader;
+import de.philx.catan.GameField.BoardPool;
+import de.philx.catan.Logging.GameLogger;
+import de.philx.catan.Logging.LogLevel;
+import de.philx.catan.Metrics.LatencyHistogram;
+import de.philx.catan.Metrics.MetricsRegistry;
 import de.philx.catan.Screens.GameScreen;
+import de.philx.catan.Screens.ScreenNavigator;
 import de.philx.catan.Screens.SettingsScreen;
 import de.philx.catan.Screens.StartScreen;
-import de.philx.catan.Utils.ThemeManager;
+import de.philx.catan.Utils.BackgroundComputeService;
 import javafx.application.Application;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 public class MainApplication extends Application {
 
+    // Taken when the class is loaded, i.e. right after the JVM started the application
+    private static final long LAUNCH_TIMER = MetricsRegistry.startTimer();
+    private static final LatencyHistogram FIRST_FRAME = MetricsRegistry.getInstance().histogram("startup.firstFrame");
+    private static final LatencyHistogram GAME_INTERACTIVE = MetricsRegistry.getInstance().histogram("startup.gameInteractive");
+
     private Stage stage;
+    private ScreenNavigator navigator;
+    private final GamePreloader gamePreloader = GamePreloader.forTestGame();
 
     @Override
     public void start(Stage stage) {
         this.stage = stage;
+        this.navigator = new ScreenNavigator(stage);
         this.stage.setTitle("Catan");
         
         // Set window to fill entire screen (windowed fullscreen)
@@ -28,29 +47,36 @@ public class MainApplication extends Application {
         // Prevent resizing to maintain windowed fullscreen
         this.stage.setResizable(false);
 
-        startMenu();
+        // Boards for the following games are generated while the player is busy
+        BoardPool.getInstance().start();
+
+        // The menu comes first; the first game is built in the background once it is visible
+        Scene menu = showMenu();
         this.stage.show();
+        runAfterFirstPulse(menu, () -> {
+            FIRST_FRAME.recordSince(LAUNCH_TIMER);
+            gamePreloader.preload();
+        });
     }
 
     private void startMenu() {
+        showMenu();
+        gamePreloader.preload();
+    }
+
+    private Scene showMenu() {
         Screen screen = Screen.getPrimary();
-        Scene scene = new Scene(new StartScreen(this::startGame, this::startSettings), 
-                               screen.getVisualBounds().getWidth(), 
-                               screen.getVisualBounds().getHeight());
-        ThemeManager.getInstance().applyTheme(scene);
-        this.stage.setScene(scene);
+        return showScreen(new StartScreen(this::startGame, this::startSettings), screen);
     }
 
     private void startGame() {
         try {
+            long start = MetricsRegistry.startTimer();
             Screen screen = Screen.getPrimary();
-            Scene scene = new Scene(new GameScreen((int) screen.getVisualBounds().getWidth(), 
-                                                  (int) screen.getVisualBounds().getHeight(), 
-                                                  this::startMenu), 
-                                   screen.getVisualBounds().getWidth(), 
-                                   screen.getVisualBounds().getHeight());
-            ThemeManager.getInstance().applyTheme(scene);
-            this.stage.setScene(scene);
+            Scene scene = showScreen(new GameScreen((int) screen.getVisualBounds().getWidth(), 
+                                                    (int) screen.getVisualBounds().getHeight(), 
+                                                    this::startMenu, gamePreloader.take()), screen);
+            runAfterFirstPulse(scene, () -> GAME_INTERACTIVE.recordSince(start));
             System.out.println("Game screen loaded successfully");
         } catch (Exception e) {
             System.err.println("Error loading game screen: " + e.getMessage());
@@ -63,11 +89,7 @@ public class MainApplication extends Application {
     private void startSettings() {
         try {
             Screen screen = Screen.getPrimary();
-            Scene scene = new Scene(new SettingsScreen(this::startMenu), 
-                                   screen.getVisualBounds().getWidth(), 
-                                   screen.getVisualBounds().getHeight());
-            ThemeManager.getInstance().applyTheme(scene);
-            this.stage.setScene(scene);
+            showScreen(new SettingsScreen(this::startMenu), screen);
             System.out.println("Settings screen loaded successfully");
         } catch (Exception e) {
             System.err.println("Error loading settings screen: " + e.getMessage());
@@ -77,6 +99,60 @@ public class MainApplication extends Application {
         }
     }
 
+    /**
+     * Show a screen in a new scene filling the screen and dispose the previous screen
+     */
+    private Scene showScreen(Parent root, Screen screen) {
+        return navigator.show(root, screen.getVisualBounds().getWidth(), screen.getVisualBounds().getHeight());
+    }
+    
+    /**
+     * Run an action once, after the next pulse has laid out the scene, i.e. when the
+     * scene is about to appear on screen and accepts input
+     */
+    private static void runAfterFirstPulse(Scene scene, Runnable action) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            action.run();
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    @Override
+    public void stop() {
+        navigator.disposeCurrent();
+        
+        // Running analysis must not outlive the window
+        gamePreloader.shutdown();
+        BoardPool.getInstance().shutdown();
+        BackgroundComputeService.getInstance().shutdown();
+        exportMetrics();
+        GameLogger.getInstance().close();
+    }
+
+    /**
+     * Write the collected metrics, before the logger is closed so failures are still logged
+     */
+    private static void exportMetrics() {
+        if (!MetricsRegistry.isEnabled()) {
+            return;
+        }
+        
+        // Write the collected metrics to -Dcatan.metrics.file, or the console if none is given
+        String metricsFile = System.getProperty("catan.metrics.file");
+        if (metricsFile == null) {
+            MetricsRegistry.getInstance().printReport(System.out);
+            return;
+        }
+        try {
+            MetricsRegistry.getInstance().exportTo(Path.of(metricsFile));
+            GameLogger.getInstance().log(LogLevel.INFO, "METRICS", "Metrics written to {}", metricsFile);
+        } catch (IOException e) {
+            GameLogger.getInstance().log(LogLevel.WARN, "METRICS", "Error writing metrics: {}", e.getMessage());
+        }
+    }
+
     public static void main(String[] args) {
         launch();
     }
@@ -0,0 +1,41 @@
+package de.philx.catan.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for building the scene graph of the board
+ */
+@Name("de.philx.catan.BoardRender")
+@Label("Board Render")
+@Category({"Catan", "UI"})
+@StackTrace(false)
+public class BoardRenderEvent extends Event {
+
+    @Label("Scene Nodes")
+    @Description("Number of groups added to the board")
+    public int sceneNodes;
+
+    @Label("Placement Options")
+    public boolean showPlacementOptions;
+
+    @Label("Building Type")
+    public String buildingType;
+
+    /**
+     * Stop timing and commit the event if the recording wants it
+     */
+    public void finish(int sceneNodes, boolean showPlacementOptions, String buildingType) {
+        end();
+        if (shouldCommit()) {
+            this.sceneNodes = sceneNodes;
+            this.showPlacementOptions = showPlacementOptions;
+            this.buildingType = buildingType;
+            commit();
+        }
+    }
+}
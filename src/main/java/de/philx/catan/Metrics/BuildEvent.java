@@ -0,0 +1,46 @@
+package de.philx.catan.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for an attempt to build a road, settlement or city
+ */
+@Name("de.philx.catan.Build")
+@Label("Build")
+@Category({"Catan", "Game"})
+@StackTrace(false)
+public class BuildEvent extends Event {
+
+    @Label("Piece")
+    @Description("ROAD, SETTLEMENT or CITY")
+    public String piece;
+
+    @Label("Player Id")
+    public int playerId;
+
+    @Label("Location Id")
+    @Description("Edge id for roads, node id for settlements and cities")
+    public int locationId;
+
+    @Label("Success")
+    public boolean success;
+
+    /**
+     * Stop timing and commit the event if the recording wants it
+     */
+    public void finish(String piece, int playerId, int locationId, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.piece = piece;
+            this.playerId = playerId;
+            this.locationId = locationId;
+            this.success = success;
+            commit();
+        }
+    }
+}
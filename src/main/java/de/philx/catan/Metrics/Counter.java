@@ -0,0 +1,42 @@
+package de.philx.catan.Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Striped event counter. Increments from many threads do not contend on one
+ * memory location, and nothing is counted while metrics are disabled.
+ */
+public class Counter {
+
+    private final String name;
+    private final LongAdder value;
+
+    Counter(String name) {
+        this.name = name;
+        this.value = new LongAdder();
+    }
+
+    public void increment() {
+        if (MetricsRegistry.isEnabled()) {
+            value.increment();
+        }
+    }
+
+    public void add(long amount) {
+        if (MetricsRegistry.isEnabled()) {
+            value.add(amount);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getValue() {
+        return value.sum();
+    }
+
+    public void reset() {
+        value.reset();
+    }
+}
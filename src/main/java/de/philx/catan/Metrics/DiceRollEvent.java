@@ -0,0 +1,40 @@
+package de.philx.catan.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one dice roll in {@code GameController.rollDice()},
+ * including the resource production or robber activation it triggers. Rejected
+ * calls, e.g. a second roll in the same turn, are not recorded.
+ */
+@Name("de.philx.catan.DiceRoll")
+@Label("Dice Roll")
+@Category({"Catan", "Game"})
+@Description("Dice roll including resource production")
+@StackTrace(false)
+public class DiceRollEvent extends Event {
+
+    @Label("Player Id")
+    public int playerId;
+
+    @Label("Dice Roll")
+    @Description("Rolled sum, 2 to 12")
+    public int diceRoll;
+
+    /**
+     * Stop timing and commit the event if the recording wants it
+     */
+    public void finish(int playerId, int diceRoll) {
+        end();
+        if (shouldCommit()) {
+            this.playerId = playerId;
+            this.diceRoll = diceRoll;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package de.philx.catan.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one recomputation of the longest road of all players
+ */
+@Name("de.philx.catan.LongestRoad")
+@Label("Longest Road Update")
+@Category({"Catan", "Game"})
+@StackTrace(false)
+public class LongestRoadEvent extends Event {
+
+    @Label("Edge Count")
+    public int edgeCount;
+
+    @Label("Holder Player Id")
+    public int holderPlayerId;
+
+    @Label("Road Length")
+    public int roadLength;
+
+    @Label("Holder Changed")
+    public boolean changed;
+
+    /**
+     * Stop timing and commit the event if the recording wants it
+     */
+    public void finish(int edgeCount, int holderPlayerId, int roadLength, boolean changed) {
+        end();
+        if (shouldCommit()) {
+            this.edgeCount = edgeCount;
+            this.holderPlayerId = holderPlayerId;
+            this.roadLength = roadLength;
+            this.changed = changed;
+            commit();
+        }
+    }
+}
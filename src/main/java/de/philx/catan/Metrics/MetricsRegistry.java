@@ -0,0 +1,131 @@
+package de.philx.catan.Metrics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Process-wide registry of counters and latency histograms.
+ *
+ * Instrumented code keeps its metrics in static final fields and times an operation with
+ * <pre>
+ * long start = MetricsRegistry.startTimer();
+ * ...
+ * LATENCY.recordSince(start);
+ * </pre>
+ * While metrics are disabled (the default) {@link #startTimer()} returns 0 without reading
+ * the clock and recording returns immediately, so the instrumentation costs one volatile
+ * read. Metrics are enabled with {@code -Dcatan.metrics=true} or {@link #setEnabled}.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry instance = new MetricsRegistry();
+    private static volatile boolean enabled = Boolean.getBoolean("catan.metrics");
+
+    private final Map<String, Counter> counters;
+    private final Map<String, LatencyHistogram> histograms;
+
+    private MetricsRegistry() {
+        this.counters = new ConcurrentSkipListMap<>();
+        this.histograms = new ConcurrentSkipListMap<>();
+    }
+
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        MetricsRegistry.enabled = enabled;
+    }
+
+    /**
+     * Start timing an operation
+     * @return Start time in nanoseconds, or 0 if metrics are disabled
+     */
+    public static long startTimer() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Get or create a counter
+     * @param name Dotted metric name, e.g. "game.dice.rolls"
+     * @return The counter registered under the name
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * Get or create a latency histogram
+     * @param name Dotted metric name, e.g. "game.rollDice"
+     * @return The histogram registered under the name
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Clear all recorded values, keeping the registered metrics
+     */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    // === Export ===
+
+    /**
+     * Format all metrics that recorded something as a plain text table
+     * @return The report
+     */
+    public String createReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("=== Catan Metriken ===\n");
+
+        for (Counter counter : counters.values()) {
+            if (counter.getValue() != 0) {
+                report.append(String.format("%-32s %12d%n", counter.getName(), counter.getValue()));
+            }
+        }
+
+        report.append(String.format("%-32s %8s %10s %10s %10s %10s %10s%n",
+            "Latenz (µs)", "Anzahl", "Mittel", "p50", "p90", "p99", "Max"));
+        for (LatencyHistogram histogram : histograms.values()) {
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+            if (snapshot.getCount() == 0) continue;
+
+            report.append(String.format("%-32s %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                snapshot.getName(), snapshot.getCount(),
+                snapshot.getMean() / 1000.0,
+                snapshot.getValueAtQuantile(0.5) / 1000.0,
+                snapshot.getValueAtQuantile(0.9) / 1000.0,
+                snapshot.getValueAtQuantile(0.99) / 1000.0,
+                snapshot.getMax() / 1000.0));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Print the report, e.g. to {@code System.out}
+     */
+    public void printReport(PrintStream out) {
+        out.print(createReport());
+    }
+
+    /**
+     * Write the report to a local file, replacing an existing one
+     * @param file Target file
+     * @throws IOException if the file cannot be written
+     */
+    public void exportTo(Path file) throws IOException {
+        Files.writeString(file, createReport(), StandardCharsets.UTF_8);
+    }
+}
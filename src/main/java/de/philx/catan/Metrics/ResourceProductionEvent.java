@@ -0,0 +1,39 @@
+package de.philx.catan.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the resource distribution after a dice roll
+ */
+@Name("de.philx.catan.ResourceProduction")
+@Label("Resource Production")
+@Category({"Catan", "Game"})
+@StackTrace(false)
+public class ResourceProductionEvent extends Event {
+
+    @Label("Dice Roll")
+    public int diceRoll;
+
+    @Label("Producing Hexagons")
+    public int producingHexagons;
+
+    @Label("Resources Produced")
+    public int resourcesProduced;
+
+    /**
+     * Stop timing and commit the event if the recording wants it
+     */
+    public void finish(int diceRoll, int producingHexagons, int resourcesProduced) {
+        end();
+        if (shouldCommit()) {
+            this.diceRoll = diceRoll;
+            this.producingHexagons = producingHexagons;
+            this.resourcesProduced = resourcesProduced;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package de.philx.catan.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for an executed or rejected trade
+ */
+@Name("de.philx.catan.Trade")
+@Label("Trade")
+@Category({"Catan", "Game"})
+@StackTrace(false)
+public class TradeEvent extends Event {
+
+    @Label("Kind")
+    @Description("BANK or PLAYER")
+    public String kind;
+
+    @Label("Player Id")
+    public int playerId;
+
+    @Label("Partner Player Id")
+    @Description("-1 for bank trades")
+    public int partnerPlayerId;
+
+    @Label("Success")
+    public boolean success;
+
+    /**
+     * Stop timing and commit the event if the recording wants it
+     */
+    public void finish(String kind, int playerId, int partnerPlayerId, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.kind = kind;
+            this.playerId = playerId;
+            this.partnerPlayerId = partnerPlayerId;
+            this.success = success;
+            commit();
+        }
+    }
+}
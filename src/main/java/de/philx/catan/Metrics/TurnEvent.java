@@ -0,0 +1,35 @@
+package de.philx.catan.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the transition from one player's turn to the next
+ */
+@Name("de.philx.catan.TurnTransition")
+@Label("Turn Transition")
+@Category({"Catan", "Game"})
+@StackTrace(false)
+public class TurnEvent extends Event {
+
+    @Label("Ending Player Id")
+    public int endingPlayerId;
+
+    @Label("Next Player Id")
+    public int nextPlayerId;
+
+    /**
+     * Stop timing and commit the event if the recording wants it
+     */
+    public void finish(int endingPlayerId, int nextPlayerId) {
+        end();
+        if (shouldCommit()) {
+            this.endingPlayerId = endingPlayerId;
+            this.nextPlayerId = nextPlayerId;
+            commit();
+        }
+    }
+}
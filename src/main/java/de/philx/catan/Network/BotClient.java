@@ -0,0 +1,350 @@
+package de.philx.catan.Network;
+
+import de.philx.catan.Controllers.ActionResult;
+import de.philx.catan.Players.Player.ResourceType;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+
+/**
+ * Blocking client for the {@link BotServer} protocol.
+ *
+ * Commands are collected in a {@link Batch} and sent with a single write; the server
+ * answers them in order, so a whole batch costs one round trip.
+ */
+public class BotClient implements Closeable {
+
+    private final SocketChannel channel;
+    private final Batch batch;
+    private ByteBuffer responseBuffer;
+
+    private BotClient(SocketChannel channel) {
+        this.channel = channel;
+        this.batch = new Batch();
+        this.responseBuffer = ByteBuffer.allocate(64 * BotProtocol.RESPONSE_SIZE);
+    }
+
+    /**
+     * Connect to a running bot server
+     * @param address Loopback or Unix-domain address of the server
+     * @return The connected client
+     */
+    public static BotClient connect(SocketAddress address) throws IOException {
+        SocketChannel channel = address instanceof UnixDomainSocketAddress
+            ? SocketChannel.open(StandardProtocolFamily.UNIX)
+            : SocketChannel.open();
+        channel.connect(address);
+        if (!(address instanceof UnixDomainSocketAddress)) {
+            channel.socket().setTcpNoDelay(true);
+        }
+        return new BotClient(channel);
+    }
+
+    /**
+     * Start a new batch of commands. The returned batch is reused by this client,
+     * so only one batch can be built at a time.
+     * @return An empty batch
+     */
+    public Batch batch() {
+        batch.reset();
+        return batch;
+    }
+
+    // === Single-command convenience methods ===
+
+    public int rollDice() throws IOException {
+        BatchResult result = batch().rollDice().send();
+        return result.isOk(0) ? result.value(0) : 0;
+    }
+
+    public boolean buildRoad(int edgeId) throws IOException {
+        return batch().buildRoad(edgeId).send().isOk(0);
+    }
+
+    public boolean buildSettlement(int nodeId) throws IOException {
+        return batch().buildSettlement(nodeId).send().isOk(0);
+    }
+
+    public boolean buildCity(int nodeId) throws IOException {
+        return batch().buildCity(nodeId).send().isOk(0);
+    }
+
+    public boolean moveRobber(int hexagonId) throws IOException {
+        return batch().moveRobber(hexagonId).send().isOk(0);
+    }
+
+    public boolean endTurn() throws IOException {
+        return batch().endTurn().send().isOk(0);
+    }
+
+    public int getStatus() throws IOException {
+        return batch().getStatus().send().value(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private BatchResult exchange(ByteBuffer requests, int count) throws IOException {
+        requests.flip();
+        while (requests.hasRemaining()) {
+            channel.write(requests);
+        }
+
+        int expected = count * BotProtocol.RESPONSE_SIZE;
+        if (responseBuffer.capacity() < expected) {
+            responseBuffer = ByteBuffer.allocate(expected);
+        }
+        responseBuffer.clear().limit(expected);
+        while (responseBuffer.hasRemaining()) {
+            if (channel.read(responseBuffer) < 0) {
+                throw new EOFException("Bot server closed the connection");
+            }
+        }
+        responseBuffer.flip();
+
+        BatchResult result = new BatchResult(count);
+        for (int i = 0; i < count; i++) {
+            result.opcodes[i] = responseBuffer.get();
+            result.statuses[i] = responseBuffer.get();
+            result.values[i] = responseBuffer.getInt();
+        }
+        return result;
+    }
+
+    /**
+     * A pipelined group of commands
+     */
+    public final class Batch {
+        private ByteBuffer requests = ByteBuffer.allocate(4096);
+        private int count;
+
+        private void reset() {
+            requests.clear();
+            count = 0;
+        }
+
+        public Batch ping() {
+            return command(BotProtocol.PING, 0);
+        }
+
+        public Batch rollDice() {
+            return command(BotProtocol.ROLL_DICE, 0);
+        }
+
+        public Batch buildRoad(int edgeId) {
+            command(BotProtocol.BUILD_ROAD, 4);
+            requests.putInt(edgeId);
+            return this;
+        }
+
+        public Batch buildSettlement(int nodeId) {
+            command(BotProtocol.BUILD_SETTLEMENT, 4);
+            requests.putInt(nodeId);
+            return this;
+        }
+
+        public Batch buildCity(int nodeId) {
+            command(BotProtocol.BUILD_CITY, 4);
+            requests.putInt(nodeId);
+            return this;
+        }
+
+        public Batch placeSetupSettlement(int nodeId) {
+            command(BotProtocol.SETUP_SETTLEMENT, 4);
+            requests.putInt(nodeId);
+            return this;
+        }
+
+        public Batch placeSetupRoad(int edgeId) {
+            command(BotProtocol.SETUP_ROAD, 4);
+            requests.putInt(edgeId);
+            return this;
+        }
+
+        public Batch moveRobber(int hexagonId) {
+            command(BotProtocol.MOVE_ROBBER, 4);
+            requests.putInt(hexagonId);
+            return this;
+        }
+
+        public Batch endTurn() {
+            return command(BotProtocol.END_TURN, 0);
+        }
+
+        public Batch offerTrade(int offererId, int targetId,
+                                Map<ResourceType, Integer> offered, Map<ResourceType, Integer> requested) {
+            command(BotProtocol.OFFER_TRADE, 2 + 2 * ResourceType.values().length);
+            requests.put((byte) offererId);
+            requests.put((byte) targetId);
+            putResources(offered, requested);
+            return this;
+        }
+
+        public Batch acceptTrade(int playerId) {
+            command(BotProtocol.ACCEPT_TRADE, 1);
+            requests.put((byte) playerId);
+            return this;
+        }
+
+        public Batch declineTrade(int playerId) {
+            command(BotProtocol.DECLINE_TRADE, 1);
+            requests.put((byte) playerId);
+            return this;
+        }
+
+        /**
+         * Post an offer to the order book
+         * @param targetId The player who may accept, or {@link BotProtocol#ALL_PLAYERS}
+         */
+        public Batch postOffer(int offererId, int targetId,
+                               Map<ResourceType, Integer> offered, Map<ResourceType, Integer> requested) {
+            command(BotProtocol.POST_OFFER, 2 + 2 * ResourceType.values().length);
+            requests.put((byte) offererId);
+            requests.put((byte) targetId);
+            putResources(offered, requested);
+            return this;
+        }
+
+        public Batch counterOffer(int playerId, int offerId,
+                                  Map<ResourceType, Integer> offered, Map<ResourceType, Integer> requested) {
+            command(BotProtocol.COUNTER_OFFER, 5 + 2 * ResourceType.values().length);
+            requests.put((byte) playerId);
+            requests.putInt(offerId);
+            putResources(offered, requested);
+            return this;
+        }
+
+        public Batch acceptOffer(int playerId, int offerId) {
+            command(BotProtocol.ACCEPT_OFFER, 5);
+            requests.put((byte) playerId);
+            requests.putInt(offerId);
+            return this;
+        }
+
+        public Batch withdrawOffer(int playerId, int offerId) {
+            command(BotProtocol.WITHDRAW_OFFER, 5);
+            requests.put((byte) playerId);
+            requests.putInt(offerId);
+            return this;
+        }
+
+        private void putResources(Map<ResourceType, Integer> offered, Map<ResourceType, Integer> requested) {
+            for (ResourceType type : ResourceType.values()) {
+                requests.put((byte) (int) offered.getOrDefault(type, 0));
+            }
+            for (ResourceType type : ResourceType.values()) {
+                requests.put((byte) (int) requested.getOrDefault(type, 0));
+            }
+        }
+
+        public Batch bankTrade(int playerId, ResourceType give, int giveAmount, ResourceType want) {
+            command(BotProtocol.BANK_TRADE, 4);
+            requests.put((byte) playerId);
+            requests.put((byte) give.ordinal());
+            requests.put((byte) giveAmount);
+            requests.put((byte) want.ordinal());
+            return this;
+        }
+
+        /**
+         * Ask for the bank trades that make a building affordable
+         * @param building 0 road, 1 settlement, 2 city
+         */
+        public Batch planBankTrades(int playerId, int building) {
+            command(BotProtocol.PLAN_BANK_TRADES, 2);
+            requests.put((byte) playerId);
+            requests.put((byte) building);
+            return this;
+        }
+
+        public Batch getStatus() {
+            return command(BotProtocol.GET_STATUS, 0);
+        }
+
+        public Batch getResources(int playerId) {
+            command(BotProtocol.GET_RESOURCES, 1);
+            requests.put((byte) playerId);
+            return this;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        /**
+         * Send all queued commands in one write and wait for their responses
+         * @return The responses in command order
+         */
+        public BatchResult send() throws IOException {
+            int sent = count;
+            ByteBuffer buffer = requests;
+            BatchResult result = exchange(buffer, sent);
+            reset();
+            return result;
+        }
+
+        private Batch command(byte opcode, int payloadLength) {
+            if (requests.remaining() < BotProtocol.REQUEST_HEADER_SIZE + payloadLength) {
+                ByteBuffer larger = ByteBuffer.allocate(requests.capacity() * 2);
+                requests.flip();
+                larger.put(requests);
+                requests = larger;
+            }
+            requests.put(opcode);
+            requests.put((byte) payloadLength);
+            count++;
+            return this;
+        }
+    }
+
+    /**
+     * Responses of one batch, stored in parallel primitive arrays
+     */
+    public static final class BatchResult {
+        private final byte[] opcodes;
+        private final byte[] statuses;
+        private final int[] values;
+
+        private BatchResult(int count) {
+            this.opcodes = new byte[count];
+            this.statuses = new byte[count];
+            this.values = new int[count];
+        }
+
+        public int size() {
+            return values.length;
+        }
+
+        public byte opcode(int index) {
+            return opcodes[index];
+        }
+
+        public byte status(int index) {
+            return statuses[index];
+        }
+
+        public int value(int index) {
+            return values[index];
+        }
+
+        public boolean isOk(int index) {
+            return statuses[index] == BotProtocol.STATUS_OK;
+        }
+
+        /**
+         * Get why a build, robber move or trade was rejected
+         * @return One of the {@link ActionResult} codes, {@link ActionResult#OK} if accepted
+         */
+        public int reason(int index) {
+            return statuses[index] == BotProtocol.STATUS_REJECTED ? values[index] : ActionResult.OK;
+        }
+    }
+}
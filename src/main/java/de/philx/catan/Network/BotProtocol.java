@@ -0,0 +1,178 @@
+package de.philx.catan.Network;
+
+import de.philx.catan.Players.Player.ResourceType;
+
+/**
+ * Compact binary protocol spoken between the {@link BotServer} and out-of-process bot clients.
+ *
+ * Request frame:  [u8 opcode][u8 payload length][payload]
+ * Response frame: [u8 opcode][u8 status][i32 value]
+ *
+ * A rejected build, robber move or trade carries the reason as value, one of the
+ * {@code ActionResult} codes (e.g. {@code NOT_CONNECTED}); an accepted one has value 0.
+ *
+ * Requests carry no ids: responses are always written in request order, so a client may
+ * pipeline any number of requests and match the responses by position.
+ * All multi-byte values are big-endian.
+ */
+public final class BotProtocol {
+
+    // === Opcodes ===
+
+    /** No-op round trip, value = 0 */
+    public static final byte PING = 0x00;
+    /** Roll the dice, value = dice result, or the reason code if rejected */
+    public static final byte ROLL_DICE = 0x01;
+    /** [i32 edgeId] */
+    public static final byte BUILD_ROAD = 0x02;
+    /** [i32 nodeId] */
+    public static final byte BUILD_SETTLEMENT = 0x03;
+    /** [i32 nodeId] */
+    public static final byte BUILD_CITY = 0x04;
+    /** [i32 hexagonId] */
+    public static final byte MOVE_ROBBER = 0x05;
+    /** End the current turn */
+    public static final byte END_TURN = 0x06;
+    /** [u8 offerer][u8 target][5 x u8 offered][5 x u8 requested] */
+    public static final byte OFFER_TRADE = 0x07;
+    /** [u8 playerId] */
+    public static final byte ACCEPT_TRADE = 0x08;
+    /** [u8 playerId] */
+    public static final byte DECLINE_TRADE = 0x09;
+    /** [u8 playerId][u8 give resource][u8 give amount][u8 want resource] */
+    public static final byte BANK_TRADE = 0x0A;
+    /** Value = see {@link #packStatus} */
+    public static final byte GET_STATUS = 0x0B;
+    /** [u8 playerId], value = see {@link #packResources} */
+    public static final byte GET_RESOURCES = 0x0C;
+    /** [i32 nodeId] - free settlement during the setup phase */
+    public static final byte SETUP_SETTLEMENT = 0x0D;
+    /** [i32 edgeId] - free road during the setup phase */
+    public static final byte SETUP_ROAD = 0x0E;
+    /** [u8 playerId][u8 0 road / 1 settlement / 2 city], value = see {@link #packTradePlan}; rejected if the bank cannot cover it */
+    public static final byte PLAN_BANK_TRADES = 0x0F;
+    /** [u8 offerer][u8 target, {@link #ALL_PLAYERS} for everyone][5 x u8 offered][5 x u8 requested], value = offer id */
+    public static final byte POST_OFFER = 0x10;
+    /** [u8 playerId][i32 offerId][5 x u8 offered][5 x u8 requested], value = id of the counter-offer */
+    public static final byte COUNTER_OFFER = 0x11;
+    /** [u8 playerId][i32 offerId] - accept an offer of the order book */
+    public static final byte ACCEPT_OFFER = 0x12;
+    /** [u8 playerId][i32 offerId] - withdraw an own offer */
+    public static final byte WITHDRAW_OFFER = 0x13;
+
+    /** Target byte of an offer open to every other player */
+    public static final int ALL_PLAYERS = 0xFF;
+
+    // === Status codes ===
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_REJECTED = 1;
+    public static final byte STATUS_UNKNOWN_OPCODE = 2;
+    public static final byte STATUS_MALFORMED = 3;
+    /** The request failed inside the server; the connection stays usable */
+    public static final byte STATUS_ERROR = 4;
+
+    // === Status flags (GET_STATUS) ===
+
+    public static final int FLAG_SETUP_PHASE = 1;
+    public static final int FLAG_ROBBER_PENDING = 1 << 1;
+    public static final int FLAG_HAS_ROLLED = 1 << 2;
+
+    /** Size of a request header (opcode + payload length) */
+    public static final int REQUEST_HEADER_SIZE = 2;
+    /** Size of every response frame */
+    public static final int RESPONSE_SIZE = 6;
+
+    private static final ResourceType[] RESOURCES = ResourceType.values();
+
+    private BotProtocol() {}
+
+    /**
+     * Pack the game status into a response value
+     * @param currentPlayerId The id of the active player (-1 if none)
+     * @param lastDiceRoll The last dice result (0 if not rolled yet)
+     * @param flags Combination of the FLAG_* constants
+     * @return Packed value: bits 0-7 player id + 1, bits 8-15 dice, bits 16-23 flags
+     */
+    public static int packStatus(int currentPlayerId, int lastDiceRoll, int flags) {
+        return ((currentPlayerId + 1) & 0xFF) | ((lastDiceRoll & 0xFF) << 8) | ((flags & 0xFF) << 16);
+    }
+
+    public static int statusPlayerId(int packed) {
+        return (packed & 0xFF) - 1;
+    }
+
+    public static int statusDiceRoll(int packed) {
+        return (packed >>> 8) & 0xFF;
+    }
+
+    public static int statusFlags(int packed) {
+        return (packed >>> 16) & 0xFF;
+    }
+
+    /**
+     * Pack five resource amounts into one value (6 bits each, capped at 63)
+     * @param amounts Amounts in {@link ResourceType} order
+     * @return Packed value
+     */
+    public static int packResources(int[] amounts) {
+        int packed = 0;
+        for (int i = 0; i < RESOURCES.length; i++) {
+            packed |= Math.min(amounts[i], 63) << (i * 6);
+        }
+        return packed;
+    }
+
+    /**
+     * Unpack a single resource amount from a value created by {@link #packResources}
+     * @param packed The packed value
+     * @param resource The resource to extract
+     * @return The amount of that resource
+     */
+    public static int unpackResource(int packed, ResourceType resource) {
+        return (packed >>> (resource.ordinal() * 6)) & 0x3F;
+    }
+
+    /**
+     * Pack the length and the first trade of a bank trade plan into a response value
+     * @param tradeCount Number of bank trades needed (0 if already affordable)
+     * @param give Resource given in the first trade
+     * @param giveAmount Cards given in the first trade
+     * @param want Resource received in the first trade
+     * @return Packed value: bits 0-7 trade count, bits 8-15 give resource, bits 16-23 give amount, bits 24-31 want resource
+     */
+    public static int packTradePlan(int tradeCount, ResourceType give, int giveAmount, ResourceType want) {
+        if (tradeCount == 0) {
+            return 0;
+        }
+        return (tradeCount & 0xFF) | (give.ordinal() << 8) | ((giveAmount & 0xFF) << 16) | (want.ordinal() << 24);
+    }
+
+    public static int planTradeCount(int packed) {
+        return packed & 0xFF;
+    }
+
+    public static ResourceType planGiveResource(int packed) {
+        return resourceAt((packed >>> 8) & 0xFF);
+    }
+
+    public static int planGiveAmount(int packed) {
+        return (packed >>> 16) & 0xFF;
+    }
+
+    public static ResourceType planWantResource(int packed) {
+        return resourceAt((packed >>> 24) & 0xFF);
+    }
+
+    /**
+     * Resolve a resource type from its wire index
+     * @param index Ordinal of the resource type
+     * @return The resource type, or null if the index is out of range
+     */
+    public static ResourceType resourceAt(int index) {
+        if (index < 0 || index >= RESOURCES.length) {
+            return null;
+        }
+        return RESOURCES[index];
+    }
+}
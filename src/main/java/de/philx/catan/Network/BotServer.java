@@ -0,0 +1,605 @@
+package de.philx.catan.Network;
+
+import de.philx.catan.Analysis.BankTradePlan;
+import de.philx.catan.Controllers.ActionResult;
+import de.philx.catan.Controllers.BuildMode;
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Controllers.TradeController;
+import de.philx.catan.Controllers.TradeOrderBook;
+import de.philx.catan.Logging.GameLogger;
+import de.philx.catan.Logging.LogLevel;
+import de.philx.catan.Players.Player;
+import de.philx.catan.Players.Player.ResourceType;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Local socket server that lets out-of-process bots drive a {@link GameController}.
+ *
+ * All connections are multiplexed on a single selector thread, which is also the only
+ * thread touching the game controller. Every complete request found in a read is executed
+ * and its response appended to the connection's output buffer, so a pipelined batch of
+ * requests is answered with a single write. A client that sends faster than it reads is
+ * not read from while its pending responses fill {@link #MAX_OUTPUT_SIZE}.
+ *
+ * The server is intended for headless games; a controller that is also bound to the
+ * JavaFX UI must not be shared with it.
+ */
+public class BotServer implements Closeable {
+
+    private static final GameLogger LOG = GameLogger.getInstance();
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Upper bound for the responses buffered for a single connection */
+    static final int MAX_OUTPUT_SIZE = 1024 * 1024;
+
+    private final GameController gameController;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Path unixSocketPath;
+    private Thread selectorThread;
+    private volatile boolean running;
+
+    private BotServer(GameController gameController, ServerSocketChannel serverChannel, Path unixSocketPath) throws IOException {
+        this.gameController = gameController;
+        this.serverChannel = serverChannel;
+        this.unixSocketPath = unixSocketPath;
+        this.selector = Selector.open();
+
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Open a server on the loopback interface
+     * @param gameController The game to expose
+     * @param port The TCP port, or 0 for an ephemeral port
+     * @return The (not yet started) server
+     */
+    public static BotServer openLoopback(GameController gameController, int port) throws IOException {
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.INET);
+        channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        return new BotServer(gameController, channel, null);
+    }
+
+    /**
+     * Open a server on a Unix-domain socket
+     * @param gameController The game to expose
+     * @param socketPath File system path of the socket (replaced if it already exists)
+     * @return The (not yet started) server
+     */
+    public static BotServer openUnixDomain(GameController gameController, Path socketPath) throws IOException {
+        Files.deleteIfExists(socketPath);
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.bind(UnixDomainSocketAddress.of(socketPath));
+        return new BotServer(gameController, channel, socketPath);
+    }
+
+    /**
+     * Start serving connections on a background thread
+     */
+    public synchronized void start() {
+        if (running) return;
+
+        running = true;
+        selectorThread = new Thread(this::runSelectorLoop, "catan-bot-server");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    /**
+     * Get the address clients should connect to
+     * @return The bound socket address
+     */
+    public SocketAddress getLocalAddress() throws IOException {
+        return serverChannel.getLocalAddress();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+
+        if (selectorThread != null) {
+            try {
+                selectorThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        serverChannel.close();
+
+        if (unixSocketPath != null) {
+            Files.deleteIfExists(unixSocketPath);
+        }
+    }
+
+    private void runSelectorLoop() {
+        try {
+            while (running) {
+                selector.select();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    try {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            acceptConnection();
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            readRequests(key);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flushResponses(key);
+                            resumeRequests(key);
+                        }
+                    } catch (IOException e) {
+                        closeConnection(key);
+                    } catch (RuntimeException e) {
+                        // A broken connection must not stop the server for every other bot
+                        LOG.log(LogLevel.WARN, "BOT", "Connection closed after error: {}", e);
+                        closeConnection(key);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                LOG.log(LogLevel.WARN, "BOT", "Server stopped unexpectedly: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void acceptConnection() throws IOException {
+        SocketChannel client = serverChannel.accept();
+        if (client == null) return;
+
+        client.configureBlocking(false);
+        client.register(selector, SelectionKey.OP_READ, new Connection());
+    }
+
+    private void readRequests(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+
+        int read = channel.read(connection.in);
+        if (read < 0) {
+            closeConnection(key);
+            return;
+        }
+        processRequests(key);
+    }
+
+    /**
+     * Execute the complete requests in the input buffer. While the output buffer is full
+     * the remaining requests stay buffered until {@link #resumeRequests} finds room again.
+     */
+    private void processRequests(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        ByteBuffer in = connection.in;
+
+        do {
+            connection.paused = false;
+            in.flip();
+            while (in.remaining() >= BotProtocol.REQUEST_HEADER_SIZE) {
+                int payloadLength = in.get(in.position() + 1) & 0xFF;
+                if (in.remaining() < BotProtocol.REQUEST_HEADER_SIZE + payloadLength) {
+                    break; // Wait for the rest of the frame
+                }
+
+                if (!connection.ensureOutputCapacity(BotProtocol.RESPONSE_SIZE)) {
+                    connection.paused = true;
+                    break; // Wait for the client to read its responses
+                }
+
+                byte opcode = in.get();
+                in.get(); // payload length, already known
+                int payloadEnd = in.position() + payloadLength;
+
+                handleRequest(opcode, payloadLength, in, connection.out);
+                in.position(payloadEnd);
+            }
+            in.compact();
+
+            flushResponses(key);
+        } while (connection.paused && connection.hasOutputCapacity(BotProtocol.RESPONSE_SIZE));
+    }
+
+    private void flushResponses(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+
+        ByteBuffer out = connection.out;
+        out.flip();
+        channel.write(out);
+        out.compact();
+
+        // Only ask for write readiness while responses are still pending, and stop reading
+        // while the client does not take them
+        int interest = out.position() > 0 ? SelectionKey.OP_WRITE : 0;
+        if (!connection.paused) {
+            interest |= SelectionKey.OP_READ;
+        }
+        key.interestOps(interest);
+    }
+
+    /**
+     * Continue with the requests left in the input buffer once responses have been taken
+     */
+    private void resumeRequests(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        if (!key.isValid() || !connection.paused || !connection.hasOutputCapacity(BotProtocol.RESPONSE_SIZE)) {
+            return;
+        }
+
+        processRequests(key);
+    }
+
+    private void closeConnection(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // Connection is gone either way
+        }
+    }
+
+    /**
+     * Execute a single request against the game controller and append its response
+     */
+    private void handleRequest(byte opcode, int payloadLength, ByteBuffer payload, ByteBuffer out) {
+        byte status = BotProtocol.STATUS_OK;
+        int value = 0;
+
+        try {
+            switch (opcode) {
+                case BotProtocol.PING:
+                    break;
+                case BotProtocol.ROLL_DICE:
+                    // Dice result, or the negated reason code
+                    value = rollDice();
+                    status = value > 0 ? BotProtocol.STATUS_OK : BotProtocol.STATUS_REJECTED;
+                    value = Math.abs(value);
+                    break;
+                case BotProtocol.BUILD_ROAD:
+                    status = toStatus(gameController.buildRoad(readId(payload, payloadLength)));
+                    value = gameController.getLastActionResult();
+                    break;
+                case BotProtocol.BUILD_SETTLEMENT:
+                    status = toStatus(gameController.buildSettlement(readId(payload, payloadLength)));
+                    value = gameController.getLastActionResult();
+                    break;
+                case BotProtocol.BUILD_CITY:
+                    status = toStatus(gameController.buildCity(readId(payload, payloadLength)));
+                    value = gameController.getLastActionResult();
+                    break;
+                case BotProtocol.MOVE_ROBBER:
+                    status = toStatus(gameController.moveRobber(readId(payload, payloadLength)));
+                    value = gameController.getLastActionResult();
+                    break;
+                case BotProtocol.SETUP_SETTLEMENT:
+                    status = toStatus(gameController.placeSetupSettlement(readId(payload, payloadLength)));
+                    break;
+                case BotProtocol.SETUP_ROAD:
+                    status = toStatus(gameController.placeSetupRoad(readId(payload, payloadLength)));
+                    break;
+                case BotProtocol.END_TURN:
+                    status = toStatus(endTurn());
+                    break;
+                case BotProtocol.OFFER_TRADE:
+                    value = offerTrade(payload, payloadLength);
+                    status = toStatus(value == ActionResult.OK);
+                    break;
+                case BotProtocol.ACCEPT_TRADE:
+                    value = gameController.getTradeController().acceptCurrentOffer(readPlayerId(payload, payloadLength));
+                    status = toStatus(value == ActionResult.OK);
+                    break;
+                case BotProtocol.DECLINE_TRADE:
+                    value = gameController.getTradeController().declineCurrentOffer(readPlayerId(payload, payloadLength));
+                    status = toStatus(value == ActionResult.OK);
+                    break;
+                case BotProtocol.BANK_TRADE:
+                    value = bankTrade(payload, payloadLength);
+                    status = toStatus(value == ActionResult.OK);
+                    break;
+                case BotProtocol.POST_OFFER:
+                case BotProtocol.COUNTER_OFFER:
+                    // Offer id, or the negated reason code
+                    value = opcode == BotProtocol.POST_OFFER ? postOffer(payload, payloadLength) : counterOffer(payload, payloadLength);
+                    status = value > 0 ? BotProtocol.STATUS_OK : BotProtocol.STATUS_REJECTED;
+                    value = Math.abs(value);
+                    break;
+                case BotProtocol.ACCEPT_OFFER:
+                case BotProtocol.WITHDRAW_OFFER:
+                    value = answerOffer(opcode, payload, payloadLength);
+                    status = toStatus(value == ActionResult.OK);
+                    break;
+                case BotProtocol.PLAN_BANK_TRADES:
+                    value = planBankTrades(payload, payloadLength);
+                    status = value >= 0 ? BotProtocol.STATUS_OK : BotProtocol.STATUS_REJECTED;
+                    value = Math.max(value, 0);
+                    break;
+                case BotProtocol.GET_STATUS:
+                    value = currentStatus();
+                    break;
+                case BotProtocol.GET_RESOURCES:
+                    value = resourcesOf(readPlayerId(payload, payloadLength));
+                    status = value >= 0 ? BotProtocol.STATUS_OK : BotProtocol.STATUS_REJECTED;
+                    value = Math.max(value, 0);
+                    break;
+                default:
+                    status = BotProtocol.STATUS_UNKNOWN_OPCODE;
+                    break;
+            }
+        } catch (MalformedRequestException e) {
+            status = BotProtocol.STATUS_MALFORMED;
+            value = 0;
+        } catch (RuntimeException e) {
+            // Answer the request and keep serving the remaining ones
+            LOG.log(LogLevel.WARN, "BOT", "Request 0x{} failed: {}", Integer.toHexString(opcode & 0xFF), e);
+            status = BotProtocol.STATUS_ERROR;
+            value = 0;
+        }
+
+        out.put(opcode);
+        out.put(status);
+        out.putInt(value);
+    }
+
+    /**
+     * Roll for the current player. A rejected roll returns a stale result, so success is
+     * judged by whether the player has rolled now but had not before.
+     * @return The dice result, or the negated reason code
+     */
+    private int rollDice() {
+        Player roller = gameController.getCurrentPlayer();
+        boolean rolledBefore = roller != null && roller.hasRolledDice();
+        int result = gameController.rollDice();
+        if (roller == null || rolledBefore || !roller.hasRolledDice()) {
+            return -gameController.getLastActionResult();
+        }
+        return result;
+    }
+
+    private boolean endTurn() {
+        Player before = gameController.getCurrentPlayer();
+        gameController.endTurn();
+        return before != gameController.getCurrentPlayer();
+    }
+
+    /**
+     * @return {@link ActionResult#OK} or the reason the offer could not be made
+     */
+    private int offerTrade(ByteBuffer payload, int payloadLength) {
+        if (payloadLength != 2 + 2 * ResourceType.values().length) {
+            throw new MalformedRequestException();
+        }
+
+        int offererId = payload.get() & 0xFF;
+        int targetId = payload.get() & 0xFF;
+        Map<ResourceType, Integer> offered = readResourceAmounts(payload);
+        Map<ResourceType, Integer> requested = readResourceAmounts(payload);
+
+        return gameController.getTradeController().offerTrade(offererId, targetId, offered, requested);
+    }
+
+    private int postOffer(ByteBuffer payload, int payloadLength) {
+        if (payloadLength != 2 + 2 * ResourceType.values().length) {
+            throw new MalformedRequestException();
+        }
+
+        int offererId = payload.get() & 0xFF;
+        int targetId = payload.get() & 0xFF;
+        Map<ResourceType, Integer> offered = readResourceAmounts(payload);
+        Map<ResourceType, Integer> requested = readResourceAmounts(payload);
+        if (targetId == BotProtocol.ALL_PLAYERS) {
+            targetId = TradeOrderBook.ALL_PLAYERS;
+        }
+
+        return gameController.getTradeController().postOffer(offererId, targetId, offered, requested);
+    }
+
+    private int counterOffer(ByteBuffer payload, int payloadLength) {
+        if (payloadLength != 5 + 2 * ResourceType.values().length) {
+            throw new MalformedRequestException();
+        }
+
+        int playerId = payload.get() & 0xFF;
+        int offerId = payload.getInt();
+        Map<ResourceType, Integer> offered = readResourceAmounts(payload);
+        Map<ResourceType, Integer> requested = readResourceAmounts(payload);
+
+        return gameController.getTradeController().counterOffer(offerId, playerId, offered, requested);
+    }
+
+    /**
+     * @return {@link ActionResult#OK} or the reason the offer could not be answered
+     */
+    private int answerOffer(byte opcode, ByteBuffer payload, int payloadLength) {
+        if (payloadLength != 5) {
+            throw new MalformedRequestException();
+        }
+
+        int playerId = payload.get() & 0xFF;
+        int offerId = payload.getInt();
+        TradeController tradeController = gameController.getTradeController();
+        return opcode == BotProtocol.ACCEPT_OFFER
+            ? tradeController.acceptOffer(offerId, playerId)
+            : tradeController.withdrawOffer(offerId, playerId);
+    }
+
+    /**
+     * @return {@link ActionResult#OK} or the reason the trade is not possible
+     */
+    private int bankTrade(ByteBuffer payload, int payloadLength) {
+        if (payloadLength != 4) {
+            throw new MalformedRequestException();
+        }
+
+        int playerId = payload.get() & 0xFF;
+        ResourceType give = BotProtocol.resourceAt(payload.get() & 0xFF);
+        int giveAmount = payload.get() & 0xFF;
+        ResourceType want = BotProtocol.resourceAt(payload.get() & 0xFF);
+        if (give == null || want == null || giveAmount == 0) {
+            throw new MalformedRequestException();
+        }
+
+        TradeController tradeController = gameController.getTradeController();
+        return tradeController.bankTrade(playerId, give, giveAmount, want);
+    }
+
+    /**
+     * @return The packed plan, or -1 if the player is unknown or the bank cannot cover the cost
+     */
+    private int planBankTrades(ByteBuffer payload, int payloadLength) {
+        if (payloadLength != 2) {
+            throw new MalformedRequestException();
+        }
+
+        Player player = gameController.getPlayerManager().getPlayerById(payload.get() & 0xFF);
+        int building = payload.get() & 0xFF;
+        if (building > 2) {
+            throw new MalformedRequestException();
+        }
+        if (player == null) {
+            return -1;
+        }
+
+        BuildMode buildMode = building == 0 ? BuildMode.ROAD : building == 1 ? BuildMode.SETTLEMENT : BuildMode.CITY;
+        BankTradePlan plan = BankTradePlan.compute(player, buildMode);
+        if (!plan.isPossible()) {
+            return -1;
+        }
+        if (plan.getTradeCount() == 0) {
+            return 0;
+        }
+        return BotProtocol.packTradePlan(plan.getTradeCount(), plan.getGiveResource(0), plan.getGiveAmount(0), plan.getWantResource(0));
+    }
+
+    private int currentStatus() {
+        Player currentPlayer = gameController.getCurrentPlayer();
+        int flags = 0;
+        if (gameController.isInSetupPhase()) {
+            flags |= BotProtocol.FLAG_SETUP_PHASE;
+        }
+        if (gameController.isWaitingForRobberPlacement()) {
+            flags |= BotProtocol.FLAG_ROBBER_PENDING;
+        }
+        if (currentPlayer != null && currentPlayer.hasRolledDice()) {
+            flags |= BotProtocol.FLAG_HAS_ROLLED;
+        }
+
+        int playerId = currentPlayer != null ? currentPlayer.getPlayerId() : -1;
+        return BotProtocol.packStatus(playerId, gameController.getLastDiceRoll(), flags);
+    }
+
+    private int resourcesOf(int playerId) {
+        Player player = gameController.getPlayerManager().getPlayerById(playerId);
+        if (player == null) {
+            return -1;
+        }
+
+        ResourceType[] types = ResourceType.values();
+        int[] amounts = new int[types.length];
+        for (int i = 0; i < types.length; i++) {
+            amounts[i] = player.getResourceAmount(types[i]);
+        }
+        return BotProtocol.packResources(amounts);
+    }
+
+    private Map<ResourceType, Integer> readResourceAmounts(ByteBuffer payload) {
+        Map<ResourceType, Integer> amounts = new EnumMap<>(ResourceType.class);
+        for (ResourceType type : ResourceType.values()) {
+            int amount = payload.get() & 0xFF;
+            if (amount > 0) {
+                amounts.put(type, amount);
+            }
+        }
+        return amounts;
+    }
+
+    private static int readId(ByteBuffer payload, int payloadLength) {
+        if (payloadLength != 4) {
+            throw new MalformedRequestException();
+        }
+        return payload.getInt();
+    }
+
+    private static int readPlayerId(ByteBuffer payload, int payloadLength) {
+        if (payloadLength != 1) {
+            throw new MalformedRequestException();
+        }
+        return payload.get() & 0xFF;
+    }
+
+    private static byte toStatus(boolean success) {
+        return success ? BotProtocol.STATUS_OK : BotProtocol.STATUS_REJECTED;
+    }
+
+    /**
+     * Per-connection buffers
+     */
+    private static final class Connection {
+        private final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+        private ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+
+        // Set while requests wait for room in the output buffer
+        private boolean paused;
+
+        private boolean hasOutputCapacity(int bytes) {
+            return out.position() + bytes <= MAX_OUTPUT_SIZE;
+        }
+
+        /**
+         * Grow the output buffer when a slow reader lets responses pile up
+         * @return false if the responses would exceed {@link #MAX_OUTPUT_SIZE}
+         */
+        private boolean ensureOutputCapacity(int bytes) {
+            if (out.remaining() >= bytes) return true;
+            if (!hasOutputCapacity(bytes)) return false;
+
+            ByteBuffer larger = ByteBuffer.allocate(Math.min(Math.max(out.capacity() * 2, out.position() + bytes), MAX_OUTPUT_SIZE));
+            out.flip();
+            larger.put(out);
+            out = larger;
+            return true;
+        }
+    }
+
+    /**
+     * Signals a request whose payload does not match its opcode
+     */
+    private static final class MalformedRequestException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        MalformedRequestException() {
+            super(null, null, false, false);
+        }
+    }
+}
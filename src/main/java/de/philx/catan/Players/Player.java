@@ -1,13 +1,13 @@
 package de.philx.catan.Players;
 
 import de.philx.catan.GameField.Edge;
+import de.philx.catan.GameField.HarborType;
 import de.philx.catan.GameField.Node;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * This class represents a player in the Catan game. A player has attributes related
@@ -22,6 +22,9 @@ import java.util.Set;
  */
 public class Player {
     
+    /** Bank trade ratio without a harbor */
+    public static final int STANDARD_BANK_RATIO = 4;
+    
     // Player identity
     private String name;
     private PlayerColor color;  // Store PlayerColor enum directly
@@ -32,6 +35,9 @@ public class Player {
     // Resource inventory (Wood, Clay, Grain, Wool, Ore)
     private Map<ResourceType, Integer> resourceInventory;
     
+    // Best bank trade ratio per resource (indexed by ordinal), lowered by harbors
+    private final int[] bankTradeRatios;
+    
     // Building inventory
     private int availableRoads;
     private int availableSettlements;
@@ -45,8 +51,10 @@ public class Player {
     private int setupSettlementsPlaced;
     private int setupRoadsPlaced;
     
-    // Victory points
+    // Victory points; bonus points come from special cards such as the longest road
     private int victoryPoints;
+    private int bonusVictoryPoints;
+    private ScoreLedger scoreLedger;
     
     // Turn order
     private int turnOrder;
@@ -98,6 +106,8 @@ public class Player {
         
         // Initialize resource inventory
         initializeResourceInventory();
+        this.bankTradeRatios = new int[ResourceType.values().length];
+        Arrays.fill(bankTradeRatios, STANDARD_BANK_RATIO);
         
         // Initialize building inventory (standard Catan amounts)
         this.availableRoads = 15;      // 15 roads per player
@@ -114,6 +124,7 @@ public class Player {
         
         // Initialize victory points
         this.victoryPoints = 0;
+        this.bonusVictoryPoints = 0;
         
         // Initialize statistics
         this.totalResourcesCollected = 0;
@@ -346,14 +357,144 @@ public class Player {
         return true;
     }
     
+    // === Undo Support ===
+    
+    /**
+     * Take back resources that were gained (undo of production or a received trade)
+     * @param resourceType Type of resource to take back
+     * @param amount Amount to take back
+     */
+    public void revokeResource(ResourceType resourceType, int amount) {
+        if (amount > 0) {
+            resourceInventory.put(resourceType, resourceInventory.get(resourceType) - amount);
+            totalResourcesCollected -= amount;
+        }
+    }
+    
+    /**
+     * Give back resources that were spent without counting them as collected
+     * @param resourceType Type of resource to give back
+     * @param amount Amount to give back
+     */
+    public void restoreResource(ResourceType resourceType, int amount) {
+        if (amount > 0) {
+            resourceInventory.put(resourceType, resourceInventory.get(resourceType) + amount);
+        }
+    }
+    
+    /**
+     * Revert {@link #buildRoad()}: refund the cost and return the road piece
+     */
+    public void unbuildRoad() {
+        restoreResource(ResourceType.WOOD, 1);
+        restoreResource(ResourceType.CLAY, 1);
+        availableRoads++;
+    }
+    
+    /**
+     * Revert {@link #buildSettlement()}: refund the cost and return the settlement piece
+     */
+    public void unbuildSettlement() {
+        restoreResource(ResourceType.WOOD, 1);
+        restoreResource(ResourceType.CLAY, 1);
+        restoreResource(ResourceType.GRAIN, 1);
+        restoreResource(ResourceType.WOOL, 1);
+        
+        availableSettlements++;
+        placedSettlements--;
+        calculateVictoryPoints();
+    }
+    
+    /**
+     * Revert {@link #buildCity()}: refund the cost and turn the city back into a settlement
+     */
+    public void unbuildCity() {
+        restoreResource(ResourceType.GRAIN, 2);
+        restoreResource(ResourceType.ORE, 3);
+        
+        availableCities++;
+        placedCities--;
+        placedSettlements++;
+        availableSettlements--;
+        calculateVictoryPoints();
+    }
+    
+    // === State Restoration ===
+    
+    /**
+     * Overwrite the piece inventory and victory points, e.g. when mirroring a replay.
+     * Placed settlements and cities are derived from the remaining pieces.
+     * @param availableRoads Roads left to build
+     * @param availableSettlements Settlements left to build
+     * @param availableCities Cities left to build
+     * @param victoryPoints Total victory points
+     */
+    public void restorePieces(int availableRoads, int availableSettlements, int availableCities, int victoryPoints) {
+        this.availableRoads = availableRoads;
+        this.availableSettlements = availableSettlements;
+        this.availableCities = availableCities;
+        this.placedCities = 4 - availableCities;
+        this.placedSettlements = 5 - availableSettlements;
+        this.bonusVictoryPoints = victoryPoints - placedSettlements - placedCities * 2;
+        setVictoryPoints(victoryPoints);
+    }
+    
+    // === Harbor Trade Ratios ===
+    
+    /**
+     * Get the best bank trade ratio of this player for a resource
+     * @param resourceType Resource given to the bank
+     * @return Resources given for one resource (4, 3 or 2)
+     */
+    public int getBankTradeRatio(ResourceType resourceType) {
+        return bankTradeRatios[resourceType.ordinal()];
+    }
+    
+    /**
+     * Lower the trade ratios after settling on a harbor node
+     * @param harbor The harbor at the new settlement
+     */
+    public void applyHarbor(HarborType harbor) {
+        if (harbor.isGeneric()) {
+            for (int i = 0; i < bankTradeRatios.length; i++) {
+                bankTradeRatios[i] = Math.min(bankTradeRatios[i], harbor.getRatio());
+            }
+        } else {
+            int index = toResourceType(harbor).ordinal();
+            bankTradeRatios[index] = Math.min(bankTradeRatios[index], harbor.getRatio());
+        }
+    }
+    
+    /**
+     * Reset the trade ratios to the standard bank ratio, e.g. before recomputing them
+     * after a settlement was taken back
+     */
+    public void resetBankTradeRatios() {
+        Arrays.fill(bankTradeRatios, STANDARD_BANK_RATIO);
+    }
+    
+    /**
+     * Get the resource traded by a 2:1 harbor
+     * @param harbor A harbor that is not generic
+     */
+    public static ResourceType toResourceType(HarborType harbor) {
+        switch (harbor) {
+            case WOOD: return ResourceType.WOOD;
+            case CLAY: return ResourceType.CLAY;
+            case GRAIN: return ResourceType.GRAIN;
+            case WOOL: return ResourceType.WOOL;
+            case ORE: return ResourceType.ORE;
+            default: throw new IllegalArgumentException("Hafen ohne Rohstoff: " + harbor);
+        }
+    }
+    
     // === Victory Point Management ===
     
     /**
      * Calculate and update victory points based on current buildings
      */
     public void calculateVictoryPoints() {
-        victoryPoints = placedSettlements + (placedCities * 2);
-        // Note: Longest road points would be added separately when implemented
+        setVictoryPoints(placedSettlements + (placedCities * 2) + bonusVictoryPoints);
     }
     
     /**
@@ -361,7 +502,8 @@ public class Player {
      * @param points Points to add
      */
     public void addVictoryPoints(int points) {
-        victoryPoints += points;
+        bonusVictoryPoints += points;
+        calculateVictoryPoints();
     }
     
     /**
@@ -369,7 +511,8 @@ public class Player {
      * @param points Points to remove
      */
     public void removeVictoryPoints(int points) {
-        victoryPoints = Math.max(0, victoryPoints - points);
+        bonusVictoryPoints = Math.max(0, bonusVictoryPoints - points);
+        calculateVictoryPoints();
     }
     
     /**
@@ -377,7 +520,24 @@ public class Player {
      * @return true if player has won
      */
     public boolean hasWon() {
-        return victoryPoints >= 10;
+        return victoryPoints >= ScoreLedger.WINNING_POINTS;
+    }
+    
+    /**
+     * Report every change of the victory points to a ledger
+     */
+    void setScoreLedger(ScoreLedger scoreLedger) {
+        this.scoreLedger = scoreLedger;
+    }
+    
+    private void setVictoryPoints(int victoryPoints) {
+        if (victoryPoints == this.victoryPoints) {
+            return;
+        }
+        this.victoryPoints = victoryPoints;
+        if (scoreLedger != null) {
+            scoreLedger.update(playerId, victoryPoints);
+        }
     }
     
     // === Turn Management ===
@@ -501,12 +661,19 @@ public class Player {
             return 0;
         }
         
+        // Connections between the roads are looked up once, the search then only
+        // walks these indices and marks the roads on the current path
+        int[][] connectedRoads = new int[playerRoads.size()][];
+        for (int road = 0; road < playerRoads.size(); road++) {
+            connectedRoads[road] = findConnectedRoads(playerRoads.get(road), playerRoads);
+        }
+        boolean[] visited = new boolean[playerRoads.size()];
+        
         int maxLength = 0;
         
         // Try starting from each road segment to find the longest path
-        for (Edge startEdge : playerRoads) {
-            Set<Edge> visited = new HashSet<>();
-            int length = findLongestPath(startEdge, playerRoads, visited);
+        for (int startRoad = 0; startRoad < playerRoads.size(); startRoad++) {
+            int length = findLongestPath(startRoad, connectedRoads, visited);
             maxLength = Math.max(maxLength, length);
         }
         
@@ -515,18 +682,17 @@ public class Player {
     }
     
     /**
-     * Recursively find the longest path starting from a given edge
-     * @param currentEdge The current edge in the path
+     * Find the roads of this player that continue a road
+     * @param road The road to continue
      * @param playerRoads All roads owned by this player
-     * @param visited Set of already visited edges
-     * @return The length of the longest path from this edge
+     * @return Indices into {@code playerRoads}
      */
-    private int findLongestPath(Edge currentEdge, List<Edge> playerRoads, Set<Edge> visited) {
-        visited.add(currentEdge);
-        int maxLength = 1; // Current edge counts as 1
+    private int[] findConnectedRoads(Edge road, List<Edge> playerRoads) {
+        int[] connected = new int[playerRoads.size()];
+        int count = 0;
         
-        // Check both nodes of the current edge for connecting roads
-        Node[] nodes = {currentEdge.getNode1(), currentEdge.getNode2()};
+        // Check both nodes of the road for connecting roads
+        Node[] nodes = {road.getNode1(), road.getNode2()};
         
         for (Node node : nodes) {
             // Skip if this node has an opponent's building (blocks the road)
@@ -534,22 +700,35 @@ public class Player {
                 continue;
             }
             
-            // Find all roads connected to this node
             for (Edge adjacentEdge : node.getAdjacentEdges()) {
-                // Skip if not our road, already visited, or same as current edge
-                if (!playerRoads.contains(adjacentEdge) || 
-                    visited.contains(adjacentEdge) || 
-                    adjacentEdge.equals(currentEdge)) {
-                    continue;
+                int index = playerRoads.indexOf(adjacentEdge);
+                if (index >= 0 && !adjacentEdge.equals(road)) {
+                    connected[count++] = index;
                 }
-                
-                // Recursively explore this path
-                Set<Edge> newVisited = new HashSet<>(visited);
-                int pathLength = 1 + findLongestPath(adjacentEdge, playerRoads, newVisited);
-                maxLength = Math.max(maxLength, pathLength);
             }
         }
         
+        return Arrays.copyOf(connected, count);
+    }
+    
+    /**
+     * Recursively find the longest path starting from a given road
+     * @param road Index of the current road in the path
+     * @param connectedRoads The roads continuing each road
+     * @param visited Roads on the current path; restored before returning
+     * @return The length of the longest path from this road
+     */
+    private static int findLongestPath(int road, int[][] connectedRoads, boolean[] visited) {
+        visited[road] = true;
+        int maxLength = 1; // Current road counts as 1
+        
+        for (int nextRoad : connectedRoads[road]) {
+            if (!visited[nextRoad]) {
+                maxLength = Math.max(maxLength, 1 + findLongestPath(nextRoad, connectedRoads, visited));
+            }
+        }
+        
+        visited[road] = false;
         return maxLength;
     }
     
@@ -2,6 +2,9 @@ package de.philx.catan.Players;
 
 import de.philx.catan.Cards.Special.LongestRoad;
 import de.philx.catan.GameField.Edge;
+import de.philx.catan.Metrics.LatencyHistogram;
+import de.philx.catan.Metrics.LongestRoadEvent;
+import de.philx.catan.Metrics.MetricsRegistry;
 import java.util.*;
 
 /**
@@ -12,7 +15,10 @@ import java.util.*;
  */
 public class PlayerManager {
     
+    private static final LatencyHistogram LONGEST_ROAD_LATENCY = MetricsRegistry.getInstance().histogram("game.updateLongestRoad");
+    
     private final List<Player> players;
+    private final ScoreLedger scoreLedger;
     private int currentPlayerIndex;
     private final int maxPlayers;
     private final int minPlayers;
@@ -34,6 +40,7 @@ public class PlayerManager {
      */
     public PlayerManager() {
         this.players = new ArrayList<>();
+        this.scoreLedger = new ScoreLedger();
         this.currentPlayerIndex = 0;
         this.maxPlayers = 4;
         this.minPlayers = 3;
@@ -84,6 +91,8 @@ public class PlayerManager {
         Player newPlayer = new Player(playerId, name, color, turnOrder);
         
         players.add(newPlayer);
+        newPlayer.setScoreLedger(scoreLedger);
+        scoreLedger.reset(players);
         return true;
     }
     
@@ -100,6 +109,8 @@ public class PlayerManager {
         Player playerToRemove = getPlayerById(playerId);
         if (playerToRemove != null) {
             players.remove(playerToRemove);
+            playerToRemove.setScoreLedger(null);
+            scoreLedger.reset(players);
             // Update turn orders for remaining players
             updateTurnOrders();
             return true;
@@ -245,6 +256,31 @@ public class PlayerManager {
         }
     }
     
+    /**
+     * Overwrite the turn state, e.g. when mirroring a replay
+     * @param currentPlayerIndex Index of the active player
+     * @param setupPhase Whether the game is in the setup phase
+     * @param setupRound The setup round (1 or 2)
+     * @param longestRoadPlayerId Holder of the longest road card (-1 if none)
+     * @param longestRoadLength Length of the holder's longest road
+     */
+    public void restoreTurnState(int currentPlayerIndex, boolean setupPhase, int setupRound,
+                                 int longestRoadPlayerId, int longestRoadLength) {
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.setupPhase = setupPhase;
+        this.setupRound = setupRound;
+        this.setupPlayerIndex = currentPlayerIndex;
+        this.setupForward = setupRound == 1;
+        
+        this.currentLongestRoadPlayerId = longestRoadPlayerId;
+        this.currentLongestRoadLength = longestRoadPlayerId == -1 ? 0 : longestRoadLength;
+        if (longestRoadPlayerId == -1) {
+            longestRoadCard.deactivate();
+        } else {
+            longestRoadCard.setPlayerId(longestRoadPlayerId);
+        }
+    }
+    
     /**
      * Get player by name
      * @param name Player name to find
@@ -280,10 +316,7 @@ public class PlayerManager {
      * @return winning player or null if no winner yet
      */
     public Player getWinner() {
-        return players.stream()
-                .filter(Player::hasWon)
-                .findFirst()
-                .orElse(null);
+        return scoreLedger.getWinner();
     }
     
     /**
@@ -291,11 +324,20 @@ public class PlayerManager {
      * @return List of players sorted by victory points (descending)
      */
     public List<Player> getPlayersByVictoryPoints() {
-        List<Player> sortedPlayers = new ArrayList<>(players);
-        sortedPlayers.sort((p1, p2) -> Integer.compare(p2.getVictoryPoints(), p1.getVictoryPoints()));
+        List<Player> sortedPlayers = new ArrayList<>(scoreLedger.getPlayerCount());
+        for (int rank = 0; rank < scoreLedger.getPlayerCount(); rank++) {
+            sortedPlayers.add(scoreLedger.getPlayerAtRank(rank));
+        }
         return sortedPlayers;
     }
     
+    /**
+     * Get the incrementally maintained victory points, ranking and winner
+     */
+    public ScoreLedger getScoreLedger() {
+        return scoreLedger;
+    }
+    
     /**
      * Check if a player name is already taken
      * @param name Name to check
@@ -360,7 +402,11 @@ public class PlayerManager {
      * Reset the game state (for new game)
      */
     public void resetGame() {
+        for (Player player : players) {
+            player.setScoreLedger(null);
+        }
         players.clear();
+        scoreLedger.reset(players);
         currentPlayerIndex = 0;
         gameStarted = false;
     }
@@ -397,6 +443,22 @@ public class PlayerManager {
      * @return true if longest road ownership changed
      */
     public boolean updateLongestRoad(List<Edge> edges) {
+        long start = MetricsRegistry.startTimer();
+        LongestRoadEvent event = new LongestRoadEvent();
+        event.begin();
+        try {
+            boolean changed = recalculateLongestRoad(edges);
+            event.finish(edges.size(), currentLongestRoadPlayerId, currentLongestRoadLength, changed);
+            return changed;
+        } finally {
+            LONGEST_ROAD_LATENCY.recordSince(start);
+        }
+    }
+    
+    /**
+     * Implementation of {@link #updateLongestRoad(List)}, timed by the public method
+     */
+    private boolean recalculateLongestRoad(List<Edge> edges) {
         if (!gameStarted) {
             return false;
         }
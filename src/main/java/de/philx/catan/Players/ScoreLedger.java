@@ -0,0 +1,169 @@
+package de.philx.catan.Players;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Victory points of all players, kept up to date incrementally.
+ *
+ * Every change of a player's points (settlement, city, longest road, undo) is reported
+ * by the {@link Player} itself, so the ledger never recomputes or sorts. The ranking is
+ * an array of player ids, best first; an update moves the changed player past its
+ * neighbours, which touches at most {@link PlayerManager}'s few players. The moment a
+ * player reaches {@link #WINNING_POINTS}, the win listeners are called from within the
+ * action that crossed the threshold; when an undo takes the winner below it again, they
+ * are told that the win no longer stands.
+ */
+public class ScoreLedger {
+
+    /** Victory points needed to win */
+    public static final int WINNING_POINTS = 10;
+
+    /**
+     * Called when a player wins
+     */
+    @FunctionalInterface
+    public interface WinListener {
+        void onWin(Player winner, int victoryPoints);
+
+        /**
+         * Called when an undo takes a win back. If another player still has enough
+         * points, {@link #onWin} follows for that player.
+         */
+        default void onWinRevoked(Player formerWinner) {
+        }
+    }
+
+    private final List<WinListener> winListeners;
+    private Player[] playersById;
+    private int[] points;
+    private int[] ranking;
+    private int[] rankOf;
+    private int playerCount;
+    private int winnerId;
+
+    public ScoreLedger() {
+        this.winListeners = new ArrayList<>();
+        reset(List.of());
+    }
+
+    /**
+     * Start tracking a new set of players, e.g. after players were added or removed
+     * @param players The players with their current points
+     */
+    void reset(List<Player> players) {
+        int maxId = -1;
+        for (Player player : players) {
+            maxId = Math.max(maxId, player.getPlayerId());
+        }
+        playersById = new Player[maxId + 1];
+        points = new int[maxId + 1];
+        rankOf = new int[maxId + 1];
+        ranking = new int[players.size()];
+        playerCount = players.size();
+        Arrays.fill(rankOf, -1);
+
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            playersById[player.getPlayerId()] = player;
+            ranking[i] = player.getPlayerId();
+            rankOf[player.getPlayerId()] = i;
+            points[player.getPlayerId()] = 0;
+        }
+        winnerId = -1;
+        for (Player player : players) {
+            update(player.getPlayerId(), player.getVictoryPoints());
+        }
+    }
+
+    /**
+     * Record a player's new total; called by {@link Player} whenever its points change
+     */
+    void update(int playerId, int victoryPoints) {
+        if (playerId < 0 || playerId >= rankOf.length || rankOf[playerId] < 0) {
+            return;
+        }
+        int previous = points[playerId];
+        points[playerId] = victoryPoints;
+
+        // Move up past players with fewer points; equal points keep who got there first in front
+        int position = rankOf[playerId];
+        if (victoryPoints > previous) {
+            while (position > 0 && points[ranking[position - 1]] < victoryPoints) {
+                swap(position, position - 1);
+                position--;
+            }
+        } else {
+            while (position < playerCount - 1 && points[ranking[position + 1]] > victoryPoints) {
+                swap(position, position + 1);
+                position++;
+            }
+        }
+
+        if (winnerId == -1 && victoryPoints >= WINNING_POINTS) {
+            winnerId = playerId;
+            for (WinListener listener : new ArrayList<>(winListeners)) {
+                listener.onWin(playersById[playerId], victoryPoints);
+            }
+        } else if (winnerId == playerId && victoryPoints < WINNING_POINTS) {
+            // Undone: the win no longer stands
+            winnerId = playerCount > 0 && points[ranking[0]] >= WINNING_POINTS ? ranking[0] : -1;
+            for (WinListener listener : new ArrayList<>(winListeners)) {
+                listener.onWinRevoked(playersById[playerId]);
+                if (winnerId != -1) {
+                    listener.onWin(playersById[winnerId], points[winnerId]);
+                }
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        int playerA = ranking[a];
+        ranking[a] = ranking[b];
+        ranking[b] = playerA;
+        rankOf[ranking[a]] = a;
+        rankOf[ranking[b]] = b;
+    }
+
+    // === Queries ===
+
+    public void addWinListener(WinListener listener) {
+        winListeners.add(listener);
+    }
+
+    public void removeWinListener(WinListener listener) {
+        winListeners.remove(listener);
+    }
+
+    /**
+     * Get the player who reached the winning points first
+     * @return The winner or null if nobody has won
+     */
+    public Player getWinner() {
+        return winnerId == -1 ? null : playersById[winnerId];
+    }
+
+    public int getVictoryPoints(int playerId) {
+        return points[playerId];
+    }
+
+    /**
+     * Get the player at a leaderboard position
+     * @param position 0 for the leader
+     */
+    public Player getPlayerAtRank(int position) {
+        return playersById[ranking[position]];
+    }
+
+    /**
+     * Get a player's leaderboard position, 0 for the leader
+     */
+    public int getRank(int playerId) {
+        return rankOf[playerId];
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+}
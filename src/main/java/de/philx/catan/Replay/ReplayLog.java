@@ -0,0 +1,176 @@
+package de.philx.catan.Replay;
+
+import de.philx.catan.Controllers.GameSnapshot;
+import de.philx.catan.GameField.BoardTopology;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Recording of a game as a stream of delta frames with periodic keyframes.
+ *
+ * Every appended snapshot becomes one frame. A keyframe is written for the first frame
+ * and whenever the turn counter enters a new block of {@code keyframeInterval} turns,
+ * so seeking to any turn applies one keyframe plus the deltas after it. The frames can
+ * be sent to spectators as they are recorded (see {@link #getFrame}).
+ *
+ * The log can be fed from {@code GameCommandPipeline.addSnapshotListener(log::append)}.
+ */
+public class ReplayLog {
+
+    private final StateDeltaEncoder encoder;
+    private final int keyframeInterval;
+
+    private final List<byte[]> frames;
+    private int[] frameTurns;
+    private int[] keyframeIndices;
+    private int keyframeCount;
+    private long totalBytes;
+
+    private GameSnapshot lastSnapshot;
+    private int turn;
+
+    /**
+     * @param topology The board of the recorded game
+     * @param keyframeInterval Number of turns between keyframes (at least 1)
+     */
+    public ReplayLog(BoardTopology topology, int keyframeInterval) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("Keyframe interval must be at least 1");
+        }
+        this.encoder = new StateDeltaEncoder(topology);
+        this.keyframeInterval = keyframeInterval;
+        this.frames = new ArrayList<>();
+        this.frameTurns = new int[64];
+        this.keyframeIndices = new int[8];
+    }
+
+    /**
+     * Record the next state of the game. A turn starts whenever the active player changes.
+     * @param snapshot The new state
+     * @return The encoded frame
+     */
+    public synchronized byte[] append(GameSnapshot snapshot) {
+        byte[] frame;
+        if (lastSnapshot == null) {
+            frame = encoder.encodeKeyframe(snapshot, turn);
+            addKeyframeIndex(frames.size());
+        } else {
+            int previousTurn = turn;
+            if (snapshot.getCurrentPlayerId() != lastSnapshot.getCurrentPlayerId()) {
+                turn++;
+            }
+            if (turn / keyframeInterval != previousTurn / keyframeInterval) {
+                frame = encoder.encodeKeyframe(snapshot, turn);
+                addKeyframeIndex(frames.size());
+            } else {
+                frame = encoder.encodeDelta(lastSnapshot, snapshot, turn);
+            }
+        }
+
+        if (frames.size() == frameTurns.length) {
+            frameTurns = Arrays.copyOf(frameTurns, frameTurns.length * 2);
+        }
+        frameTurns[frames.size()] = turn;
+        frames.add(frame);
+        totalBytes += frame.length;
+        lastSnapshot = snapshot;
+        return frame;
+    }
+
+    /**
+     * Bring a mirror to the last recorded state of a turn
+     * @param targetTurn The turn to show
+     * @param decoder Decoder of the mirror
+     * @return Number of frames applied
+     */
+    public synchronized int seek(int targetTurn, StateDeltaDecoder decoder) {
+        if (frames.isEmpty()) {
+            return 0;
+        }
+
+        int lastFrame = findLastFrameOfTurn(targetTurn);
+        int keyframe = findKeyframeAtOrBefore(lastFrame);
+        for (int i = keyframe; i <= lastFrame; i++) {
+            decoder.apply(frames.get(i));
+        }
+        return lastFrame - keyframe + 1;
+    }
+
+    public synchronized byte[] getFrame(int index) {
+        return frames.get(index);
+    }
+
+    public synchronized int getFrameCount() {
+        return frames.size();
+    }
+
+    public synchronized int getKeyframeCount() {
+        return keyframeCount;
+    }
+
+    /**
+     * Get the number of the turn currently being recorded
+     * @return Turn number (0 for the first turn)
+     */
+    public synchronized int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Get the size of all recorded frames
+     * @return Total encoded bytes
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    private void addKeyframeIndex(int frameIndex) {
+        if (keyframeCount == keyframeIndices.length) {
+            keyframeIndices = Arrays.copyOf(keyframeIndices, keyframeIndices.length * 2);
+        }
+        keyframeIndices[keyframeCount++] = frameIndex;
+    }
+
+    /**
+     * Binary search for the last frame whose turn is at most the target turn
+     */
+    private int findLastFrameOfTurn(int targetTurn) {
+        int low = 0;
+        int high = frames.size() - 1;
+        int result = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (frameTurns[mid] <= targetTurn) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Binary search for the last keyframe at or before a frame
+     */
+    private int findKeyframeAtOrBefore(int frameIndex) {
+        int low = 0;
+        int high = keyframeCount - 1;
+        int result = keyframeIndices[0];
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keyframeIndices[mid] <= frameIndex) {
+                result = keyframeIndices[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+}
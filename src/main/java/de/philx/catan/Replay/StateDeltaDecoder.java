@@ -0,0 +1,238 @@
+package de.philx.catan.Replay;
+
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Controllers.GameSnapshot;
+import de.philx.catan.GameField.Edge;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.GameField.TerrainType;
+import de.philx.catan.GamePieces.City;
+import de.philx.catan.GamePieces.Settlement;
+import de.philx.catan.GamePieces.Street;
+import de.philx.catan.Players.Player;
+import de.philx.catan.Players.PlayerManager;
+
+/**
+ * Applies frames produced by {@link StateDeltaEncoder} to a local mirror game.
+ *
+ * The mirror is an ordinary {@link GameController} (e.g. the one behind a spectator
+ * screen). Changes are applied through the piece setters of {@link Node}, {@link Edge}
+ * and {@link Player}, so only the pieces named in a frame are touched.
+ */
+public class StateDeltaDecoder {
+
+    private static final Player.ResourceType[] RESOURCES = Player.ResourceType.values();
+    private static final TerrainType[] TERRAINS = TerrainType.values();
+
+    private final GameController mirror;
+    private byte[] frame;
+    private int position;
+    private int turn;
+
+    /**
+     * @param mirror The game that receives the decoded state. If it has no players yet,
+     *               they are created from the first keyframe.
+     */
+    public StateDeltaDecoder(GameController mirror) {
+        this.mirror = mirror;
+        this.turn = -1;
+    }
+
+    /**
+     * Apply one frame to the mirror
+     * @param frame A keyframe, or the delta following the last applied frame
+     * @return The turn number of the frame
+     * @throws IllegalArgumentException if the frame type is unknown
+     */
+    public int apply(byte[] frame) {
+        this.frame = frame;
+        this.position = 0;
+
+        int frameType = readByte();
+        turn = readByte() << 8 | readByte();
+        int mask = readByte();
+
+        if (frameType == StateDeltaEncoder.FRAME_KEYFRAME) {
+            applyKeyframeHeader();
+        } else if (frameType != StateDeltaEncoder.FRAME_DELTA) {
+            throw new IllegalArgumentException("Unknown frame type: " + frameType);
+        }
+
+        GameField gameField = mirror.getGameField();
+        PlayerManager playerManager = mirror.getPlayerManager();
+
+        if ((mask & StateDeltaEncoder.SECTION_NODES) != 0) {
+            int count = readShort();
+            for (int i = 0; i < count; i++) {
+                Node node = gameField.getNode(readVarInt());
+                int packed = readByte();
+                int owner = (packed & 0xF) - 1;
+                switch (packed >>> 4) {
+                    case GameSnapshot.SETTLEMENT:
+                        node.setBuilding(new Settlement(owner, colorCode(owner)));
+                        break;
+                    case GameSnapshot.CITY:
+                        node.setBuilding(new City(owner, colorCode(owner)));
+                        break;
+                    default:
+                        node.setBuilding(null);
+                        break;
+                }
+            }
+        }
+        if ((mask & StateDeltaEncoder.SECTION_NODES) != 0 || frameType == StateDeltaEncoder.FRAME_KEYFRAME) {
+            mirror.updateTradeRatios();
+        }
+
+        if ((mask & StateDeltaEncoder.SECTION_EDGES) != 0) {
+            int count = readShort();
+            for (int i = 0; i < count; i++) {
+                Edge edge = gameField.getEdge(readVarInt());
+                int owner = readByte() - 1;
+                edge.setRoad(owner == -1 ? null : new Street(owner, colorCode(owner)));
+            }
+        }
+
+        if ((mask & StateDeltaEncoder.SECTION_ROBBER) != 0) {
+            gameField.moveRobber(readVarInt() - 1);
+        }
+
+        if ((mask & StateDeltaEncoder.SECTION_RESOURCES) != 0) {
+            int count = readShort();
+            for (int i = 0; i < count; i++) {
+                Player player = playerManager.getPlayerById(readByte());
+                int resourceMask = readByte();
+                for (Player.ResourceType type : RESOURCES) {
+                    if ((resourceMask & 1 << type.ordinal()) != 0) {
+                        int delta = readZigZag();
+                        if (delta > 0) {
+                            player.addResource(type, delta);
+                        } else {
+                            player.removeResource(type, -delta);
+                        }
+                    }
+                }
+            }
+        }
+
+        if ((mask & StateDeltaEncoder.SECTION_PIECES) != 0) {
+            int count = readShort();
+            for (int i = 0; i < count; i++) {
+                Player player = playerManager.getPlayerById(readByte());
+                int roads = readByte();
+                int settlements = readByte();
+                int cities = readByte();
+                int victoryPoints = readByte();
+                player.restorePieces(roads, settlements, cities, victoryPoints);
+                player.setLongestRoadLength(readByte());
+            }
+        }
+
+        if ((mask & StateDeltaEncoder.SECTION_TURN) != 0) {
+            int currentPlayerId = readByte() - 1;
+            int diceRoll = readByte();
+            int flags = readByte();
+            int longestRoadPlayerId = readByte() - 1;
+            int rolledMask = readByte();
+
+            Player longestRoadPlayer = playerManager.getPlayerById(longestRoadPlayerId);
+            playerManager.restoreTurnState(Math.max(currentPlayerId, 0),
+                (flags & StateDeltaEncoder.FLAG_SETUP_PHASE) != 0,
+                (flags & StateDeltaEncoder.FLAG_SETUP_ROUND_TWO) != 0 ? 2 : 1,
+                longestRoadPlayerId,
+                longestRoadPlayer != null ? longestRoadPlayer.getLongestRoadLength() : 0);
+            for (Player player : playerManager.getAllPlayers()) {
+                player.setHasRolledDice((rolledMask & 1 << player.getPlayerId()) != 0);
+            }
+            mirror.restoreTurnState(diceRoll, (flags & StateDeltaEncoder.FLAG_ROBBER_PENDING) != 0);
+        }
+
+        return turn;
+    }
+
+    /**
+     * Get the turn of the last applied frame
+     * @return Turn number, or -1 if nothing was applied yet
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    public GameController getMirror() {
+        return mirror;
+    }
+
+    /**
+     * Read the board layout and player list of a keyframe and clear the mirror,
+     * so the following sections describe the complete state
+     */
+    private void applyKeyframeHeader() {
+        GameField gameField = mirror.getGameField();
+        PlayerManager playerManager = mirror.getPlayerManager();
+
+        int hexagonCount = readVarInt();
+        TerrainType[] terrainTypes = new TerrainType[hexagonCount];
+        int[] diceNumbers = new int[hexagonCount];
+        for (int i = 0; i < hexagonCount; i++) {
+            terrainTypes[i] = TERRAINS[readByte()];
+            diceNumbers[i] = readByte();
+        }
+        gameField.applyBoardLayout(terrainTypes, diceNumbers);
+
+        int playerCount = readByte();
+        Player.PlayerColor[] colors = new Player.PlayerColor[playerCount];
+        for (int p = 0; p < playerCount; p++) {
+            colors[p] = Player.PlayerColor.values()[readByte()];
+        }
+        if (playerManager.getPlayerCount() == 0) {
+            for (int p = 0; p < playerCount; p++) {
+                playerManager.addPlayer("Spieler " + (p + 1), colors[p]);
+            }
+            playerManager.startGame();
+        }
+
+        for (Node node : gameField.getNodes()) {
+            node.setBuilding(null);
+        }
+        for (Edge edge : gameField.getEdges()) {
+            edge.setRoad(null);
+        }
+        for (Player player : playerManager.getAllPlayers()) {
+            for (Player.ResourceType type : RESOURCES) {
+                player.removeResource(type, player.getResourceAmount(type));
+            }
+        }
+    }
+
+    private char colorCode(int playerId) {
+        Player player = mirror.getPlayerManager().getPlayerById(playerId);
+        return player != null ? player.getColorDisplayName().charAt(0) : '?';
+    }
+
+    // === Low level reading ===
+
+    private int readByte() {
+        return frame[position++] & 0xFF;
+    }
+
+    private int readShort() {
+        return readByte() << 8 | readByte();
+    }
+
+    private int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private int readZigZag() {
+        int encoded = readVarInt();
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+}
@@ -0,0 +1,284 @@
+package de.philx.catan.Replay;
+
+import de.philx.catan.Controllers.GameSnapshot;
+import de.philx.catan.GameField.BoardTopology;
+import de.philx.catan.Players.Player.ResourceType;
+import java.util.Arrays;
+
+/**
+ * Encodes the difference between two consecutive {@link GameSnapshot}s as a compact binary frame.
+ *
+ * Frame layout:
+ * <pre>
+ * [u8 frame type][u16 turn][u8 section mask][sections...]
+ *
+ * KEYFRAME only:  [varint hexagon count][per hexagon: u8 terrain, u8 dice]
+ *                 [u8 player count][per player: u8 color]
+ * NODES:          [u16 count][per node: varint id, u8 (type << 4 | owner + 1)]
+ * EDGES:          [u16 count][per edge: varint id, u8 owner + 1]
+ * ROBBER:         [varint hexagon + 1]
+ * RESOURCES:      [u16 count][per player: u8 id, u8 resource mask, zigzag varint delta per set bit]
+ * PIECES:         [u16 count][per player: u8 id, u8 roads, u8 settlements, u8 cities, u8 victory points, u8 road length]
+ * TURN:           [u8 player + 1][u8 dice][u8 flags][u8 longest road player + 1][u8 rolled mask]
+ * </pre>
+ * A keyframe is a delta against an empty board and carries the board layout, so it can
+ * be applied to any mirror. Sections that did not change are omitted.
+ */
+public class StateDeltaEncoder {
+
+    // === Frame types ===
+
+    public static final byte FRAME_DELTA = 1;
+    public static final byte FRAME_KEYFRAME = 2;
+
+    // === Section bits ===
+
+    public static final int SECTION_NODES = 1;
+    public static final int SECTION_EDGES = 1 << 1;
+    public static final int SECTION_ROBBER = 1 << 2;
+    public static final int SECTION_RESOURCES = 1 << 3;
+    public static final int SECTION_PIECES = 1 << 4;
+    public static final int SECTION_TURN = 1 << 5;
+
+    // === Turn flags ===
+
+    public static final int FLAG_SETUP_PHASE = 1;
+    public static final int FLAG_SETUP_ROUND_TWO = 1 << 1;
+    public static final int FLAG_ROBBER_PENDING = 1 << 2;
+
+    private static final ResourceType[] RESOURCES = ResourceType.values();
+
+    private final BoardTopology topology;
+    private byte[] buffer;
+    private int position;
+
+    /**
+     * @param topology The board of the encoded game, written into keyframes
+     */
+    public StateDeltaEncoder(BoardTopology topology) {
+        this.topology = topology;
+        this.buffer = new byte[512];
+    }
+
+    /**
+     * Encode a full state that can be applied without any previous frame
+     * @param snapshot The state to encode
+     * @param turn Turn number of the state
+     * @return The keyframe
+     */
+    public byte[] encodeKeyframe(GameSnapshot snapshot, int turn) {
+        return encode(null, snapshot, turn);
+    }
+
+    /**
+     * Encode the changes between two states
+     * @param previous The state the receiver already has
+     * @param next The new state
+     * @param turn Turn number of the new state
+     * @return The delta frame (4 bytes if nothing changed)
+     */
+    public byte[] encodeDelta(GameSnapshot previous, GameSnapshot next, int turn) {
+        return encode(previous, next, turn);
+    }
+
+    private byte[] encode(GameSnapshot previous, GameSnapshot next, int turn) {
+        position = 0;
+        boolean keyframe = previous == null;
+        writeByte(keyframe ? FRAME_KEYFRAME : FRAME_DELTA);
+        writeByte(turn >>> 8);
+        writeByte(turn);
+        int maskPosition = position;
+        writeByte(0);
+        int mask = 0;
+
+        if (keyframe) {
+            writeVarInt(topology.getHexagonCount());
+            for (int i = 0; i < topology.getHexagonCount(); i++) {
+                writeByte(topology.getTerrainType(i).ordinal());
+                writeByte(topology.getDiceNumber(i));
+            }
+            writeByte(next.getPlayerCount());
+            for (int p = 0; p < next.getPlayerCount(); p++) {
+                writeByte(next.getPlayerColor(p).ordinal());
+            }
+        }
+
+        if (writeNodes(previous, next)) mask |= SECTION_NODES;
+        if (writeEdges(previous, next)) mask |= SECTION_EDGES;
+
+        if (keyframe || previous.getRobberPosition() != next.getRobberPosition()) {
+            writeVarInt(next.getRobberPosition() + 1);
+            mask |= SECTION_ROBBER;
+        }
+
+        if (writeResources(previous, next)) mask |= SECTION_RESOURCES;
+        if (writePieces(previous, next)) mask |= SECTION_PIECES;
+
+        if (keyframe || turnChanged(previous, next)) {
+            writeByte(next.getCurrentPlayerId() + 1);
+            writeByte(next.getLastDiceRoll());
+            writeByte(turnFlags(next));
+            writeByte(next.getLongestRoadPlayerId() + 1);
+            writeByte(rolledMask(next));
+            mask |= SECTION_TURN;
+        }
+
+        buffer[maskPosition] = (byte) mask;
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private boolean writeNodes(GameSnapshot previous, GameSnapshot next) {
+        int countPosition = beginSection();
+        int count = 0;
+        for (int i = 0; i < next.getNodeCount(); i++) {
+            byte type = next.getBuildingType(i);
+            int owner = next.getBuildingOwner(i);
+            boolean changed = previous == null
+                ? type != GameSnapshot.EMPTY
+                : type != previous.getBuildingType(i) || owner != previous.getBuildingOwner(i);
+            if (changed) {
+                writeVarInt(i);
+                writeByte(type << 4 | (owner + 1));
+                count++;
+            }
+        }
+        return finishSection(countPosition, count);
+    }
+
+    private boolean writeEdges(GameSnapshot previous, GameSnapshot next) {
+        int countPosition = beginSection();
+        int count = 0;
+        for (int i = 0; i < next.getEdgeCount(); i++) {
+            int owner = next.getRoadOwner(i);
+            if (previous == null ? owner != -1 : owner != previous.getRoadOwner(i)) {
+                writeVarInt(i);
+                writeByte(owner + 1);
+                count++;
+            }
+        }
+        return finishSection(countPosition, count);
+    }
+
+    private boolean writeResources(GameSnapshot previous, GameSnapshot next) {
+        int countPosition = beginSection();
+        int count = 0;
+        for (int p = 0; p < next.getPlayerCount(); p++) {
+            int resourceMask = 0;
+            for (ResourceType type : RESOURCES) {
+                if (resourceDelta(previous, next, p, type) != 0) {
+                    resourceMask |= 1 << type.ordinal();
+                }
+            }
+            if (resourceMask != 0) {
+                writeByte(p);
+                writeByte(resourceMask);
+                for (ResourceType type : RESOURCES) {
+                    if ((resourceMask & 1 << type.ordinal()) != 0) {
+                        writeZigZag(resourceDelta(previous, next, p, type));
+                    }
+                }
+                count++;
+            }
+        }
+        return finishSection(countPosition, count);
+    }
+
+    private boolean writePieces(GameSnapshot previous, GameSnapshot next) {
+        int countPosition = beginSection();
+        int count = 0;
+        for (int p = 0; p < next.getPlayerCount(); p++) {
+            boolean changed = previous == null
+                || previous.getAvailableRoads(p) != next.getAvailableRoads(p)
+                || previous.getAvailableSettlements(p) != next.getAvailableSettlements(p)
+                || previous.getAvailableCities(p) != next.getAvailableCities(p)
+                || previous.getVictoryPoints(p) != next.getVictoryPoints(p)
+                || previous.getLongestRoadLength(p) != next.getLongestRoadLength(p);
+            if (changed) {
+                writeByte(p);
+                writeByte(next.getAvailableRoads(p));
+                writeByte(next.getAvailableSettlements(p));
+                writeByte(next.getAvailableCities(p));
+                writeByte(next.getVictoryPoints(p));
+                writeByte(next.getLongestRoadLength(p));
+                count++;
+            }
+        }
+        return finishSection(countPosition, count);
+    }
+
+    /**
+     * Reserve the u16 element count of a section
+     * @return Position of the count
+     */
+    private int beginSection() {
+        int countPosition = position;
+        writeByte(0);
+        writeByte(0);
+        return countPosition;
+    }
+
+    /**
+     * Drop an empty section again, or patch its element count
+     */
+    private boolean finishSection(int countPosition, int count) {
+        if (count == 0) {
+            position = countPosition;
+            return false;
+        }
+        buffer[countPosition] = (byte) (count >>> 8);
+        buffer[countPosition + 1] = (byte) count;
+        return true;
+    }
+
+    private static int resourceDelta(GameSnapshot previous, GameSnapshot next, int playerId, ResourceType type) {
+        int before = previous == null ? 0 : previous.getResourceAmount(playerId, type);
+        return next.getResourceAmount(playerId, type) - before;
+    }
+
+    private static boolean turnChanged(GameSnapshot previous, GameSnapshot next) {
+        return previous.getCurrentPlayerId() != next.getCurrentPlayerId()
+            || previous.getLastDiceRoll() != next.getLastDiceRoll()
+            || turnFlags(previous) != turnFlags(next)
+            || previous.getLongestRoadPlayerId() != next.getLongestRoadPlayerId()
+            || rolledMask(previous) != rolledMask(next);
+    }
+
+    private static int turnFlags(GameSnapshot snapshot) {
+        int flags = 0;
+        if (snapshot.isSetupPhase()) flags |= FLAG_SETUP_PHASE;
+        if (snapshot.getSetupRound() == 2) flags |= FLAG_SETUP_ROUND_TWO;
+        if (snapshot.isWaitingForRobberPlacement()) flags |= FLAG_ROBBER_PENDING;
+        return flags;
+    }
+
+    private static int rolledMask(GameSnapshot snapshot) {
+        int mask = 0;
+        for (int p = 0; p < snapshot.getPlayerCount(); p++) {
+            if (snapshot.hasRolledDice(p)) {
+                mask |= 1 << p;
+            }
+        }
+        return mask;
+    }
+
+    // === Low level writing ===
+
+    private void writeByte(int value) {
+        if (position == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    private void writeZigZag(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+}
@@ -1,46 +1,92 @@
 package de.philx.catan.Screens;
 
+import de.philx.catan.Analysis.GamePosition;
+import de.philx.catan.Analysis.PlacementHints;
+import de.philx.catan.Components.BoardCanvas;
+import de.philx.catan.Components.CulledBoardView;
 import de.philx.catan.Components.GameLegend;
 import de.philx.catan.Components.HorizontalActionPanel;
 import de.philx.catan.Components.PlayerInterface;
 import de.philx.catan.Controllers.BuildMode;
 import de.philx.catan.Controllers.GameController;
-import de.philx.catan.GameField.Edge;
-import de.philx.catan.GameField.GameField;
-import de.philx.catan.GameField.Node;
+import de.philx.catan.Controllers.GamePreloader;
+import de.philx.catan.GameField.BoardPickIndex;
+import de.philx.catan.Metrics.LatencyHistogram;
+import de.philx.catan.Metrics.MetricsRegistry;
+import de.philx.catan.Players.Player;
 import de.philx.catan.Utils.ActionPanelHandler;
+import de.philx.catan.Utils.BackgroundComputeService;
+import de.philx.catan.Utils.Disposable;
+import de.philx.catan.Utils.Disposer;
+import de.philx.catan.Utils.GameSettings;
 import de.philx.catan.Utils.ThemeManager;
 import javafx.animation.FadeTransition;
 import javafx.geometry.Insets;
+import javafx.geometry.Bounds;
 import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Group;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import javafx.scene.transform.Scale;
 import javafx.util.Duration;
 
-public class GameScreen extends VBox implements ActionPanelHandler {
+public class GameScreen extends VBox implements ActionPanelHandler, Disposable {
+
+    private static final LatencyHistogram REFRESH_LATENCY = MetricsRegistry.getInstance().histogram("screen.refreshGameField");
+    private static final double NODE_PICK_TOLERANCE = 15; // pixels
+    private static final double EDGE_PICK_TOLERANCE = 10; // pixels
+    private static final double MIN_ZOOM = 0.4;
+    private static final double MAX_ZOOM = 3.0;
+    private static final double ZOOM_STEP = 1.1;
+    private static final String PLACEMENT_HINTS_KEY = "placementHints";
 
     private final GameController gameController;
-    private Group gameFieldGroup;
+    private final Disposer disposer = new Disposer();
+    private Parent gameFieldView;
+    private BoardCanvas boardCanvas;
+    private CulledBoardView boardView;
+    
+    // View transform of the board: zoomGroup scales the board view, scrollContent is centered
+    private final Group zoomGroup = new Group();
+    private final Group scrollContent = new Group(zoomGroup);
+    private final Scale zoomScale = new Scale(1, 1, 0, 0);
     private final PlayerInterface playerInterface;
     private final GameLegend gameLegend;
     private final HorizontalActionPanel actionPanel;
     private HBox mainContentArea;
     private VBox gameAreaContainer;
     private ScrollPane gameFieldScrollPane;
+    private Label placementHintLabel;
+    private BoardPickIndex pickIndex;
 
     public GameScreen(int width, int height, Runnable onReturnToMenu) {
-        this.gameController = new GameController();
-        // Start the test game to initialize players
-        this.gameController.startTestGame();
+        this(width, height, onReturnToMenu, GamePreloader.newTestGame());
+    }
+    
+    /**
+     * Create the screen for a game that was already built, e.g. by a {@link GamePreloader}
+     * @param width Screen width
+     * @param height Screen height
+     * @param onReturnToMenu Called when the player leaves the game
+     * @param gameController The game to show; its players must be set up
+     */
+    public GameScreen(int width, int height, Runnable onReturnToMenu, GameController gameController) {
+        this.gameController = gameController;
         // Initialize with visual elements for nodes and edges
-        this.gameFieldGroup = gameController.getGameField().toGroup(false, null);
-        this.playerInterface = new PlayerInterface(gameController, onReturnToMenu, this::refreshGameFieldDisplay, this);
+        this.gameFieldView = createGameFieldView(false, null);
+        this.playerInterface = disposer.add(new PlayerInterface(gameController, onReturnToMenu, this::refreshGameFieldDisplay, this));
         this.gameLegend = new GameLegend();
-        this.actionPanel = new HorizontalActionPanel(gameController, this::refreshGameFieldDisplay);
+        this.actionPanel = disposer.add(new HorizontalActionPanel(gameController, this::refreshGameFieldDisplay));
         
         this.setPrefSize(width, height);
         this.setSpacing(10);
@@ -48,19 +94,18 @@ public class GameScreen extends VBox implements ActionPanelHandler {
         
         setupLayout();
         setupGameFieldInteraction();
-        applyTheme();
         setupAnimations();
         
         // Apply current theme when screen is created
         this.sceneProperty().addListener((obs, oldScene, newScene) -> {
             if (newScene != null) {
                 ThemeManager.getInstance().applyTheme(newScene);
-                applyTheme();
+                registerUndoShortcuts(newScene);
+                registerZoomShortcuts(newScene);
             }
         });
         
-        // Register for theme changes
-        ThemeManager.getInstance().addThemeChangeListener(this::applyTheme);
+        disposer.onDispose(() -> BackgroundComputeService.getInstance().cancel(PLACEMENT_HINTS_KEY));
     }
     
     private void setupLayout() {
@@ -75,10 +120,13 @@ public class GameScreen extends VBox implements ActionPanelHandler {
         // Center: Game Field with scroll support
         gameAreaContainer = new VBox(10);
         gameAreaContainer.setAlignment(Pos.CENTER);
+        gameAreaContainer.getStyleClass().add("card");
         
         // Create scrollable game field with centering
         gameFieldScrollPane = new ScrollPane();
-        gameFieldScrollPane.setContent(gameFieldGroup);
+        zoomGroup.getTransforms().add(zoomScale);
+        zoomGroup.getChildren().setAll(gameFieldView);
+        gameFieldScrollPane.setContent(scrollContent);
         gameFieldScrollPane.setFitToWidth(false);  // Don't fit to width to maintain aspect ratio
         gameFieldScrollPane.setFitToHeight(false); // Don't fit to height to maintain aspect ratio
         gameFieldScrollPane.setPannable(true);
@@ -86,17 +134,40 @@ public class GameScreen extends VBox implements ActionPanelHandler {
         gameFieldScrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
         gameFieldScrollPane.setStyle("-fx-background: transparent; -fx-background-color: transparent;");
         
+        // Ctrl + mouse wheel zooms the board instead of scrolling
+        gameFieldScrollPane.addEventFilter(ScrollEvent.SCROLL, event -> {
+            if (event.isShortcutDown() && event.getDeltaY() != 0) {
+                setZoom(zoomScale.getX() * (event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP));
+                event.consume();
+            }
+        });
+        
+        // Keep the culled renderer informed about the visible part of the board
+        gameFieldScrollPane.hvalueProperty().addListener((obs, oldValue, newValue) -> updateVisibleRegion());
+        gameFieldScrollPane.vvalueProperty().addListener((obs, oldValue, newValue) -> updateVisibleRegion());
+        gameFieldScrollPane.viewportBoundsProperty().addListener((obs, oldBounds, newBounds) -> updateVisibleRegion());
+        zoomScale.xProperty().addListener((obs, oldValue, newValue) -> updateVisibleRegion());
+        
         // Setup centering for the game field
         setupGameFieldCentering();
         
         // Apply initial centering when the scene is ready
         gameFieldScrollPane.sceneProperty().addListener((obs, oldScene, newScene) -> {
             if (newScene != null) {
-                javafx.application.Platform.runLater(this::centerGameField);
+                javafx.application.Platform.runLater(() -> {
+                    centerGameField();
+                    updateVisibleRegion();
+                });
             }
         });
         
-        gameAreaContainer.getChildren().add(gameFieldScrollPane);
+        // Hint line below the board, filled by the background placement analysis
+        placementHintLabel = new Label();
+        placementHintLabel.getStyleClass().add("placement-hint");
+        placementHintLabel.setVisible(false);
+        placementHintLabel.setManaged(false);
+        
+        gameAreaContainer.getChildren().addAll(gameFieldScrollPane, placementHintLabel);
         VBox.setVgrow(gameFieldScrollPane, Priority.ALWAYS);
         
         // Right side: Game Legend
@@ -115,19 +186,19 @@ public class GameScreen extends VBox implements ActionPanelHandler {
     
     private void setupGameFieldInteraction() {
         // Add click handler for building placement and robber placement
-        gameFieldGroup.setOnMouseClicked(this::handleGameFieldClick);
+        gameFieldView.setOnMouseClicked(this::handleGameFieldClick);
         
         // Add hover effects
-        gameFieldGroup.setOnMouseEntered(e -> {
+        gameFieldView.setOnMouseEntered(e -> {
             if (gameController.isWaitingForRobberPlacement()) {
-                gameFieldGroup.setStyle("-fx-cursor: hand;");
+                gameFieldView.setStyle("-fx-cursor: hand;");
             } else if (gameController.isBuildingModeActive() || gameController.getPlayerManager().isSetupPhase()) {
-                gameFieldGroup.setStyle("-fx-cursor: crosshair;");
+                gameFieldView.setStyle("-fx-cursor: crosshair;");
             }
         });
         
-        gameFieldGroup.setOnMouseExited(e -> {
-            gameFieldGroup.setStyle("-fx-cursor: default;");
+        gameFieldView.setOnMouseExited(e -> {
+            gameFieldView.setStyle("-fx-cursor: default;");
         });
     }
     
@@ -139,19 +210,6 @@ public class GameScreen extends VBox implements ActionPanelHandler {
         fadeIn.play();
     }
     
-    private void applyTheme() {
-        ThemeManager themeManager = ThemeManager.getInstance();
-        
-        // Apply background styling
-        this.setStyle(String.format("""
-            -fx-background-color: %s;
-            """, themeManager.getBackgroundColor()));
-        
-        // Style the game area container
-        gameAreaContainer.setStyle(themeManager.getCardStyle() + " -fx-alignment: center;");
-    }
-    
-    
     /**
      * Handle clicks on the game field
      * @param event The mouse click event
@@ -180,19 +238,9 @@ public class GameScreen extends VBox implements ActionPanelHandler {
      * Handle robber placement clicks
      */
     private void handleRobberPlacement(MouseEvent event) {
-        double clickX = event.getX();
-        double clickY = event.getY();
-        
-        GameField gameField = gameController.getGameField();
-        for (int i = 0; i < gameField.getHexagons().length; i++) {
-            var hex = gameField.getHexagon(i);
-            if (hex != null && isPointInHexagon(clickX, clickY, hex.getCenterX(), hex.getCenterY(), hex.getRadius())) {
-                boolean moved = gameController.moveRobber(i);
-                if (moved) {
-                    refreshGameFieldDisplay();
-                }
-                break;
-            }
+        int hexagonId = getPickIndex().pickHexagon(event.getX(), event.getY());
+        if (hexagonId >= 0 && gameController.moveRobber(hexagonId)) {
+            refreshGameFieldDisplay();
         }
     }
     
@@ -240,26 +288,15 @@ public class GameScreen extends VBox implements ActionPanelHandler {
      * @return true if building was placed successfully
      */
     private boolean handleNodeBuilding(double clickX, double clickY, String buildingType) {
-        GameField gameField = gameController.getGameField();
-        
         // Find the closest node to the click
-        Node closestNode = null;
-        double closestDistance = Double.MAX_VALUE;
-        
-        for (Node node : gameField.getNodes()) {
-            double distance = Math.sqrt(Math.pow(clickX - node.getX(), 2) + Math.pow(clickY - node.getY(), 2));
-            if (distance < 15 && distance < closestDistance) { // 15 pixel tolerance
-                closestNode = node;
-                closestDistance = distance;
-            }
-        }
+        int closestNodeId = getPickIndex().pickNode(clickX, clickY);
         
-        if (closestNode != null) {
+        if (closestNodeId >= 0) {
             boolean success = false;
             if ("settlement".equals(buildingType)) {
-                success = gameController.buildSettlement(closestNode.getNodeId());
+                success = gameController.buildSettlement(closestNodeId);
             } else if ("city".equals(buildingType)) {
-                success = gameController.buildCity(closestNode.getNodeId());
+                success = gameController.buildCity(closestNodeId);
             }
             
             if (success) {
@@ -278,26 +315,11 @@ public class GameScreen extends VBox implements ActionPanelHandler {
      * @return true if building was placed successfully
      */
     private boolean handleEdgeBuilding(double clickX, double clickY) {
-        GameField gameField = gameController.getGameField();
-        
         // Find the closest edge to the click
-        Edge closestEdge = null;
-        double closestDistance = Double.MAX_VALUE;
-        
-        for (Edge edge : gameField.getEdges()) {
-            // Calculate distance to edge (line segment)
-            double distance = distanceToLineSegment(clickX, clickY, 
-                edge.getNode1().getX(), edge.getNode1().getY(),
-                edge.getNode2().getX(), edge.getNode2().getY());
-            
-            if (distance < 10 && distance < closestDistance) { // 10 pixel tolerance
-                closestEdge = edge;
-                closestDistance = distance;
-            }
-        }
+        int closestEdgeId = getPickIndex().pickEdge(clickX, clickY);
         
-        if (closestEdge != null) {
-            boolean success = gameController.buildRoad(closestEdge.getEdgeId());
+        if (closestEdgeId >= 0) {
+            boolean success = gameController.buildRoad(closestEdgeId);
             if (success) {
                 refreshGameFieldDisplay();
                 if (gameController.isBuildingModeActive()) {
@@ -310,60 +332,200 @@ public class GameScreen extends VBox implements ActionPanelHandler {
     }
     
     /**
-     * Calculate distance from a point to a line segment
+     * Get the spatial index for click positions, built on first use. Node positions
+     * never change during a game, so the index lives as long as the screen.
      */
-    private double distanceToLineSegment(double px, double py, double x1, double y1, double x2, double y2) {
-        double length = Math.sqrt(Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2));
-        if (length == 0) return Math.sqrt(Math.pow(px - x1, 2) + Math.pow(py - y1, 2));
-        
-        double t = Math.max(0, Math.min(1, ((px - x1) * (x2 - x1) + (py - y1) * (y2 - y1)) / (length * length)));
-        double projX = x1 + t * (x2 - x1);
-        double projY = y1 + t * (y2 - y1);
-        
-        return Math.sqrt(Math.pow(px - projX, 2) + Math.pow(py - projY, 2));
+    private BoardPickIndex getPickIndex() {
+        if (pickIndex == null) {
+            pickIndex = BoardPickIndex.of(gameController.getGameField(), NODE_PICK_TOLERANCE, EDGE_PICK_TOLERANCE);
+        }
+        return pickIndex;
+    }
+    
+    /**
+     * Register Ctrl+Plus / Ctrl+Minus (zoom) and Ctrl+0 (fit board into view) on the scene
+     * @param scene The scene this screen is shown in
+     */
+    private void registerZoomShortcuts(javafx.scene.Scene scene) {
+        Runnable zoomIn = () -> setZoom(zoomScale.getX() * ZOOM_STEP);
+        Runnable zoomOut = () -> setZoom(zoomScale.getX() / ZOOM_STEP);
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.PLUS, KeyCombination.SHORTCUT_DOWN), zoomIn);
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.ADD, KeyCombination.SHORTCUT_DOWN), zoomIn);
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.EQUALS, KeyCombination.SHORTCUT_DOWN), zoomIn);
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.MINUS, KeyCombination.SHORTCUT_DOWN), zoomOut);
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.SUBTRACT, KeyCombination.SHORTCUT_DOWN), zoomOut);
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.DIGIT0, KeyCombination.SHORTCUT_DOWN), this::zoomToFit);
+    }
+    
+    /**
+     * Scale the board view. Only the transform changes; the board and its
+     * shapes are not rebuilt.
+     * @param zoom New scale factor, limited to MIN_ZOOM..MAX_ZOOM
+     */
+    private void setZoom(double zoom) {
+        double clamped = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+        zoomScale.setX(clamped);
+        zoomScale.setY(clamped);
+        centerGameField();
+    }
+    
+    /**
+     * Choose the zoom at which the whole board fits into the viewport
+     */
+    private void zoomToFit() {
+        double boardWidth = gameFieldView.getBoundsInLocal().getWidth();
+        double boardHeight = gameFieldView.getBoundsInLocal().getHeight();
+        double viewportWidth = gameFieldScrollPane.getViewportBounds().getWidth();
+        double viewportHeight = gameFieldScrollPane.getViewportBounds().getHeight();
+        if (boardWidth > 0 && boardHeight > 0 && viewportWidth > 0 && viewportHeight > 0) {
+            setZoom(Math.min(viewportWidth / boardWidth, viewportHeight / boardHeight));
+        }
+    }
+    
+    /**
+     * Register Ctrl+Z (undo) and Ctrl+Y / Ctrl+Shift+Z (redo) on the scene
+     * @param scene The scene this screen is shown in
+     */
+    private void registerUndoShortcuts(javafx.scene.Scene scene) {
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN), () -> {
+            if (gameController.undo()) {
+                refreshGameFieldDisplay();
+            }
+        });
+        Runnable redo = () -> {
+            if (gameController.redo()) {
+                refreshGameFieldDisplay();
+            }
+        };
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN), redo);
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN), redo);
     }
     
     /**
      * Refresh the game field display to show updated state
      */
     private void refreshGameFieldDisplay() {
+        long start = MetricsRegistry.startTimer();
+        
         // Create new game field with updated state and building mode options
         boolean showPlacementOptions = gameController.isBuildingModeActive();
         BuildMode buildingMode = gameController.getCurrentBuildingMode();
         String buildingType = convertBuildModeToString(buildingMode);
         
-        gameFieldGroup = gameController.getGameField().toGroup(showPlacementOptions, buildingType);
-        setupGameFieldInteraction();
-        
-        // Update the scroll pane content
-        gameFieldScrollPane.setContent(gameFieldGroup);
+        Parent previousView = gameFieldView;
+        gameFieldView = createGameFieldView(showPlacementOptions, buildingType);
+        if (gameFieldView != previousView) {
+            setupGameFieldInteraction();
+            
+            // Update the scroll pane content
+            zoomGroup.getChildren().setAll(gameFieldView);
+        }
         
         // Apply centering immediately and set up listener for future changes
         centerGameField();
         setupGameFieldCentering();
+        updateVisibleRegion();
+        requestPlacementHints(showPlacementOptions ? buildingMode : null);
+        REFRESH_LATENCY.recordSince(start);
+    }
+    
+    /**
+     * Rank the valid positions of the current build mode in the background. A newer
+     * request replaces a running one, so rapid clicks never queue up work.
+     * @param buildMode The active build mode, or null to clear the hint
+     */
+    private void requestPlacementHints(BuildMode buildMode) {
+        BackgroundComputeService computeService = BackgroundComputeService.getInstance();
+        Player player = gameController.getCurrentPlayer();
+        if (buildMode == null || buildMode == BuildMode.SETUP_ROAD || player == null || gameController.isInSetupPhase()) {
+            computeService.cancel(PLACEMENT_HINTS_KEY);
+            showPlacementHints(null);
+            return;
+        }
+        
+        // The position is copied here on the UI thread; the worker only reads the copy
+        GamePosition position = GamePosition.of(gameController);
+        int playerId = player.getPlayerId();
+        computeService.submit(PLACEMENT_HINTS_KEY,
+            token -> PlacementHints.compute(position, playerId, buildMode, token),
+            this::showPlacementHints);
+    }
+    
+    /**
+     * Show the result of the placement analysis below the board
+     * @param hints The ranked positions, or null to hide the hint
+     */
+    private void showPlacementHints(PlacementHints hints) {
+        // Ignore results for a build mode that ended in the meantime
+        if (hints == null || !gameController.isBuildingModeActive() || gameController.getCurrentBuildingMode() != hints.getBuildMode()) {
+            placementHintLabel.setVisible(false);
+            placementHintLabel.setManaged(false);
+            return;
+        }
+        
+        if (hints.getCount() == 0) {
+            placementHintLabel.setText("💡 Keine gültige Position vorhanden.");
+        } else {
+            placementHintLabel.setText(String.format("💡 %d mögliche Positionen, die beste bringt Ø %.2f Karten pro Wurf.",
+                                                     hints.getCount(), hints.getBestValue()));
+        }
+        placementHintLabel.setVisible(true);
+        placementHintLabel.setManaged(true);
+    }
+    
+    /**
+     * Get the node showing the board in the renderer chosen in the settings. The canvas
+     * renderer is reused and only repaints what changed; the scene graph renderer is
+     * reused as well and rebuilds the shapes of the visible region.
+     */
+    private Parent createGameFieldView(boolean showPlacementOptions, String buildingType) {
+        if (GameSettings.getInstance().isCanvasRenderer()) {
+            if (boardCanvas == null) {
+                boardCanvas = new BoardCanvas(gameController.getGameField());
+            }
+            boardCanvas.refresh(showPlacementOptions, buildingType);
+            return boardCanvas;
+        }
+        if (boardView == null) {
+            boardView = new CulledBoardView(gameController.getGameField(), getPickIndex());
+        }
+        boardView.refresh(showPlacementOptions, buildingType);
+        return boardView;
+    }
+    
+    /**
+     * Pass the part of the board visible in the scroll pane to the culled renderer
+     */
+    private void updateVisibleRegion() {
+        if (boardView == null || gameFieldView != boardView || boardView.getScene() == null) {
+            return;
+        }
+        Bounds visible = boardView.sceneToLocal(gameFieldScrollPane.localToScene(gameFieldScrollPane.getLayoutBounds()));
+        boardView.setViewport(new Rectangle2D(visible.getMinX(), visible.getMinY(), visible.getWidth(), visible.getHeight()),
+                              zoomScale.getX());
     }
     
     /**
      * Center the game field within the scroll pane viewport
      */
     private void centerGameField() {
-        double contentWidth = gameFieldGroup.getBoundsInLocal().getWidth();
-        double contentHeight = gameFieldGroup.getBoundsInLocal().getHeight();
+        double contentWidth = scrollContent.getBoundsInLocal().getWidth();
+        double contentHeight = scrollContent.getBoundsInLocal().getHeight();
         double viewportWidth = gameFieldScrollPane.getViewportBounds().getWidth();
         double viewportHeight = gameFieldScrollPane.getViewportBounds().getHeight();
         
         // Center horizontally
         if (contentWidth < viewportWidth) {
-            gameFieldGroup.setTranslateX((viewportWidth - contentWidth) / 2);
+            scrollContent.setTranslateX((viewportWidth - contentWidth) / 2);
         } else {
-            gameFieldGroup.setTranslateX(0);
+            scrollContent.setTranslateX(0);
         }
         
         // Center vertically
         if (contentHeight < viewportHeight) {
-            gameFieldGroup.setTranslateY((viewportHeight - contentHeight) / 2);
+            scrollContent.setTranslateY((viewportHeight - contentHeight) / 2);
         } else {
-            gameFieldGroup.setTranslateY(0);
+            scrollContent.setTranslateY(0);
         }
     }
     
@@ -387,22 +549,6 @@ public class GameScreen extends VBox implements ActionPanelHandler {
         centerGameField();
     }
     
-    /**
-     * Check if a point is inside a hexagon
-     * @param clickX Click X coordinate
-     * @param clickY Click Y coordinate
-     * @param hexCenterX Hexagon center X
-     * @param hexCenterY Hexagon center Y
-     * @param hexRadius Hexagon radius
-     * @return true if point is inside the hexagon
-     */
-    private boolean isPointInHexagon(double clickX, double clickY, double hexCenterX, double hexCenterY, double hexRadius) {
-        double dx = clickX - hexCenterX;
-        double dy = clickY - hexCenterY;
-        double distance = Math.sqrt(dx * dx + dy * dy);
-        return distance <= hexRadius;
-    }
-    
     /**
      * Handle setup phase building clicks
      */
@@ -435,4 +581,17 @@ public class GameScreen extends VBox implements ActionPanelHandler {
     public void hideInterface() {
         actionPanel.hidePanel();
     }
+    
+    public PlayerInterface getPlayerInterface() {
+        return playerInterface;
+    }
+    
+    /**
+     * Release everything that keeps this game reachable after returning to the menu:
+     * theme listeners, the periodic updates of the side panel and background analysis
+     */
+    @Override
+    public void dispose() {
+        disposer.dispose();
+    }
 }
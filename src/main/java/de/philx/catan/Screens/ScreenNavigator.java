@@ -0,0 +1,58 @@
+package de.philx.catan.Screens;
+
+import de.philx.catan.Utils.Disposable;
+import de.philx.catan.Utils.ThemeManager;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+/**
+ * Switches the screens shown on a stage.
+ *
+ * Each screen gets a new scene with the current theme. The previous screen is disposed
+ * once it is no longer shown, so the old game or menu stops listening and can be
+ * garbage collected.
+ */
+public class ScreenNavigator {
+
+    private final Stage stage;
+    private Parent currentScreen;
+
+    public ScreenNavigator(Stage stage) {
+        this.stage = stage;
+    }
+
+    /**
+     * Show a screen in a new scene and dispose the previous screen
+     * @param root The screen to show
+     * @param width Scene width
+     * @param height Scene height
+     * @return The new scene
+     */
+    public Scene show(Parent root, double width, double height) {
+        Scene scene = new Scene(root, width, height);
+        ThemeManager.getInstance().applyTheme(scene);
+        stage.setScene(scene);
+
+        Parent previous = currentScreen;
+        currentScreen = root;
+        if (previous instanceof Disposable) {
+            ((Disposable) previous).dispose();
+        }
+        return scene;
+    }
+
+    /**
+     * Dispose the screen shown last, e.g. when the application stops
+     */
+    public void disposeCurrent() {
+        if (currentScreen instanceof Disposable) {
+            ((Disposable) currentScreen).dispose();
+        }
+        currentScreen = null;
+    }
+
+    public Parent getCurrentScreen() {
+        return currentScreen;
+    }
+}
@@ -1,5 +1,8 @@
 package de.philx.catan.Screens;
 
+import de.philx.catan.Utils.GameSettings;
+import de.philx.catan.Utils.Disposable;
+import de.philx.catan.Utils.Disposer;
 import de.philx.catan.Utils.StyledButton;
 import de.philx.catan.Utils.ThemeManager;
 import javafx.animation.FadeTransition;
@@ -15,30 +18,29 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.util.Duration;
 
-public class SettingsScreen extends StackPane {
+public class SettingsScreen extends StackPane implements Disposable {
 
     private VBox mainContainer;
     private VBox settingsContainer;
     private Label titleLabel;
     private ToggleButton themeToggle;
+    private ToggleButton canvasToggle;
+    private final Disposer disposer = new Disposer();
 
     public SettingsScreen(Runnable onClose) {
         setupLayout();
         setupTitle();
         setupSettings(onClose);
         setupAnimations();
-        applyTheme();
         
-        // Apply current theme when screen is created
+        // Colors follow the theme stylesheet through style classes
+        this.getStyleClass().add("screen");
+        mainContainer.getStyleClass().add("card");
         this.sceneProperty().addListener((obs, oldScene, newScene) -> {
             if (newScene != null) {
                 ThemeManager.getInstance().applyTheme(newScene);
-                applyTheme();
             }
         });
-        
-        // Register for theme changes
-        ThemeManager.getInstance().addThemeChangeListener(this::applyTheme);
     }
     
     private void setupLayout() {
@@ -81,12 +83,17 @@ public class SettingsScreen extends StackPane {
         // Theme Settings Section
         VBox themeSection = createThemeSection();
         
+        // Board Rendering Section
+        VBox renderingSection = createRenderingSection();
+        
         // Navigation Section
         VBox navigationSection = createNavigationSection(onClose);
         
         settingsContainer.getChildren().addAll(
             themeSection,
             createSeparator(),
+            renderingSection,
+            createSeparator(),
             navigationSection
         );
         
@@ -98,6 +105,7 @@ public class SettingsScreen extends StackPane {
         VBox section = new VBox(15);
         
         Label sectionTitle = new Label("🎨 Design & Erscheinungsbild");
+        sectionTitle.getStyleClass().add("card-title");
         sectionTitle.setFont(Font.font("Segoe UI", FontWeight.BOLD, 18));
         
         // Theme toggle
@@ -105,6 +113,7 @@ public class SettingsScreen extends StackPane {
         themeBox.setAlignment(Pos.CENTER_LEFT);
         
         Label themeLabel = new Label("Dunkler Modus:");
+        themeLabel.getStyleClass().add("primary-text");
         themeLabel.setFont(Font.font("Segoe UI", 14));
         themeLabel.setPrefWidth(150);
         
@@ -115,7 +124,6 @@ public class SettingsScreen extends StackPane {
         themeToggle.setOnAction(e -> {
             themeManager.toggleTheme();
             themeToggle.setText(themeManager.isDarkMode() ? "AN" : "AUS");
-            applyTheme();
         });
         
         // Style the toggle button
@@ -127,29 +135,71 @@ public class SettingsScreen extends StackPane {
         return section;
     }
     
+    private VBox createRenderingSection() {
+        GameSettings gameSettings = GameSettings.getInstance();
+        VBox section = new VBox(15);
+        
+        Label sectionTitle = new Label("🎮 Spielfeld");
+        sectionTitle.getStyleClass().add("card-title");
+        sectionTitle.setFont(Font.font("Segoe UI", FontWeight.BOLD, 18));
+        
+        // Renderer toggle
+        HBox rendererBox = new HBox(15);
+        rendererBox.setAlignment(Pos.CENTER_LEFT);
+        
+        Label rendererLabel = new Label("Canvas-Darstellung:");
+        rendererLabel.getStyleClass().add("primary-text");
+        rendererLabel.setFont(Font.font("Segoe UI", 14));
+        rendererLabel.setPrefWidth(150);
+        
+        canvasToggle = new ToggleButton();
+        canvasToggle.setText(gameSettings.isCanvasRenderer() ? "AN" : "AUS");
+        canvasToggle.setSelected(gameSettings.isCanvasRenderer());
+        canvasToggle.setPrefWidth(80);
+        canvasToggle.setOnAction(e -> {
+            gameSettings.setBoardRenderer(canvasToggle.isSelected()
+                ? GameSettings.BoardRenderer.CANVAS
+                : GameSettings.BoardRenderer.SCENE_GRAPH);
+            canvasToggle.setText(gameSettings.isCanvasRenderer() ? "AN" : "AUS");
+        });
+        
+        styleToggleButton(canvasToggle);
+        
+        Label rendererHint = new Label("Schneller auf leistungsschwachen Rechnern und großen Spielfeldern");
+        rendererHint.getStyleClass().add("secondary-text");
+        rendererHint.setFont(Font.font("Segoe UI", 12));
+        rendererHint.setWrapText(true);
+        
+        rendererBox.getChildren().addAll(rendererLabel, canvasToggle);
+        section.getChildren().addAll(sectionTitle, rendererBox, rendererHint);
+        
+        return section;
+    }
+    
     private VBox createNavigationSection(Runnable onClose) {
         VBox section = new VBox(15);
         
         Label sectionTitle = new Label("📋 Aktionen");
+        sectionTitle.getStyleClass().add("card-title");
         sectionTitle.setFont(Font.font("Segoe UI", FontWeight.BOLD, 18));
         
         HBox buttonBox = new HBox(15);
         buttonBox.setAlignment(Pos.CENTER);
         
-        StyledButton saveButton = new StyledButton("💾 Speichern", StyledButton.ButtonType.SUCCESS);
+        StyledButton saveButton = disposer.add(new StyledButton("💾 Speichern", StyledButton.ButtonType.SUCCESS));
         saveButton.setPrefWidth(200);
         saveButton.setOnAction(e -> {
             // Save settings (placeholder)
             System.out.println("Einstellungen gespeichert");
         });
         
-        StyledButton resetButton = new StyledButton("🔄 Zurücksetzen", StyledButton.ButtonType.WARNING);
+        StyledButton resetButton = disposer.add(new StyledButton("🔄 Zurücksetzen", StyledButton.ButtonType.WARNING));
         resetButton.setPrefWidth(150);
         resetButton.setOnAction(e -> {
             resetToDefaults();
         });
         
-        StyledButton backButton = new StyledButton("⬅ Zum Menü", StyledButton.ButtonType.PRIMARY);
+        StyledButton backButton = disposer.add(new StyledButton("⬅ Zum Menü", StyledButton.ButtonType.PRIMARY));
         backButton.setPrefWidth(180);
         backButton.setOnAction(e -> onClose.run());
         
@@ -160,33 +210,15 @@ public class SettingsScreen extends StackPane {
     }
     
     private void styleToggleButton(ToggleButton button) {
-        button.setStyle(ThemeManager.getInstance().getButtonStyle());
-        
-        button.selectedProperty().addListener((obs, wasSelected, isSelected) -> {
-            if (isSelected) {
-                button.setStyle(String.format("""
-                    -fx-background-color: %s;
-                    -fx-text-fill: white;
-                    -fx-border-color: %s;
-                    -fx-border-width: 1px;
-                    -fx-border-radius: 6px;
-                    -fx-background-radius: 6px;
-                    -fx-padding: 8px 16px;
-                    -fx-font-size: 12px;
-                    -fx-font-weight: 600;
-                    """, ThemeManager.SUCCESS_COLOR, ThemeManager.SUCCESS_COLOR));
-            } else {
-                button.setStyle(ThemeManager.getInstance().getButtonStyle());
-            }
-        });
+        // Shaped like the other buttons, green while switched on
+        button.getStyleClass().add("styled-button");
     }
     
     private Region createSeparator() {
         Region separator = new Region();
         separator.setPrefHeight(1);
         separator.setMaxHeight(1);
-        ThemeManager themeManager = ThemeManager.getInstance();
-        separator.setStyle("-fx-background-color: " + themeManager.getBorderColor() + "; -fx-opacity: 0.3;");
+        separator.getStyleClass().add("separator-line");
         return separator;
     }
     
@@ -201,8 +233,10 @@ public class SettingsScreen extends StackPane {
         themeToggle.setSelected(false);
         themeToggle.setText("AUS");
         
-        // Apply the theme changes
-        applyTheme();
+        // Reset board rendering to the scene graph (default)
+        GameSettings.getInstance().setBoardRenderer(GameSettings.BoardRenderer.SCENE_GRAPH);
+        canvasToggle.setSelected(false);
+        canvasToggle.setText("AUS");
         
         System.out.println("Einstellungen auf Standardwerte zurückgesetzt");
     }
@@ -222,52 +256,11 @@ public class SettingsScreen extends StackPane {
         slideIn.play();
     }
     
-    private void applyTheme() {
-        ThemeManager themeManager = ThemeManager.getInstance();
-        
-        // Apply card styling to main container
-        mainContainer.setStyle(themeManager.getCardStyle());
-        
-        // Apply background
-        if (themeManager.isDarkMode()) {
-            this.setStyle(String.format("""
-                -fx-background-color: linear-gradient(to bottom, %s, #0d1117);
-                """, themeManager.getBackgroundColor()));
-        } else {
-            this.setStyle(String.format("""
-                -fx-background-color: linear-gradient(to bottom, %s, #e9ecef);
-                """, themeManager.getBackgroundColor()));
-        }
-        
-        // Update all labels with appropriate colors
-        updateLabelsRecursively(settingsContainer);
-    }
-    
-    private void updateLabelsRecursively(javafx.scene.Parent parent) {
-        if (parent == null) return;
-        
-        ThemeManager themeManager = ThemeManager.getInstance();
-        String textColor = themeManager.getTextColor();
-        String secondaryTextColor = themeManager.getSecondaryTextColor();
-        
-        parent.getChildrenUnmodifiable().forEach(node -> {
-            if (node instanceof Label) {
-                Label label = (Label) node;
-                String text = label.getText();
-                
-                if (text.contains("🎨") || text.contains("🔊") || text.contains("🎮") || text.contains("📋")) {
-                    // Section headers
-                    label.setStyle("-fx-text-fill: " + ThemeManager.ACCENT_COLOR + ";");
-                } else if (text.endsWith(":") || text.endsWith("%")) {
-                    // Field labels and values
-                    label.setStyle("-fx-text-fill: " + textColor + ";");
-                } else {
-                    // Regular text
-                    label.setStyle("-fx-text-fill: " + secondaryTextColor + ";");
-                }
-            } else if (node instanceof javafx.scene.Parent) {
-                updateLabelsRecursively((javafx.scene.Parent) node);
-            }
-        });
+    /**
+     * Release the buttons; call when the screen is replaced
+     */
+    @Override
+    public void dispose() {
+        disposer.dispose();
     }
 }
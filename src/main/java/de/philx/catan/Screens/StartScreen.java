@@ -1,5 +1,7 @@
 package de.philx.catan.Screens;
 
+import de.philx.catan.Utils.Disposable;
+import de.philx.catan.Utils.Disposer;
 import de.philx.catan.Utils.StyledButton;
 import de.philx.catan.Utils.ThemeManager;
 import javafx.animation.FadeTransition;
@@ -17,31 +19,30 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.util.Duration;
 
-public class StartScreen extends StackPane {
+public class StartScreen extends StackPane implements Disposable {
 
     private VBox mainContainer;
     private VBox buttonContainer;
     private Label titleLine1;
     private Label titleLine2;
     private Label subtitleLabel;
+    private final Disposer disposer = new Disposer();
 
     public StartScreen(Runnable onStart, Runnable onSettings) {
         setupLayout();
         setupTitle();
         setupButtons(onStart, onSettings);
         setupAnimations();
-        applyTheme();
         
-        // Apply current theme when screen is created
+        // Colors follow the theme stylesheet through style classes
+        this.getStyleClass().add("screen");
+        mainContainer.getStyleClass().add("card");
+        subtitleLabel.getStyleClass().add("secondary-text");
         this.sceneProperty().addListener((obs, oldScene, newScene) -> {
             if (newScene != null) {
                 ThemeManager.getInstance().applyTheme(newScene);
-                applyTheme();
             }
         });
-        
-        // Register for theme changes
-        ThemeManager.getInstance().addThemeChangeListener(this::applyTheme);
     }
     
     private void setupLayout() {
@@ -104,9 +105,9 @@ public class StartScreen extends StackPane {
     
     private void setupButtons(Runnable onStart, Runnable onSettings) {
         // Create styled buttons
-        StyledButton startButton = new StyledButton("Neues Spiel starten", StyledButton.ButtonType.PRIMARY);
-        StyledButton settingsButton = new StyledButton("Einstellungen", StyledButton.ButtonType.SECONDARY);
-        StyledButton quitButton = new StyledButton("Spiel beenden", StyledButton.ButtonType.DANGER);
+        StyledButton startButton = disposer.add(new StyledButton("Neues Spiel starten", StyledButton.ButtonType.PRIMARY));
+        StyledButton settingsButton = disposer.add(new StyledButton("Einstellungen", StyledButton.ButtonType.SECONDARY));
+        StyledButton quitButton = disposer.add(new StyledButton("Spiel beenden", StyledButton.ButtonType.DANGER));
         
         // Make buttons uniform width
         startButton.setPrefWidth(280);
@@ -162,25 +163,11 @@ public class StartScreen extends StackPane {
         }
     }
     
-    private void applyTheme() {
-        ThemeManager themeManager = ThemeManager.getInstance();
-        
-        // Apply card styling to main container
-        mainContainer.setStyle(themeManager.getCardStyle());
-        
-        // Update subtitle color based on theme
-        subtitleLabel.setTextFill(Color.web(themeManager.getSecondaryTextColor()));
-        
-        // Apply background gradient
-        String backgroundColor = themeManager.getBackgroundColor();
-        if (themeManager.isDarkMode()) {
-            this.setStyle(String.format("""
-                -fx-background-color: linear-gradient(to bottom, %s, #0d1117);
-                """, backgroundColor));
-        } else {
-            this.setStyle(String.format("""
-                -fx-background-color: linear-gradient(to bottom, %s, #e9ecef);
-                """, backgroundColor));
-        }
+    /**
+     * Release the buttons; call when the screen is replaced
+     */
+    @Override
+    public void dispose() {
+        disposer.dispose();
     }
 }
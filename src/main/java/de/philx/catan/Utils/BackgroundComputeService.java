@@ -0,0 +1,306 @@
+package de.philx.catan.Utils;
+
+import de.philx.catan.Logging.GameLogger;
+import de.philx.catan.Logging.LogLevel;
+import de.philx.catan.Metrics.Counter;
+import de.philx.catan.Metrics.LatencyHistogram;
+import de.philx.catan.Metrics.MetricsRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+
+/**
+ * Runs expensive analysis work (placement hints, win estimates, longest road on large
+ * maps) away from the JavaFX application thread.
+ *
+ * Every request has a key. Submitting a new request with the same key cancels the old
+ * one, so only the answer to the latest question ever reaches the UI. Results are handed
+ * back in batches: however many computations finish at once, the UI thread receives a
+ * single {@code Platform.runLater} call that delivers the newest result per key.
+ *
+ * Computations must only read data they own, e.g. a forked
+ * {@link de.philx.catan.Analysis.GamePosition}, never the live game.
+ */
+public class BackgroundComputeService {
+
+    private static final GameLogger LOG = GameLogger.getInstance();
+
+    private static final LatencyHistogram TASK_LATENCY = MetricsRegistry.getInstance().histogram("compute.task");
+    private static final Counter SUBMITTED = MetricsRegistry.getInstance().counter("compute.submitted");
+    private static final Counter CANCELLED = MetricsRegistry.getInstance().counter("compute.cancelled");
+
+    private static BackgroundComputeService instance;
+
+    private final ExecutorService workers;
+    private final Executor delivery;
+    private final Map<String, Request<?>> activeRequests;
+
+    // Requests with results waiting for the UI thread, newest per key; guarded by itself
+    private final Map<String, Request<?>> pendingResults;
+    private boolean deliveryScheduled;
+
+    /**
+     * Create a service
+     * @param workers Executor running the computations
+     * @param delivery Executor handing results to their consumers (the UI thread in the application)
+     */
+    public BackgroundComputeService(ExecutorService workers, Executor delivery) {
+        this.workers = workers;
+        this.delivery = delivery;
+        this.activeRequests = new ConcurrentHashMap<>();
+        this.pendingResults = new LinkedHashMap<>();
+    }
+
+    /**
+     * Get the application-wide service, which runs every computation on its own virtual
+     * thread and delivers results on the JavaFX application thread
+     */
+    public static synchronized BackgroundComputeService getInstance() {
+        if (instance == null) {
+            instance = new BackgroundComputeService(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("catan-compute-", 0).factory()),
+                Platform::runLater);
+        }
+        return instance;
+    }
+
+    /**
+     * Start a computation, cancelling the previous one with the same key
+     * @param key Identifies the question being answered, e.g. "placementHints"
+     * @param computation The work; should check its token regularly
+     * @param onResult Receives the result on the delivery executor, unless cancelled first
+     * @return Token of the new request
+     */
+    public <T> Token submit(String key, Computation<T> computation, Consumer<T> onResult) {
+        return submitStreaming(key, (token, publish) -> publish.accept(computation.compute(token)), onResult);
+    }
+
+    /**
+     * Start a computation that publishes refined results while it runs, cancelling the
+     * previous one with the same key. If several results are published between two
+     * deliveries, only the newest reaches the consumer.
+     * @param key Identifies the question being answered, e.g. "winProbability"
+     * @param computation The work; publishes intermediate and final results
+     * @param onUpdate Receives results on the delivery executor, unless cancelled first
+     * @return Token of the new request
+     */
+    public <T> Token submitStreaming(String key, StreamingComputation<T> computation, Consumer<T> onUpdate) {
+        Request<T> request = new Request<>(key, computation, onUpdate);
+        Request<?> previous = activeRequests.put(key, request);
+        if (previous != null) {
+            previous.cancel();
+        }
+        SUBMITTED.increment();
+        request.future = workers.submit(() -> run(request));
+        if (request.token.isCancelled()) {
+            request.future.cancel(true);
+        }
+        return request.token;
+    }
+
+    /**
+     * Cancel the running request of a key, if any
+     * @param key The request key
+     */
+    public void cancel(String key) {
+        Request<?> request = activeRequests.remove(key);
+        if (request != null) {
+            request.cancel();
+        }
+    }
+
+    /**
+     * Cancel all running requests
+     */
+    public void cancelAll() {
+        for (String key : new ArrayList<>(activeRequests.keySet())) {
+            cancel(key);
+        }
+    }
+
+    /**
+     * Cancel everything and stop the worker threads
+     */
+    public void shutdown() {
+        cancelAll();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Get the number of requests that have not delivered their result yet
+     */
+    public int getActiveCount() {
+        return activeRequests.size();
+    }
+
+    // === Execution ===
+
+    private <T> void run(Request<T> request) {
+        long start = MetricsRegistry.startTimer();
+        try {
+            request.token.throwIfCancelled();
+            request.computation.compute(request.token, value -> publish(request, value));
+            TASK_LATENCY.recordSince(start);
+            complete(request);
+            return;
+        } catch (CancellationException e) {
+            // Superseded or cancelled, nothing to deliver
+        } catch (RuntimeException e) {
+            LOG.log(LogLevel.WARN, "CALC", "Hintergrundberechnung '{}' fehlgeschlagen: {}", request.key, e.getMessage());
+        }
+        activeRequests.remove(request.key, request);
+    }
+
+    /**
+     * Store a result for the UI thread, replacing one that was not delivered yet
+     */
+    private <T> void publish(Request<T> request, T value) {
+        request.token.throwIfCancelled();
+        synchronized (pendingResults) {
+            request.pendingValue = value;
+            request.hasPendingValue = true;
+            scheduleDelivery(request);
+        }
+    }
+
+    /**
+     * Mark a request as finished; it stays active until its last result is delivered
+     */
+    private void complete(Request<?> request) {
+        synchronized (pendingResults) {
+            request.completed = true;
+            scheduleDelivery(request);
+        }
+    }
+
+    /**
+     * Queue a request for the next delivery; schedules one delivery for all requests queued
+     * meanwhile. Must hold the pendingResults lock.
+     */
+    private void scheduleDelivery(Request<?> request) {
+        pendingResults.put(request.key, request);
+        if (!deliveryScheduled) {
+            deliveryScheduled = true;
+            delivery.execute(this::deliverPendingResults);
+        }
+    }
+
+    private void deliverPendingResults() {
+        List<Request<?>> batch;
+        synchronized (pendingResults) {
+            batch = new ArrayList<>(pendingResults.values());
+            pendingResults.clear();
+            deliveryScheduled = false;
+        }
+        for (Request<?> request : batch) {
+            deliver(request);
+        }
+    }
+
+    private <T> void deliver(Request<T> request) {
+        T value;
+        boolean hasValue;
+        boolean completed;
+        synchronized (pendingResults) {
+            value = request.pendingValue;
+            hasValue = request.hasPendingValue;
+            completed = request.completed;
+            request.pendingValue = null;
+            request.hasPendingValue = false;
+        }
+        if (completed) {
+            activeRequests.remove(request.key, request);
+        }
+        if (hasValue && !request.token.isCancelled()) {
+            request.onUpdate.accept(value);
+        }
+    }
+
+    /**
+     * Work running in the background
+     */
+    @FunctionalInterface
+    public interface Computation<T> {
+        /**
+         * @param token Tells whether the result is still wanted
+         * @return The result
+         * @throws CancellationException to stop early after the token was cancelled
+         */
+        T compute(Token token);
+    }
+
+    /**
+     * Work running in the background that refines its result step by step
+     */
+    @FunctionalInterface
+    public interface StreamingComputation<T> {
+        /**
+         * @param token Tells whether the results are still wanted
+         * @param publish Hands a result to the UI; throws {@link CancellationException} once cancelled
+         */
+        void compute(Token token, Consumer<T> publish);
+    }
+
+    /**
+     * Cancellation flag of one request
+     */
+    public static final class Token {
+        private volatile boolean cancelled;
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Stop the computation if its result is no longer wanted
+         * @throws CancellationException if the request was cancelled or its thread interrupted
+         */
+        public void throwIfCancelled() {
+            if (cancelled || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static final class Request<T> {
+        private final String key;
+        private final StreamingComputation<T> computation;
+        private final Consumer<T> onUpdate;
+        private final Token token;
+        private volatile Future<?> future;
+
+        // Result waiting for delivery; guarded by the pendingResults lock
+        private T pendingValue;
+        private boolean hasPendingValue;
+        private boolean completed;
+
+        private Request(String key, StreamingComputation<T> computation, Consumer<T> onUpdate) {
+            this.key = key;
+            this.computation = computation;
+            this.onUpdate = onUpdate;
+            this.token = new Token();
+        }
+
+        private void cancel() {
+            token.cancel();
+            CANCELLED.increment();
+            Future<?> running = future;
+            if (running != null) {
+                running.cancel(true);
+            }
+        }
+    }
+}
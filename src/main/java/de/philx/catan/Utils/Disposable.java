@@ -0,0 +1,16 @@
+package de.philx.catan.Utils;
+
+/**
+ * A screen or component that holds resources outliving its scene: listeners on
+ * singletons, running animations or background requests.
+ *
+ * {@link #dispose()} is called once the component is no longer shown and releases them,
+ * so the component (and the game it shows) can be garbage collected.
+ */
+public interface Disposable {
+
+    /**
+     * Release all listeners, timelines and requests. Calling it again has no effect.
+     */
+    void dispose();
+}
@@ -0,0 +1,71 @@
+package de.philx.catan.Utils;
+
+import de.philx.catan.Logging.GameLogger;
+import de.philx.catan.Logging.LogLevel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Collects the cleanup actions of one component and runs them on {@link #dispose()}.
+ *
+ * Components register everything that would keep them reachable right where they
+ * create it, e.g. {@code disposer.addThemeListener(this::applyTheme)} instead of
+ * registering with the {@link ThemeManager} directly, and call {@code dispose()} from
+ * their own {@link Disposable#dispose()}. Actions run in reverse order of registration,
+ * so children are released before the parts they depend on.
+ */
+public class Disposer implements Disposable {
+
+    private final Deque<Runnable> actions = new ArrayDeque<>();
+    private boolean disposed;
+
+    /**
+     * Register a theme change listener that is removed again on dispose
+     * @param listener The listener to register
+     */
+    public void addThemeListener(Runnable listener) {
+        ThemeManager.getInstance().addThemeChangeListener(listener);
+        onDispose(() -> ThemeManager.getInstance().removeThemeChangeListener(listener));
+    }
+
+    /**
+     * Dispose a child component together with this one
+     * @param child The child component
+     * @return The child, for use in assignments
+     */
+    public <T extends Disposable> T add(T child) {
+        onDispose(child::dispose);
+        return child;
+    }
+
+    /**
+     * Register any other cleanup action, e.g. {@code timeline::stop}
+     * @param action The action; runs at once if already disposed
+     */
+    public void onDispose(Runnable action) {
+        if (disposed) {
+            action.run();
+            return;
+        }
+        actions.push(action);
+    }
+
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        while (!actions.isEmpty()) {
+            try {
+                actions.pop().run();
+            } catch (RuntimeException e) {
+                GameLogger.getInstance().log(LogLevel.WARN, "UI", "Fehler beim Freigeben: {}", e.getMessage());
+            }
+        }
+    }
+}
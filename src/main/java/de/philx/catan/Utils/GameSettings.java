@@ -0,0 +1,61 @@
+package de.philx.catan.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application-wide game settings that are not part of the theme
+ */
+public class GameSettings {
+    private static GameSettings instance;
+    private BoardRenderer boardRenderer = BoardRenderer.SCENE_GRAPH;
+    private List<Runnable> settingsChangeListeners = new ArrayList<>();
+    
+    /**
+     * How the board is drawn
+     */
+    public enum BoardRenderer {
+        /** One JavaFX shape per hexagon, node and edge (default) */
+        SCENE_GRAPH,
+        /** Layered canvas that only repaints changed regions */
+        CANVAS
+    }
+    
+    private GameSettings() {}
+    
+    public static GameSettings getInstance() {
+        if (instance == null) {
+            instance = new GameSettings();
+        }
+        return instance;
+    }
+    
+    public BoardRenderer getBoardRenderer() {
+        return boardRenderer;
+    }
+    
+    public void setBoardRenderer(BoardRenderer boardRenderer) {
+        if (this.boardRenderer != boardRenderer) {
+            this.boardRenderer = boardRenderer;
+            notifySettingsChangeListeners();
+        }
+    }
+    
+    public boolean isCanvasRenderer() {
+        return boardRenderer == BoardRenderer.CANVAS;
+    }
+    
+    public void addSettingsChangeListener(Runnable listener) {
+        settingsChangeListeners.add(listener);
+    }
+    
+    public void removeSettingsChangeListener(Runnable listener) {
+        settingsChangeListeners.remove(listener);
+    }
+    
+    private void notifySettingsChangeListeners() {
+        for (Runnable listener : settingsChangeListeners) {
+            listener.run();
+        }
+    }
+}
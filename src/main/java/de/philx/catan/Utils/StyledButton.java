@@ -1,5 +1,6 @@
 package de.philx.catan.Utils;
 
+import java.util.List;
 import javafx.animation.ScaleTransition;
 import javafx.scene.control.Button;
 import javafx.util.Duration;
@@ -7,12 +8,15 @@ import javafx.util.Duration;
 /**
  * Enhanced Button component with modern styling and animations
  */
-public class StyledButton extends Button {
+public class StyledButton extends Button implements Disposable {
     
     public enum ButtonType {
         PRIMARY, SECONDARY, SUCCESS, WARNING, DANGER
     }
     
+    private static final String STYLE_CLASS = "styled-button";
+    private static final List<String> TYPE_CLASSES = List.of("primary", "success", "warning", "danger");
+    
     private ButtonType buttonType;
     private ScaleTransition scaleAnimation;
     
@@ -30,14 +34,10 @@ public class StyledButton extends Button {
     }
     
     private void setupStyling() {
-        ThemeManager themeManager = ThemeManager.getInstance();
-        
-        // Apply initial styling based on button type
+        // Colors and hover effects come from the theme stylesheet
+        getStyleClass().add(STYLE_CLASS);
         applyButtonStyle();
         
-        // Listen for theme changes
-        themeManager.addThemeChangeListener(this::applyButtonStyle);
-        
         // Make button focusable and responsive
         this.setFocusTraversable(true);
         this.setPrefHeight(44);
@@ -45,69 +45,10 @@ public class StyledButton extends Button {
     }
     
     private void applyButtonStyle() {
-        ThemeManager themeManager = ThemeManager.getInstance();
-        
-        String style = switch (buttonType) {
-            case PRIMARY -> String.format("""
-                -fx-background-color: %s;
-                -fx-text-fill: white;
-                -fx-border-color: %s;
-                -fx-border-width: 1px;
-                -fx-border-radius: 8px;
-                -fx-background-radius: 8px;
-                -fx-padding: 12px 24px;
-                -fx-font-size: 14px;
-                -fx-font-weight: 600;
-                -fx-cursor: hand;
-                -fx-effect: dropshadow(gaussian, rgba(0,123,255,0.3), 4, 0, 0, 2);
-                """, ThemeManager.ACCENT_COLOR, ThemeManager.ACCENT_COLOR);
-                
-            case SUCCESS -> String.format("""
-                -fx-background-color: %s;
-                -fx-text-fill: white;
-                -fx-border-color: %s;
-                -fx-border-width: 1px;
-                -fx-border-radius: 8px;
-                -fx-background-radius: 8px;
-                -fx-padding: 12px 24px;
-                -fx-font-size: 14px;
-                -fx-font-weight: 600;
-                -fx-cursor: hand;
-                -fx-effect: dropshadow(gaussian, rgba(40,167,69,0.3), 4, 0, 0, 2);
-                """, ThemeManager.SUCCESS_COLOR, ThemeManager.SUCCESS_COLOR);
-                
-            case WARNING -> String.format("""
-                -fx-background-color: %s;
-                -fx-text-fill: #212529;
-                -fx-border-color: %s;
-                -fx-border-width: 1px;
-                -fx-border-radius: 8px;
-                -fx-background-radius: 8px;
-                -fx-padding: 12px 24px;
-                -fx-font-size: 14px;
-                -fx-font-weight: 600;
-                -fx-cursor: hand;
-                -fx-effect: dropshadow(gaussian, rgba(255,193,7,0.3), 4, 0, 0, 2);
-                """, ThemeManager.WARNING_COLOR, ThemeManager.WARNING_COLOR);
-                
-            case DANGER -> String.format("""
-                -fx-background-color: %s;
-                -fx-text-fill: white;
-                -fx-border-color: %s;
-                -fx-border-width: 1px;
-                -fx-border-radius: 8px;
-                -fx-background-radius: 8px;
-                -fx-padding: 12px 24px;
-                -fx-font-size: 14px;
-                -fx-font-weight: 600;
-                -fx-cursor: hand;
-                -fx-effect: dropshadow(gaussian, rgba(220,53,69,0.3), 4, 0, 0, 2);
-                """, ThemeManager.DANGER_COLOR, ThemeManager.DANGER_COLOR);
-                
-            default -> themeManager.getButtonStyle();
-        };
-        
-        this.setStyle(style);
+        getStyleClass().removeAll(TYPE_CLASSES);
+        if (buttonType != ButtonType.SECONDARY) {
+            getStyleClass().add(buttonType.name().toLowerCase());
+        }
     }
     
     private void setupAnimations() {
@@ -124,13 +65,11 @@ public class StyledButton extends Button {
     private void setupEventHandlers() {
         // Hover effects
         this.setOnMouseEntered(e -> {
-            this.setStyle(this.getStyle() + "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.2), 8, 0, 0, 4);");
             this.setScaleX(1.02);
             this.setScaleY(1.02);
         });
         
         this.setOnMouseExited(e -> {
-            applyButtonStyle();
             this.setScaleX(1.0);
             this.setScaleY(1.0);
         });
@@ -154,4 +93,12 @@ public class StyledButton extends Button {
     public ButtonType getButtonType() {
         return buttonType;
     }
+    
+    /**
+     * Stop the click animation; call when the button's screen is closed
+     */
+    @Override
+    public void dispose() {
+        scaleAnimation.stop();
+    }
 }
@@ -1,15 +1,37 @@
 package de.philx.catan.Utils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import javafx.css.PseudoClass;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 
+/**
+ * Light and dark theme of the application.
+ *
+ * The colors live in the stylesheet {@value #STYLESHEET_PATH} as looked-up colors; the
+ * dark theme redefines them under the {@code :dark} pseudo-class of the scene root.
+ * Components only carry style classes such as {@code card} or {@code section-title}, so
+ * switching the theme flips one pseudo-class per root and lets CSS restyle the scene.
+ * Theme change listeners are only needed for drawing that CSS cannot reach, e.g. canvases.
+ */
 public class ThemeManager {
+    /** Classpath location of the theme stylesheet */
+    public static final String STYLESHEET_PATH = "/styles/theme.css";
+    /** Pseudo-class set on themed roots while the dark theme is active */
+    public static final PseudoClass DARK = PseudoClass.getPseudoClass("dark");
+
     private static ThemeManager instance;
     private boolean isDarkMode = false;
     private List<Runnable> themeChangeListeners = new ArrayList<>();
+    // Roots of all themed scenes; weak, so replaced screens are not kept alive
+    private final Set<Parent> themedRoots = Collections.newSetFromMap(new WeakHashMap<>());
+    private String stylesheet;
     
-    // Color constants for consistent theming
+    // Color constants, the same as in the theme stylesheet; for drawing that CSS cannot style
     public static final String LIGHT_BACKGROUND = "#f8f9fa";
     public static final String LIGHT_CARD_BACKGROUND = "#ffffff";
     public static final String LIGHT_BORDER = "#dee2e6";
@@ -41,13 +63,15 @@ public class ThemeManager {
     }
     
     public void toggleTheme() {
-        isDarkMode = !isDarkMode;
-        notifyThemeChangeListeners();
+        setDarkMode(!isDarkMode);
     }
     
     public void setDarkMode(boolean darkMode) {
         if (this.isDarkMode != darkMode) {
             this.isDarkMode = darkMode;
+            for (Parent root : new ArrayList<>(themedRoots)) {
+                root.pseudoClassStateChanged(DARK, darkMode);
+            }
             notifyThemeChangeListeners();
         }
     }
@@ -60,33 +84,50 @@ public class ThemeManager {
         themeChangeListeners.remove(listener);
     }
     
+    /**
+     * Get the number of registered listeners, e.g. to check that disposed screens unregistered
+     */
+    public int getThemeChangeListenerCount() {
+        return themeChangeListeners.size();
+    }
+    
     private void notifyThemeChangeListeners() {
-        for (Runnable listener : themeChangeListeners) {
+        // Iterate over a copy, listeners may dispose components and unregister while notified
+        for (Runnable listener : new ArrayList<>(themeChangeListeners)) {
             listener.run();
         }
     }
     
+    /**
+     * Attach the theme stylesheet to a scene and follow theme changes with its root
+     * @param scene The scene; its root must be set
+     */
     public void applyTheme(Scene scene) {
-        // Clear existing stylesheets
-        scene.getStylesheets().clear();
-        
-        // Apply comprehensive styling
-        String css = generateCSS();
-        scene.getRoot().setStyle(css);
-    }
-    
-    private String generateCSS() {
-        if (isDarkMode) {
-            return String.format("""
-                -fx-background-color: %s;
-                -fx-text-fill: %s;
-                """, DARK_BACKGROUND, DARK_TEXT);
-        } else {
-            return String.format("""
-                -fx-background-color: %s;
-                -fx-text-fill: %s;
-                """, LIGHT_BACKGROUND, LIGHT_TEXT);
+        String url = getStylesheet();
+        if (!scene.getStylesheets().contains(url)) {
+            scene.getStylesheets().add(url);
+        }
+        applyTheme(scene.getRoot());
+    }
+    
+    /**
+     * Follow theme changes with a root node; the stylesheet must be attached to its scene
+     * or to the root itself
+     * @param root The root node
+     */
+    public void applyTheme(Parent root) {
+        themedRoots.add(root);
+        root.pseudoClassStateChanged(DARK, isDarkMode);
+    }
+    
+    /**
+     * Get the URL of the theme stylesheet
+     */
+    public String getStylesheet() {
+        if (stylesheet == null) {
+            stylesheet = ThemeManager.class.getResource(STYLESHEET_PATH).toExternalForm();
         }
+        return stylesheet;
     }
     
     public String getCurrentThemeName() {
@@ -113,72 +154,4 @@ public class ThemeManager {
     public String getSecondaryTextColor() {
         return isDarkMode ? DARK_SECONDARY_TEXT : LIGHT_SECONDARY_TEXT;
     }
-    
-    public String getButtonStyle() {
-        String backgroundColor = isDarkMode ? DARK_CARD_BACKGROUND : LIGHT_CARD_BACKGROUND;
-        String textColor = getTextColor();
-        String borderColor = getBorderColor();
-        
-        return String.format("""
-            -fx-background-color: %s;
-            -fx-text-fill: %s;
-            -fx-border-color: %s;
-            -fx-border-width: 1px;
-            -fx-border-radius: 8px;
-            -fx-background-radius: 8px;
-            -fx-padding: 12px 24px;
-            -fx-font-size: 14px;
-            -fx-font-weight: 500;
-            -fx-cursor: hand;
-            -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 4, 0, 0, 2);
-            """, backgroundColor, textColor, borderColor);
-    }
-    
-    public String getButtonHoverStyle() {
-        String textColor = getTextColor();
-        String borderColor = getBorderColor();
-        String hoverColor = isDarkMode ? "#404040" : "#e9ecef";
-        
-        return String.format("""
-            -fx-background-color: %s;
-            -fx-text-fill: %s;
-            -fx-border-color: %s;
-            -fx-border-width: 1px;
-            -fx-border-radius: 8px;
-            -fx-background-radius: 8px;
-            -fx-padding: 12px 24px;
-            -fx-font-size: 14px;
-            -fx-font-weight: 500;
-            -fx-cursor: hand;
-            -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.2), 6, 0, 0, 3);
-            """, hoverColor, textColor, borderColor);
-    }
-    
-    public String getPrimaryButtonStyle() {
-        return String.format("""
-            -fx-background-color: %s;
-            -fx-text-fill: white;
-            -fx-border-color: %s;
-            -fx-border-width: 1px;
-            -fx-border-radius: 8px;
-            -fx-background-radius: 8px;
-            -fx-padding: 12px 24px;
-            -fx-font-size: 14px;
-            -fx-font-weight: 600;
-            -fx-cursor: hand;
-            -fx-effect: dropshadow(gaussian, rgba(0,123,255,0.3), 4, 0, 0, 2);
-            """, ACCENT_COLOR, ACCENT_COLOR);
-    }
-    
-    public String getCardStyle() {
-        return String.format("""
-            -fx-background-color: %s;
-            -fx-border-color: %s;
-            -fx-border-width: 1px;
-            -fx-border-radius: 12px;
-            -fx-background-radius: 12px;
-            -fx-padding: 16px;
-            -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 8, 0, 0, 2);
-            """, getCardBackgroundColor(), getBorderColor());
-    }
 }
@@ -3,6 +3,7 @@ module de.philx.catan {
     requires javafx.fxml;
     requires transitive javafx.graphics;
     requires java.desktop;
+    requires jdk.jfr;
 
 
     opens de.philx.catan to javafx.fxml;
@@ -17,4 +18,9 @@ module de.philx.catan {
     opens de.philx.catan.Screens to javafx.fxml;
     exports de.philx.catan.Controllers;
     opens de.philx.catan.Controllers to javafx.fxml;
+    exports de.philx.catan.Network;
+    exports de.philx.catan.Analysis;
+    exports de.philx.catan.Replay;
+    exports de.philx.catan.Metrics;
+    exports de.philx.catan.Logging;
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.ActionMessages;
+import de.philx.catan.Controllers.ActionResult;
+import de.philx.catan.Controllers.BuildMode;
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Controllers.TradeController;
+import de.philx.catan.GameField.BoardTopology;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.Players.Player;
+import de.philx.catan.Players.Player.ResourceType;
+
+/**
+ * Tests the reason codes of the action validation and their messages.
+ */
+public class ActionValidationTest {
+
+    private GameController gameController;
+    private GameField gameField;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        gameController = GameHistoryTest.startedGame();
+        gameField = gameController.getGameField();
+        player = gameController.getCurrentPlayer();
+
+        // Start without the resources from the setup phase
+        for (ResourceType type : ResourceType.values()) {
+            player.removeResource(type, player.getResourceAmount(type));
+        }
+    }
+
+    @Test
+    void testSettlementReasons() {
+        int own = findSettlement(player.getPlayerId());
+        int neighbor = gameField.getTopology().getNodeNeighbors(own)[0];
+
+        assertEquals(ActionResult.OCCUPIED, gameController.validateSettlement(player.getPlayerId(), own));
+        assertEquals(ActionResult.DISTANCE_RULE, gameController.validateSettlement(player.getPlayerId(), neighbor));
+        assertEquals(ActionResult.INVALID_LOCATION, gameController.validateSettlement(player.getPlayerId(), -1));
+        assertEquals(ActionResult.NOT_YOUR_TURN, gameController.validateSettlement(otherPlayerId(), freeNode()));
+        assertEquals(ActionResult.INSUFFICIENT_RESOURCES, gameController.validateSettlement(player.getPlayerId(), freeNode()));
+
+        GameHistoryTest.giveResources(player, 5);
+        assertEquals(ActionResult.OK, gameController.validateSettlement(player.getPlayerId(), freeNode()));
+    }
+
+    @Test
+    void testRoadAndCityReasons() {
+        assertEquals(ActionResult.NOT_CONNECTED, gameController.validateRoad(player.getPlayerId(), unconnectedEdge()));
+        assertEquals(ActionResult.NOT_OWN_SETTLEMENT,
+            gameController.validateCity(player.getPlayerId(), findSettlement(otherPlayerId())));
+        assertEquals(ActionResult.INSUFFICIENT_RESOURCES,
+            gameController.validateCity(player.getPlayerId(), findSettlement(player.getPlayerId())));
+
+        GameHistoryTest.giveResources(player, 5);
+        assertEquals(ActionResult.OK, gameController.validateCity(player.getPlayerId(), findSettlement(player.getPlayerId())));
+    }
+
+    @Test
+    void testRejectedBuildReportsReason() {
+        int nodeId = freeNode();
+        assertFalse(gameController.buildSettlement(nodeId));
+        assertEquals(ActionResult.INSUFFICIENT_RESOURCES, gameController.getLastActionResult());
+        assertEquals(ActionMessages.forBuild(ActionResult.INSUFFICIENT_RESOURCES, BuildMode.SETTLEMENT),
+            gameController.gameMessageProperty().get());
+
+        GameHistoryTest.giveResources(player, 5);
+        assertTrue(gameController.buildSettlement(nodeId));
+        assertEquals(ActionResult.OK, gameController.getLastActionResult());
+    }
+
+    @Test
+    void testRobberReasons() {
+        int robber = gameField.getRobberPosition();
+        assertEquals(ActionResult.ROBBER_NOT_PENDING, gameController.validateMoveRobber((robber + 1) % 19));
+        assertFalse(gameController.moveRobber((robber + 1) % 19));
+        assertEquals(ActionResult.ROBBER_NOT_PENDING, gameController.getLastActionResult());
+
+        gameController.restoreTurnState(7, true);
+        assertEquals(ActionResult.ROBBER_ALREADY_THERE, gameController.validateMoveRobber(robber));
+        assertEquals(ActionResult.ROBBER_PENDING, gameController.validateRoad(player.getPlayerId(), 0));
+        assertEquals(ActionResult.OK, gameController.validateMoveRobber((robber + 1) % 19));
+    }
+
+    @Test
+    void testTradeReasons() {
+        TradeController tradeController = gameController.getTradeController();
+        // The setup settlements may stand on a harbor
+        int ratio = player.getBankTradeRatio(ResourceType.WOOD);
+        player.addResource(ResourceType.WOOD, ratio);
+
+        assertEquals(ActionResult.INVALID_TRADE_AMOUNT, tradeController.validateBankTrade(player.getPlayerId(), ResourceType.WOOD, ratio + 1));
+        assertEquals(ActionResult.INSUFFICIENT_RESOURCES, tradeController.validateBankTrade(player.getPlayerId(), ResourceType.WOOD, ratio * 2));
+        assertEquals(ActionResult.INVALID_PLAYER, tradeController.validateBankTrade(99, ResourceType.WOOD, 4));
+        assertEquals(ActionResult.NO_TRADE_OFFER, tradeController.validateAnswer(otherPlayerId()));
+
+        assertFalse(tradeController.executeBankTrade(player.getPlayerId(), ResourceType.WOOD, ratio + 1, ResourceType.ORE));
+        assertEquals(ActionResult.INVALID_TRADE_AMOUNT, tradeController.getLastActionResult());
+        assertTrue(tradeController.executeBankTrade(player.getPlayerId(), ResourceType.WOOD, ratio, ResourceType.ORE));
+        assertEquals(ActionResult.OK, tradeController.getLastActionResult());
+    }
+
+    @Test
+    void testEveryCodeHasAMessage() {
+        for (int code = ActionResult.OK + 1; code <= ActionResult.SETUP_PHASE; code++) {
+            assertNotEquals("UNKNOWN", ActionResult.name(code));
+            assertFalse(ActionMessages.get(code).isEmpty());
+            assertSame(ActionMessages.get(code), ActionMessages.get(code), "messages are constants");
+        }
+    }
+
+    private int otherPlayerId() {
+        return (player.getPlayerId() + 1) % gameController.getPlayerManager().getPlayerCount();
+    }
+
+    private int findSettlement(int playerId) {
+        return gameField.getNodes().stream()
+            .filter(n -> n.hasSettlement() && n.getBuilding().getPlayerId() == playerId)
+            .findFirst()
+            .orElseThrow()
+            .getNodeId();
+    }
+
+    private int freeNode() {
+        return gameField.getNodes().stream()
+            .filter(Node::isValidForSettlement)
+            .findFirst()
+            .orElseThrow()
+            .getNodeId();
+    }
+
+    private int unconnectedEdge() {
+        BoardTopology topology = gameField.getTopology();
+        for (int edgeId = 0; edgeId < topology.getEdgeCount(); edgeId++) {
+            if (!gameField.getEdge(edgeId).hasRoad() && !gameField.canPlaceRoad(edgeId, player.getPlayerId())) {
+                return edgeId;
+            }
+        }
+        throw new AssertionError("every edge is connected");
+    }
+}
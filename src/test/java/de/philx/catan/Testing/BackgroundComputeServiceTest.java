@@ -0,0 +1,156 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Analysis.GamePosition;
+import de.philx.catan.Analysis.PlacementHints;
+import de.philx.catan.Controllers.BuildMode;
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Utils.BackgroundComputeService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests cancellation and coalesced delivery of background computations.
+ */
+public class BackgroundComputeServiceTest {
+
+    // Stands in for the UI thread: delivery batches wait here until the test runs them
+    private final ConcurrentLinkedQueue<Runnable> uiQueue = new ConcurrentLinkedQueue<>();
+    private BackgroundComputeService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BackgroundComputeService(Executors.newVirtualThreadPerTaskExecutor(), uiQueue::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testNewerRequestCancelsOlder() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        List<String> delivered = new ArrayList<>();
+
+        BackgroundComputeService.Token first = service.<String>submit("hint", token -> {
+            started.countDown();
+            while (true) {
+                token.throwIfCancelled();
+                Thread.onSpinWait();
+            }
+        }, delivered::add);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        service.submit("hint", token -> "second", delivered::add);
+        assertTrue(first.isCancelled());
+
+        runUiQueueUntil(() -> !delivered.isEmpty());
+        assertEquals(List.of("second"), delivered);
+        assertEquals(0, service.getActiveCount());
+    }
+
+    @Test
+    void testResultsAreDeliveredInOneBatch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(3);
+        List<Integer> delivered = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            int value = i;
+            service.submit("task" + i, token -> {
+                awaitQuietly(release);
+                finished.countDown();
+                return value;
+            }, delivered::add);
+        }
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+
+        // All three results are queued while the UI is busy, so a single UI call delivers them
+        Thread.sleep(100);
+        assertEquals(1, uiQueue.size());
+        uiQueue.poll().run();
+        assertEquals(3, delivered.size());
+        assertTrue(delivered.containsAll(List.of(0, 1, 2)));
+    }
+
+    @Test
+    void testCancelledResultIsNotDelivered() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        List<String> delivered = new ArrayList<>();
+        service.submit("hint", token -> {
+            done.countDown();
+            return "late";
+        }, delivered::add);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        service.cancel("hint");
+        while (!uiQueue.isEmpty()) {
+            uiQueue.poll().run();
+        }
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    void testPlacementHintsMatchLiveRules() {
+        GameController gameController = GameHistoryTest.startedGame();
+        int playerId = gameController.getCurrentPlayer().getPlayerId();
+        GamePosition position = GamePosition.of(gameController);
+        BackgroundComputeService.Token token = new BackgroundComputeService.Token();
+
+        PlacementHints settlements = PlacementHints.compute(position, playerId, BuildMode.SETTLEMENT, token);
+        long validNodes = gameController.getGameField().getNodes().stream()
+            .filter(n -> gameController.getGameField().canPlaceSettlement(n.getNodeId(), playerId))
+            .count();
+        assertEquals(validNodes, settlements.getCount());
+        int[] ranked = settlements.getPositions();
+        for (int i = 1; i < ranked.length; i++) {
+            assertTrue(PlacementHints.getSpotValue(position, ranked[i - 1]) >= PlacementHints.getSpotValue(position, ranked[i]));
+        }
+
+        PlacementHints roads = PlacementHints.compute(position, playerId, BuildMode.ROAD, token);
+        for (int edgeId : roads.getPositions()) {
+            assertTrue(gameController.getGameField().canPlaceRoad(edgeId, playerId));
+        }
+        assertEquals(2, PlacementHints.compute(position, playerId, BuildMode.CITY, token).getCount());
+    }
+
+    // === Helpers ===
+
+    /**
+     * Run queued UI calls until a condition holds
+     * @return Number of UI calls run
+     */
+    private int runUiQueueUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        int calls = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Runnable call = uiQueue.poll();
+            if (call == null) {
+                Thread.sleep(1);
+            } else {
+                call.run();
+                calls++;
+            }
+        }
+        return calls;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Analysis.BankTradePlan;
+import de.philx.catan.Controllers.BuildMode;
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Metrics.Counter;
+import de.philx.catan.Metrics.MetricsRegistry;
+import de.philx.catan.Network.BotClient;
+import de.philx.catan.Network.BotProtocol;
+import de.philx.catan.Network.BotServer;
+import de.philx.catan.Players.Player;
+import de.philx.catan.Players.Player.ResourceType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the bank trade planner, its memoization and its bot protocol command.
+ */
+public class BankTradePlanTest {
+
+    private static final int[] STANDARD_RATIOS = {4, 4, 4, 4, 4};
+
+    @AfterEach
+    void tearDown() {
+        MetricsRegistry.setEnabled(false);
+    }
+
+    @Test
+    void testPlanCoversCostOrIsImpossible() {
+        int[] cityCost = BankTradePlan.getCost(BuildMode.CITY);
+
+        assertSame(BankTradePlan.AFFORDABLE, BankTradePlan.compute(new int[]{0, 0, 2, 0, 3}, STANDARD_RATIOS, cityCost));
+        assertSame(BankTradePlan.IMPOSSIBLE, BankTradePlan.compute(new int[]{4, 4, 4, 0, 0}, STANDARD_RATIOS, cityCost));
+
+        BankTradePlan plan = BankTradePlan.compute(new int[]{4, 4, 6, 0, 0}, STANDARD_RATIOS, cityCost);
+        assertTrue(plan.isPossible());
+        assertEquals(3, plan.getTradeCount());
+        assertEquals(12, plan.getCardsGiven());
+        for (int i = 0; i < plan.getTradeCount(); i++) {
+            assertEquals(ResourceType.ORE, plan.getWantResource(i));
+            assertNotEquals(ResourceType.ORE, plan.getGiveResource(i));
+        }
+    }
+
+    @Test
+    void testBestRatioIsUsedFirst() {
+        int[] ratios = {4, 2, 4, 4, 4};
+        BankTradePlan plan = BankTradePlan.compute(new int[]{5, 5, 0, 1, 0}, ratios, BankTradePlan.getCost(BuildMode.SETTLEMENT));
+
+        assertEquals(1, plan.getTradeCount());
+        assertEquals(ResourceType.CLAY, plan.getGiveResource(0));
+        assertEquals(2, plan.getGiveAmount(0));
+        assertEquals(ResourceType.GRAIN, plan.getWantResource(0));
+    }
+
+    @Test
+    void testPlansAreMemoizedOverCappedAmounts() {
+        MetricsRegistry.setEnabled(true);
+        Counter hits = MetricsRegistry.getInstance().counter("trade.planner.hits");
+        int[] roadCost = BankTradePlan.getCost(BuildMode.ROAD);
+
+        BankTradePlan first = BankTradePlan.compute(new int[]{0, 0, 0, 0, 40}, STANDARD_RATIOS, roadCost);
+        long hitsBefore = hits.getValue();
+        // Ore beyond what two trades can use does not change the plan
+        BankTradePlan second = BankTradePlan.compute(new int[]{0, 0, 0, 0, 60}, STANDARD_RATIOS, roadCost);
+
+        assertSame(first, second);
+        assertEquals(hitsBefore + 1, hits.getValue());
+        assertEquals(2, first.getTradeCount());
+    }
+
+    @Test
+    void testEvictedPlansAreRecomputed() {
+        int[] cityCost = BankTradePlan.getCost(BuildMode.CITY);
+        // More distinct inputs than the cache has slots
+        List<String> plans = new ArrayList<>();
+        for (int pass = 0; pass < 2; pass++) {
+            int index = 0;
+            for (int code = 0; code < 8 * 8 * 8 * 8 * 8; code++) {
+                int[] resources = {code & 7, code >> 3 & 7, code >> 6 & 7, code >> 9 & 7, code >> 12 & 7};
+                String plan = BankTradePlan.compute(resources, STANDARD_RATIOS, cityCost).toString();
+                if (pass == 0) {
+                    plans.add(plan);
+                } else {
+                    assertEquals(plans.get(index), plan);
+                }
+                index++;
+            }
+        }
+    }
+
+    @Test
+    void testBotCanAskForPlan() throws Exception {
+        GameController gameController = new GameController();
+        gameController.startTestGame();
+        Player player = gameController.getCurrentPlayer();
+        player.addResource(ResourceType.WOOD, 5);
+
+        try (BotServer server = BotServer.openLoopback(gameController, 0)) {
+            server.start();
+            try (BotClient client = BotClient.connect(server.getLocalAddress())) {
+                BotClient.BatchResult result = client.batch()
+                    .planBankTrades(player.getPlayerId(), 0)
+                    .planBankTrades(player.getPlayerId(), 2)
+                    .send();
+
+                assertTrue(result.isOk(0));
+                int ratio = player.getBankTradeRatio(ResourceType.WOOD);
+                assertEquals(1, BotProtocol.planTradeCount(result.value(0)));
+                assertEquals(ResourceType.WOOD, BotProtocol.planGiveResource(result.value(0)));
+                assertEquals(ratio, BotProtocol.planGiveAmount(result.value(0)));
+                assertEquals(ResourceType.CLAY, BotProtocol.planWantResource(result.value(0)));
+                assertEquals(BotProtocol.STATUS_REJECTED, result.status(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.GameField.BoardDirtyTracker;
+import de.philx.catan.GameField.Edge;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.GamePieces.City;
+import de.philx.catan.GamePieces.Settlement;
+import de.philx.catan.GamePieces.Street;
+import java.util.List;
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Tests that the canvas renderer is told to repaint only the regions that changed.
+ */
+public class BoardDirtyTrackerTest {
+
+    private GameField gameField;
+    private BoardDirtyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        gameField = new GameField(50);
+        tracker = new BoardDirtyTracker(gameField);
+    }
+
+    @Test
+    void testFirstCallRepaintsWholeBoard() {
+        List<Rectangle2D> regions = tracker.collectDirtyRegions();
+        assertEquals(1, regions.size());
+        assertEquals(tracker.getBoardBounds(), regions.get(0));
+        for (Node node : gameField.getNodes()) {
+            assertTrue(regions.get(0).contains(BoardDirtyTracker.nodeRegion(node)));
+        }
+
+        assertTrue(tracker.collectDirtyRegions().isEmpty());
+    }
+
+    @Test
+    void testOnlyChangedPiecesAreReported() {
+        tracker.collectDirtyRegions();
+
+        Edge edge = gameField.getEdges().get(5);
+        edge.setRoad(new Street(1, 'B'));
+        List<Rectangle2D> regions = tracker.collectDirtyRegions();
+        assertEquals(List.of(BoardDirtyTracker.edgeRegion(edge)), regions);
+
+        Node node = gameField.getNodes().get(7);
+        node.setBuilding(new Settlement(0, 'R'));
+        assertEquals(List.of(BoardDirtyTracker.nodeRegion(node)), tracker.collectDirtyRegions());
+
+        // Upgrading changes the drawn piece, the same owner keeps it
+        node.setBuilding(new City(0, 'R'));
+        assertEquals(1, tracker.collectDirtyRegions().size());
+        node.setBuilding(new City(0, 'R'));
+        assertTrue(tracker.collectDirtyRegions().isEmpty());
+    }
+
+    @Test
+    void testRobberMoveReportsBothHexagons() {
+        tracker.collectDirtyRegions();
+        int from = gameField.getRobberPosition();
+        int to = (from + 1) % gameField.getHexagons().length;
+        gameField.moveRobber(to);
+
+        List<Rectangle2D> regions = tracker.collectDirtyRegions();
+        assertEquals(List.of(BoardDirtyTracker.robberRegion(gameField.getHexagon(from)),
+                             BoardDirtyTracker.robberRegion(gameField.getHexagon(to))), regions);
+
+        tracker.invalidate();
+        assertEquals(List.of(tracker.getBoardBounds()), tracker.collectDirtyRegions());
+    }
+}
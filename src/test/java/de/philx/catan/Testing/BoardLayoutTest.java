@@ -0,0 +1,155 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.GameField.BoardLayout;
+import de.philx.catan.GameField.Edge;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Hexagon;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.GameField.TerrainType;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests parametric board layouts and the topology generated for them.
+ */
+public class BoardLayoutTest {
+
+    @Test
+    void testStandardBoardCounts() {
+        GameField gameField = new GameField(50);
+        assertEquals(19, gameField.getHexagons().length);
+        assertEquals(54, gameField.getNodes().size());
+        assertEquals(72, gameField.getEdges().size());
+    }
+
+    @Test
+    void testParsedDrawingMatchesStandardLayout() {
+        BoardLayout drawn = BoardLayout.parse(
+            "  X X X\n" +
+            " X X X X\n" +
+            "X X X X X\n" +
+            " X X X X\n" +
+            "  X X X");
+        BoardLayout standard = BoardLayout.standard();
+        assertEquals(standard.getHexagonCount(), drawn.getHexagonCount());
+
+        // The drawing starts at row 0, so compare relative to the first hexagon
+        for (int i = 0; i < standard.getHexagonCount(); i++) {
+            assertEquals(standard.getAxialQ(i) - standard.getAxialQ(0), drawn.getAxialQ(i) - drawn.getAxialQ(0));
+            assertEquals(standard.getAxialR(i) - standard.getAxialR(0), drawn.getAxialR(i) - drawn.getAxialR(0));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> BoardLayout.parse("X X\n X X\n XX"));
+        assertThrows(IllegalArgumentException.class, () -> BoardLayout.parse(" . "));
+    }
+
+    @Test
+    void testLargeHexagonalBoardTopology() {
+        int radius = 30;
+        GameField gameField = assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> new GameField(50, BoardLayout.hexagonal(radius)));
+
+        assertEquals(3 * radius * (radius + 1) + 1, gameField.getHexagons().length);
+        assertEquals(6 * (radius + 1) * (radius + 1), gameField.getNodes().size());
+        assertEquals(9 * radius * radius + 15 * radius + 6, gameField.getEdges().size());
+
+        for (Node node : gameField.getNodes()) {
+            assertSame(node, gameField.getNode(node.getNodeId()));
+            int degree = node.getAdjacentEdges().size();
+            assertTrue(degree == 2 || degree == 3, "node " + node.getNodeId() + " has " + degree + " edges");
+            if (node.getAdjacentHexagons().size() == 3) {
+                assertEquals(3, degree);
+            }
+        }
+        for (Edge edge : gameField.getEdges()) {
+            assertSame(edge, gameField.getEdge(edge.getEdgeId()));
+            assertEquals(50, Math.hypot(edge.getNode1().getX() - edge.getNode2().getX(),
+                                        edge.getNode1().getY() - edge.getNode2().getY()), 1e-6);
+        }
+
+        // Axial neighbours share exactly one edge, i.e. two corners
+        Map<String, Hexagon> byCoordinate = new HashMap<>();
+        for (Hexagon hex : gameField.getHexagons()) {
+            assertEquals(6, hex.getAdjacentNodes().size());
+            assertEquals(6, hex.getAdjacentEdges().size());
+            byCoordinate.put(hex.getAxialQ() + "," + hex.getAxialR(), hex);
+        }
+        int[][] directions = {{1, 0}, {0, 1}, {-1, 1}};
+        for (Hexagon hex : gameField.getHexagons()) {
+            for (int[] direction : directions) {
+                Hexagon neighbour = byCoordinate.get((hex.getAxialQ() + direction[0]) + "," + (hex.getAxialR() + direction[1]));
+                if (neighbour != null) {
+                    Set<Node> shared = new HashSet<>(hex.getAdjacentNodes());
+                    shared.retainAll(neighbour.getAdjacentNodes());
+                    assertEquals(2, shared.size());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDistributionsScaleWithBoardSize() {
+        GameField gameField = new GameField(50, BoardLayout.hexagonal(12));
+        int hexagonCount = gameField.getHexagons().length;
+
+        int[] terrainCounts = new int[TerrainType.values().length];
+        int robbers = 0;
+        for (Hexagon hex : gameField.getHexagons()) {
+            terrainCounts[hex.getTerrainType().ordinal()]++;
+            if (hex.getTerrainType() == TerrainType.DESERT) {
+                assertEquals(0, hex.getDiceNumber());
+            } else {
+                assertTrue(hex.getDiceNumber() >= 2 && hex.getDiceNumber() <= 12 && hex.getDiceNumber() != 7);
+            }
+            if (hex.hasRobber()) {
+                robbers++;
+            }
+        }
+        assertEquals(1, robbers);
+
+        int[] standardCounts = new int[TerrainType.values().length];
+        for (TerrainType type : TerrainType.getStandardDistribution()) {
+            standardCounts[type.ordinal()]++;
+        }
+        for (TerrainType type : TerrainType.values()) {
+            double expected = (double) hexagonCount * standardCounts[type.ordinal()] / 19;
+            assertEquals(expected, terrainCounts[type.ordinal()], 1.0, type.name());
+        }
+    }
+
+    @Test
+    void testSmallBoardsHaveADesertWithTheRobber() {
+        for (String drawing : new String[] {"X", "X X", "X X\n X X X\nX X", "X X X\n X X X X\nX X X X X"}) {
+            GameField gameField = new GameField(50, BoardLayout.parse(drawing));
+            int deserts = 0;
+            for (Hexagon hex : gameField.getHexagons()) {
+                if (hex.getTerrainType() == TerrainType.DESERT) {
+                    deserts++;
+                }
+            }
+            assertEquals(1, deserts, drawing);
+            int robber = gameField.getRobberPosition();
+            assertTrue(robber >= 0, drawing);
+            assertEquals(TerrainType.DESERT, gameField.getHexagon(robber).getTerrainType());
+            assertTrue(gameField.getHexagon(robber).hasRobber());
+        }
+    }
+
+    @Test
+    void testSetupPhaseOnLargeBoard() {
+        GameController gameController = new GameController(BoardLayout.hexagonal(20));
+        gameController.startTestGame();
+        GameHistoryTest.completeSetupPhase(gameController);
+
+        assertFalse(gameController.isInSetupPhase());
+        long settlements = gameController.getGameField().getNodes().stream().filter(Node::hasSettlement).count();
+        assertEquals(2L * gameController.getPlayerManager().getPlayerCount(), settlements);
+    }
+}
@@ -0,0 +1,103 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.GameField.BoardPickIndex;
+import de.philx.catan.GameField.Edge;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Hexagon;
+import de.philx.catan.GameField.Node;
+
+/**
+ * Tests that the pick index finds the same pieces as a scan over the whole board.
+ */
+public class BoardPickIndexTest {
+
+    private static final double NODE_TOLERANCE = 15;
+    private static final double EDGE_TOLERANCE = 10;
+
+    private GameField gameField;
+    private BoardPickIndex pickIndex;
+
+    @BeforeEach
+    void setUp() {
+        gameField = new GameField(50);
+        pickIndex = BoardPickIndex.of(gameField, NODE_TOLERANCE, EDGE_TOLERANCE);
+    }
+
+    @Test
+    void testPiecesArePickedAtTheirPosition() {
+        for (Node node : gameField.getNodes()) {
+            assertEquals(node.getNodeId(), pickIndex.pickNode(node.getX() + 3, node.getY() - 2));
+        }
+        for (Edge edge : gameField.getEdges()) {
+            double midX = (edge.getNode1().getX() + edge.getNode2().getX()) / 2;
+            double midY = (edge.getNode1().getY() + edge.getNode2().getY()) / 2;
+            assertEquals(edge.getEdgeId(), pickIndex.pickEdge(midX, midY));
+        }
+        for (Hexagon hex : gameField.getHexagons()) {
+            assertEquals(hex.getHexagonId(), pickIndex.pickHexagon(hex.getCenterX(), hex.getCenterY()));
+        }
+        assertEquals(-1, pickIndex.pickNode(-1000, -1000));
+        assertEquals(-1, pickIndex.pickHexagon(1e6, 1e6));
+    }
+
+    @Test
+    void testMatchesFullScan() {
+        for (double x = -20; x < 600; x += 3.7) {
+            for (double y = -20; y < 600; y += 3.7) {
+                assertEquals(scanNode(x, y), pickIndex.pickNode(x, y), "node at " + x + "," + y);
+                assertEquals(scanEdge(x, y), pickIndex.pickEdge(x, y), "edge at " + x + "," + y);
+                assertEquals(scanHexagon(x, y), pickIndex.pickHexagon(x, y), "hexagon at " + x + "," + y);
+            }
+        }
+        assertTrue(pickIndex.getMaxCandidatesPerCell() < 16);
+    }
+
+    // === Reference implementations ===
+
+    private int scanNode(double x, double y) {
+        int best = -1;
+        double bestDistance = NODE_TOLERANCE;
+        for (Node node : gameField.getNodes()) {
+            double distance = Math.hypot(x - node.getX(), y - node.getY());
+            if (distance < bestDistance) {
+                best = node.getNodeId();
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private int scanEdge(double x, double y) {
+        int best = -1;
+        double bestDistance = EDGE_TOLERANCE;
+        for (Edge edge : gameField.getEdges()) {
+            double x1 = edge.getNode1().getX(), y1 = edge.getNode1().getY();
+            double x2 = edge.getNode2().getX(), y2 = edge.getNode2().getY();
+            double lengthSquared = (x2 - x1) * (x2 - x1) + (y2 - y1) * (y2 - y1);
+            double t = Math.max(0, Math.min(1, ((x - x1) * (x2 - x1) + (y - y1) * (y2 - y1)) / lengthSquared));
+            double distance = Math.hypot(x - (x1 + t * (x2 - x1)), y - (y1 + t * (y2 - y1)));
+            if (distance < bestDistance) {
+                best = edge.getEdgeId();
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private int scanHexagon(double x, double y) {
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (Hexagon hex : gameField.getHexagons()) {
+            double distance = Math.hypot(x - hex.getCenterX(), y - hex.getCenterY());
+            if (distance <= hex.getRadius() && distance < bestDistance) {
+                best = hex.getHexagonId();
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+}
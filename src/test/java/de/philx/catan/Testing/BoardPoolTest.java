@@ -0,0 +1,84 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.GameField.BoardLayout;
+import de.philx.catan.GameField.BoardPool;
+import de.philx.catan.GameField.GameField;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Tests the pool of pre-generated boards and its background refill.
+ */
+public class BoardPoolTest {
+
+    private BoardPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testRefillReachesCapacity() throws InterruptedException {
+        pool = new BoardPool(BoardLayout.standard(), 50.0, 3, Duration.ZERO, board -> true);
+        pool.start();
+
+        awaitSize(pool, 3);
+        GameField board = pool.take();
+
+        assertTrue(BoardPool.isValid(board));
+        assertEquals(1, pool.getHits());
+        assertEquals(0, pool.getMisses());
+        awaitSize(pool, 3);
+    }
+
+    @Test
+    void testEmptyPoolFallsBackToGeneration() {
+        pool = new BoardPool(BoardLayout.standard(), 50.0, 2, Duration.ZERO, board -> true);
+
+        GameField board = pool.take();
+
+        assertTrue(BoardPool.isValid(board));
+        assertEquals(1, pool.getMisses());
+        assertEquals(0, pool.getHits());
+        assertEquals(0, pool.size(), "a pool that was never started stays empty");
+    }
+
+    @Test
+    void testFairnessFilterAndUniqueBoards() throws InterruptedException {
+        pool = new BoardPool(BoardLayout.standard(), 50.0, 4, Duration.ZERO, BoardPool.NO_ADJACENT_RED_NUMBERS);
+        pool.start();
+        awaitSize(pool, 4);
+
+        Set<GameField> handedOut = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < 8; i++) {
+            GameField board = pool.take();
+            assertTrue(BoardPool.NO_ADJACENT_RED_NUMBERS.test(board));
+            assertTrue(handedOut.add(board), "a board must be handed out only once");
+        }
+        assertEquals(8, pool.getHits() + pool.getMisses());
+    }
+
+    @Test
+    void testGameUsesGivenBoard() {
+        GameField board = new GameField(50.0, BoardLayout.standard());
+        assertSame(board, new GameController(board).getGameField());
+    }
+
+    private static void awaitSize(BoardPool pool, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(size, pool.size());
+    }
+}
@@ -0,0 +1,255 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.ActionResult;
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.Network.BotClient;
+import de.philx.catan.Network.BotProtocol;
+import de.philx.catan.Network.BotServer;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests the local bot socket protocol end to end over loopback and Unix-domain sockets.
+ */
+public class BotServerTest {
+
+    private GameController gameController;
+    private BotServer server;
+
+    @BeforeEach
+    void setUp() {
+        gameController = new GameController();
+        gameController.startTestGame();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void testPipelinedSetupCommands() throws Exception {
+        server = BotServer.openLoopback(gameController, 0);
+        server.start();
+
+        Node node = gameController.getGameField().getNode(0);
+        int edgeId = node.getAdjacentEdges().get(0).getEdgeId();
+        int firstPlayerId = gameController.getCurrentPlayer().getPlayerId();
+
+        try (BotClient client = BotClient.connect(server.getLocalAddress())) {
+            BotClient.BatchResult result = client.batch()
+                .getStatus()
+                .rollDice()
+                .placeSetupSettlement(node.getNodeId())
+                .placeSetupRoad(edgeId)
+                .getStatus()
+                .send();
+
+            assertEquals(5, result.size());
+            int statusBefore = result.value(0);
+            assertEquals(firstPlayerId, BotProtocol.statusPlayerId(statusBefore));
+            assertTrue((BotProtocol.statusFlags(statusBefore) & BotProtocol.FLAG_SETUP_PHASE) != 0);
+
+            assertEquals(BotProtocol.STATUS_REJECTED, result.status(1), "Dice cannot be rolled during setup");
+            assertEquals(ActionResult.SETUP_PHASE, result.reason(1));
+            assertTrue(result.isOk(2));
+            assertTrue(result.isOk(3));
+            assertNotEquals(firstPlayerId, BotProtocol.statusPlayerId(result.value(4)));
+        }
+
+        assertTrue(gameController.getGameField().getNode(0).hasBuilding());
+        assertTrue(gameController.getGameField().getEdge(edgeId).hasRoad());
+    }
+
+    @Test
+    void testSecondRollIsRejectedWithReason() throws Exception {
+        GameHistoryTest.completeSetupPhase(gameController);
+        server = BotServer.openLoopback(gameController, 0);
+        server.start();
+
+        try (BotClient client = BotClient.connect(server.getLocalAddress())) {
+            BotClient.BatchResult result = client.batch()
+                .rollDice()
+                .rollDice()
+                .send();
+
+            assertTrue(result.isOk(0));
+            assertEquals(gameController.getLastDiceRoll(), result.value(0));
+            assertEquals(BotProtocol.STATUS_REJECTED, result.status(1), "a stale result must not count as a roll");
+            int expected = result.value(0) == 7 ? ActionResult.ROBBER_PENDING : ActionResult.ALREADY_ROLLED;
+            assertEquals(expected, result.reason(1));
+        }
+    }
+
+    @Test
+    void testFailingRequestDoesNotStopServer() throws Exception {
+        GameController failing = new GameController() {
+            @Override
+            public int rollDice() {
+                throw new IllegalStateException("Würfel verloren");
+            }
+        };
+        failing.startTestGame();
+        server = BotServer.openLoopback(failing, 0);
+        server.start();
+
+        try (BotClient client = BotClient.connect(server.getLocalAddress())) {
+            BotClient.BatchResult result = client.batch()
+                .rollDice()
+                .ping()
+                .send();
+            assertEquals(BotProtocol.STATUS_ERROR, result.status(0));
+            assertTrue(result.isOk(1), "requests after the failing one are still answered");
+        }
+        try (BotClient client = BotClient.connect(server.getLocalAddress())) {
+            assertEquals(failing.getCurrentPlayer().getPlayerId(), BotProtocol.statusPlayerId(client.getStatus()));
+        }
+    }
+
+    @Test
+    void testMalformedAndUnknownRequests() throws Exception {
+        server = BotServer.openLoopback(gameController, 0);
+        server.start();
+
+        try (BotClient client = BotClient.connect(server.getLocalAddress())) {
+            BotClient.BatchResult result = client.batch()
+                .getResources(99)
+                .ping()
+                .send();
+
+            assertEquals(BotProtocol.STATUS_REJECTED, result.status(0));
+            assertTrue(result.isOk(1));
+        }
+
+        // The client cannot produce broken frames, so they are written by hand
+        try (SocketChannel channel = SocketChannel.open(server.getLocalAddress())) {
+            ByteBuffer requests = ByteBuffer.allocate(16);
+            requests.put((byte) 0x7F).put((byte) 0);                            // unknown opcode
+            requests.put(BotProtocol.BUILD_ROAD).put((byte) 1).put((byte) 0);   // edge id needs 4 bytes
+            requests.put(BotProtocol.GET_RESOURCES).put((byte) 0);              // player id missing
+            requests.put(BotProtocol.PING).put((byte) 0);
+            requests.flip();
+            channel.write(requests);
+
+            ByteBuffer responses = ByteBuffer.allocate(4 * BotProtocol.RESPONSE_SIZE);
+            while (responses.hasRemaining()) {
+                assertTrue(channel.read(responses) >= 0, "server closed the connection");
+            }
+            responses.flip();
+            assertEquals(0x7F, responses.get());
+            assertEquals(BotProtocol.STATUS_UNKNOWN_OPCODE, responses.get());
+            responses.getInt();
+            assertEquals(BotProtocol.BUILD_ROAD, responses.get());
+            assertEquals(BotProtocol.STATUS_MALFORMED, responses.get());
+            responses.getInt();
+            assertEquals(BotProtocol.GET_RESOURCES, responses.get());
+            assertEquals(BotProtocol.STATUS_MALFORMED, responses.get());
+            responses.getInt();
+            assertEquals(BotProtocol.PING, responses.get());
+            assertEquals(BotProtocol.STATUS_OK, responses.get());
+        }
+        assertFalse(gameController.getGameField().getEdge(0).hasRoad());
+    }
+
+    @Test
+    void testLargeBatchesAreAnsweredInOrder() throws Exception {
+        server = BotServer.openLoopback(gameController, 0);
+        server.start();
+
+        int batches = 5;
+        int batchSize = 1000;
+
+        try (BotClient client = BotClient.connect(server.getLocalAddress())) {
+            for (int b = 0; b < batches; b++) {
+                BotClient.Batch batch = client.batch();
+                for (int i = 0; i < batchSize; i++) {
+                    if (i % 2 == 0) {
+                        batch.getStatus();
+                    } else {
+                        batch.ping();
+                    }
+                }
+                BotClient.BatchResult result = batch.send();
+                assertEquals(batchSize, result.size());
+                for (int i = 0; i < batchSize; i++) {
+                    assertEquals(i % 2 == 0 ? BotProtocol.GET_STATUS : BotProtocol.PING, result.opcode(i));
+                    assertTrue(result.isOk(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testClientThatDoesNotReadIsPausedAndResumed() throws Exception {
+        server = BotServer.openLoopback(gameController, 0);
+        server.start();
+
+        // More responses than the socket buffers and the server together hold for one connection
+        int requests = 2_000_000;
+        try (SocketChannel channel = SocketChannel.open(server.getLocalAddress())) {
+            Thread writer = new Thread(() -> {
+                ByteBuffer frames = ByteBuffer.allocate(2 * requests);
+                for (int i = 0; i < requests; i++) {
+                    frames.put(BotProtocol.PING).put((byte) 0);
+                }
+                frames.flip();
+                try {
+                    while (frames.hasRemaining()) {
+                        channel.write(frames);
+                    }
+                } catch (Exception e) {
+                    fail(e);
+                }
+            });
+            writer.start();
+            Thread.sleep(200);
+
+            // Other bots are still served while the first connection waits
+            try (BotClient client = BotClient.connect(server.getLocalAddress())) {
+                assertTrue(client.batch().ping().send().isOk(0));
+            }
+
+            ByteBuffer responses = ByteBuffer.allocate(requests * BotProtocol.RESPONSE_SIZE);
+            while (responses.hasRemaining()) {
+                assertTrue(channel.read(responses) >= 0, "server closed the connection");
+            }
+            writer.join();
+
+            responses.flip();
+            for (int i = 0; i < requests; i++) {
+                assertEquals(BotProtocol.PING, responses.get());
+                assertEquals(BotProtocol.STATUS_OK, responses.get());
+                responses.getInt();
+            }
+        }
+    }
+
+    @Test
+    void testUnixDomainSocket() throws Exception {
+        Path directory = Files.createTempDirectory("catan-bot");
+        Path socketPath = directory.resolve("bot.sock");
+        server = BotServer.openUnixDomain(gameController, socketPath);
+        server.start();
+
+        try (BotClient client = BotClient.connect(server.getLocalAddress())) {
+            int status = client.getStatus();
+            assertEquals(gameController.getCurrentPlayer().getPlayerId(), BotProtocol.statusPlayerId(status));
+        }
+
+        server.close();
+        server = null;
+        assertFalse(Files.exists(socketPath));
+        Files.deleteIfExists(directory);
+    }
+}
@@ -0,0 +1,66 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.GameController;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests that game actions show up as custom events in a Flight Recorder recording.
+ */
+public class FlightRecorderEventTest {
+
+    @Test
+    void testGameActionsAreRecorded() throws Exception {
+        Path file = Files.createTempFile("catan", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("de.philx.catan.DiceRoll");
+            recording.enable("de.philx.catan.Build");
+            recording.enable("de.philx.catan.TurnTransition");
+            recording.start();
+
+            GameController gameController = new GameController();
+            gameController.startTestGame();
+            gameController.rollDice(); // rejected during setup
+            GameHistoryTest.completeSetupPhase(gameController);
+            gameController.rollDice();
+            gameController.rollDice(); // rejected, already rolled
+            gameController.buildRoad(0);
+            if (gameController.isWaitingForRobberPlacement()) {
+                gameController.moveRobber((gameController.getGameField().getRobberPosition() + 1) % 19);
+            }
+            gameController.endTurn();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+
+        List<RecordedEvent> rolls = events.stream()
+            .filter(e -> e.getEventType().getName().equals("de.philx.catan.DiceRoll"))
+            .toList();
+        assertEquals(1, rolls.size(), "rejected rolls must not be recorded");
+        RecordedEvent roll = rolls.get(0);
+        assertTrue(roll.getInt("diceRoll") >= 2 && roll.getInt("diceRoll") <= 12);
+        assertFalse(roll.getDuration().isNegative());
+
+        // Setup placements go through placeSetupSettlement/-Road, so the only build attempt is the road
+        RecordedEvent build = events.stream()
+            .filter(e -> e.getEventType().getName().equals("de.philx.catan.Build"))
+            .findFirst()
+            .orElseThrow();
+        assertEquals("ROAD", build.getString("piece"));
+        assertEquals(0, build.getInt("locationId"));
+
+        assertTrue(events.stream()
+            .anyMatch(e -> e.getEventType().getName().equals("de.philx.catan.TurnTransition")));
+    }
+}
@@ -0,0 +1,177 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.GameCommandPipeline;
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Controllers.GameSnapshot;
+import de.philx.catan.Players.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests the single-writer command pipeline and its snapshot publication.
+ */
+public class GameCommandPipelineTest {
+
+    private GameController gameController;
+    private GameCommandPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        gameController = new GameController();
+        gameController.startTestGame();
+        pipeline = new GameCommandPipeline(gameController);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    void testCommandsAreAppliedOnWriterThreadInOrder() {
+        List<Integer> applied = new ArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int index = i;
+            futures.add(pipeline.execute(controller -> {
+                assertTrue(pipeline.isWriterThread());
+                applied.add(index);
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertEquals(500, applied.size());
+        for (int i = 0; i < applied.size(); i++) {
+            assertEquals(i, applied.get(i));
+        }
+    }
+
+    @Test
+    void testCallerSeesOwnWriteInSnapshot() {
+        int playerId = pipeline.call(controller -> controller.getCurrentPlayer().getPlayerId());
+        long before = pipeline.snapshot().getVersion();
+
+        pipeline.execute(controller ->
+            controller.getCurrentPlayer().addResource(Player.ResourceType.WOOD, 3)).join();
+
+        GameSnapshot snapshot = pipeline.snapshot();
+        assertTrue(snapshot.getVersion() > before);
+        assertEquals(3, snapshot.getResourceAmount(playerId, Player.ResourceType.WOOD));
+    }
+
+    @Test
+    void testConcurrentWritersAndReadersSeeConsistentState() throws Exception {
+        int playerId = pipeline.call(controller -> controller.getCurrentPlayer().getPlayerId());
+        int writers = 4;
+        int commandsPerWriter = 2_000;
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> readerError = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            long lastVersion = -1;
+            while (!done.get()) {
+                GameSnapshot snapshot = pipeline.snapshot();
+                int wood = snapshot.getResourceAmount(playerId, Player.ResourceType.WOOD);
+                int clay = snapshot.getResourceAmount(playerId, Player.ResourceType.CLAY);
+                if (wood != clay) {
+                    readerError.set("Torn snapshot: wood=" + wood + " clay=" + clay);
+                }
+                if (snapshot.getVersion() < lastVersion) {
+                    readerError.set("Snapshot version went backwards");
+                }
+                lastVersion = snapshot.getVersion();
+            }
+        });
+        reader.start();
+
+        List<Thread> writerThreads = new ArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < commandsPerWriter; i++) {
+                    CompletableFuture<Void> future = pipeline.execute(controller -> {
+                        Player player = controller.getPlayerManager().getPlayerById(playerId);
+                        player.addResource(Player.ResourceType.WOOD, 1);
+                        player.addResource(Player.ResourceType.CLAY, 1);
+                    });
+                    synchronized (futures) {
+                        futures.add(future);
+                    }
+                }
+            });
+            writerThreads.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writerThreads) {
+            writer.join();
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        done.set(true);
+        reader.join();
+
+        assertNull(readerError.get(), readerError.get());
+        GameSnapshot snapshot = pipeline.snapshot();
+        assertEquals(writers * commandsPerWriter, snapshot.getResourceAmount(playerId, Player.ResourceType.WOOD));
+        assertEquals(writers * commandsPerWriter, snapshot.getResourceAmount(playerId, Player.ResourceType.CLAY));
+    }
+
+    @Test
+    void testFailingCommandDoesNotStopPipeline() {
+        CompletableFuture<Void> failing = pipeline.execute(controller -> {
+            throw new IllegalStateException("boom");
+        });
+        assertThrows(Exception.class, failing::join);
+
+        assertEquals(Boolean.TRUE, pipeline.call(controller -> controller.getGameField() != null));
+    }
+
+    @Test
+    void testClosedPipelineRejectsCommands() {
+        pipeline.close();
+        assertThrows(RejectedExecutionException.class, () -> pipeline.execute(controller -> {}));
+    }
+
+    @Test
+    void testCommandsRacingCloseAreAppliedOrRejected() throws Exception {
+        AtomicInteger applied = new AtomicInteger();
+        List<CompletableFuture<Void>> accepted = new CopyOnWriteArrayList<>();
+        Thread[] submitters = new Thread[4];
+        for (int t = 0; t < submitters.length; t++) {
+            submitters[t] = Thread.ofPlatform().start(() -> {
+                try {
+                    while (true) {
+                        accepted.add(pipeline.execute(controller -> applied.incrementAndGet()));
+                    }
+                } catch (RejectedExecutionException e) {
+                    // Closed
+                }
+            });
+        }
+        while (accepted.size() < 1000) {
+            Thread.onSpinWait();
+        }
+        pipeline.close();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        // Every accepted command was queued before the close and completes normally
+        for (CompletableFuture<Void> future : accepted) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(accepted.size(), applied.get());
+    }
+}
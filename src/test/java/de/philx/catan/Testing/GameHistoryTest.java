@@ -0,0 +1,209 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Controllers.GameHistory;
+import de.philx.catan.Controllers.GameSnapshot;
+import de.philx.catan.GameField.Edge;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.Players.Player;
+
+/**
+ * Tests undo/redo of gameplay steps in the GameController.
+ */
+public class GameHistoryTest {
+
+    private GameController gameController;
+
+    @BeforeEach
+    void setUp() {
+        gameController = startedGame();
+        for (Player player : gameController.getPlayerManager().getAllPlayers()) {
+            giveResources(player, 10);
+        }
+    }
+
+    @Test
+    void testPackedStepRoundTrip() {
+        long step = GameHistory.pack(GameHistory.PLAYER_TRADE, 3, 2, 0xAB_CDEF_0123L);
+        assertEquals(GameHistory.PLAYER_TRADE, GameHistory.kind(step));
+        assertEquals(3, GameHistory.player(step));
+        assertEquals(2, GameHistory.id(step));
+        assertEquals(0xAB_CDEF_0123L, GameHistory.aux(step));
+    }
+
+    @Test
+    void testSetupPhaseIsNotRecorded() {
+        assertFalse(gameController.canUndo());
+        assertEquals(0, gameController.getHistory().getUndoCount());
+    }
+
+    @Test
+    void testUndoAndRedoWholeTurn() {
+        GameSnapshot initial = GameSnapshot.capture(gameController, 0);
+        Player player = gameController.getCurrentPlayer();
+
+        int roll = gameController.rollDice();
+        if (roll == 7) {
+            int target = (gameController.getGameField().getRobberPosition() + 1) % 19;
+            assertTrue(gameController.moveRobber(target));
+        }
+        assertTrue(gameController.buildRoad(findRoadEdge(player.getPlayerId())));
+        assertTrue(gameController.buildSettlement(findSettlementNode()));
+        assertTrue(gameController.buildCity(findOwnSettlement(player.getPlayerId())));
+        int woolRatio = player.getBankTradeRatio(Player.ResourceType.WOOL);
+        assertTrue(gameController.getTradeController()
+            .executeBankTrade(player.getPlayerId(), Player.ResourceType.WOOL, woolRatio, Player.ResourceType.ORE));
+        gameController.endTurn();
+
+        GameSnapshot afterTurn = GameSnapshot.capture(gameController, 0);
+        int steps = gameController.getHistory().getUndoCount();
+        assertTrue(steps >= 6);
+        assertEquals(steps * Long.BYTES, gameController.getHistory().getStepBytes());
+
+        while (gameController.canUndo()) {
+            assertTrue(gameController.undo());
+        }
+        assertSameState(initial, GameSnapshot.capture(gameController, 0));
+        assertEquals(steps, gameController.getHistory().getRedoCount());
+
+        while (gameController.canRedo()) {
+            assertTrue(gameController.redo());
+        }
+        assertSameState(afterTurn, GameSnapshot.capture(gameController, 0));
+    }
+
+    @Test
+    void testNewStepDiscardsRedo() {
+        Player player = gameController.getCurrentPlayer();
+        gameController.rollDice();
+        if (gameController.isWaitingForRobberPlacement()) {
+            gameController.moveRobber((gameController.getGameField().getRobberPosition() + 1) % 19);
+        }
+        assertTrue(gameController.buildRoad(findRoadEdge(player.getPlayerId())));
+        assertTrue(gameController.undo());
+        assertTrue(gameController.canRedo());
+
+        assertTrue(gameController.buildSettlement(findSettlementNode()));
+        assertFalse(gameController.canRedo());
+    }
+
+    @Test
+    void testVersionChangesWithEveryStep() {
+        GameHistory history = gameController.getHistory();
+        long version = history.getVersion();
+
+        gameController.rollDice();
+        assertNotEquals(version, history.getVersion());
+        version = history.getVersion();
+        assertTrue(gameController.undo());
+        assertNotEquals(version, history.getVersion());
+        version = history.getVersion();
+        assertTrue(gameController.redo());
+        assertNotEquals(version, history.getVersion());
+
+        // Looking at the history is no change
+        version = history.getVersion();
+        history.canUndo();
+        history.peekUndo();
+        assertEquals(version, history.getVersion());
+    }
+
+    // === Helpers ===
+
+    /**
+     * Start a test game on the standard board and complete its setup phase, so the first
+     * player can roll
+     */
+    static GameController startedGame() {
+        GameController gameController = new GameController();
+        gameController.startTestGame();
+        completeSetupPhase(gameController);
+        return gameController;
+    }
+
+    /**
+     * Place two settlements and roads for every player on the first valid positions
+     */
+    static void completeSetupPhase(GameController gameController) {
+        GameField gameField = gameController.getGameField();
+        while (gameController.isInSetupPhase()) {
+            Node node = gameField.getNodes().stream()
+                .filter(Node::isValidForSettlement)
+                .findFirst()
+                .orElseThrow();
+            assertTrue(gameController.placeSetupSettlement(node.getNodeId()));
+
+            Edge edge = node.getAdjacentEdges().stream()
+                .filter(e -> !e.hasRoad())
+                .findFirst()
+                .orElseThrow();
+            assertTrue(gameController.placeSetupRoad(edge.getEdgeId()));
+        }
+    }
+
+    /**
+     * Add the same amount of every resource to a player
+     */
+    static void giveResources(Player player, int amount) {
+        for (Player.ResourceType type : Player.ResourceType.values()) {
+            player.addResource(type, amount);
+        }
+    }
+
+    private int findRoadEdge(int playerId) {
+        GameField gameField = gameController.getGameField();
+        return gameField.getEdges().stream()
+            .filter(e -> gameField.canPlaceRoad(e.getEdgeId(), playerId))
+            .findFirst()
+            .orElseThrow()
+            .getEdgeId();
+    }
+
+    private int findSettlementNode() {
+        return gameController.getGameField().getNodes().stream()
+            .filter(Node::isValidForSettlement)
+            .findFirst()
+            .orElseThrow()
+            .getNodeId();
+    }
+
+    private int findOwnSettlement(int playerId) {
+        return gameController.getGameField().getNodes().stream()
+            .filter(n -> n.hasSettlement() && n.getBuilding().getPlayerId() == playerId)
+            .findFirst()
+            .orElseThrow()
+            .getNodeId();
+    }
+
+    static void assertSameState(GameSnapshot expected, GameSnapshot actual) {
+        for (int i = 0; i < expected.getNodeCount(); i++) {
+            assertEquals(expected.getBuildingType(i), actual.getBuildingType(i), "building on node " + i);
+            assertEquals(expected.getBuildingOwner(i), actual.getBuildingOwner(i), "owner of node " + i);
+        }
+        for (int i = 0; i < expected.getEdgeCount(); i++) {
+            assertEquals(expected.getRoadOwner(i), actual.getRoadOwner(i), "road on edge " + i);
+        }
+        assertEquals(expected.getRobberPosition(), actual.getRobberPosition());
+        assertEquals(expected.getCurrentPlayerId(), actual.getCurrentPlayerId());
+        assertEquals(expected.getLastDiceRoll(), actual.getLastDiceRoll());
+        assertEquals(expected.isWaitingForRobberPlacement(), actual.isWaitingForRobberPlacement());
+        assertEquals(expected.getLongestRoadPlayerId(), actual.getLongestRoadPlayerId());
+
+        for (int p = 0; p < expected.getPlayerCount(); p++) {
+            for (Player.ResourceType type : Player.ResourceType.values()) {
+                assertEquals(expected.getResourceAmount(p, type), actual.getResourceAmount(p, type),
+                             type + " of player " + p);
+            }
+            assertEquals(expected.getVictoryPoints(p), actual.getVictoryPoints(p));
+            assertEquals(expected.getAvailableRoads(p), actual.getAvailableRoads(p));
+            assertEquals(expected.getAvailableSettlements(p), actual.getAvailableSettlements(p));
+            assertEquals(expected.getAvailableCities(p), actual.getAvailableCities(p));
+            assertEquals(expected.hasRolledDice(p), actual.hasRolledDice(p));
+        }
+    }
+}
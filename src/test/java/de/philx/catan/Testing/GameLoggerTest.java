@@ -0,0 +1,242 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Logging.GameLogger;
+import de.philx.catan.Logging.LogLevel;
+import de.philx.catan.Logging.LogSink;
+import de.philx.catan.Logging.RotatingFileSink;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the asynchronous game logger, its ring buffer and the rotating file sink.
+ */
+public class GameLoggerTest {
+
+    /**
+     * Collects the written lines in memory
+     */
+    private static class ListSink implements LogSink {
+        final List<String> lines = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void write(String line) {
+            lines.add(line);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    void testMessagesAreFormattedInOrder() {
+        ListSink sink = new ListSink();
+        GameLogger logger = new GameLogger(LogLevel.INFO, sink, 64);
+        try {
+            logger.log(LogLevel.INFO, "GAME", "Spiel gestartet");
+            logger.log(LogLevel.WARN, "BAU", "Spieler {} baut auf Knoten {}", "Rot", 12);
+            logger.log(LogLevel.INFO, "GAME", "{} + {} = {}", 1, 2, 3);
+            logger.flush();
+        } finally {
+            logger.close();
+        }
+
+        assertEquals(3, sink.lines.size());
+        assertTrue(sink.lines.get(0).endsWith("INFO  GAME  Spiel gestartet"), sink.lines.get(0));
+        assertTrue(sink.lines.get(1).endsWith("WARN  BAU   Spieler Rot baut auf Knoten 12"), sink.lines.get(1));
+        assertTrue(sink.lines.get(2).endsWith("1 + 2 = 3"), sink.lines.get(2));
+    }
+
+    @Test
+    void testDisabledLevelIsNeitherRecordedNorFormatted() {
+        ListSink sink = new ListSink();
+        GameLogger logger = new GameLogger(LogLevel.WARN, sink, 64);
+        AtomicInteger formatted = new AtomicInteger();
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "x";
+            }
+        };
+        try {
+            assertFalse(logger.isEnabled(LogLevel.INFO));
+            logger.log(LogLevel.DEBUG, "GAME", "{}", argument);
+            logger.log(LogLevel.INFO, "GAME", "{}", argument);
+            logger.flush();
+            assertEquals(0, formatted.get());
+            assertTrue(sink.lines.isEmpty());
+
+            logger.log(LogLevel.ERROR, "GAME", "{}", argument);
+            logger.flush();
+            assertEquals(1, formatted.get());
+            assertEquals(1, sink.lines.size());
+        } finally {
+            logger.close();
+        }
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothingUnnoticed() throws InterruptedException {
+        ListSink sink = new ListSink();
+        GameLogger logger = new GameLogger(LogLevel.INFO, sink, 256);
+        int threadCount = 4;
+        int perThread = 2000;
+        Thread[] producers = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            String category = "T" + t;
+            producers[t] = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    logger.log(LogLevel.INFO, category, "{}", i);
+                }
+            });
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        logger.close();
+
+        assertEquals(threadCount * perThread, sink.lines.size() + logger.getDroppedCount());
+        // Records of one thread keep their order
+        for (int t = 0; t < threadCount; t++) {
+            String prefix = " T" + t + "    ";
+            int last = -1;
+            for (String line : sink.lines) {
+                int index = line.indexOf(prefix);
+                if (index >= 0) {
+                    int value = Integer.parseInt(line.substring(index + prefix.length()));
+                    assertTrue(value > last, line);
+                    last = value;
+                }
+            }
+        }
+    }
+
+    @Test
+    void testIdleDrainerWakesUpForNewRecords() throws InterruptedException {
+        ListSink sink = new ListSink();
+        GameLogger logger = new GameLogger(LogLevel.INFO, sink, 64);
+        try {
+            for (int i = 1; i <= 3; i++) {
+                logger.log(LogLevel.INFO, "GAME", "{}", i);
+                long deadline = System.currentTimeMillis() + 10_000;
+                while (sink.lines.size() < i && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(1);
+                }
+                assertEquals(i, sink.lines.size(), "record not written without flush");
+                // Let the drain thread go idle before the next record
+                Thread.sleep(50);
+            }
+        } finally {
+            logger.close();
+        }
+    }
+
+    @Test
+    void testRecordsRacingCloseAreWrittenOrIgnored() throws InterruptedException {
+        AtomicInteger writtenAfterClose = new AtomicInteger();
+        ListSink sink = new ListSink() {
+            volatile boolean closed;
+
+            @Override
+            public void write(String line) {
+                if (closed) {
+                    writtenAfterClose.incrementAndGet();
+                }
+                super.write(line);
+            }
+
+            @Override
+            public void close() {
+                closed = true;
+            }
+        };
+        GameLogger logger = new GameLogger(LogLevel.INFO, sink, 1024);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(4);
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            producers[t] = Thread.ofPlatform().start(() -> {
+                running.countDown();
+                for (int i = 0; i < 20_000; i++) {
+                    logger.log(LogLevel.INFO, "GAME", "{}", i);
+                    calls.incrementAndGet();
+                }
+            });
+        }
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        logger.close();
+        int linesAtClose = sink.lines.size();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        // Nothing was left in the buffer to be written later
+        logger.flush();
+        assertEquals(linesAtClose, sink.lines.size());
+        assertEquals(0, writtenAfterClose.get());
+        assertTrue(linesAtClose + logger.getDroppedCount() <= calls.get());
+    }
+
+    @Test
+    void testFullBufferDropsInsteadOfBlocking() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ListSink sink = new ListSink() {
+            @Override
+            public void write(String line) {
+                writing.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.write(line);
+            }
+        };
+        GameLogger logger = new GameLogger(LogLevel.INFO, sink, 4);
+        logger.log(LogLevel.INFO, "GAME", "erster");
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+        // The drain thread is stuck in the sink, so the buffer fills up
+        for (int i = 0; i < 10; i++) {
+            logger.log(LogLevel.INFO, "GAME", "{}", i);
+        }
+        assertEquals(6, logger.getDroppedCount());
+
+        release.countDown();
+        logger.close();
+        assertEquals(5, sink.lines.size());
+    }
+
+    @Test
+    void testFileSinkRotates(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("catan.log");
+        RotatingFileSink sink = new RotatingFileSink(file, 100, 2);
+        String line = "x".repeat(39);
+        for (int i = 0; i < 10; i++) {
+            sink.write(line);
+        }
+        sink.close();
+
+        assertTrue(Files.size(file) <= 100);
+        assertTrue(Files.exists(directory.resolve("catan.log.1")));
+        assertTrue(Files.exists(directory.resolve("catan.log.2")));
+        assertFalse(Files.exists(directory.resolve("catan.log.3")));
+        assertTrue(Files.readString(file, StandardCharsets.UTF_8).startsWith(line));
+    }
+}
@@ -0,0 +1,127 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Analysis.GamePosition;
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.Players.Player;
+
+/**
+ * Tests forking of analysis positions and their isolation from the live game.
+ */
+public class GamePositionTest {
+
+    private GameController gameController;
+    private int playerId;
+
+    @BeforeEach
+    void setUp() {
+        gameController = GameHistoryTest.startedGame();
+
+        Player player = gameController.getCurrentPlayer();
+        playerId = player.getPlayerId();
+        GameHistoryTest.giveResources(player, 5);
+    }
+
+    @Test
+    void testPositionMatchesGame() {
+        GamePosition position = GamePosition.of(gameController);
+        GameField gameField = gameController.getGameField();
+
+        assertEquals(gameField.getNodes().size(), position.getTopology().getNodeCount());
+        assertEquals(gameField.getRobberPosition(), position.getRobberPosition());
+        assertEquals(playerId, position.getCurrentPlayerId());
+
+        for (int p = 0; p < position.getPlayerCount(); p++) {
+            Player player = gameController.getPlayerManager().getPlayerById(p);
+            assertEquals(player.getVictoryPoints(), position.getVictoryPoints(p));
+            assertEquals(player.getTotalResourceCards(), position.getTotalResourceCards(p));
+        }
+
+        gameField.getEdges().forEach(edge -> assertEquals(
+            gameField.canPlaceRoad(edge.getEdgeId(), playerId),
+            position.canPlaceRoad(playerId, edge.getEdgeId()),
+            "road rule on edge " + edge.getEdgeId()));
+        gameField.getNodes().forEach(node -> assertEquals(
+            node.isValidForSettlement(),
+            position.canPlaceSettlement(node.getNodeId()),
+            "settlement rule on node " + node.getNodeId()));
+        gameField.getNodes().forEach(node -> assertEquals(
+            node.getAdjacentEdges().stream().anyMatch(edge -> edge.hasRoad() && edge.getRoad().getPlayerId() == playerId),
+            position.isConnectedByRoad(playerId, node.getNodeId()),
+            "road connection of node " + node.getNodeId()));
+    }
+
+    @Test
+    void testForkDoesNotLeak() {
+        GamePosition parent = GamePosition.of(gameController);
+        int wood = parent.getResourceAmount(playerId, Player.ResourceType.WOOD);
+        int victoryPoints = parent.getVictoryPoints(playerId);
+
+        GamePosition child = parent.fork();
+        int nodeId = findSettlementNode(child);
+        assertTrue(child.buildSettlement(playerId, nodeId));
+
+        // Child changed, parent and live game did not
+        assertEquals(GamePosition.SETTLEMENT, child.getBuildingType(nodeId));
+        assertEquals(victoryPoints + 1, child.getVictoryPoints(playerId));
+        assertEquals(GamePosition.EMPTY, parent.getBuildingType(nodeId));
+        assertEquals(wood, parent.getResourceAmount(playerId, Player.ResourceType.WOOD));
+        assertFalse(gameController.getGameField().getNode(nodeId).hasBuilding());
+        assertEquals(wood, gameController.getCurrentPlayer().getResourceAmount(Player.ResourceType.WOOD));
+
+        // Writes to the parent after the fork do not reach the child either
+        GamePosition sibling = parent.fork();
+        parent.addResource(playerId, Player.ResourceType.ORE, 10);
+        assertEquals(sibling.getResourceAmount(playerId, Player.ResourceType.ORE) + 10,
+                     parent.getResourceAmount(playerId, Player.ResourceType.ORE));
+        assertEquals(child.getResourceAmount(playerId, Player.ResourceType.ORE),
+                     sibling.getResourceAmount(playerId, Player.ResourceType.ORE));
+    }
+
+    @Test
+    void testNestedForksAndProduction() {
+        GamePosition root = GamePosition.of(gameController);
+        GamePosition branch = root.fork();
+        GamePosition leaf = branch.fork();
+
+        int before = leaf.getTotalResourceCards(playerId);
+        for (int roll = 2; roll <= 12; roll++) {
+            leaf.rollDice(roll);
+        }
+        assertTrue(leaf.getTotalResourceCards(playerId) >= before);
+        assertEquals(before, branch.getTotalResourceCards(playerId));
+        assertEquals(before, root.getTotalResourceCards(playerId));
+        assertTrue(root.getExpectedProduction(playerId) >= 0);
+    }
+
+    @Test
+    void testForkIsCheap() {
+        GamePosition position = GamePosition.of(gameController);
+        int forks = 200_000;
+
+        long start = System.nanoTime();
+        GamePosition last = position;
+        for (int i = 0; i < forks; i++) {
+            last = position.fork();
+            last.addResource(playerId, Player.ResourceType.WOOD, 1);
+        }
+        double microsPerFork = (System.nanoTime() - start) / 1000.0 / forks;
+
+        assertEquals(position.getResourceAmount(playerId, Player.ResourceType.WOOD) + 1,
+                     last.getResourceAmount(playerId, Player.ResourceType.WOOD));
+        assertTrue(microsPerFork < 5, "fork + write took " + microsPerFork + " µs");
+    }
+
+    private static int findSettlementNode(GamePosition position) {
+        for (int nodeId = 0; nodeId < position.getTopology().getNodeCount(); nodeId++) {
+            if (position.canPlaceSettlement(nodeId)) {
+                return nodeId;
+            }
+        }
+        throw new AssertionError("No free settlement spot");
+    }
+}
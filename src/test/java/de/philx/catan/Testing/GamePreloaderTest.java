@@ -0,0 +1,78 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Controllers.GamePreloader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests background construction of the next game.
+ */
+public class GamePreloaderTest {
+
+    @Test
+    void testPreloadedGameIsBuiltInBackgroundAndHandedOutOnce() throws Exception {
+        Thread testThread = Thread.currentThread();
+        AtomicReference<Thread> firstBuilder = new AtomicReference<>();
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch built = new CountDownLatch(1);
+        GamePreloader preloader = new GamePreloader(() -> {
+            firstBuilder.compareAndSet(null, Thread.currentThread());
+            builds.incrementAndGet();
+            GameController gameController = GamePreloader.newTestGame();
+            built.countDown();
+            return gameController;
+        }, Executors.newSingleThreadExecutor());
+
+        try {
+            preloader.preload();
+            preloader.preload();
+            assertTrue(built.await(10, TimeUnit.SECONDS));
+            GameController first = preloader.take();
+            assertEquals(1, builds.get(), "a second preload must not build another game");
+            assertNotSame(testThread, firstBuilder.get(), "the preloaded game must be built in the background");
+            assertTrue(first.getPlayerManager().getPlayerCount() > 0, "the test players are set up in the background too");
+
+            // Without a new preload the next game is built on demand, never reused
+            GameController second = preloader.take();
+            assertNotSame(first, second);
+            assertNotSame(first.getGameField(), second.getGameField());
+        } finally {
+            preloader.shutdown();
+        }
+    }
+
+    @Test
+    void testFailedPreloadFallsBackToBuildingNow() {
+        AtomicInteger attempts = new AtomicInteger();
+        GamePreloader preloader = new GamePreloader(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("board generation failed");
+            }
+            return new GameController();
+        }, Executors.newSingleThreadExecutor());
+
+        try {
+            preloader.preload();
+            assertNotNull(preloader.take());
+            assertEquals(2, attempts.get());
+        } finally {
+            preloader.shutdown();
+        }
+    }
+
+    @Test
+    void testShutdownStopsPreloading() {
+        GamePreloader preloader = new GamePreloader(GameController::new, Executors.newSingleThreadExecutor());
+        preloader.shutdown();
+        preloader.preload();
+        assertFalse(preloader.isReady());
+        assertNotNull(preloader.take(), "taking after shutdown still builds a game");
+    }
+}
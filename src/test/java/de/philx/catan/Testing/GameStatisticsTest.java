@@ -0,0 +1,269 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Controllers.GameHistory;
+import de.philx.catan.Controllers.GameStatistics;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Hexagon;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.GameField.TerrainType;
+import de.philx.catan.Players.Player;
+import de.philx.catan.Players.Player.ResourceType;
+import java.util.Map;
+
+/**
+ * Tests the streaming game statistics and the merging of their snapshots.
+ */
+public class GameStatisticsTest {
+
+    private GameController gameController;
+    private GameField gameField;
+    private GameStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        gameController = GameHistoryTest.startedGame();
+        gameField = gameController.getGameField();
+        statistics = gameController.getStatistics();
+    }
+
+    @Test
+    void testSetupBuildsAreTurnZero() {
+        int players = gameController.getPlayerManager().getPlayerCount();
+        assertEquals(players * 4, statistics.getBuildCount());
+        for (int i = 0; i < statistics.getBuildCount(); i++) {
+            assertEquals(0, statistics.getBuildTurn(i));
+        }
+        assertEquals(GameHistory.SETTLEMENT, statistics.getBuildKind(0));
+        assertEquals(GameHistory.ROAD, statistics.getBuildKind(1));
+        assertEquals(0, statistics.getTotalRolls());
+    }
+
+    @Test
+    void testDiceIncomeAndRobberImpact() {
+        Hexagon target = findBlockableHexagon();
+        int parking = (target.getHexagonId() + 1) % gameField.getHexagons().length;
+        long expectedBlocked = 0;
+
+        for (int turn = 0; turn < 300; turn++) {
+            Hexagon robber = gameField.getHexagon(gameField.getRobberPosition());
+            int roll = gameController.rollDice();
+            if (roll == 7) {
+                assertTrue(gameController.moveRobber(target.hasRobber() ? parking : target.getHexagonId()));
+            } else if (roll == robber.getDiceNumber() && robber.getTerrainType() != TerrainType.DESERT) {
+                expectedBlocked += buildingYield(robber);
+            }
+            gameController.endTurn();
+        }
+
+        assertEquals(300, statistics.getTotalRolls());
+        assertEquals(300, statistics.getTurnCount());
+        assertEquals(0, statistics.getDiceCount(1));
+        assertTrue(statistics.getRobberMoves() > 0);
+
+        long blocked = 0;
+        for (int p = 0; p < gameController.getPlayerManager().getPlayerCount(); p++) {
+            long byResource = 0;
+            for (ResourceType type : ResourceType.values()) {
+                byResource += statistics.getIncome(p, type);
+            }
+            long byHexagon = 0;
+            for (int h = 0; h < statistics.getHexagonCount(); h++) {
+                byHexagon += statistics.getIncomeFromHexagon(p, h);
+            }
+            assertEquals(statistics.getTotalIncome(p), byResource);
+            assertEquals(byResource, byHexagon);
+            assertEquals(100, statistics.getTurnCount(p));
+            assertTrue(statistics.getMaxTurnNanos(p) <= statistics.getTotalTurnNanos(p));
+            blocked += statistics.getBlockedByRobber(p);
+        }
+        assertTrue(expectedBlocked > 0);
+        assertEquals(expectedBlocked, blocked);
+    }
+
+    @Test
+    void testTradesAndBuildsAreCounted() {
+        Player player = gameController.getCurrentPlayer();
+        int ratio = player.getBankTradeRatio(ResourceType.WOOD);
+        player.addResource(ResourceType.WOOD, ratio);
+        assertTrue(gameController.getTradeController().executeBankTrade(
+            player.getPlayerId(), ResourceType.WOOD, ratio, ResourceType.ORE));
+
+        assertEquals(1, statistics.getBankTrades());
+        assertEquals(ratio, statistics.getBankCardsGiven(player.getPlayerId()));
+        assertEquals(1, statistics.getBankCardsReceived(player.getPlayerId()));
+
+        gameController.rollDice();
+        if (gameController.getLastDiceRoll() == 7) {
+            gameController.moveRobber((gameField.getRobberPosition() + 1) % gameField.getHexagons().length);
+        }
+        gameController.endTurn();
+        Player next = gameController.getCurrentPlayer();
+        GameHistoryTest.giveResources(next, 5);
+        int nodeId = gameField.getNodes().stream()
+            .filter(n -> n.hasSettlement() && n.getBuilding().getPlayerId() == next.getPlayerId())
+            .findFirst()
+            .orElseThrow()
+            .getNodeId();
+        assertTrue(gameController.buildCity(nodeId));
+
+        int last = statistics.getBuildCount() - 1;
+        assertEquals(GameHistory.CITY, statistics.getBuildKind(last));
+        assertEquals(next.getPlayerId(), statistics.getBuildPlayer(last));
+        assertEquals(nodeId, statistics.getBuildId(last));
+        assertEquals(1, statistics.getBuildTurn(last));
+    }
+
+    @Test
+    void testUndoTakesStepsBackAndRedoCountsThemAgain() {
+        GameStatistics before = statistics.snapshot();
+        int steps = 0;
+        for (int turn = 0; turn < 30; turn++) {
+            Player player = gameController.getCurrentPlayer();
+            if (gameController.rollDice() == 7) {
+                assertTrue(gameController.moveRobber((gameField.getRobberPosition() + 1) % gameField.getHexagons().length));
+                steps++;
+            }
+            int ratio = player.getBankTradeRatio(ResourceType.WOOD);
+            player.addResource(ResourceType.WOOD, ratio);
+            assertTrue(gameController.getTradeController().executeBankTrade(
+                player.getPlayerId(), ResourceType.WOOD, ratio, ResourceType.ORE));
+            Player target = gameController.getPlayerManager().getAllPlayers().stream()
+                .filter(p -> p != player)
+                .findFirst()
+                .orElseThrow();
+            player.addResource(ResourceType.GRAIN, 2);
+            target.addResource(ResourceType.WOOL, 1);
+            assertTrue(gameController.getTradeController().createTradeOffer(player.getPlayerId(), target.getPlayerId(),
+                Map.of(ResourceType.GRAIN, 2), Map.of(ResourceType.WOOL, 1)));
+            assertTrue(gameController.getTradeController().acceptTrade(target.getPlayerId()));
+            gameController.endTurn();
+            steps += 4;
+        }
+        GameStatistics after = statistics.snapshot();
+        assertEquals(30, after.getTurnCount());
+        assertEquals(30, after.getPlayerTrades());
+
+        for (int i = 0; i < steps; i++) {
+            assertTrue(gameController.undo());
+        }
+        assertFalse(gameController.canUndo());
+        assertSameCounters(before, statistics);
+
+        for (int i = 0; i < steps; i++) {
+            assertTrue(gameController.redo());
+        }
+        assertSameCounters(after, statistics);
+
+        // Undoing a building removes it from the timeline
+        Player next = gameController.getCurrentPlayer();
+        GameHistoryTest.giveResources(next, 5);
+        int nodeId = gameField.getNodes().stream()
+            .filter(n -> n.hasSettlement() && n.getBuilding().getPlayerId() == next.getPlayerId())
+            .findFirst()
+            .orElseThrow()
+            .getNodeId();
+        assertTrue(gameController.buildCity(nodeId));
+        assertTrue(gameController.undo());
+        assertEquals(after.getBuildCount(), statistics.getBuildCount());
+    }
+
+    @Test
+    void testSnapshotsMergeAcrossGames() throws InterruptedException {
+        GameStatistics[] results = new GameStatistics[2];
+        Thread[] threads = new Thread[2];
+        for (int t = 0; t < threads.length; t++) {
+            int index = t;
+            threads[t] = Thread.ofPlatform().start(() -> {
+                GameController game = GameHistoryTest.startedGame();
+                for (int turn = 0; turn < 20; turn++) {
+                    if (game.rollDice() == 7) {
+                        GameField field = game.getGameField();
+                        game.moveRobber((field.getRobberPosition() + 1) % field.getHexagons().length);
+                    }
+                    game.endTurn();
+                }
+                results[index] = game.getStatistics().snapshot();
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        GameStatistics first = results[0].snapshot();
+        GameStatistics total = results[0].snapshot().merge(results[1]);
+        assertEquals(2, total.getGameCount());
+        assertEquals(40, total.getTotalRolls());
+        assertEquals(40, total.getTurnCount());
+        assertEquals(first.getBuildCount() + results[1].getBuildCount(), total.getBuildCount());
+        for (int roll = 2; roll <= 12; roll++) {
+            assertEquals(results[0].getDiceCount(roll) + results[1].getDiceCount(roll), total.getDiceCount(roll));
+        }
+        assertEquals(results[0].getTotalIncome(0) + results[1].getTotalIncome(0), total.getTotalIncome(0));
+        assertEquals(Math.max(results[0].getMaxTurnNanos(0), results[1].getMaxTurnNanos(0)), total.getMaxTurnNanos(0));
+
+        // Merging does not change the merged snapshot
+        assertEquals(first.getTotalRolls(), results[0].getTotalRolls());
+        assertEquals(20, results[1].getTotalRolls());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> total.merge(new GameStatistics(total.getPlayerCount(), total.getHexagonCount() + 1)));
+    }
+
+    private static void assertSameCounters(GameStatistics expected, GameStatistics actual) {
+        assertEquals(expected.getTurnCount(), actual.getTurnCount());
+        assertEquals(expected.getBuildCount(), actual.getBuildCount());
+        assertEquals(expected.getRobberMoves(), actual.getRobberMoves());
+        assertEquals(expected.getBankTrades(), actual.getBankTrades());
+        assertEquals(expected.getPlayerTrades(), actual.getPlayerTrades());
+        for (int roll = 2; roll <= 12; roll++) {
+            assertEquals(expected.getDiceCount(roll), actual.getDiceCount(roll));
+        }
+        for (int p = 0; p < expected.getPlayerCount(); p++) {
+            for (ResourceType type : ResourceType.values()) {
+                assertEquals(expected.getIncome(p, type), actual.getIncome(p, type));
+            }
+            for (int h = 0; h < expected.getHexagonCount(); h++) {
+                assertEquals(expected.getIncomeFromHexagon(p, h), actual.getIncomeFromHexagon(p, h));
+            }
+            assertEquals(expected.getBlockedByRobber(p), actual.getBlockedByRobber(p));
+            assertEquals(expected.getBankCardsGiven(p), actual.getBankCardsGiven(p));
+            assertEquals(expected.getBankCardsReceived(p), actual.getBankCardsReceived(p));
+            assertEquals(expected.getPlayerTradeCardsGiven(p), actual.getPlayerTradeCardsGiven(p));
+            assertEquals(expected.getPlayerTradeCardsReceived(p), actual.getPlayerTradeCardsReceived(p));
+            assertEquals(expected.getTurnCount(p), actual.getTurnCount(p));
+        }
+    }
+
+    /**
+     * Find a producing hexagon next to a building, preferring frequent dice numbers
+     */
+    private Hexagon findBlockableHexagon() {
+        Hexagon best = null;
+        for (Hexagon hex : gameField.getHexagons()) {
+            int number = hex.getDiceNumber();
+            if (number < 2 || number > 12 || number == 7 || !hex.producesResources() || buildingYield(hex) == 0) {
+                continue;
+            }
+            if (best == null || Math.abs(7 - number) < Math.abs(7 - best.getDiceNumber())) {
+                best = hex;
+            }
+        }
+        assertNotNull(best);
+        return best;
+    }
+
+    private static int buildingYield(Hexagon hex) {
+        int cards = 0;
+        for (Node node : hex.getAdjacentNodes()) {
+            if (node.hasBuilding()) {
+                cards += node.hasCity() ? 2 : 1;
+            }
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,105 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Analysis.GamePosition;
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.GameField.BoardLayout;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Harbor;
+import de.philx.catan.GameField.HarborType;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.Players.Player;
+import de.philx.catan.Players.Player.ResourceType;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests the harbors on the coast and the per-player trade ratios they grant.
+ */
+public class HarborTest {
+
+    private GameController gameController;
+    private GameField gameField;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        gameController = GameHistoryTest.startedGame();
+        gameField = gameController.getGameField();
+        player = gameController.getCurrentPlayer();
+    }
+
+    @Test
+    void testStandardBoardHarbors() {
+        GameField board = new GameField(50.0, BoardLayout.standard());
+        Map<HarborType, Integer> counts = new EnumMap<>(HarborType.class);
+        Set<Integer> harborNodes = new HashSet<>();
+        for (Harbor harbor : board.getHarbors()) {
+            counts.merge(harbor.getType(), 1, Integer::sum);
+            Node node1 = board.getNode(harbor.getNode1());
+            assertTrue(node1.getAdjacentNodes().contains(board.getNode(harbor.getNode2())), "a harbor lies on one edge");
+            assertTrue(node1.getAdjacentHexagons().size() < 3, "a harbor lies on the coast");
+            assertTrue(harborNodes.add(harbor.getNode1()) && harborNodes.add(harbor.getNode2()), "harbors do not share nodes");
+            assertEquals(harbor.getType(), board.getHarbor(harbor.getNode2()));
+        }
+
+        assertEquals(9, board.getHarbors().size());
+        assertEquals(4, counts.get(HarborType.GENERIC));
+        for (HarborType type : HarborType.values()) {
+            assertTrue(counts.containsKey(type), type.name());
+        }
+        assertEquals(18, board.getTopology().getHarborNodes().length);
+    }
+
+    @Test
+    void testSettlingOnHarborLowersRatioUntilUndone() {
+        int nodeId = freeHarborNode();
+        HarborType harbor = gameField.getHarbor(nodeId);
+        ResourceType resource = harbor.isGeneric() ? ResourceType.WOOD : Player.toResourceType(harbor);
+        int ratioBefore = player.getBankTradeRatio(resource);
+        int ratio = Math.min(ratioBefore, harbor.getRatio());
+        GameHistoryTest.giveResources(player, 5);
+
+        assertTrue(gameController.buildSettlement(nodeId));
+        assertEquals(ratio, player.getBankTradeRatio(resource));
+        assertEquals(ratio, gameController.getTradeController().getBankTradeRatio(player.getPlayerId(), resource));
+
+        int before = player.getResourceAmount(resource);
+        assertTrue(gameController.getTradeController().executeBankTrade(player.getPlayerId(), resource, ratio, ResourceType.ORE));
+        assertEquals(before - ratio, player.getResourceAmount(resource));
+
+        assertTrue(gameController.undo());
+        assertTrue(gameController.undo());
+        assertEquals(ratioBefore, player.getBankTradeRatio(resource));
+    }
+
+    @Test
+    void testPositionTracksRatiosCopyOnWrite() {
+        int nodeId = freeHarborNode();
+        HarborType harbor = gameField.getHarbor(nodeId);
+        ResourceType resource = harbor.isGeneric() ? ResourceType.ORE : Player.toResourceType(harbor);
+        GameHistoryTest.giveResources(player, 5);
+
+        GamePosition parent = GamePosition.of(gameController);
+        int ratioBefore = parent.getTradeRatio(player.getPlayerId(), resource);
+        GamePosition child = parent.fork();
+        assertTrue(child.buildSettlement(player.getPlayerId(), nodeId));
+
+        assertEquals(Math.min(ratioBefore, harbor.getRatio()), child.getTradeRatio(player.getPlayerId(), resource));
+        assertEquals(ratioBefore, parent.getTradeRatio(player.getPlayerId(), resource));
+    }
+
+    private int freeHarborNode() {
+        for (int nodeId : gameField.getTopology().getHarborNodes()) {
+            if (gameField.getNode(nodeId).isValidForSettlement()) {
+                return nodeId;
+            }
+        }
+        throw new AssertionError("every harbor is taken");
+    }
+}
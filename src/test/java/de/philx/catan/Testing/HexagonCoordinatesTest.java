@@ -0,0 +1,42 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Hexagon;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tests the axial hex coordinates of the board and their independence of the board scale.
+ */
+public class HexagonCoordinatesTest {
+
+    @Test
+    void testAxialCoordinatesFormHexagonalBoard() {
+        GameField gameField = new GameField(50);
+        Set<String> seen = new HashSet<>();
+
+        for (Hexagon hex : gameField.getHexagons()) {
+            int q = hex.getAxialQ();
+            int r = hex.getAxialR();
+            assertTrue(Math.abs(q) <= 2 && Math.abs(r) <= 2 && Math.abs(q + r) <= 2, hex.toString());
+            assertTrue(seen.add(q + "," + r), "duplicate coordinate " + q + "," + r);
+        }
+        assertTrue(seen.contains("0,0"));
+    }
+
+    @Test
+    void testCoordinatesDoNotDependOnScale() {
+        GameField small = new GameField(20);
+        GameField large = new GameField(80);
+        for (int i = 0; i < small.getHexagons().length; i++) {
+            assertEquals(small.getHexagon(i).getAxialQ(), large.getHexagon(i).getAxialQ());
+            assertEquals(small.getHexagon(i).getAxialR(), large.getHexagon(i).getAxialR());
+            assertEquals(small.getHexagon(i).getCenterX() * 4, large.getHexagon(i).getCenterX(), 1e-9);
+        }
+        assertEquals(small.getNodes().size(), large.getNodes().size());
+        assertEquals(small.getEdges().size(), large.getEdges().size());
+    }
+}
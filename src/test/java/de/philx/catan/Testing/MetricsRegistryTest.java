@@ -0,0 +1,98 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Metrics.Counter;
+import de.philx.catan.Metrics.LatencyHistogram;
+import de.philx.catan.Metrics.MetricsRegistry;
+
+/**
+ * Tests counters, latency histograms and the disabled path of the metrics registry.
+ */
+public class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = MetricsRegistry.getInstance();
+
+    @AfterEach
+    void tearDown() {
+        MetricsRegistry.setEnabled(false);
+        registry.reset();
+    }
+
+    @Test
+    void testHistogramQuantiles() {
+        LatencyHistogram histogram = registry.histogram("test.quantiles");
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1_000, snapshot.getMin());
+        assertEquals(1_000_000, snapshot.getMax());
+        assertEquals(500_500, snapshot.getMean(), 0.5);
+
+        // Buckets are at most 1/16 wide
+        assertEquals(500_000, snapshot.getValueAtQuantile(0.5), 500_000 / 16.0);
+        assertEquals(990_000, snapshot.getValueAtQuantile(0.99), 990_000 / 16.0);
+        assertTrue(snapshot.getValueAtQuantile(0.99) >= 990_000);
+        assertEquals(1_000_000, snapshot.getValueAtQuantile(1.0));
+    }
+
+    @Test
+    void testDisabledPathRecordsNothing() {
+        MetricsRegistry.setEnabled(false);
+        Counter counter = registry.counter("test.disabled");
+        LatencyHistogram histogram = registry.histogram("test.disabled");
+
+        long start = MetricsRegistry.startTimer();
+        assertEquals(0, start);
+        histogram.recordSince(start);
+        counter.increment();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, counter.getValue());
+    }
+
+    @Test
+    void testConcurrentCounting() throws InterruptedException {
+        MetricsRegistry.setEnabled(true);
+        Counter counter = registry.counter("test.concurrent");
+        LatencyHistogram histogram = registry.histogram("test.concurrent");
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment();
+                    histogram.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, counter.getValue());
+        assertEquals(40_000, histogram.snapshot().getCount());
+    }
+
+    @Test
+    void testGameOperationsAreReported() {
+        MetricsRegistry.setEnabled(true);
+        GameController gameController = GameHistoryTest.startedGame();
+        gameController.rollDice();
+
+        assertEquals(1, registry.histogram("game.rollDice").getCount());
+        assertEquals(1, registry.counter("game.dice.rolls").getValue());
+        assertTrue(registry.histogram("field.create").getCount() >= 1);
+
+        String report = registry.createReport();
+        assertTrue(report.contains("game.rollDice"));
+        assertTrue(report.contains("game.dice.rolls"));
+    }
+}
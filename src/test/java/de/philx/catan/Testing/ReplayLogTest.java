@@ -0,0 +1,140 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Controllers.GameSnapshot;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.Players.Player;
+import de.philx.catan.Replay.ReplayLog;
+import de.philx.catan.Replay.StateDeltaDecoder;
+import de.philx.catan.Replay.StateDeltaEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests delta encoding, mirroring and keyframe seeking of recorded games.
+ */
+public class ReplayLogTest {
+
+    private GameController gameController;
+    private ReplayLog log;
+    private List<GameSnapshot> recorded;
+
+    @BeforeEach
+    void setUp() {
+        gameController = new GameController();
+        gameController.startTestGame();
+        log = new ReplayLog(gameController.getGameField().getTopology(), 4);
+        recorded = new ArrayList<>();
+        record();
+
+        GameHistoryTest.completeSetupPhase(gameController);
+        record();
+        playTurns(20);
+    }
+
+    @Test
+    void testMirrorFollowsLiveGame() {
+        GameController mirror = new GameController();
+        StateDeltaDecoder decoder = new StateDeltaDecoder(mirror);
+
+        for (int i = 0; i < log.getFrameCount(); i++) {
+            decoder.apply(log.getFrame(i));
+            GameHistoryTest.assertSameState(recorded.get(i), GameSnapshot.capture(mirror, 0));
+        }
+
+        GameField live = gameController.getGameField();
+        GameField mirrored = mirror.getGameField();
+        for (int i = 0; i < live.getHexagons().length; i++) {
+            assertEquals(live.getHexagon(i).getTerrainType(), mirrored.getHexagon(i).getTerrainType());
+            assertEquals(live.getHexagon(i).getDiceNumber(), mirrored.getHexagon(i).getDiceNumber());
+        }
+    }
+
+    @Test
+    void testSeekUsesNearestKeyframe() {
+        assertTrue(log.getKeyframeCount() > 1);
+
+        for (int turn = 0; turn <= log.getTurn(); turn++) {
+            GameController mirror = new GameController();
+            StateDeltaDecoder decoder = new StateDeltaDecoder(mirror);
+            int applied = log.seek(turn, decoder);
+
+            int expectedFrame = lastFrameOfTurn(turn);
+            GameHistoryTest.assertSameState(recorded.get(expectedFrame), GameSnapshot.capture(mirror, 0));
+            assertTrue(applied <= expectedFrame + 1);
+        }
+
+        // Seeking backwards on an existing mirror restarts from a keyframe
+        GameController mirror = new GameController();
+        StateDeltaDecoder decoder = new StateDeltaDecoder(mirror);
+        log.seek(log.getTurn(), decoder);
+        log.seek(1, decoder);
+        GameHistoryTest.assertSameState(recorded.get(lastFrameOfTurn(1)), GameSnapshot.capture(mirror, 0));
+    }
+
+    @Test
+    void testDeltasAreSmall() {
+        // Frame 1 carries the whole setup phase, afterwards every frame is a single action
+        int keyframeBytes = 0;
+        for (int i = 0; i < log.getFrameCount(); i++) {
+            keyframeBytes = Math.max(keyframeBytes, log.getFrame(i).length);
+        }
+        for (int i = 2; i < log.getFrameCount(); i++) {
+            byte[] frame = log.getFrame(i);
+            if (frame[0] == StateDeltaEncoder.FRAME_DELTA) {
+                assertTrue(frame.length < keyframeBytes / 2, "delta of " + frame.length + " bytes");
+            }
+        }
+    }
+
+    private void playTurns(int turns) {
+        for (int t = 0; t < turns; t++) {
+            Player player = gameController.getCurrentPlayer();
+            gameController.rollDice();
+            record();
+            if (gameController.isWaitingForRobberPlacement()) {
+                gameController.moveRobber((gameController.getGameField().getRobberPosition() + 1) % 19);
+                record();
+            }
+
+            player.addResource(Player.ResourceType.WOOD, 1);
+            player.addResource(Player.ResourceType.CLAY, 1);
+            player.addResource(Player.ResourceType.GRAIN, 1);
+            player.addResource(Player.ResourceType.WOOL, 1);
+            gameController.getGameField().getNodes().stream()
+                .filter(Node::isValidForSettlement)
+                .findFirst()
+                .ifPresent(node -> gameController.buildSettlement(node.getNodeId()));
+            record();
+
+            gameController.endTurn();
+            record();
+        }
+    }
+
+    private void record() {
+        GameSnapshot snapshot = GameSnapshot.capture(gameController, recorded.size());
+        recorded.add(snapshot);
+        log.append(snapshot);
+    }
+
+    private int lastFrameOfTurn(int turn) {
+        int result = 0;
+        int current = 0;
+        for (int i = 1; i < recorded.size(); i++) {
+            if (recorded.get(i).getCurrentPlayerId() != recorded.get(i - 1).getCurrentPlayerId()) {
+                current++;
+            }
+            if (current <= turn) {
+                result = i;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,107 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Players.Player;
+import de.philx.catan.Players.PlayerManager;
+import de.philx.catan.Players.ScoreLedger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the incremental victory point ledger, its ranking and the win event.
+ */
+public class ScoreLedgerTest {
+
+    private GameController gameController;
+    private PlayerManager playerManager;
+    private ScoreLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        gameController = GameHistoryTest.startedGame();
+        playerManager = gameController.getPlayerManager();
+        ledger = playerManager.getScoreLedger();
+    }
+
+    @Test
+    void testRankingFollowsPoints() {
+        Player last = playerManager.getPlayerById(playerManager.getPlayerCount() - 1);
+        last.addVictoryPoints(3);
+
+        assertSame(last, ledger.getPlayerAtRank(0));
+        assertEquals(0, ledger.getRank(last.getPlayerId()));
+        assertRankingMatchesPoints();
+
+        last.removeVictoryPoints(3);
+        assertRankingMatchesPoints();
+        assertEquals(last.getVictoryPoints(), ledger.getVictoryPoints(last.getPlayerId()));
+    }
+
+    @Test
+    void testBonusPointsSurviveRecalculation() {
+        Player player = playerManager.getPlayerById(0);
+        int before = player.getVictoryPoints();
+        player.addVictoryPoints(2);
+        player.calculateVictoryPoints();
+
+        assertEquals(before + 2, player.getVictoryPoints(), "the longest road bonus must not be lost");
+        assertEquals(before + 2, ledger.getVictoryPoints(0));
+    }
+
+    @Test
+    void testWinIsRaisedByTheActionThatCrossesTheThreshold() {
+        Player player = gameController.getCurrentPlayer();
+        List<Player> winners = new ArrayList<>();
+        List<Player> revoked = new ArrayList<>();
+        ledger.addWinListener(new ScoreLedger.WinListener() {
+            @Override
+            public void onWin(Player winner, int victoryPoints) {
+                winners.add(winner);
+            }
+
+            @Override
+            public void onWinRevoked(Player formerWinner) {
+                revoked.add(formerWinner);
+            }
+        });
+
+        player.addVictoryPoints(ScoreLedger.WINNING_POINTS - 1 - player.getVictoryPoints());
+        assertNull(playerManager.getWinner());
+        assertTrue(winners.isEmpty());
+
+        // Upgrading a settlement is worth one more point
+        int settlement = gameController.getGameField().getNodes().stream()
+            .filter(n -> n.hasSettlement() && n.getBuilding().getPlayerId() == player.getPlayerId())
+            .findFirst()
+            .orElseThrow()
+            .getNodeId();
+        player.addResource(Player.ResourceType.GRAIN, 2);
+        player.addResource(Player.ResourceType.ORE, 3);
+        assertTrue(gameController.buildCity(settlement));
+
+        assertEquals(List.of(player), winners);
+        assertSame(player, playerManager.getWinner());
+        assertTrue(gameController.gameMessageProperty().get().contains("gewonnen"));
+
+        // Undoing the city takes the win back
+        assertTrue(gameController.undo());
+        assertNull(playerManager.getWinner());
+        assertEquals(List.of(player), revoked);
+
+        // Redoing it wins again
+        assertTrue(gameController.redo());
+        assertEquals(List.of(player, player), winners);
+        assertSame(player, playerManager.getWinner());
+    }
+
+    private void assertRankingMatchesPoints() {
+        for (int rank = 1; rank < ledger.getPlayerCount(); rank++) {
+            assertTrue(ledger.getPlayerAtRank(rank - 1).getVictoryPoints() >= ledger.getPlayerAtRank(rank).getVictoryPoints());
+        }
+        assertEquals(ledger.getPlayerCount(), playerManager.getPlayersByVictoryPoints().size());
+    }
+}
@@ -0,0 +1,167 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Components.PlayerInterface;
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Controllers.GamePreloader;
+import de.philx.catan.Screens.GameScreen;
+import de.philx.catan.Screens.ScreenNavigator;
+import de.philx.catan.Screens.StartScreen;
+import de.philx.catan.Utils.Disposer;
+import de.philx.catan.Utils.GameSettings;
+import de.philx.catan.Utils.ThemeManager;
+import javafx.animation.Animation;
+import javafx.application.Platform;
+import javafx.scene.text.Text;
+import javafx.stage.Stage;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests that disposed games release everything that kept them reachable.
+ *
+ * The screens run on the headless Monocle toolkit configured for the tests and are
+ * switched with the same {@link ScreenNavigator} the application uses. The stage is
+ * never shown, so no text is laid out unless a component measures it itself.
+ */
+public class ScreenLifecycleTest {
+
+    private static final int CYCLES = 1000;
+    private static final int GC_ATTEMPTS = 20;
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 800;
+
+    @BeforeAll
+    static void startToolkit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException e) {
+            // Already started by another test class
+            started.countDown();
+        }
+        Platform.setImplicitExit(false);
+        assertTrue(started.await(30, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Check that the toolkit can lay out text; on Linux this needs the system's Pango
+     * libraries, which minimal build containers lack
+     */
+    private static boolean canLayoutText() throws Exception {
+        boolean[] available = new boolean[1];
+        onFxThread(() -> {
+            try {
+                available[0] = new Text("Catan").getLayoutBounds().getWidth() > 0;
+            } catch (LinkageError e) {
+                available[0] = false;
+            }
+        });
+        return available[0];
+    }
+
+    @Test
+    void testDisposerRunsActionsOnceInReverseOrder() {
+        Disposer disposer = new Disposer();
+        List<String> calls = new ArrayList<>();
+        disposer.onDispose(() -> calls.add("first"));
+        disposer.add(() -> calls.add("child"));
+        disposer.onDispose(() -> { throw new IllegalStateException("broken cleanup"); });
+        disposer.onDispose(() -> calls.add("last"));
+
+        disposer.dispose();
+        disposer.dispose();
+        assertEquals(List.of("last", "child", "first"), calls);
+        assertTrue(disposer.isDisposed());
+
+        // Late registrations are released immediately
+        disposer.onDispose(() -> calls.add("late"));
+        assertEquals("late", calls.get(calls.size() - 1));
+    }
+
+    @Test
+    void testStartQuitCyclesReleaseRealScreens() throws Exception {
+        ThemeManager themeManager = ThemeManager.getInstance();
+        GameSettings settings = GameSettings.getInstance();
+        GameSettings.BoardRenderer renderer = settings.getBoardRenderer();
+        List<WeakReference<Object>> discarded = new ArrayList<>();
+
+        // The scene graph board measures its dice numbers while it is built; where text
+        // cannot be laid out the same screen draws the board on the canvas instead
+        boolean textLayout = canLayoutText();
+        try {
+            onFxThread(() -> {
+                if (!textLayout) {
+                    settings.setBoardRenderer(GameSettings.BoardRenderer.CANVAS);
+                }
+                ScreenNavigator navigator = new ScreenNavigator(new Stage());
+                int listenersBefore = themeManager.getThemeChangeListenerCount();
+                navigator.show(new StartScreen(() -> {}, () -> {}), WIDTH, HEIGHT);
+
+                for (int i = 0; i < CYCLES; i++) {
+                    // Start a game from the menu
+                    GameController gameController = GamePreloader.newTestGame();
+                    GameScreen game = new GameScreen(WIDTH, HEIGHT, () -> {}, gameController);
+                    navigator.show(game, WIDTH, HEIGHT);
+                    PlayerInterface playerInterface = game.getPlayerInterface();
+                    assertEquals(Animation.Status.RUNNING, playerInterface.getUpdateStatus());
+
+                    // Quit to the menu
+                    navigator.show(new StartScreen(() -> {}, () -> {}), WIDTH, HEIGHT);
+                    assertEquals(Animation.Status.STOPPED, playerInterface.getUpdateStatus(), "update timeline still running");
+                    assertEquals(listenersBefore, themeManager.getThemeChangeListenerCount(), "theme listeners leaked");
+                    discarded.add(new WeakReference<>(game));
+                    discarded.add(new WeakReference<>(gameController));
+                }
+
+                navigator.disposeCurrent();
+                assertEquals(listenersBefore, themeManager.getThemeChangeListenerCount(), "theme listeners leaked");
+            });
+        } finally {
+            onFxThread(() -> settings.setBoardRenderer(renderer));
+        }
+
+        assertEquals(0, awaitCollected(discarded), "discarded screens or games are still reachable");
+    }
+
+    /**
+     * Run the garbage collector until the referents are gone, giving up after
+     * {@link #GC_ATTEMPTS} tries
+     * @return The number of referents still reachable
+     */
+    private static int awaitCollected(List<WeakReference<Object>> references) throws Exception {
+        int reachable = references.size();
+        for (int attempt = 0; attempt < GC_ATTEMPTS && reachable > 0; attempt++) {
+            // Let tasks queued for the FX thread run, they may still hold a screen
+            onFxThread(() -> {});
+            System.gc();
+            Thread.sleep(50);
+            reachable = (int) references.stream().filter(reference -> reference.get() != null).count();
+        }
+        return reachable;
+    }
+
+    /**
+     * Run an action on the JavaFX application thread and wait for it, rethrowing its failures
+     */
+    private static void onFxThread(Runnable action) throws Exception {
+        FutureTask<Void> task = new FutureTask<>(action, null);
+        Platform.runLater(task);
+        try {
+            task.get(60, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Utils.ThemeManager;
+import java.net.URL;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javafx.css.CssParser;
+import javafx.css.Declaration;
+import javafx.css.Rule;
+import javafx.css.Selector;
+import javafx.css.Stylesheet;
+import javafx.scene.layout.Pane;
+
+/**
+ * Tests the theme stylesheet and the root-level theme switch.
+ */
+public class ThemeStylesheetTest {
+
+    private static final List<String> THEME_COLORS = List.of(
+        "-catan-background", "-catan-background-end", "-catan-card-background",
+        "-catan-border", "-catan-text", "-catan-secondary-text", "-catan-button-hover");
+
+    @AfterEach
+    void tearDown() {
+        ThemeManager.getInstance().setDarkMode(false);
+    }
+
+    @Test
+    void testBothThemesDefineEveryColor() throws Exception {
+        Stylesheet stylesheet = parseStylesheet();
+        assertEquals(Set.copyOf(THEME_COLORS), declaredProperties(stylesheet, ".root:dark"));
+        assertTrue(declaredProperties(stylesheet, ".root").containsAll(THEME_COLORS));
+    }
+
+    @Test
+    void testStylesheetCoversStyleClassesUsedByComponents() throws Exception {
+        Set<String> selectors = new HashSet<>();
+        for (Rule rule : parseStylesheet().getRules()) {
+            for (Selector selector : rule.getSelectors()) {
+                selectors.add(selector.toString());
+            }
+        }
+        String all = String.join(" ", selectors);
+        for (String styleClass : List.of("card", "card-title", "section-title", "secondary-text", "primary-text",
+                                         "placement-hint", "action-panel", "screen", "separator-line",
+                                         "styled-button", "primary", "success", "warning", "danger")) {
+            assertTrue(all.contains("." + styleClass), "no rule for ." + styleClass);
+        }
+    }
+
+    @Test
+    void testSwitchingThemeOnlyFlipsRootPseudoClass() {
+        ThemeManager themeManager = ThemeManager.getInstance();
+        Pane root = new Pane();
+        Pane child = new Pane();
+        root.getChildren().add(child);
+        themeManager.applyTheme(root);
+        int listeners = themeManager.getThemeChangeListenerCount();
+
+        themeManager.setDarkMode(true);
+        assertTrue(root.getPseudoClassStates().contains(ThemeManager.DARK));
+        assertFalse(child.getPseudoClassStates().contains(ThemeManager.DARK));
+        assertEquals("", root.getStyle(), "no inline styles are generated");
+
+        themeManager.setDarkMode(false);
+        assertFalse(root.getPseudoClassStates().contains(ThemeManager.DARK));
+        assertEquals(listeners, themeManager.getThemeChangeListenerCount());
+
+        // Roots registered later start in the current theme
+        themeManager.setDarkMode(true);
+        Pane lateRoot = new Pane();
+        themeManager.applyTheme(lateRoot);
+        assertTrue(lateRoot.getPseudoClassStates().contains(ThemeManager.DARK));
+    }
+
+    private static Stylesheet parseStylesheet() throws Exception {
+        URL url = ThemeManager.class.getResource(ThemeManager.STYLESHEET_PATH);
+        assertNotNull(url, "theme stylesheet missing");
+        return new CssParser().parse(url);
+    }
+
+    private static Set<String> declaredProperties(Stylesheet stylesheet, String selector) {
+        Set<String> properties = new HashSet<>();
+        for (Rule rule : stylesheet.getRules()) {
+            for (Selector s : rule.getSelectors()) {
+                if (s.toString().equals(selector) || s.toString().equals("*" + selector)) {
+                    for (Declaration declaration : rule.getDeclarations()) {
+                        properties.add(declaration.getProperty());
+                    }
+                }
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,275 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Controllers.ActionResult;
+import de.philx.catan.Controllers.GameCommandPipeline;
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Controllers.TradeController;
+import de.philx.catan.Controllers.TradeOrderBook;
+import de.philx.catan.Network.BotClient;
+import de.philx.catan.Network.BotProtocol;
+import de.philx.catan.Network.BotServer;
+import de.philx.catan.Players.Player;
+import de.philx.catan.Players.Player.ResourceType;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests the order book of simultaneous trade offers.
+ */
+public class TradeOrderBookTest {
+
+    private GameController gameController;
+    private TradeController tradeController;
+    private List<Player> players;
+
+    @BeforeEach
+    void setUp() {
+        gameController = new GameController();
+        gameController.startTestGame();
+        tradeController = gameController.getTradeController();
+        players = gameController.getPlayerManager().getAllPlayers();
+        for (Player player : players) {
+            for (ResourceType type : ResourceType.values()) {
+                player.removeResource(type, player.getResourceAmount(type));
+                player.addResource(type, 2);
+            }
+        }
+    }
+
+    @Test
+    void testBroadcastOfferIsTradedOnlyOnce() throws InterruptedException {
+        int offerer = players.get(0).getPlayerId();
+        int offerId = tradeController.postOffer(offerer, TradeOrderBook.ALL_PLAYERS,
+            Map.of(ResourceType.WOOD, 1), Map.of(ResourceType.ORE, 1));
+        assertTrue(offerId > 0);
+        assertEquals(-ActionResult.INVALID_PLAYER, tradeController.postOffer(offerer, offerer,
+            Map.of(ResourceType.WOOD, 1), Map.of()));
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        Thread[] accepters = new Thread[players.size() - 1];
+        for (int i = 0; i < accepters.length; i++) {
+            int playerId = players.get(i + 1).getPlayerId();
+            accepters[i] = Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (tradeController.acceptOffer(offerId, playerId) == ActionResult.OK) {
+                    successes.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        for (Thread accepter : accepters) {
+            accepter.join();
+        }
+
+        assertEquals(1, successes.get());
+        assertEquals(1, players.get(0).getResourceAmount(ResourceType.WOOD));
+        assertEquals(3, players.get(0).getResourceAmount(ResourceType.ORE));
+        assertNull(tradeController.getOrderBook().getOffer(offerId));
+    }
+
+    @Test
+    void testAcceptRevalidatesAndKeepsOfferOpen() {
+        Player offerer = players.get(0);
+        Player partner = players.get(1);
+        int offerId = tradeController.postOffer(offerer.getPlayerId(), partner.getPlayerId(),
+            Map.of(ResourceType.WOOD, 2), Map.of(ResourceType.GRAIN, 1));
+
+        // The offerer spends the offered wood before the partner answers
+        offerer.removeResource(ResourceType.WOOD, 1);
+        assertEquals(ActionResult.INSUFFICIENT_RESOURCES, tradeController.acceptOffer(offerId, partner.getPlayerId()));
+        assertEquals(ActionResult.INSUFFICIENT_RESOURCES, tradeController.getLastActionResult());
+        assertTrue(tradeController.getOrderBook().getOffer(offerId).isOpen());
+
+        assertEquals(ActionResult.NOT_TRADE_TARGET, tradeController.acceptOffer(offerId, players.get(2).getPlayerId()));
+
+        offerer.addResource(ResourceType.WOOD, 1);
+        assertEquals(ActionResult.OK, tradeController.acceptOffer(offerId, partner.getPlayerId()));
+        assertEquals(4, partner.getResourceAmount(ResourceType.WOOD));
+    }
+
+    @Test
+    void testAcceptRunsOnPipelineWriter() {
+        int offerer = players.get(0).getPlayerId();
+        int partner = players.get(1).getPlayerId();
+        int offerId = tradeController.postOffer(offerer, partner, Map.of(ResourceType.WOOD, 1), Map.of(ResourceType.ORE, 1));
+
+        try (GameCommandPipeline pipeline = new GameCommandPipeline(gameController)) {
+            long version = pipeline.snapshot().getVersion();
+            assertEquals(ActionResult.OK, tradeController.acceptOffer(offerId, partner));
+            // The trade was applied by the writer, which published it in a new snapshot
+            assertTrue(pipeline.snapshot().getVersion() > version);
+            assertEquals(3, pipeline.snapshot().getResourceAmount(partner, ResourceType.WOOD));
+        }
+    }
+
+    @Test
+    void testWithdrawDuringFailedAcceptClosesOffer() throws InterruptedException {
+        TradeOrderBook book = new TradeOrderBook();
+        int offerId = book.post(0, TradeOrderBook.ALL_PLAYERS, Map.of(ResourceType.WOOD, 1), Map.of(ResourceType.ORE, 1))
+            .getOfferId();
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread accepter = Thread.ofPlatform().start(() -> book.accept(offerId, 1, (offer, player) -> {
+            claimed.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ActionResult.PARTNER_INSUFFICIENT_RESOURCES;
+        }));
+        assertTrue(claimed.await(10, TimeUnit.SECONDS));
+
+        AtomicInteger withdrawn = new AtomicInteger(-1);
+        Thread withdrawer = Thread.ofPlatform().start(() -> withdrawn.set(book.withdraw(offerId, 0) ? 1 : 0));
+        while (withdrawer.getState() != Thread.State.WAITING && withdrawer.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        accepter.join();
+        withdrawer.join();
+
+        assertEquals(1, withdrawn.get());
+        assertNull(book.getOffer(offerId), "the failed trade must not reopen a withdrawn offer");
+    }
+
+    @Test
+    void testDiceProductionWaitsForRunningTrade() throws InterruptedException {
+        GameHistoryTest.completeSetupPhase(gameController);
+        int offerId = tradeController.postOffer(players.get(0).getPlayerId(), TradeOrderBook.ALL_PLAYERS,
+            Map.of(ResourceType.WOOD, 1), Map.of(ResourceType.ORE, 1));
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread trader = Thread.ofPlatform().start(() -> tradeController.getOrderBook().accept(offerId, 1, (offer, player) -> {
+            claimed.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ActionResult.OK;
+        }));
+        assertTrue(claimed.await(10, TimeUnit.SECONDS));
+
+        Thread roller = Thread.ofPlatform().start(gameController::rollDice);
+        while (roller.getState() != Thread.State.WAITING && roller.isAlive()) {
+            Thread.onSpinWait();
+        }
+        assertTrue(roller.isAlive(), "the roll must not change resources during a trade");
+        release.countDown();
+        trader.join();
+        roller.join();
+        assertTrue(gameController.getCurrentPlayer().hasRolledDice());
+    }
+
+    @Test
+    void testCounterRacingAcceptIsNotAttachedToTradedOffer() throws InterruptedException {
+        TradeOrderBook book = new TradeOrderBook();
+        int offerId = book.post(0, TradeOrderBook.ALL_PLAYERS, Map.of(ResourceType.WOOD, 1), Map.of(ResourceType.ORE, 1))
+            .getOfferId();
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread accepter = Thread.ofPlatform().start(() -> book.accept(offerId, 1, (offer, player) -> {
+            claimed.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ActionResult.OK;
+        }));
+        assertTrue(claimed.await(10, TimeUnit.SECONDS));
+
+        // The counter-offer finds the claimed original and must wait for the trade to end
+        AtomicReference<TradeOrderBook.Offer> counter = new AtomicReference<>();
+        Thread counterer = Thread.ofPlatform().start(() ->
+            counter.set(book.counter(offerId, 2, Map.of(ResourceType.ORE, 1), Map.of(ResourceType.WOOD, 2))));
+        while (counterer.getState() != Thread.State.WAITING && counterer.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        accepter.join();
+        counterer.join();
+
+        assertNull(counter.get(), "no counter-offer to a traded offer");
+        assertEquals(0, book.size());
+    }
+
+    @Test
+    void testCounterOfferClosesOriginal() {
+        int offerer = players.get(0).getPlayerId();
+        int partner = players.get(1).getPlayerId();
+        int offerId = tradeController.postOffer(offerer, TradeOrderBook.ALL_PLAYERS,
+            Map.of(ResourceType.CLAY, 1), Map.of(ResourceType.WOOL, 2));
+        int counterId = tradeController.counterOffer(offerId, partner,
+            Map.of(ResourceType.WOOL, 1), Map.of(ResourceType.CLAY, 1));
+        assertTrue(counterId > 0);
+        assertEquals(offerId, tradeController.getOrderBook().getOffer(counterId).getCounteredOfferId());
+
+        assertEquals(ActionResult.NOT_TRADE_TARGET, tradeController.acceptOffer(counterId, players.get(2).getPlayerId()),
+            "only the author may accept");
+        assertEquals(ActionResult.OK, tradeController.acceptOffer(counterId, offerer));
+        assertEquals(0, tradeController.getOrderBook().size());
+        assertEquals(3, players.get(0).getResourceAmount(ResourceType.WOOL));
+    }
+
+    @Test
+    void testFindMatchesUsesComplementaryOffers() {
+        TradeOrderBook book = tradeController.getOrderBook();
+        int first = tradeController.postOffer(players.get(0).getPlayerId(), TradeOrderBook.ALL_PLAYERS,
+            Map.of(ResourceType.WOOD, 2), Map.of(ResourceType.ORE, 1));
+        int match = tradeController.postOffer(players.get(1).getPlayerId(), TradeOrderBook.ALL_PLAYERS,
+            Map.of(ResourceType.ORE, 1), Map.of(ResourceType.WOOD, 1));
+        tradeController.postOffer(players.get(2).getPlayerId(), TradeOrderBook.ALL_PLAYERS,
+            Map.of(ResourceType.ORE, 1), Map.of(ResourceType.GRAIN, 1));
+        tradeController.postOffer(players.get(1).getPlayerId(), players.get(2).getPlayerId(),
+            Map.of(ResourceType.ORE, 2), Map.of(ResourceType.WOOD, 1));
+
+        List<TradeOrderBook.Offer> matches = book.findMatches(first);
+        assertEquals(1, matches.size());
+        assertEquals(match, matches.get(0).getOfferId());
+        assertEquals(3, book.getOffersGiving(ResourceType.ORE).size());
+
+        gameController.endTurn();
+        assertEquals(0, book.size(), "offers expire with the turn");
+    }
+
+    @Test
+    void testBotsNegotiateThroughOrderBook() throws Exception {
+        int offerer = players.get(0).getPlayerId();
+        int partner = players.get(1).getPlayerId();
+        try (BotServer server = BotServer.openLoopback(gameController, 0)) {
+            server.start();
+            try (BotClient client = BotClient.connect(server.getLocalAddress())) {
+                BotClient.BatchResult posted = client.batch()
+                    .postOffer(offerer, BotProtocol.ALL_PLAYERS, Map.of(ResourceType.GRAIN, 1), Map.of(ResourceType.WOOL, 1))
+                    .postOffer(offerer, offerer, Map.of(ResourceType.GRAIN, 1), Map.of())
+                    .send();
+                assertTrue(posted.isOk(0));
+                assertEquals(ActionResult.INVALID_PLAYER, posted.reason(1));
+
+                int offerId = posted.value(0);
+                BotClient.BatchResult answered = client.batch()
+                    .acceptOffer(partner, offerId)
+                    .acceptOffer(partner, offerId)
+                    .send();
+                assertTrue(answered.isOk(0));
+                assertEquals(ActionResult.NO_TRADE_OFFER, answered.reason(1));
+            }
+        }
+        assertEquals(3, players.get(1).getResourceAmount(ResourceType.GRAIN));
+    }
+}
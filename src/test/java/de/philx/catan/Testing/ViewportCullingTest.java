@@ -0,0 +1,89 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.GameField.BoardLayout;
+import de.philx.catan.GameField.BoardPickIndex;
+import de.philx.catan.GameField.Edge;
+import de.philx.catan.GameField.GameField;
+import de.philx.catan.GameField.Hexagon;
+import de.philx.catan.GameField.Node;
+import de.philx.catan.GameField.RoadChains;
+import de.philx.catan.GamePieces.Street;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests the region queries and road merging used by the culled board renderer.
+ */
+public class ViewportCullingTest {
+
+    @Test
+    void testRegionQueriesReportEachVisiblePieceOnce() {
+        GameField gameField = new GameField(50, BoardLayout.hexagonal(10));
+        BoardPickIndex index = BoardPickIndex.of(gameField, 15, 10);
+        double minX = 400, minY = 300, maxX = 1100, maxY = 800;
+
+        List<Integer> hexagons = new ArrayList<>();
+        index.forEachHexagonIn(minX, minY, maxX, maxY, hexagons::add);
+        assertEquals(hexagons.size(), new HashSet<>(hexagons).size(), "hexagon reported twice");
+        for (Hexagon hex : gameField.getHexagons()) {
+            boolean intersects = hex.getCenterX() + hex.getRadius() >= minX && hex.getCenterX() - hex.getRadius() <= maxX
+                && hex.getCenterY() + hex.getRadius() >= minY && hex.getCenterY() - hex.getRadius() <= maxY;
+            if (intersects) {
+                assertTrue(hexagons.contains(hex.getHexagonId()), "missing " + hex);
+            }
+        }
+        assertTrue(hexagons.size() < gameField.getHexagons().length / 2);
+
+        List<Integer> nodes = new ArrayList<>();
+        index.forEachNodeIn(minX, minY, maxX, maxY, nodes::add);
+        assertEquals(nodes.size(), new HashSet<>(nodes).size(), "node reported twice");
+        for (Node node : gameField.getNodes()) {
+            if (node.getX() >= minX && node.getX() <= maxX && node.getY() >= minY && node.getY() <= maxY) {
+                assertTrue(nodes.contains(node.getNodeId()), "missing node " + node.getNodeId());
+            }
+        }
+
+        List<Integer> edges = new ArrayList<>();
+        index.forEachEdgeIn(minX, minY, maxX, maxY, edges::add);
+        assertEquals(edges.size(), new HashSet<>(edges).size(), "edge reported twice");
+    }
+
+    @Test
+    void testConnectedRoadsMergeIntoOneChain() {
+        GameField gameField = new GameField(50);
+        Hexagon center = gameField.getHexagon(9);
+        List<Edge> ring = center.getAdjacentEdges();
+
+        // Five roads around the center hexagon form one path
+        for (int i = 0; i < 5; i++) {
+            ring.get(i).setRoad(new Street(0, 'R'));
+        }
+        List<RoadChains.Chain> chains = RoadChains.of(gameField.getEdges());
+        assertEquals(1, chains.size());
+        assertEquals(5, chains.get(0).getRoadCount());
+
+        // A road of another player ends the chain and starts its own
+        ring.get(5).setRoad(new Street(1, 'B'));
+        ring.get(2).setRoad(new Street(1, 'B'));
+        chains = RoadChains.of(gameField.getEdges());
+        int roads = 0;
+        Set<Integer> players = new HashSet<>();
+        for (RoadChains.Chain chain : chains) {
+            roads += chain.getRoadCount();
+            players.add(chain.getPlayerId());
+            for (int i = 1; i < chain.getNodes().size(); i++) {
+                Node from = chain.getNodes().get(i - 1);
+                Node to = chain.getNodes().get(i);
+                assertTrue(from.getAdjacentNodes().contains(to), "chain jumps between unconnected nodes");
+            }
+        }
+        assertEquals(6, roads);
+        assertEquals(Set.of(0, 1), players);
+        assertTrue(chains.size() >= 3);
+    }
+}
@@ -0,0 +1,109 @@
+package de.philx.catan.Testing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.philx.catan.Analysis.GamePosition;
+import de.philx.catan.Analysis.WinProbabilityEstimator;
+import de.philx.catan.Controllers.GameController;
+import de.philx.catan.Utils.BackgroundComputeService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests the playout-based win estimate and its streaming through the compute service.
+ */
+public class WinProbabilityEstimatorTest {
+
+    private GameController gameController;
+
+    @BeforeEach
+    void setUp() {
+        gameController = GameHistoryTest.startedGame();
+    }
+
+    @Test
+    void testEstimateIsConsistent() {
+        GamePosition position = GamePosition.of(gameController);
+        long stateHash = position.getStateHash();
+        WinProbabilityEstimator.Estimate estimate = new WinProbabilityEstimator(2, 400)
+            .estimate(position, new BackgroundComputeService.Token(), e -> {});
+
+        assertTrue(estimate.isComplete());
+        assertEquals(400, estimate.getPlayouts());
+        assertEquals(stateHash, position.getStateHash(), "the estimate must not change the position");
+
+        double total = 0;
+        for (int p = 0; p < estimate.getPlayerCount(); p++) {
+            double probability = estimate.getWinProbability(p);
+            assertTrue(estimate.getLowerBound(p) <= probability && probability <= estimate.getUpperBound(p));
+            assertTrue(estimate.getLowerBound(p) >= 0 && estimate.getUpperBound(p) <= 1);
+            total += probability;
+        }
+        assertTrue(total > 0.5 && total <= 1.0 + 1e-9, "most playouts should have a winner: " + total);
+    }
+
+    @Test
+    void testPlayerWithEnoughPointsAlwaysWins() {
+        gameController.getPlayerManager().getPlayerById(1).addVictoryPoints(WinProbabilityEstimator.WINNING_POINTS);
+        WinProbabilityEstimator.Estimate estimate = new WinProbabilityEstimator(1, 50)
+            .estimate(GamePosition.of(gameController), new BackgroundComputeService.Token(), e -> {});
+
+        assertEquals(50, estimate.getWins(1));
+        assertEquals(1.0, estimate.getWinProbability(1));
+    }
+
+    @Test
+    void testCancelledEstimateStops() {
+        GamePosition position = GamePosition.of(gameController);
+        BackgroundComputeService service = new BackgroundComputeService(Executors.newVirtualThreadPerTaskExecutor(), Runnable::run);
+        try {
+            BackgroundComputeService.Token token = service.<WinProbabilityEstimator.Estimate>submitStreaming("win",
+                (t, publish) -> publish.accept(new WinProbabilityEstimator(2, Integer.MAX_VALUE).estimate(position, t, publish)),
+                e -> {});
+            service.cancel("win");
+            assertTrue(token.isCancelled());
+            assertThrows(CancellationException.class,
+                () -> new WinProbabilityEstimator(2, Integer.MAX_VALUE).estimate(position, token, e -> {}));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testEstimatesStreamUntilComplete() throws Exception {
+        ConcurrentLinkedQueue<Runnable> uiQueue = new ConcurrentLinkedQueue<>();
+        BackgroundComputeService service = new BackgroundComputeService(Executors.newVirtualThreadPerTaskExecutor(), uiQueue::add);
+        List<WinProbabilityEstimator.Estimate> delivered = new ArrayList<>();
+        GamePosition position = GamePosition.of(gameController);
+        try {
+            service.<WinProbabilityEstimator.Estimate>submitStreaming("win",
+                (token, publish) -> publish.accept(new WinProbabilityEstimator(2, 3000).estimate(position, token, publish)),
+                delivered::add);
+
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (service.getActiveCount() > 0 && System.currentTimeMillis() < deadline) {
+                Runnable batch = uiQueue.poll();
+                if (batch != null) {
+                    batch.run();
+                } else {
+                    Thread.sleep(5);
+                }
+            }
+        } finally {
+            service.shutdown();
+        }
+
+        assertFalse(delivered.isEmpty());
+        WinProbabilityEstimator.Estimate last = delivered.get(delivered.size() - 1);
+        assertTrue(last.isComplete(), "the final estimate is delivered last");
+        assertEquals(3000, last.getPlayouts());
+        for (int i = 1; i < delivered.size(); i++) {
+            assertTrue(delivered.get(i).getPlayouts() >= delivered.get(i - 1).getPlayouts());
+        }
+    }
+}